@@ -23,5 +23,24 @@ ALTER TABLE Payment ADD COLUMN USE_POINTS BOOLEAN DEFAULT FALSE;
 ALTER TABLE Payment ADD COLUMN POINT_AMOUNT INTEGER DEFAULT 0;
 ALTER TABLE Payment ADD COLUMN ORIGINAL_PRICE INTEGER;
 
+-- Payment 테이블에 출금 계좌번호 컬럼 추가 (PENDING 결제 복구용)
+ALTER TABLE Payment ADD COLUMN ACCOUNT_NO VARCHAR(20);
+
+-- Menus 테이블에 동기화용 컬럼 추가 (내용 해시, 삭제 표시)
+ALTER TABLE Menus ADD COLUMN CONTENT_HASH VARCHAR(32);
+ALTER TABLE Menus ADD COLUMN DEL_YN VARCHAR(1) NOT NULL DEFAULT 'N';
+
+-- 테이블 기반 ID 생성기 (Payment, Point_history, meal_tickets, Menus, Food)
+-- 기존 AUTO_INCREMENT 값과 겹치지 않도록 현재 최대 ID + 할당 크기 여유를 두고 시작
+CREATE TABLE IF NOT EXISTS id_generator (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT
+);
+INSERT IGNORE INTO id_generator (sequence_name, next_val) SELECT 'Payment', COALESCE(MAX(PAYMENT_ID), 0) + 100 FROM Payment;
+INSERT IGNORE INTO id_generator (sequence_name, next_val) SELECT 'Point_history', COALESCE(MAX(POINT_ID), 0) + 100 FROM Point_history;
+INSERT IGNORE INTO id_generator (sequence_name, next_val) SELECT 'meal_tickets', COALESCE(MAX(ticket_id), 0) + 100 FROM meal_tickets;
+INSERT IGNORE INTO id_generator (sequence_name, next_val) SELECT 'Menus', COALESCE(MAX(MENU_NO), 0) + 100 FROM Menus;
+INSERT IGNORE INTO id_generator (sequence_name, next_val) SELECT 'Food', COALESCE(MAX(FOOD_NO), 0) + 100 FROM Food;
+
 -- 데이터베이스 상태 확인
 SELECT 'Database initialized successfully' as status;
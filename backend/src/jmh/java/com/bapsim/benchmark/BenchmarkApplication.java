@@ -0,0 +1,146 @@
+package com.bapsim.benchmark;
+
+import com.bapsim.BapsimApplication;
+import com.bapsim.entity.Member;
+import com.bapsim.entity.MenuPrice;
+import com.bapsim.entity.Menus;
+import com.bapsim.entity.University;
+import com.bapsim.repository.MemberRepository;
+import com.bapsim.repository.MenuPriceRepository;
+import com.bapsim.repository.MenuRepository;
+import com.bapsim.repository.UniversityRepository;
+import com.bapsim.service.MenuPriceService;
+import com.bapsim.service.SsafyApiService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 벤치마크용 애플리케이션 컨텍스트
+ * jmh 프로파일(H2 인메모리 DB)로 애플리케이션을 띄우고, 결제에 필요한 기본 데이터(대학교, 회원, 메뉴, 가격표)를 넣는다
+ * SSAFY API는 {@link StubSsafyApiService}로 대체한다
+ */
+public final class BenchmarkApplication implements AutoCloseable {
+
+    public static final String ACCOUNT_NO = "9992453470888242";
+    public static final String USER_PIN = "1234";
+    public static final String MENU_KIND = "A";
+    public static final int MENU_PRICE = 6000;
+    // 포인트 사용 벤치마크가 측정 도중 잔액 부족에 걸리지 않을 만큼 충분히 큰 값
+    public static final int INITIAL_POINT_BALANCE = 1_000_000_000;
+
+    private final ConfigurableApplicationContext context;
+    private final Long userNo;
+    private final Long menuId;
+
+    private BenchmarkApplication(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.userNo = seedMember();
+        this.menuId = seedMenu();
+    }
+
+    public static BenchmarkApplication start() {
+        return start(new String[0]);
+    }
+
+    /**
+     * @param properties 벤치마크별로 덮어쓸 설정 ("key=value")
+     */
+    public static BenchmarkApplication start(String... properties) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BapsimApplication.class, StubConfiguration.class)
+                .profiles("jmh")
+                .properties(properties)
+                .logStartupInfo(false)
+                .run();
+        return new BenchmarkApplication(context);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public Long getUserNo() {
+        return userNo;
+    }
+
+    public Long getMenuId() {
+        return menuId;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private Long seedMember() {
+        LocalDateTime now = LocalDateTime.now();
+
+        University university = new University();
+        university.setUniName("벤치마크대학교");
+        university = getBean(UniversityRepository.class).save(university);
+
+        Member member = new Member();
+        member.setUniId(university.getUniId());
+        member.setUserId("jmh-user");
+        member.setUserPass("password");
+        member.setUserName("벤치마크");
+        member.setUserType("STUDENT");
+        member.setUserStatus("ACTIVE");
+        member.setUserPin(USER_PIN);
+        member.setPointBalance(INITIAL_POINT_BALANCE);
+        member.setCreatedId("jmh");
+        member.setCreatedAt(now);
+        member.setUpdatedId("jmh");
+        member.setUpdatedAt(now);
+        return getBean(MemberRepository.class).save(member).getUserNo();
+    }
+
+    private Long seedMenu() {
+        LocalDateTime now = LocalDateTime.now();
+
+        Menus menu = new Menus();
+        menu.setKind(MENU_KIND);
+        menu.setMealType("한식");
+        menu.setIsSignature(false);
+        menu.setSoldOut(false);
+        menu.setMenuDate(LocalDate.now());
+        menu.setCreatedId("jmh");
+        menu.setCreatedAt(now);
+        menu.setUpdatedId("jmh");
+        menu.setUpdatedAt(now);
+        Long savedMenuId = getBean(MenuRepository.class).save(menu).getMenuNo();
+
+        MenuPrice menuPrice = new MenuPrice();
+        menuPrice.setKind(MENU_KIND);
+        menuPrice.setMealType("한식");
+        menuPrice.setPrice((long) MENU_PRICE);
+        menuPrice.setEffectiveDate(LocalDate.now());
+        menuPrice.setIsActive(true);
+        menuPrice.setCreatedId("jmh");
+        menuPrice.setCreatedAt(now);
+        menuPrice.setUpdatedId("jmh");
+        menuPrice.setUpdatedAt(now);
+        getBean(MenuPriceRepository.class).save(menuPrice);
+        getBean(MenuPriceService.class).rebuildSnapshot(LocalDate.now());
+
+        return savedMenuId;
+    }
+
+    /**
+     * SSAFY API 스텁 등록
+     */
+    @Configuration(proxyBeanMethods = false)
+    static class StubConfiguration {
+
+        @Bean
+        @Primary
+        SsafyApiService stubSsafyApiService() {
+            return new StubSsafyApiService();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.bapsim.benchmark;
+
+import com.bapsim.config.SsafyApiRequestFactory;
+import com.bapsim.dto.PaymentResponseDto;
+import com.bapsim.dto.SsafyApiHeader;
+import com.bapsim.dto.SsafyApiRequest;
+import com.bapsim.dto.WithdrawalRequest;
+import com.bapsim.dto.WithdrawalResponse;
+import com.bapsim.entity.Payment;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DTO JSON 직렬화 벤치마크
+ * 결제 API 응답과 SSAFY API 요청/응답 본문의 Jackson 직렬화/역직렬화 비용을 측정한다
+ * ObjectMapper는 application.yml의 spring.jackson 설정(non_null, 날짜 문자열)과 같게 구성한다
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private PaymentResponseDto paymentResponse;
+    private SsafyApiRequest<WithdrawalRequest> withdrawalRequest;
+    private byte[] withdrawalResponseJson;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        paymentResponse = PaymentResponseDto.success(1L, 1L, 1L, "A", "한식", 6000,
+                Payment.PaymentStatus.COMPLETED, Payment.PaymentMethod.CARD,
+                "TXN_1700000000000_1234", "JMH-WD-1");
+
+        SsafyApiHeader header = new SsafyApiHeader();
+        header.setApiName(SsafyApiRequestFactory.WITHDRAWAL);
+        header.setTransmissionDate("20250101");
+        header.setTransmissionTime("120000");
+        header.setInstitutionCode("00100");
+        header.setFintechAppNo("001");
+        header.setApiServiceCode(SsafyApiRequestFactory.WITHDRAWAL);
+        header.setInstitutionTransactionUniqueNo("20250101120000123456");
+        header.setApiKey("benchmark-api-key");
+        header.setUserKey("benchmark-user-key");
+        withdrawalRequest = new SsafyApiRequest<>();
+        withdrawalRequest.setHeader(header);
+        withdrawalRequest.setAccountNo(BenchmarkApplication.ACCOUNT_NO);
+        withdrawalRequest.setTransactionBalance("6000");
+        withdrawalRequest.setTransactionSummary("학식 결제 - A 메뉴 (TXN_1700000000000_1234)");
+
+        withdrawalResponseJson = ("{\"Header\":{\"responseCode\":\"H0000\",\"responseMessage\":\"정상처리 되었습니다.\","
+                + "\"apiName\":\"updateDemandDepositAccountWithdrawal\",\"transmissionDate\":\"20250101\","
+                + "\"transmissionTime\":\"120000\",\"institutionCode\":\"00100\",\"apiKey\":\"benchmark-api-key\","
+                + "\"apiServiceCode\":\"updateDemandDepositAccountWithdrawal\","
+                + "\"institutionTransactionUniqueNo\":\"20250101120000123456\"},"
+                + "\"REC\":{\"transactionUniqueNo\":\"JMH-WD-1\",\"transactionDate\":\"20250101\"}}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] serializePaymentResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(paymentResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeWithdrawalRequest() throws IOException {
+        return objectMapper.writeValueAsBytes(withdrawalRequest);
+    }
+
+    @Benchmark
+    public WithdrawalResponse deserializeWithdrawalResponse() throws IOException {
+        return objectMapper.readValue(withdrawalResponseJson, WithdrawalResponse.class);
+    }
+}
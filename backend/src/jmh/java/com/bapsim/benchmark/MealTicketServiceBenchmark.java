@@ -0,0 +1,77 @@
+package com.bapsim.benchmark;
+
+import com.bapsim.entity.MealTicket;
+import com.bapsim.entity.Payment;
+import com.bapsim.repository.PaymentRepository;
+import com.bapsim.service.MealTicketService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 식권 발행 벤치마크
+ * 이미 발행된 결제는 기존 식권을 돌려주므로 호출마다 새 완료 결제를 만들어 두고 발행 경로만 측정한다
+ * (호출 단위 준비 작업은 측정 시간에서 제외된다)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MealTicketServiceBenchmark {
+
+    private BenchmarkApplication application;
+    private MealTicketService mealTicketService;
+    private PaymentRepository paymentRepository;
+    private long sequence;
+    private Long paymentId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = BenchmarkApplication.start();
+        mealTicketService = application.getBean(MealTicketService.class);
+        paymentRepository = application.getBean(PaymentRepository.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void createCompletedPayment() {
+        Payment payment = new Payment();
+        payment.setUserNo(application.getUserNo());
+        payment.setMenuId(application.getMenuId());
+        payment.setMenuType(BenchmarkApplication.MENU_KIND);
+        payment.setAccountNo(BenchmarkApplication.ACCOUNT_NO);
+        payment.setAmount(BenchmarkApplication.MENU_PRICE);
+        payment.setOriginalPrice(BenchmarkApplication.MENU_PRICE);
+        payment.setUsePoints(false);
+        payment.setPointAmount(0);
+        payment.setPaymentMethod(Payment.PaymentMethod.CARD);
+        payment.setPaymentStatus(Payment.PaymentStatus.COMPLETED);
+        payment.setPinVerified(true);
+        payment.setTransactionId("TXN_JMH_TICKET_" + (++sequence));
+        payment.setCreatedId("jmh");
+        payment.setUpdatedId("jmh");
+        paymentId = paymentRepository.save(payment).getPaymentId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public MealTicket issueTicketAfterPayment() {
+        return mealTicketService.issueTicketAfterPayment(paymentId);
+    }
+}
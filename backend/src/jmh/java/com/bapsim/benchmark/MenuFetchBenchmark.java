@@ -0,0 +1,126 @@
+package com.bapsim.benchmark;
+
+import com.bapsim.entity.Cafeterias;
+import com.bapsim.entity.Menus;
+import com.bapsim.entity.University;
+import com.bapsim.repository.CafeteriasRepository;
+import com.bapsim.repository.MenuRepository;
+import com.bapsim.repository.UniversityRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메뉴 단건 조회 벤치마크
+ * 학식당에 쌓인 메뉴 이력(일 수)을 늘려 가며 요청당 할당량(-prof gc의 gc.alloc.rate.norm)을 측정한다
+ * mapping=EAGER는 변경 전 즉시 로딩 매핑(META-INF/eager-menu-orm.xml)으로, 같은 실행에서 변경 전/후를 비교한다
+ * LAZY(현재 매핑)는 이력 일 수와 관계없이 할당량이 일정해야 한다
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MenuFetchBenchmark {
+
+    @Param({"30", "365", "1095"})
+    public int historyDays;
+
+    @Param({"LAZY", "EAGER"})
+    public String mapping;
+
+    private BenchmarkApplication application;
+    private MenuRepository menuRepository;
+    private TransactionTemplate readOnlyTransaction;
+    private Long menuNo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = "EAGER".equals(mapping)
+                ? BenchmarkApplication.start("spring.jpa.mapping-resources=META-INF/eager-menu-orm.xml")
+                : BenchmarkApplication.start();
+        menuRepository = application.getBean(MenuRepository.class);
+        readOnlyTransaction = new TransactionTemplate(application.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        menuNo = seedMenuHistory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public Menus findMenu() {
+        return readOnlyTransaction.execute(status -> menuRepository.findById(menuNo).orElseThrow());
+    }
+
+    @Benchmark
+    public Menus findMenuWithPlace() {
+        return readOnlyTransaction.execute(status -> menuRepository.findWithPlaceByMenuNo(menuNo).orElseThrow());
+    }
+
+    private Long seedMenuHistory() {
+        LocalDateTime now = LocalDateTime.now();
+
+        University university = new University();
+        university.setUniName("벤치마크학식대학교");
+        university = application.getBean(UniversityRepository.class).save(university);
+
+        Cafeterias cafeteria = new Cafeterias();
+        cafeteria.setUniId(university.getUniId());
+        cafeteria.setBuildName("벤치마크식당");
+        cafeteria.setPhoneNo(20000000L);
+        cafeteria.setOpenTime(now);
+        cafeteria.setCloseTime(now);
+        cafeteria.setRunYn("Y");
+        cafeteria.setDelYn("N");
+        cafeteria.setVisitor(0L);
+        cafeteria.setCreatedId("jmh");
+        cafeteria.setCreatedAt(now);
+        cafeteria.setUpdatedId("jmh");
+        cafeteria.setUpdatedAt(now);
+        Long cafeNo = application.getBean(CafeteriasRepository.class).save(cafeteria).getCafeNo();
+
+        // 하루 점심/저녁 2건씩 이력을 쌓는다
+        LocalDate today = LocalDate.now();
+        List<Menus> menus = new ArrayList<>();
+        for (int day = historyDays; day >= 0; day--) {
+            for (String mealType : new String[]{"점심", "저녁"}) {
+                Menus menu = new Menus();
+                menu.setKind(BenchmarkApplication.MENU_KIND);
+                menu.setMealType(mealType);
+                menu.setIsSignature(false);
+                menu.setSoldOut(false);
+                menu.setCafeNo(cafeNo);
+                menu.setMenuDate(today.minusDays(day));
+                menu.setCreatedId("jmh");
+                menu.setCreatedAt(now);
+                menu.setUpdatedId("jmh");
+                menu.setUpdatedAt(now);
+                menus.add(menu);
+            }
+        }
+        List<Menus> saved = menuRepository.saveAll(menus);
+        return saved.get(saved.size() - 1).getMenuNo();
+    }
+}
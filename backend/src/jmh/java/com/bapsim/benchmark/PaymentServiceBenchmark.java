@@ -0,0 +1,71 @@
+package com.bapsim.benchmark;
+
+import com.bapsim.dto.PaymentRequestDto;
+import com.bapsim.dto.PaymentResponseDto;
+import com.bapsim.entity.Payment;
+import com.bapsim.service.PaymentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 결제 처리 벤치마크
+ * 검증 → PIN 확인 → 결제 예약 → 출금(스텁) → 결제 확정까지 PaymentService.processPayment 전체 경로를 측정한다
+ * 결제 후속 처리(포인트 적립, 식권 발행)는 운영과 같이 커밋 후 워커 풀에서 비동기로 실행된다
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PaymentServiceBenchmark {
+
+    private BenchmarkApplication application;
+    private PaymentService paymentService;
+    private PaymentRequestDto request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = BenchmarkApplication.start();
+        paymentService = application.getBean(PaymentService.class);
+
+        request = new PaymentRequestDto();
+        request.setUserNo(application.getUserNo());
+        request.setMenuId(application.getMenuId());
+        request.setMenuType(BenchmarkApplication.MENU_KIND);
+        request.setAmount(BenchmarkApplication.MENU_PRICE);
+        request.setPaymentMethod(Payment.PaymentMethod.CARD);
+        request.setPin(BenchmarkApplication.USER_PIN);
+        request.setAccountNo(BenchmarkApplication.ACCOUNT_NO);
+        request.setUsePoints(false);
+        request.setPointAmount(0);
+
+        // 설정 오류로 실패 응답만 측정하는 일이 없도록 한 번 확인
+        PaymentResponseDto response = paymentService.processPayment(request);
+        if (response.getErrorCode() != null) {
+            throw new IllegalStateException("벤치마크 결제 실패: " + response.getErrorCode() + " " + response.getErrorMessage());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public PaymentResponseDto processPayment() {
+        return paymentService.processPayment(request);
+    }
+}
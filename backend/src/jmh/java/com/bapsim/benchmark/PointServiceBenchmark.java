@@ -0,0 +1,58 @@
+package com.bapsim.benchmark;
+
+import com.bapsim.service.PointService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 적립/사용 벤치마크
+ * 잔액 조건부 UPDATE와 포인트 내역 INSERT로 이루어진 PointService 쓰기 경로를 측정한다
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PointServiceBenchmark {
+
+    private static final int POINTS = 10;
+
+    private BenchmarkApplication application;
+    private PointService pointService;
+    private Long userNo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = BenchmarkApplication.start();
+        pointService = application.getBean(PointService.class);
+        userNo = application.getUserNo();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public Integer earnPoints() {
+        return pointService.earnPoints(userNo, null, POINTS, "벤치마크 적립", "JMH");
+    }
+
+    @Benchmark
+    public Integer usePoints() {
+        return pointService.usePoints(userNo, POINTS, "벤치마크 사용", "JMH");
+    }
+}
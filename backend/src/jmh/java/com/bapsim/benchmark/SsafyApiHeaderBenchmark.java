@@ -0,0 +1,77 @@
+package com.bapsim.benchmark;
+
+import com.bapsim.config.SsafyApiConfig;
+import com.bapsim.config.SsafyApiRequestFactory;
+import com.bapsim.dto.SsafyApiHeader;
+import com.bapsim.util.SsafyApiHeaderGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SSAFY API 헤더 생성 벤치마크
+ * 모든 SSAFY API 호출마다 실행되는 SsafyApiHeaderGenerator.generateHeader의 처리량과 할당량을 측정한다
+ * legacyGenerateHeader는 비교 기준으로 남겨 둔 이전 구현
+ * (호출마다 DateTimeFormatter 3개와 Random 생성, 시각 3회 조회, 6자리 난수 고유번호)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SsafyApiHeaderBenchmark {
+
+    private static final ZoneId KOREA_ZONE = ZoneId.of("Asia/Seoul");
+
+    private SsafyApiConfig config;
+    private SsafyApiHeaderGenerator headerGenerator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        config = new SsafyApiConfig();
+        config.setNodeId(0);
+        config.getHeaders().setInstitutionCode("00100");
+        config.getHeaders().setFintechAppNo("001");
+        config.getHeaders().setApiKey("benchmark-api-key");
+        config.getHeaders().setUserKey("benchmark-user-key");
+        headerGenerator = new SsafyApiHeaderGenerator(config, new StandardEnvironment());
+    }
+
+    @Benchmark
+    public SsafyApiHeader generateHeader() {
+        return headerGenerator.generateHeader(SsafyApiRequestFactory.WITHDRAWAL);
+    }
+
+    @Benchmark
+    public SsafyApiHeader legacyGenerateHeader() {
+        String apiName = SsafyApiRequestFactory.WITHDRAWAL;
+        SsafyApiHeader header = new SsafyApiHeader();
+        header.setApiName(apiName);
+        header.setTransmissionDate(LocalDateTime.now(KOREA_ZONE).format(DateTimeFormatter.ofPattern("yyyyMMdd")));
+        header.setTransmissionTime(LocalDateTime.now(KOREA_ZONE).format(DateTimeFormatter.ofPattern("HHmmss")));
+        header.setInstitutionCode(config.getHeaders().getInstitutionCode());
+        header.setFintechAppNo(config.getHeaders().getFintechAppNo());
+        header.setApiServiceCode(apiName);
+        String timestamp = LocalDateTime.now(KOREA_ZONE).format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        header.setInstitutionTransactionUniqueNo(timestamp + String.format("%06d", new Random().nextInt(1000000)));
+        header.setApiKey(config.getHeaders().getApiKey());
+        header.setUserKey(config.getHeaders().getUserKey());
+        return header;
+    }
+}
@@ -0,0 +1,63 @@
+package com.bapsim.benchmark;
+
+import com.bapsim.dto.BalanceInquiryResponse;
+import com.bapsim.dto.SsafyApiHeader;
+import com.bapsim.dto.TransactionHistoryResponse;
+import com.bapsim.dto.WithdrawalResponse;
+import com.bapsim.service.SsafyApiService;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 벤치마크용 SSAFY API 스텁
+ * 네트워크 호출 없이 성공 응답을 바로 돌려주어 결제 경로의 애플리케이션/DB 비용만 측정한다
+ */
+public class StubSsafyApiService extends SsafyApiService {
+
+    private static final String SUCCESS_CODE = "H0000";
+    private static final String BALANCE = "1000000000";
+
+    private final AtomicLong transactionSequence = new AtomicLong();
+
+    public StubSsafyApiService() {
+        super(null, null, null, null, null);
+    }
+
+    @Override
+    public BalanceInquiryResponse inquireBalance(String accountNo) {
+        BalanceInquiryResponse.AccountInfo accountInfo = new BalanceInquiryResponse.AccountInfo();
+        accountInfo.setAccountNo(accountNo);
+        accountInfo.setAccountBalance(BALANCE);
+
+        BalanceInquiryResponse response = new BalanceInquiryResponse();
+        response.setHeader(successHeader());
+        response.setAccountInfo(accountInfo);
+        return response;
+    }
+
+    @Override
+    public WithdrawalResponse withdrawMoney(String accountNo, BigDecimal amount, String summary) {
+        WithdrawalResponse.TransactionInfo transactionInfo = new WithdrawalResponse.TransactionInfo();
+        transactionInfo.setTransactionUniqueNo("JMH-WD-" + transactionSequence.incrementAndGet());
+
+        WithdrawalResponse response = new WithdrawalResponse();
+        response.setHeader(successHeader());
+        response.setTransactionInfo(transactionInfo);
+        return response;
+    }
+
+    @Override
+    public TransactionHistoryResponse inquireTransactionHistory(String accountNo, String startDate,
+                                                              String endDate, String transactionType, String orderByType) {
+        TransactionHistoryResponse response = new TransactionHistoryResponse();
+        response.setHeader(successHeader());
+        return response;
+    }
+
+    private static SsafyApiHeader successHeader() {
+        SsafyApiHeader header = new SsafyApiHeader();
+        header.setResponseCode(SUCCESS_CODE);
+        return header;
+    }
+}
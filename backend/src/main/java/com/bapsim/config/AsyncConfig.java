@@ -0,0 +1,36 @@
+package com.bapsim.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 비동기 작업 및 스케줄링 설정
+ * 결제 후속 처리(포인트 적립, 식권 발행) 전용 워커 풀을 제공
+ */
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    /**
+     * 결제 후속 처리 워커 풀
+     * 큐가 가득 차면 작업을 거절하고, 거절된 항목은 outbox 폴링이 다시 가져간다
+     */
+    @Bean("postPaymentExecutor")
+    public ThreadPoolTaskExecutor postPaymentExecutor(
+            @Value("${bapsim.payment.outbox.core-pool-size:2}") int corePoolSize,
+            @Value("${bapsim.payment.outbox.max-pool-size:4}") int maxPoolSize,
+            @Value("${bapsim.payment.outbox.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("post-payment-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -2,6 +2,7 @@ package com.bapsim.config;
 
 import com.bapsim.service.MenuDataService;
 import com.bapsim.service.MenuPriceService;
+import com.bapsim.service.MenuSyncService;
 import com.bapsim.service.BasicDataService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +20,9 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private MenuDataService menuDataService;
     
+    @Autowired
+    private MenuSyncService menuSyncService;
+    
     @Autowired
     private MenuPriceService menuPriceService;
     
@@ -39,4 +43,16 @@ public class DataInitializer implements CommandLineRunner {
             logger.warn("메뉴 데이터 로드 실패: {} - {}", jsonFilePath, e.getMessage());
         }
     }
+    
+    /**
+     * 이미 적재된 메뉴와 비교해 바뀐 메뉴만 반영 (재실행해도 중복이 생기지 않음)
+     */
+    private void syncMenuData(String jsonFilePath) {
+        try {
+            menuSyncService.syncMenuDataFromJson(jsonFilePath);
+            logger.info("메뉴 데이터 동기화 완료: {}", jsonFilePath);
+        } catch (Exception e) {
+            logger.warn("메뉴 데이터 동기화 실패: {} - {}", jsonFilePath, e.getMessage());
+        }
+    }
 }
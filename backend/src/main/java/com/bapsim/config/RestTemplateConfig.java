@@ -1,35 +1,87 @@
 package com.bapsim.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.MicrometerHttpRequestExecutor;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * RestTemplate Bean 설정 클래스
  * SSAFY API 호출을 위한 전용 RestTemplate 설정
  */
 @Configuration
 public class RestTemplateConfig {
-    
+
+    /**
+     * SSAFY API 커넥션 풀
+     * 결제마다 TCP/TLS 연결을 새로 맺지 않도록 keep-alive 커넥션을 재사용
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager ssafyApiConnectionManager(SsafyApiConfig ssafyApiConfig) {
+        SsafyApiConfig.Pool pool = ssafyApiConfig.getPool();
+
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(pool.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(pool.getMaxPerRoute());
+        // 서버가 끊은 커넥션을 재사용하지 않도록 일정 시간 쉰 커넥션은 검사 후 사용
+        connectionManager.setValidateAfterInactivity(pool.getValidateAfterInactivity());
+        return connectionManager;
+    }
+
+    /**
+     * SSAFY API 전용 HttpClient
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient ssafyApiHttpClient(PoolingHttpClientConnectionManager ssafyApiConnectionManager,
+                                                  SsafyApiConfig ssafyApiConfig,
+                                                  MeterRegistry meterRegistry) {
+        SsafyApiConfig.Pool pool = ssafyApiConfig.getPool();
+
+        // 서버가 Keep-Alive 시간을 알려주면 설정값 이내에서 따르고, 없으면 설정값 사용
+        ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+            long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return duration > 0 ? Math.min(duration, pool.getKeepAlive()) : pool.getKeepAlive();
+        };
+
+        return HttpClients.custom()
+                .setConnectionManager(ssafyApiConnectionManager)
+                .setKeepAliveStrategy(keepAliveStrategy)
+                .evictExpiredConnections()
+                .evictIdleConnections(pool.getIdleEvict(), TimeUnit.MILLISECONDS)
+                // 요청 시간 측정 (httpcomponents.httpclient.request)
+                .setRequestExecutor(MicrometerHttpRequestExecutor.builder(meterRegistry)
+                        .uriMapper(request -> request.getRequestLine().getUri())
+                        .tags(Tags.of("client", "ssafy"))
+                        .build())
+                .build();
+    }
+
     /**
      * SSAFY API 전용 RestTemplate Bean
-     * 타임아웃 설정과 에러 핸들링을 포함
+     * 엔드포인트별 타임아웃은 SsafyApiRequestFactory에서 적용
      */
     @Bean("ssafyApiRestTemplate")
-    public RestTemplate ssafyApiRestTemplate() {
-        // HTTP 요청 팩토리 설정
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        
-        // 연결 타임아웃 설정 (5초)
-        factory.setConnectTimeout(5000);
-        
-        // 읽기 타임아웃 설정 (10초)
-        factory.setReadTimeout(10000);
-        
-        // RestTemplate 생성 및 설정
-        RestTemplate restTemplate = new RestTemplate(factory);
-        
-        return restTemplate;
+    public RestTemplate ssafyApiRestTemplate(CloseableHttpClient ssafyApiHttpClient, SsafyApiConfig ssafyApiConfig) {
+        return new RestTemplate(new SsafyApiRequestFactory(ssafyApiHttpClient, ssafyApiConfig.getTimeout()));
+    }
+
+    /**
+     * 커넥션 풀 지표 (httpcomponents.httpclient.pool.*)
+     * leased/available 커넥션 수와 커넥션을 기다리는 요청 수(pending)를 노출
+     */
+    @Bean
+    public MeterBinder ssafyApiConnectionPoolMetrics(PoolingHttpClientConnectionManager ssafyApiConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(ssafyApiConnectionManager, "ssafy");
     }
 }
@@ -2,6 +2,7 @@ package com.bapsim.config; // 본인의 패지 경로에 맞게 수정하세요.
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
@@ -18,6 +19,9 @@ public class SecurityConfig {
 
                 // HTTP 요청에 대한 접근 권한을 설정합니다.
                 .authorizeHttpRequests(authz -> authz
+                        // 결제 상태별 조회는 전체 사용자의 결제 내역을 내보내는 운영용 API이므로 관리자만 허용합니다.
+                        // (아래 "/api/payment/**" permitAll보다 먼저 매칭되어야 합니다)
+                        .mvcMatchers("/api/payment/status/**").hasRole("ADMIN")
                         // 아래 경로들은 인증 없이 누구나 접근할 수 있도록 허용합니다.
                         .mvcMatchers(
                                 "/",
@@ -33,7 +37,9 @@ public class SecurityConfig {
                         ).permitAll()
                         // 위에서 지정한 경로 외의 모든 요청은 반드시 인증을 받아야 합니다.
                         .anyRequest().authenticated()
-                );
+                )
+                // 관리자 API는 HTTP Basic 인증 (계정은 spring.security.user 설정)
+                .httpBasic(Customizer.withDefaults());
 
         return http.build();
     }
@@ -18,6 +18,13 @@ public class SsafyApiConfig {
      */
     private String baseUrl;
     
+    /**
+     * 인스턴스 번호 (0~99)
+     * 기관거래고유번호에 포함되므로 여러 인스턴스를 띄울 때는 서로 다르게 지정해야 한다
+     * local/test 프로필이 아니면 반드시 지정해야 하며, 지정하지 않으면 기동하지 않는다 (SsafyApiHeaderGenerator)
+     */
+    private Integer nodeId;
+    
     /**
      * API 헤더 설정
      */
@@ -33,6 +40,31 @@ public class SsafyApiConfig {
      */
     private Timeout timeout = new Timeout();
     
+    /**
+     * HTTP 커넥션 풀 설정
+     */
+    private Pool pool = new Pool();
+    
+    /**
+     * 엔드포인트별 서킷 브레이커 설정
+     */
+    private Breaker circuitBreaker = new Breaker();
+    
+    /**
+     * 엔드포인트별 동시 호출 제한 설정
+     */
+    private Bulkhead bulkhead = new Bulkhead();
+    
+    /**
+     * 재시도 설정 (잔액 조회 등 멱등 호출에만 적용)
+     */
+    private Retry retry = new Retry();
+    
+    /**
+     * 계좌 잔액 캐시 설정
+     */
+    private BalanceCache balanceCache = new BalanceCache();
+    
     @Data
     public static class Headers {
         private String institutionCode;
@@ -48,9 +80,54 @@ public class SsafyApiConfig {
         private String transactionHistory;
     }
     
+    /**
+     * 타임아웃 설정 (ms)
+     * 엔드포인트별 읽기 타임아웃을 지정하지 않으면 read 값을 사용
+     */
     @Data
     public static class Timeout {
-        private int connect;
-        private int read;
+        private int connect = 5000;
+        private int read = 10000;
+        private int connectionRequest = 2000; // 풀에서 커넥션을 빌릴 때까지 대기
+        private Integer balanceInquiry;
+        private Integer withdrawal;
+        private Integer transactionHistory;
+    }
+    
+    @Data
+    public static class Pool {
+        private int maxTotal = 50;
+        private int maxPerRoute = 20;
+        private long keepAlive = 30000;            // 서버가 Keep-Alive를 지정하지 않을 때 유지 시간 (ms)
+        private int validateAfterInactivity = 2000; // 이 시간 이상 쉰 커넥션은 재사용 전 검사 (ms)
+        private long idleEvict = 60000;            // 이 시간 이상 쉰 커넥션은 정리 (ms)
+    }
+    
+    @Data
+    public static class Breaker {
+        private int slidingWindowSize = 20;       // 실패율 계산에 사용하는 최근 호출 수
+        private int minimumCalls = 10;            // 실패율을 판단하기 위한 최소 호출 수
+        private int failureRateThreshold = 50;    // 이 비율(%) 이상 실패하면 차단
+        private long openDuration = 30000;        // 차단 유지 시간 (ms), 이후 시험 호출 허용
+        private int halfOpenCalls = 3;            // 차단 해제를 위해 성공해야 하는 시험 호출 수
+    }
+    
+    @Data
+    public static class Bulkhead {
+        private int maxConcurrentCalls = 20;      // 엔드포인트별 최대 동시 호출 수
+        private long maxWait = 0;                 // 자리가 날 때까지 대기 시간 (ms), 0이면 즉시 거절
+    }
+    
+    @Data
+    public static class Retry {
+        private int maxAttempts = 3;
+        private long initialInterval = 100;       // ms
+        private long maxInterval = 1000;          // ms
+    }
+    
+    @Data
+    public static class BalanceCache {
+        private long ttl = 3000;                  // 잔액 캐시 유지 시간 (ms), 0이면 캐시하지 않음
+        private int maxEntries = 10000;
     }
 }
@@ -0,0 +1,58 @@
+package com.bapsim.config;
+
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * SSAFY API 요청 팩토리
+ * 호출하는 API(URL의 마지막 경로)에 따라 읽기 타임아웃을 다르게 적용
+ */
+public class SsafyApiRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+    public static final String BALANCE_INQUIRY = "inquireDemandDepositAccountBalance";
+    public static final String WITHDRAWAL = "updateDemandDepositAccountWithdrawal";
+    public static final String TRANSACTION_HISTORY = "inquireTransactionHistoryList";
+
+    private final RequestConfig defaultRequestConfig;
+    private final Map<String, RequestConfig> requestConfigs;
+
+    public SsafyApiRequestFactory(HttpClient httpClient, SsafyApiConfig.Timeout timeout) {
+        super(httpClient);
+        this.defaultRequestConfig = requestConfig(timeout, timeout.getRead());
+        this.requestConfigs = Map.of(
+                BALANCE_INQUIRY, requestConfig(timeout, timeout.getBalanceInquiry()),
+                WITHDRAWAL, requestConfig(timeout, timeout.getWithdrawal()),
+                TRANSACTION_HISTORY, requestConfig(timeout, timeout.getTransactionHistory()));
+    }
+
+    @Override
+    protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
+        HttpClientContext context = HttpClientContext.create();
+        context.setRequestConfig(requestConfigFor(uri));
+        return context;
+    }
+
+    RequestConfig requestConfigFor(URI uri) {
+        String path = uri.getPath();
+        if (path == null) {
+            return defaultRequestConfig;
+        }
+        String apiName = path.substring(path.lastIndexOf('/') + 1);
+        return requestConfigs.getOrDefault(apiName, defaultRequestConfig);
+    }
+
+    private static RequestConfig requestConfig(SsafyApiConfig.Timeout timeout, Integer readTimeout) {
+        return RequestConfig.custom()
+                .setConnectTimeout(timeout.getConnect())
+                .setConnectionRequestTimeout(timeout.getConnectionRequest())
+                .setSocketTimeout(readTimeout != null ? readTimeout : timeout.getRead())
+                .build();
+    }
+}
@@ -1,12 +1,33 @@
 package com.bapsim.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import javax.persistence.EntityManagerFactory;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Open EntityManager in View (spring.jpa.open-in-view 대신 직접 등록)
+     * SSAFY API를 호출하는 결제 검증/처리 요청은 제외하여
+     * 외부 API 응답을 기다리는 동안 DB 커넥션을 점유하지 않도록 한다
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(interceptor)
+                .excludePathPatterns("/api/payment/validate", "/api/payment/process");
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
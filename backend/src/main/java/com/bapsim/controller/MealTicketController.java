@@ -1,10 +1,18 @@
 package com.bapsim.controller;
 
+import com.bapsim.dto.CursorPage;
+import com.bapsim.dto.GateVerificationResult;
+import com.bapsim.dto.TicketRedemptionItem;
+import com.bapsim.dto.TicketRedemptionResult;
+import com.bapsim.dto.WalletTicketDto;
 import com.bapsim.entity.MealTicket;
+import com.bapsim.service.MealTicketGateService;
 import com.bapsim.service.MealTicketService;
+import com.bapsim.service.MealTicketTokenService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -26,6 +34,12 @@ public class MealTicketController {
     @Autowired
     private MealTicketService mealTicketService;
     
+    @Autowired
+    private MealTicketGateService mealTicketGateService;
+    
+    @Autowired
+    private MealTicketTokenService mealTicketTokenService;
+    
     /**
      * 식권 ID로 식권 조회
      * GET /api/meal-ticket/{ticketId}
@@ -62,23 +76,36 @@ public class MealTicketController {
     }
     
     /**
-     * 사용자별 식권 목록 조회
-     * GET /api/meal-ticket/user/{userNo}
+     * 사용자별 식권 목록 조회 (최신순 keyset 페이지)
+     * GET /api/meal-ticket/user/{userNo}?cursor=&size=
+     * 응답의 nextCursor를 다음 요청의 cursor로 넘기면 이어지는 페이지를 조회
      */
     @GetMapping("/user/{userNo}")
-    public ResponseEntity<Map<String, Object>> getTicketsByUser(@PathVariable Long userNo) {
+    public ResponseEntity<Map<String, Object>> getTicketsByUser(
+            @PathVariable Long userNo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         log.info("사용자별 식권 목록 조회 API 호출: userNo={}", userNo);
         
         try {
-            List<MealTicket> tickets = mealTicketService.findByUserNo(userNo);
+            CursorPage<MealTicket> tickets = mealTicketService.findPageByUserNo(userNo, cursor, size);
             
             Map<String, Object> result = new java.util.HashMap<>();
             result.put("success", true);
-            result.put("tickets", tickets.stream().map(this::convertToTicketDto).collect(java.util.stream.Collectors.toList()));
-            result.put("count", tickets.size());
+            result.put("tickets", tickets.getItems().stream().map(this::convertToTicketDto).collect(java.util.stream.Collectors.toList()));
+            result.put("count", tickets.getItems().size());
+            result.put("nextCursor", tickets.getNextCursor());
+            result.put("hasNext", tickets.isHasNext());
             
             return ResponseEntity.ok(result);
             
+        } catch (IllegalArgumentException e) {
+            // 잘못된 페이지 커서
+            Map<String, Object> result = new java.util.HashMap<>();
+            result.put("success", false);
+            result.put("error", "INVALID_CURSOR");
+            result.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(result);
         } catch (Exception e) {
             log.error("사용자별 식권 목록 조회 중 오류 발생: userNo={}", userNo, e);
             Map<String, Object> result = new java.util.HashMap<>();
@@ -90,19 +117,20 @@ public class MealTicketController {
     }
     
     /**
-     * 사용자별 사용 가능한 식권 목록 조회 (미사용)
+     * 사용자별 사용 가능한 식권 목록 조회 (미사용, 식권 지갑)
      * GET /api/meal-ticket/user/{userNo}/available
+     * 최근 조회한 사용자의 지갑은 캐시에서 응답한다
      */
     @GetMapping("/user/{userNo}/available")
     public ResponseEntity<Map<String, Object>> getAvailableTicketsByUser(@PathVariable Long userNo) {
         log.info("사용 가능한 식권 목록 조회 API 호출: userNo={}", userNo);
         
         try {
-            List<MealTicket> tickets = mealTicketService.findAvailableTicketsByUser(userNo);
+            List<WalletTicketDto> tickets = mealTicketService.getWallet(userNo);
             
             Map<String, Object> result = new java.util.HashMap<>();
             result.put("success", true);
-            result.put("tickets", tickets.stream().map(this::convertToTicketDto).collect(java.util.stream.Collectors.toList()));
+            result.put("tickets", tickets);
             result.put("count", tickets.size());
             
             return ResponseEntity.ok(result);
@@ -208,6 +236,73 @@ public class MealTicketController {
         }
     }
     
+    /**
+     * 게이트 식권 확인 (서명 토큰)
+     * POST /api/meal-ticket/gate/verify
+     * 토큰 서명과 메모리 사용 비트맵만으로 판단하며 DB 반영은 일괄 쓰기로 뒤따른다
+     */
+    @PostMapping("/gate/verify")
+    public ResponseEntity<Map<String, Object>> verifyAtGate(@RequestBody GateVerifyRequest request) {
+        GateVerificationResult verification = mealTicketGateService.verify(request.getToken(), request.getLocation());
+        
+        Map<String, Object> result = new java.util.HashMap<>();
+        result.put("success", verification.isAccepted());
+        if (verification.getTicket() != null) {
+            result.put("ticket", verification.getTicket());
+        }
+        switch (verification.getOutcome()) {
+            case ACCEPTED:
+                result.put("message", "식권이 성공적으로 사용되었습니다");
+                return ResponseEntity.ok(result);
+            case ALREADY_USED:
+                result.put("error", "ALREADY_USED");
+                result.put("message", "이미 사용된 식권입니다");
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(result);
+            default:
+                result.put("error", "INVALID_TOKEN");
+                result.put("message", "유효하지 않은 식권입니다");
+                return ResponseEntity.badRequest().body(result);
+        }
+    }
+    
+    /**
+     * 식권 일괄 사용 처리 (게이트 스캐너가 쌓아 둔 스캔 전송)
+     * POST /api/meal-ticket/redeem/batch
+     * 항목별 결과를 요청 순서대로 돌려주며, 통과한 식권은 JDBC 배치 한 번으로 반영된다
+     */
+    @PostMapping("/redeem/batch")
+    public ResponseEntity<Map<String, Object>> redeemBatch(@RequestBody BatchRedemptionRequest request) {
+        log.info("식권 일괄 사용 처리 API 호출: location={}, count={}",
+                request.getLocation(), request.getTickets() != null ? request.getTickets().size() : 0);
+        
+        try {
+            List<TicketRedemptionResult> results = mealTicketGateService.redeemBatch(request.getTickets(), request.getLocation());
+            long accepted = results.stream().filter(r -> r.getOutcome() == GateVerificationResult.Outcome.ACCEPTED).count();
+            
+            Map<String, Object> result = new java.util.HashMap<>();
+            result.put("success", true);
+            result.put("results", results);
+            result.put("accepted", accepted);
+            result.put("rejected", results.size() - accepted);
+            return ResponseEntity.ok(result);
+            
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> result = new java.util.HashMap<>();
+            result.put("success", false);
+            result.put("error", "INVALID_REQUEST");
+            result.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(result);
+        } catch (Exception e) {
+            // 반영되지 않은 식권은 다시 사용 처리할 수 있으므로 스캐너가 같은 요청을 재전송하면 됨
+            log.error("식권 일괄 사용 처리 중 오류 발생: location={}", request.getLocation(), e);
+            Map<String, Object> result = new java.util.HashMap<>();
+            result.put("success", false);
+            result.put("error", "INTERNAL_ERROR");
+            result.put("message", "식권 일괄 사용 처리 중 오류가 발생했습니다");
+            return ResponseEntity.internalServerError().body(result);
+        }
+    }
+    
     // 통계 API 제거 (단순화)
     
     // Private helper methods
@@ -230,6 +325,8 @@ public class MealTicketController {
         dto.put("createdAt", ticket.getCreatedAt());
         dto.put("updatedAt", ticket.getUpdatedAt());
         dto.put("isAvailable", ticket.isAvailable());
+        // 게이트 QR 코드용 서명 토큰 (같은 식권이면 항상 같은 값)
+        dto.put("token", ticket.getToken() != null ? ticket.getToken() : mealTicketTokenService.mint(ticket));
         return dto;
     }
     
@@ -245,4 +342,32 @@ public class MealTicketController {
         public String getLocation() { return location; }
         public void setLocation(String location) { this.location = location; }
     }
+    
+    /**
+     * 식권 일괄 사용 처리 요청 DTO
+     */
+    public static class BatchRedemptionRequest {
+        private String location;
+        private List<TicketRedemptionItem> tickets;
+        
+        // Getters and Setters
+        public String getLocation() { return location; }
+        public void setLocation(String location) { this.location = location; }
+        public List<TicketRedemptionItem> getTickets() { return tickets; }
+        public void setTickets(List<TicketRedemptionItem> tickets) { this.tickets = tickets; }
+    }
+    
+    /**
+     * 게이트 식권 확인 요청 DTO
+     */
+    public static class GateVerifyRequest {
+        private String token;
+        private String location;
+        
+        // Getters and Setters
+        public String getToken() { return token; }
+        public void setToken(String token) { this.token = token; }
+        public String getLocation() { return location; }
+        public void setLocation(String location) { this.location = location; }
+    }
 }
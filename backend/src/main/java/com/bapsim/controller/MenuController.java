@@ -1,13 +1,16 @@
 package com.bapsim.controller;
 
-import com.bapsim.entity.Food;
-import com.bapsim.entity.Menus;
+import com.bapsim.dto.MenuDTO;
 import com.bapsim.entity.MenuPrice;
-import com.bapsim.repository.FoodRepository;
-import com.bapsim.repository.MenuRepository;
 import com.bapsim.service.MenuPriceService;
+import com.bapsim.service.MenuService;
+import com.bapsim.service.WeeklyMenuView;
+import com.bapsim.service.WeeklyMenuViewService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
@@ -15,7 +18,6 @@ import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -23,31 +25,34 @@ import java.util.stream.Collectors;
 public class MenuController {
     
     @Autowired
-    private MenuRepository menuRepository;
+    private MenuService menuService;
     
     @Autowired
-    private FoodRepository foodRepository;
+    private MenuPriceService menuPriceService;
     
     @Autowired
-    private MenuPriceService menuPriceService;
+    private WeeklyMenuViewService weeklyMenuViewService;
     
     /**
      * 모든 메뉴 조회
+     * fields: summary(목록용 필드) 또는 detail(상세 필드 포함, 기본값)
      */
     @GetMapping
-    public ResponseEntity<List<Menus>> getAllMenus() {
-        List<Menus> menus = menuRepository.findAllWithFood();
-        return ResponseEntity.ok(menus);
+    public ResponseEntity<MappingJacksonValue> getAllMenus(@RequestParam(defaultValue = "detail") String fields) {
+        return withFields(menuService.getAllMenus(), fields);
     }
     
     /**
      * 특정 메뉴 조회
      */
     @GetMapping("/{menuNo}")
-    public ResponseEntity<Menus> getMenuByNo(@PathVariable Long menuNo) {
-        Optional<Menus> menu = menuRepository.findById(menuNo);
-        return menu.map(ResponseEntity::ok)
-                  .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<MappingJacksonValue> getMenuByNo(@PathVariable Long menuNo,
+                                                           @RequestParam(defaultValue = "detail") String fields) {
+        MenuDTO menu = menuService.getMenuById(menuNo);
+        if (menu == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return withFields(menu, fields);
     }
     
     
@@ -56,71 +61,69 @@ public class MenuController {
      * 카페테리아 메뉴 조회
      */
     @GetMapping("/cafeteria/{cafeNo}")
-    public ResponseEntity<List<Menus>> getCafeteriaMenus(@PathVariable Long cafeNo) {
-        List<Menus> menus = menuRepository.findByCafeNo(cafeNo);
-        return ResponseEntity.ok(menus);
+    public ResponseEntity<MappingJacksonValue> getCafeteriaMenus(@PathVariable Long cafeNo,
+                                                                 @RequestParam(defaultValue = "detail") String fields) {
+        return withFields(menuService.getMenusByCafeteria(cafeNo), fields);
     }
     
     /**
      * 레스토랑 메뉴 조회
      */
     @GetMapping("/restaurant/{resNo}")
-    public ResponseEntity<List<Menus>> getRestaurantMenus(@PathVariable Long resNo) {
-        List<Menus> menus = menuRepository.findByResNo(resNo);
-        return ResponseEntity.ok(menus);
+    public ResponseEntity<MappingJacksonValue> getRestaurantMenus(@PathVariable Long resNo,
+                                                                  @RequestParam(defaultValue = "detail") String fields) {
+        return withFields(menuService.getMenusByRestaurant(resNo), fields);
     }
     
     /**
-     * 음식 상세 정보 조회
+     * 음식 상세 정보 조회 (음식마다 한 건)
      */
     @GetMapping("/{menuNo}/food")
-    public ResponseEntity<List<Food>> getFoodInfo(@PathVariable Long menuNo) {
-        Optional<Menus> menuOptional = menuRepository.findById(menuNo);
-        if (menuOptional.isPresent()) {
-            List<Food> foods = menuOptional.get().getFoods();
-            if (foods != null && !foods.isEmpty()) {
-                return ResponseEntity.ok(foods);
-            }
+    public ResponseEntity<MappingJacksonValue> getFoodInfo(@PathVariable Long menuNo,
+                                                           @RequestParam(defaultValue = "detail") String fields) {
+        List<MenuDTO> foods = menuService.getFoodsByMenu(menuNo);
+        if (foods.isEmpty()) {
+            return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.notFound().build();
+        return withFields(foods, fields);
     }
     
     /**
      * 메뉴 타입별 조회
      */
     @GetMapping("/type/{mealType}")
-    public ResponseEntity<List<Menus>> getMenusByMealType(@PathVariable String mealType) {
-        List<Menus> menus = menuRepository.findByMealType(mealType);
-        return ResponseEntity.ok(menus);
+    public ResponseEntity<MappingJacksonValue> getMenusByMealType(@PathVariable String mealType,
+                                                                  @RequestParam(defaultValue = "detail") String fields) {
+        return withFields(menuService.getMenusByMealType(mealType), fields);
     }
     
     /**
      * 시그니처 메뉴 조회
      */
     @GetMapping("/signature")
-    public ResponseEntity<List<Menus>> getSignatureMenus() {
-        List<Menus> menus = menuRepository.findByIsSignatureTrue();
-        return ResponseEntity.ok(menus);
+    public ResponseEntity<MappingJacksonValue> getSignatureMenus(@RequestParam(defaultValue = "detail") String fields) {
+        return withFields(menuService.getSignatureMenus(), fields);
     }
     
     /**
      * 주간 식단 조회 (날짜 기준)
+     * 미리 직렬화된 주간 식단 뷰를 반환하며, If-None-Match가 ETag와 같으면 304로 응답한다
      */
     @GetMapping("/weekly/{startDate}")
-    public ResponseEntity<Map<String, List<Menus>>> getWeeklyMenus(@PathVariable String startDate) {
+    public ResponseEntity<byte[]> getWeeklyMenus(@PathVariable String startDate,
+                                                 @RequestParam(required = false) Long cafeNo) {
         try {
-            // 시작 날짜를 LocalDate로 파싱
+            // 시작 날짜를 LocalDate로 파싱 (시작일부터 7일간)
             LocalDate start = LocalDate.parse(startDate);
-            LocalDate end = start.plusDays(6); // 7일간
             
-            // 날짜 범위 내의 메뉴들을 조회
-            List<Menus> weeklyMenus = menuRepository.findByMenuDateBetween(start, end);
+            WeeklyMenuView view = weeklyMenuViewService.getView(start, cafeNo);
             
-            // 날짜별로 그룹화
-            Map<String, List<Menus>> weeklyMenuMap = weeklyMenus.stream()
-                .collect(Collectors.groupingBy(menu -> menu.getMenuDate().toString()));
-            
-            return ResponseEntity.ok(weeklyMenuMap);
+            // ETag가 같으면 HttpEntityMethodProcessor가 본문 없이 304로 응답
+            return ResponseEntity.ok()
+                    .eTag(view.getETag())
+                    .cacheControl(CacheControl.noCache())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(view.getBody());
             
         } catch (DateTimeParseException e) {
             return ResponseEntity.badRequest().build();
@@ -131,32 +134,31 @@ public class MenuController {
      * 특정 날짜의 메뉴 조회
      */
     @GetMapping("/date/{date}")
-    public ResponseEntity<List<Menus>> getMenusByDate(@PathVariable String date) {
+    public ResponseEntity<MappingJacksonValue> getMenusByDate(@PathVariable String date,
+                                                              @RequestParam(defaultValue = "detail") String fields) {
         try {
             LocalDate menuDate = LocalDate.parse(date);
-            List<Menus> menus = menuRepository.findByMenuDate(menuDate);
-            return ResponseEntity.ok(menus);
+            return withFields(menuService.getMenusByDate(menuDate), fields);
         } catch (DateTimeParseException e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
     /**
-     * 알러지 정보가 포함된 메뉴 조회
+     * 알러지 정보가 포함된 음식 조회 (음식마다 한 건)
      */
     @GetMapping("/allergy/{allergyType}")
-    public ResponseEntity<List<Food>> getMenusByAllergy(@PathVariable String allergyType) {
-        List<Food> foods = foodRepository.findByAllergyInfoContaining(allergyType);
-        return ResponseEntity.ok(foods);
+    public ResponseEntity<MappingJacksonValue> getMenusByAllergy(@PathVariable String allergyType,
+                                                                 @RequestParam(defaultValue = "detail") String fields) {
+        return withFields(menuService.getMenusByAllergy(allergyType), fields);
     }
     
     /**
-     * 알러지가 없는 메뉴 조회
+     * 알러지가 없는 음식 조회 (음식마다 한 건)
      */
     @GetMapping("/allergy-free")
-    public ResponseEntity<List<Food>> getAllergyFreeMenus() {
-        List<Food> foods = foodRepository.findByAllergyInfo("알러지 성분 없음");
-        return ResponseEntity.ok(foods);
+    public ResponseEntity<MappingJacksonValue> getAllergyFreeMenus(@RequestParam(defaultValue = "detail") String fields) {
+        return withFields(menuService.getAllergyFreeMenus(), fields);
     }
     
     /**
@@ -210,7 +212,7 @@ public class MenuController {
             LocalDate menuDate = LocalDate.parse(date);
             
             // 해당 날짜의 메뉴들 조회
-            List<Menus> menus = menuRepository.findByMenuDate(menuDate);
+            List<MenuDTO> menus = menuService.getMenusByDate(menuDate);
             
             // 해당 날짜의 가격 정보들 조회
             List<MenuPrice> prices = menuPriceService.getAllCurrentPrices(menuDate);
@@ -248,4 +250,17 @@ public class MenuController {
             return ResponseEntity.badRequest().build();
         }
     }
+    
+    /**
+     * 선택한 필드 묶음(MenuDTO.Views)으로 직렬화하도록 감싸서 반환
+     */
+    private ResponseEntity<MappingJacksonValue> withFields(Object body, String fields) {
+        Class<?> view = MenuDTO.Views.of(fields);
+        if (view == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setSerializationView(view);
+        return ResponseEntity.ok(value);
+    }
 }
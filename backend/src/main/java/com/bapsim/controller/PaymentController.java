@@ -7,11 +7,14 @@ import com.bapsim.repository.PaymentRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.time.LocalDateTime;
@@ -33,6 +36,10 @@ public class PaymentController {
     @Autowired
     private PaymentRepository paymentRepository;
     
+    // 결제 상태별 조회에서 userNo 없이 허용하는 최대 기간
+    @Value("${bapsim.payment.status-export.max-range-days:31}")
+    private long statusExportMaxRangeDays;
+    
     /**
      * 결제 전 검증
      * POST /api/payment/validate
@@ -219,17 +226,26 @@ public class PaymentController {
      * POST /api/payment/process
      */
     @PostMapping("/process")
-    public ResponseEntity<PaymentResponseDto> processPayment(@Valid @RequestBody PaymentRequestDto requestDto) {
-        log.info("결제 처리 요청 시작: userNo={}, menuId={}, amount={}", 
-                requestDto.getUserNo(), requestDto.getMenuId(), requestDto.getAmount());
+    public ResponseEntity<PaymentResponseDto> processPayment(
+            @Valid @RequestBody PaymentRequestDto requestDto,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        log.info("결제 처리 요청 시작: userNo={}, menuId={}, amount={}, idempotencyKey={}", 
+                requestDto.getUserNo(), requestDto.getMenuId(), requestDto.getAmount(), idempotencyKey);
         
         try {
-            PaymentResponseDto response = paymentService.processPayment(requestDto);
+            PaymentResponseDto response = paymentService.processPayment(requestDto, idempotencyKey);
             
             if (response.getPaymentStatus() == Payment.PaymentStatus.COMPLETED) {
                 log.info("결제 처리 성공: paymentId={}, userNo={}", 
                         response.getPaymentId(), response.getUserNo());
                 return ResponseEntity.ok(response);
+            } else if ("IDEMPOTENCY_KEY_IN_PROGRESS".equals(response.getErrorCode())
+                    || "IDEMPOTENCY_KEY_MISMATCH".equals(response.getErrorCode())) {
+                log.warn("중복 결제 요청 거절: userNo={}, errorCode={}", requestDto.getUserNo(), response.getErrorCode());
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            } else if ("BANK_API_UNAVAILABLE".equals(response.getErrorCode())) {
+                log.warn("결제 처리 거절 (은행 API 차단): userNo={}", requestDto.getUserNo());
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
             } else {
                 log.warn("결제 처리 실패: userNo={}, errorCode={}", 
                         requestDto.getUserNo(), response.getErrorCode());
@@ -247,17 +263,23 @@ public class PaymentController {
     }
     
     /**
-     * 결제 내역 조회
-     * GET /api/payment/history/{userNo}
+     * 결제 내역 조회 (최신순 keyset 페이지)
+     * GET /api/payment/history/{userNo}?cursor=&size=
+     * 응답의 nextCursor를 다음 요청의 cursor로 넘기면 이어지는 페이지를 조회
      */
     @GetMapping("/history/{userNo}")
-    public ResponseEntity<List<PaymentHistoryDto>> getPaymentHistory(
+    public ResponseEntity<CursorPage<PaymentHistoryDto>> getPaymentHistory(
             @PathVariable Long userNo,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<PaymentHistoryDto> history = paymentService.getPaymentHistory(userNo, startDate, endDate);
+            CursorPage<PaymentHistoryDto> history = paymentService.getPaymentHistoryPage(userNo, startDate, endDate, cursor, size);
             return ResponseEntity.ok(history);
+        } catch (IllegalArgumentException e) {
+            // 잘못된 커서
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -347,27 +369,45 @@ public class PaymentController {
     }
     
     /**
-     * 결제 상태별 조회
-     * GET /api/payment/status/{status}
+     * 결제 상태별 조회 (운영용 NDJSON 스트리밍, 관리자 전용)
+     * GET /api/payment/status/{status}?userNo=&startDate=&endDate=
+     * 한 줄에 결제 내역(PaymentHistoryDto) 하나씩, 조회되는 대로 응답에 내보낸다
+     * 결제 테이블 전체를 내보내지 않도록 userNo 또는 status-export.max-range-days 이내의 기간(startDate, endDate)이 필요하다
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<PaymentHistoryDto>> getPaymentsByStatus(
+    public ResponseEntity<?> getPaymentsByStatus(
             @PathVariable String status,
-            @RequestParam(required = false) Long userNo) {
+            @RequestParam(required = false) Long userNo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        Payment.PaymentStatus paymentStatus;
         try {
-            // TODO: PaymentService에 getPaymentsByStatus 메서드 추가 필요
-            // List<PaymentHistoryDto> payments;
-            // if (userNo != null) {
-            //     payments = paymentService.getPaymentsByStatusAndUser(status, userNo);
-            // } else {
-            //     payments = paymentService.getPaymentsByStatus(status);
-            // }
-            // return ResponseEntity.ok(payments);
-            
-            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            paymentStatus = Payment.PaymentStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return statusExportError("알 수 없는 결제 상태입니다: " + status);
+        }
+        if (startDate != null && endDate != null && !startDate.isBefore(endDate)) {
+            return statusExportError("startDate는 endDate보다 이전이어야 합니다");
+        }
+        if (userNo == null && (startDate == null || endDate == null
+                || startDate.plusDays(statusExportMaxRangeDays).isBefore(endDate))) {
+            return statusExportError("userNo 또는 " + statusExportMaxRangeDays + "일 이내의 startDate/endDate가 필요합니다");
         }
+        
+        // 응답 본문은 비동기 스레드에서 트랜잭션 없이 내보내기 전용 커넥션 풀로 읽어 쓰므로 기본 풀의 커넥션을 점유하지 않음
+        StreamingResponseBody body = outputStream ->
+                paymentService.streamPaymentsByStatus(paymentStatus, userNo, startDate, endDate, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+    
+    private ResponseEntity<Map<String, Object>> statusExportError(String message) {
+        Map<String, Object> errorResponse = new java.util.HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("error", "INVALID_REQUEST");
+        errorResponse.put("message", message);
+        return ResponseEntity.badRequest().body(errorResponse);
     }
     
     /**
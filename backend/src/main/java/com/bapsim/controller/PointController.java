@@ -1,5 +1,6 @@
 package com.bapsim.controller;
 
+import com.bapsim.dto.CursorPage;
 import com.bapsim.entity.PointHistory;
 import com.bapsim.service.PointService;
 import org.slf4j.Logger;
@@ -8,7 +9,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -55,25 +55,33 @@ public class PointController {
     }
     
     /**
-     * 사용자 포인트 내역 조회 (전체)
-     * GET /api/points/history/{userNo}
+     * 사용자 포인트 내역 조회 (전체, 최신순 keyset 페이지)
+     * GET /api/points/history/{userNo}?cursor=&size=
+     * 응답의 nextCursor를 다음 요청의 cursor로 넘기면 이어지는 페이지를 조회
      */
     @GetMapping("/history/{userNo}")
-    public ResponseEntity<Map<String, Object>> getPointHistory(@PathVariable Long userNo) {
+    public ResponseEntity<Map<String, Object>> getPointHistory(
+            @PathVariable Long userNo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         log.info("포인트 내역 조회 API 호출: userNo={}", userNo);
         
         try {
-            List<PointHistory> history = pointService.getPointHistory(userNo);
+            CursorPage<PointHistory> history = pointService.getPointHistory(userNo, cursor, size);
             
             Map<String, Object> result = new java.util.HashMap<>();
             result.put("success", true);
             result.put("userNo", userNo);
-            result.put("history", history.stream().map(this::convertToHistoryDto).collect(java.util.stream.Collectors.toList()));
-            result.put("count", history.size());
+            result.put("history", history.getItems().stream().map(this::convertToHistoryDto).collect(java.util.stream.Collectors.toList()));
+            result.put("count", history.getItems().size());
+            result.put("nextCursor", history.getNextCursor());
+            result.put("hasNext", history.isHasNext());
             result.put("message", "포인트 내역 조회가 완료되었습니다");
             
             return ResponseEntity.ok(result);
             
+        } catch (IllegalArgumentException e) {
+            return invalidCursor(e);
         } catch (Exception e) {
             log.error("포인트 내역 조회 중 오류 발생: userNo={}", userNo, e);
             Map<String, Object> result = new java.util.HashMap<>();
@@ -86,24 +94,31 @@ public class PointController {
     
     /**
      * 사용자 포인트 적립 내역 조회
-     * GET /api/points/history/{userNo}/earn
+     * GET /api/points/history/{userNo}/earn?cursor=&size=
      */
     @GetMapping("/history/{userNo}/earn")
-    public ResponseEntity<Map<String, Object>> getEarnPointHistory(@PathVariable Long userNo) {
+    public ResponseEntity<Map<String, Object>> getEarnPointHistory(
+            @PathVariable Long userNo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         log.info("포인트 적립 내역 조회 API 호출: userNo={}", userNo);
         
         try {
-            List<PointHistory> history = pointService.getEarnPointHistory(userNo);
+            CursorPage<PointHistory> history = pointService.getEarnPointHistory(userNo, cursor, size);
             
             Map<String, Object> result = new java.util.HashMap<>();
             result.put("success", true);
             result.put("userNo", userNo);
-            result.put("history", history.stream().map(this::convertToHistoryDto).collect(java.util.stream.Collectors.toList()));
-            result.put("count", history.size());
+            result.put("history", history.getItems().stream().map(this::convertToHistoryDto).collect(java.util.stream.Collectors.toList()));
+            result.put("count", history.getItems().size());
+            result.put("nextCursor", history.getNextCursor());
+            result.put("hasNext", history.isHasNext());
             result.put("message", "포인트 적립 내역 조회가 완료되었습니다");
             
             return ResponseEntity.ok(result);
             
+        } catch (IllegalArgumentException e) {
+            return invalidCursor(e);
         } catch (Exception e) {
             log.error("포인트 적립 내역 조회 중 오류 발생: userNo={}", userNo, e);
             Map<String, Object> result = new java.util.HashMap<>();
@@ -116,24 +131,31 @@ public class PointController {
     
     /**
      * 사용자 포인트 사용 내역 조회
-     * GET /api/points/history/{userNo}/use
+     * GET /api/points/history/{userNo}/use?cursor=&size=
      */
     @GetMapping("/history/{userNo}/use")
-    public ResponseEntity<Map<String, Object>> getUsePointHistory(@PathVariable Long userNo) {
+    public ResponseEntity<Map<String, Object>> getUsePointHistory(
+            @PathVariable Long userNo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         log.info("포인트 사용 내역 조회 API 호출: userNo={}", userNo);
         
         try {
-            List<PointHistory> history = pointService.getUsePointHistory(userNo);
+            CursorPage<PointHistory> history = pointService.getUsePointHistory(userNo, cursor, size);
             
             Map<String, Object> result = new java.util.HashMap<>();
             result.put("success", true);
             result.put("userNo", userNo);
-            result.put("history", history.stream().map(this::convertToHistoryDto).collect(java.util.stream.Collectors.toList()));
-            result.put("count", history.size());
+            result.put("history", history.getItems().stream().map(this::convertToHistoryDto).collect(java.util.stream.Collectors.toList()));
+            result.put("count", history.getItems().size());
+            result.put("nextCursor", history.getNextCursor());
+            result.put("hasNext", history.isHasNext());
             result.put("message", "포인트 사용 내역 조회가 완료되었습니다");
             
             return ResponseEntity.ok(result);
             
+        } catch (IllegalArgumentException e) {
+            return invalidCursor(e);
         } catch (Exception e) {
             log.error("포인트 사용 내역 조회 중 오류 발생: userNo={}", userNo, e);
             Map<String, Object> result = new java.util.HashMap<>();
@@ -146,6 +168,17 @@ public class PointController {
     
     // Private helper methods
     
+    /**
+     * 잘못된 페이지 커서 응답
+     */
+    private ResponseEntity<Map<String, Object>> invalidCursor(IllegalArgumentException e) {
+        Map<String, Object> result = new java.util.HashMap<>();
+        result.put("success", false);
+        result.put("error", "INVALID_CURSOR");
+        result.put("message", e.getMessage());
+        return ResponseEntity.badRequest().body(result);
+    }
+    
     /**
      * PointHistory 엔티티를 DTO로 변환
      */
@@ -0,0 +1,50 @@
+package com.bapsim.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * keyset 페이지 응답
+ * nextCursor를 다음 요청의 cursor 파라미터로 넘기면 이어지는 페이지를 받는다 (마지막 페이지면 null)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items;
+
+    private String nextCursor;
+
+    private boolean hasNext;
+
+    /**
+     * 페이지 크기 + 1건으로 조회한 결과에서 페이지 생성
+     * @param rows 최대 size + 1건 (초과분이 있으면 다음 페이지가 있음)
+     * @param cursorOf 행의 커서 토큰
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> items = hasNext ? rows.subList(0, size) : rows;
+        return CursorPage.<T>builder()
+                .items(items)
+                .nextCursor(hasNext ? cursorOf.apply(items.get(size - 1)) : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return CursorPage.<R>builder()
+                .items(items.stream().map(mapper).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+}
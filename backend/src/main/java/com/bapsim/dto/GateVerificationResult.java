@@ -0,0 +1,38 @@
+package com.bapsim.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 게이트 식권 확인 결과
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GateVerificationResult {
+
+    public enum Outcome {
+        /** 사용 처리됨 (DB 반영은 일괄 쓰기로 뒤따름) */
+        ACCEPTED,
+        /** 서명이 맞지 않거나 형식이 잘못된 토큰 (토큰과 식권 ID가 모두 없는 경우 포함) */
+        INVALID_TOKEN,
+        /** 이미 사용된 식권 */
+        ALREADY_USED,
+        /** 없는 식권 (식권 ID로 일괄 사용 처리한 경우) */
+        NOT_FOUND
+    }
+
+    private Outcome outcome;
+
+    /**
+     * 토큰의 식권 정보 (INVALID_TOKEN이면 null)
+     */
+    private MealTicketTokenClaims ticket;
+
+    public boolean isAccepted() {
+        return outcome == Outcome.ACCEPTED;
+    }
+}
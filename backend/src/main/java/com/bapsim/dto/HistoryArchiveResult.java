@@ -0,0 +1,31 @@
+package com.bapsim.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 이력 보관 작업 1회 실행 결과
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoryArchiveResult {
+
+    /**
+     * 보관한 사용 식권 수
+     */
+    private long usedTickets;
+
+    /**
+     * 보관한 포인트 내역 수
+     */
+    private long pointHistories;
+
+    /**
+     * 처리한 청크 수 (청크마다 트랜잭션 하나)
+     */
+    private int chunks;
+}
@@ -0,0 +1,30 @@
+package com.bapsim.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 서명된 식권 토큰에 담긴 식권 정보
+ * 게이트는 서명만 확인하고 이 값을 그대로 신뢰한다 (DB 조회 없음)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealTicketTokenClaims {
+
+    private Long ticketId;
+
+    private Long userNo;
+
+    private String menuType;
+
+    /**
+     * 발행일시 (초 단위)
+     */
+    private LocalDateTime issuedAt;
+}
@@ -1,18 +1,66 @@
 package com.bapsim.dto;
 
+import com.fasterxml.jackson.annotation.JsonView;
+
 import java.time.LocalDate;
 
+/**
+ * 메뉴 조회 응답 DTO (메뉴 + 대표 음식을 평평하게 펼친 형태)
+ * Views로 응답 필드 묶음을 고를 수 있다 (summary: 목록 화면용, detail: 상세 정보 포함)
+ */
 public class MenuDTO {
+
+    /**
+     * 응답 필드 묶음
+     */
+    public static final class Views {
+        public interface Summary {}
+        public interface Detail extends Summary {}
+
+        private Views() {}
+
+        /**
+         * fields 파라미터 값으로 필드 묶음 선택 (알 수 없는 값이면 null)
+         */
+        public static Class<?> of(String fields) {
+            if ("summary".equalsIgnoreCase(fields)) {
+                return Summary.class;
+            }
+            if ("detail".equalsIgnoreCase(fields)) {
+                return Detail.class;
+            }
+            return null;
+        }
+    }
+
+    @JsonView(Views.Summary.class)
     private Long menuNo;
+    @JsonView(Views.Summary.class)
     private String menuName;
+    @JsonView(Views.Summary.class)
     private Long price; // 추가된 필드
+    @JsonView(Views.Detail.class)
     private String category;
+    @JsonView(Views.Detail.class)
     private Long kcal;
+    @JsonView(Views.Detail.class)
     private String photoPath;
+    @JsonView(Views.Summary.class)
     private Boolean isSignature;
+    @JsonView(Views.Summary.class)
     private Boolean soldOut;
+    @JsonView(Views.Summary.class)
     private String mealType;
+    @JsonView(Views.Summary.class)
     private LocalDate menuDate;
+    @JsonView(Views.Summary.class)
+    private String kind;
+    @JsonView(Views.Detail.class)
+    private String allergyInfo;
+    @JsonView(Views.Detail.class)
+    private Long cafeNo;
+    @JsonView(Views.Detail.class)
+    private Long resNo;
 
     // 기본 생성자
     public MenuDTO() {}
@@ -111,4 +159,36 @@ public class MenuDTO {
     public void setMenuDate(LocalDate menuDate) {
         this.menuDate = menuDate;
     }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+
+    public String getAllergyInfo() {
+        return allergyInfo;
+    }
+
+    public void setAllergyInfo(String allergyInfo) {
+        this.allergyInfo = allergyInfo;
+    }
+
+    public Long getCafeNo() {
+        return cafeNo;
+    }
+
+    public void setCafeNo(Long cafeNo) {
+        this.cafeNo = cafeNo;
+    }
+
+    public Long getResNo() {
+        return resNo;
+    }
+
+    public void setResNo(Long resNo) {
+        this.resNo = resNo;
+    }
 }
@@ -0,0 +1,65 @@
+package com.bapsim.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 메뉴 JSON 파일(resources/data/menus) 한 건
+ * MenuJsonStreamReader가 토큰 스트림에서 바로 채우며, 기본값은 기존 Map 기반 적재와 같다
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuImportRecord {
+
+    @Builder.Default
+    private String kind = "A";
+
+    @Builder.Default
+    private String mealType = "점심";
+
+    @Builder.Default
+    private Boolean isSignature = false;
+
+    @Builder.Default
+    private Boolean soldOut = false;
+
+    private Long cafeNo;
+
+    private Long resNo;
+
+    private LocalDate menuDate;
+
+    private FoodRecord food;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FoodRecord {
+
+        @Builder.Default
+        private String menuName = "";
+
+        @Builder.Default
+        private Long kcal = 0L;
+
+        @Builder.Default
+        private Long allergy = 0L;
+
+        @Builder.Default
+        private String category = "한식";
+
+        @Builder.Default
+        private String content = "";
+
+        private String photoPath;
+
+        private String allergyInfo;
+    }
+}
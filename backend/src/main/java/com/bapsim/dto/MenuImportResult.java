@@ -0,0 +1,37 @@
+package com.bapsim.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 메뉴 JSON 적재 결과
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuImportResult {
+
+    private String source;
+
+    /**
+     * 이번 실행에서 저장한 메뉴 수
+     */
+    private int importedRows;
+
+    /**
+     * 이전 체크포인트에서 이어받아 건너뛴 메뉴 수
+     */
+    private int resumedRows;
+
+    private long elapsedMillis;
+
+    /**
+     * 초당 저장 메뉴 수
+     */
+    public double getRowsPerSecond() {
+        return elapsedMillis > 0 ? importedRows * 1000.0 / elapsedMillis : importedRows;
+    }
+}
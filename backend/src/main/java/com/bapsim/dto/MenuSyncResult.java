@@ -0,0 +1,36 @@
+package com.bapsim.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 메뉴 JSON 동기화 결과
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuSyncResult {
+
+    private String source;
+
+    private int inserted;
+
+    private int updated;
+
+    /**
+     * 피드에서 빠졌거나 중복이라 삭제 표시한 메뉴 수
+     */
+    private int deleted;
+
+    private int unchanged;
+
+    /**
+     * 날짜가 없어 동기화하지 못한 레코드 수
+     */
+    private int skipped;
+
+    private long elapsedMillis;
+}
@@ -119,4 +119,14 @@ public class PaymentResponseDto {
                 .message(String.format("필요 금액: %d원, 현재 잔액: %d원", requiredAmount, currentBalance))
                 .build();
     }
+    
+    // 은행 API 일시 차단 응답 생성 (서킷 브레이커/동시 호출 제한)
+    public static PaymentResponseDto bankUnavailable() {
+        return PaymentResponseDto.builder()
+                .paymentStatus(PaymentStatus.FAILED)
+                .errorCode("BANK_API_UNAVAILABLE")
+                .errorMessage("은행 API가 일시적으로 원활하지 않습니다")
+                .message("잠시 후 다시 시도해주세요")
+                .build();
+    }
 }
@@ -0,0 +1,28 @@
+package com.bapsim.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 일괄 사용 처리 요청 한 건
+ * 식권 토큰이나 식권 ID 중 하나로 식권을 지정한다 (둘 다 있으면 토큰 우선)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketRedemptionItem {
+
+    private String token;
+
+    private Long ticketId;
+
+    /**
+     * 스캐너에서 스캔한 시각 (없거나 미래 시각이면 서버 수신 시각)
+     */
+    private LocalDateTime usedAt;
+}
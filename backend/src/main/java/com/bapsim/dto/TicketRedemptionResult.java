@@ -0,0 +1,24 @@
+package com.bapsim.dto;
+
+import com.bapsim.dto.GateVerificationResult.Outcome;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 일괄 사용 처리 결과 한 건 (요청 순서와 같음)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketRedemptionResult {
+
+    /**
+     * 식권 ID (토큰을 해석하지 못했으면 null)
+     */
+    private Long ticketId;
+
+    private Outcome outcome;
+}
@@ -0,0 +1,34 @@
+package com.bapsim.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 식권 지갑(사용 가능한 식권 목록) 항목
+ * 지갑 화면과 게이트 QR 코드에 필요한 값만 담는다
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletTicketDto {
+
+    private Long ticketId;
+
+    private String menuType;
+
+    private String menuName;
+
+    private Integer amount;
+
+    private LocalDateTime issuedAt;
+
+    /**
+     * 게이트 확인용 서명 토큰
+     */
+    private String token;
+}
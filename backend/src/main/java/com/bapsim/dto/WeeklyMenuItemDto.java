@@ -0,0 +1,48 @@
+package com.bapsim.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 주간 식단 응답 항목 (메뉴 1건)
+ * 엔티티 대신 화면에 필요한 값만 담아 직렬화한다
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeeklyMenuItemDto {
+
+    private Long menuNo;
+    private String kind;
+    private String mealType;
+    private LocalDate menuDate;
+    private Boolean isSignature;
+    private Boolean soldOut;
+    private Long cafeNo;
+    private Long resNo;
+    private String menuName;   // 대표 음식 이름 (음식이 없으면 "kind - mealType")
+    private Long price;        // 오늘 기준 kind 가격 (가격표에 없으면 생략)
+    private List<FoodItem> foods;
+
+    /**
+     * 메뉴에 포함된 음식
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FoodItem {
+        private Long foodNo;
+        private String menuName;
+        private Long kcal;
+        private String category;
+        private String photoPath;
+        private String allergyInfo;
+    }
+}
@@ -1,5 +1,7 @@
 package com.bapsim.entity;
 
+import org.hibernate.annotations.BatchSize;
+
 import javax.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -55,7 +57,9 @@ public class Cafeterias {
     @JsonIgnoreProperties({"cafeterias", "hibernateLazyInitializer"})
     private University university;
     
-    @OneToMany(mappedBy = "cafeteria", fetch = FetchType.EAGER)
+    // 메뉴는 날짜가 쌓일수록 계속 늘어나므로 필요할 때만 배치로 읽는다
+    @OneToMany(mappedBy = "cafeteria", fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     @JsonIgnoreProperties({"cafeteria", "hibernateLazyInitializer"})
     private List<Menus> menus;
     
@@ -8,7 +8,10 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 public class Food {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "food_id_generator")
+    @TableGenerator(name = "food_id_generator", table = "id_generator",
+                    pkColumnName = "sequence_name", valueColumnName = "next_val",
+                    pkColumnValue = "Food", allocationSize = 50)
     @Column(name = "FOOD_NO")
     private Long foodNo;
 
@@ -17,7 +17,12 @@ import java.time.LocalDateTime;
  * 사용/미사용 상태만 관리
  */
 @Entity
-@Table(name = "meal_tickets")
+@Table(name = "meal_tickets", indexes = {
+    // 사용자별 미사용/사용 식권 목록 (user_no, is_used 조건 + created_at 정렬)
+    @Index(name = "idx_meal_tickets_user_used_created", columnList = "user_no, is_used, created_at"),
+    // 사용자별 전체 식권 keyset 페이지 (created_at, ticket_id 역순)
+    @Index(name = "idx_meal_tickets_user_created", columnList = "user_no, created_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -29,7 +34,10 @@ public class MealTicket {
      * 식권 ID (Primary Key)
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "meal_ticket_id_generator")
+    @TableGenerator(name = "meal_ticket_id_generator", table = "id_generator",
+                    pkColumnName = "sequence_name", valueColumnName = "next_val",
+                    pkColumnValue = "meal_tickets", allocationSize = 50)
     @Column(name = "ticket_id")
     private Long ticketId;
     
@@ -113,6 +121,12 @@ public class MealTicket {
     @Column(name = "updated_id", length = 50)
     private String updatedId;
     
+    /**
+     * 게이트 확인용 서명 토큰 (저장하지 않음, 발행 시 채워짐)
+     */
+    @Transient
+    private String token;
+    
     /**
      * 식권이 사용 가능한지 확인
      */
@@ -0,0 +1,100 @@
+package com.bapsim.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 보관된 식권 (meal_tickets에서 옮겨 온 사용된 식권)
+ * 식권 ID는 원본 그대로 사용하므로 이력 페이지 커서를 원본 테이블과 함께 쓸 수 있다
+ */
+@Entity
+@Table(name = "meal_tickets_archive", indexes = {
+    // 사용자별 식권 keyset 페이지 (원본 테이블의 idx_meal_tickets_user_created와 같은 형태)
+    @Index(name = "idx_meal_tickets_archive_user_created", columnList = "user_no, created_at"),
+    @Index(name = "idx_meal_tickets_archive_payment", columnList = "payment_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealTicketArchive {
+
+    @Id
+    @Column(name = "ticket_id")
+    private Long ticketId;
+
+    @Column(name = "payment_id", nullable = false)
+    private Long paymentId;
+
+    @Column(name = "user_no", nullable = false)
+    private Long userNo;
+
+    @Column(name = "menu_type", nullable = false, length = 10)
+    private String menuType;
+
+    @Column(name = "menu_name", nullable = false, length = 100)
+    private String menuName;
+
+    @Column(name = "amount", nullable = false)
+    private Integer amount;
+
+    @Column(name = "issued_at", nullable = false)
+    private LocalDateTime issuedAt;
+
+    /**
+     * 사용 여부 (보관 대상은 사용된 식권뿐이므로 항상 true)
+     */
+    @Column(name = "is_used", nullable = false)
+    private Boolean isUsed;
+
+    @Column(name = "used_at")
+    private LocalDateTime usedAt;
+
+    @Column(name = "used_location", length = 100)
+    private String usedLocation;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "created_id", length = 50)
+    private String createdId;
+
+    @Column(name = "updated_id", length = 50)
+    private String updatedId;
+
+    /**
+     * 보관일시
+     */
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    /**
+     * 조회 응답용 MealTicket으로 변환 (영속 상태가 아님)
+     */
+    public MealTicket toMealTicket() {
+        return MealTicket.builder()
+                .ticketId(ticketId)
+                .paymentId(paymentId)
+                .userNo(userNo)
+                .menuType(menuType)
+                .menuName(menuName)
+                .amount(amount)
+                .issuedAt(issuedAt)
+                .isUsed(isUsed)
+                .usedAt(usedAt)
+                .usedLocation(usedLocation)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .createdId(createdId)
+                .updatedId(updatedId)
+                .build();
+    }
+}
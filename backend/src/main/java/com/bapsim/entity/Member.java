@@ -39,7 +39,9 @@ public class Member {
     @Column(name = "USER_PIN", length = 4, nullable = false)
     private String userPin;
     
-    @Column(name = "POINT_BALANCE", nullable = false)
+    // 잔액 변경은 MemberRepository.addPointBalance(조건부 UPDATE)로만 수행
+    // 엔티티 저장 시 읽어둔 잔액으로 덮어써 동시 적립/사용이 유실되지 않도록 UPDATE 대상에서 제외
+    @Column(name = "POINT_BALANCE", nullable = false, updatable = false)
     private Integer pointBalance = 0; // 포인트 잔액 (기본값 0)
     
     @Column(name = "CREATED_ID", length = 100, nullable = false)
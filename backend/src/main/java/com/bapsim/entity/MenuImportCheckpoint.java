@@ -0,0 +1,45 @@
+package com.bapsim.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 메뉴 JSON 적재 체크포인트
+ * 배치가 커밋될 때 같은 트랜잭션에서 갱신되며, 적재가 끝나면 삭제된다
+ * 중간에 실패하면 다음 적재가 importedCount 이후부터 이어서 진행
+ */
+@Entity
+@Table(name = "menu_import_checkpoint")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuImportCheckpoint {
+
+    /**
+     * 적재 대상 파일 경로 (classpath 기준)
+     */
+    @Id
+    @Column(name = "source", length = 255)
+    private String source;
+
+    /**
+     * 적재 시작 시점의 파일 크기 (파일이 바뀌었으면 체크포인트를 버리고 처음부터 적재)
+     */
+    @Column(name = "source_size", nullable = false)
+    private Long sourceSize;
+
+    /**
+     * 커밋된 메뉴 수 (파일 앞에서부터)
+     */
+    @Column(name = "imported_count", nullable = false)
+    private Integer importedCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -5,7 +5,10 @@ import javax.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "Menu_Price")
+// 가격표 조회(findCurrentPrice): kind, 활성 여부로 좁히고 적용일 범위/정렬은 인덱스 순서로 처리
+@Table(name = "Menu_Price", indexes = {
+    @Index(name = "idx_menu_price_kind_active_effective", columnList = "KIND, IS_ACTIVE, EFFECTIVE_DATE")
+})
 public class MenuPrice {
 
     @Id
@@ -7,11 +7,30 @@ import java.util.List;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @Entity
-@Table(name = "Menus")
+@Table(name = "Menus", indexes = {
+    // 날짜 범위 조회(주간 식단, 동기화)
+    @Index(name = "idx_menus_menu_date", columnList = "MENU_DATE, CAFE_NO")
+})
+@NamedEntityGraphs({
+    // 메뉴 + 음식 목록
+    @NamedEntityGraph(name = Menus.GRAPH_FOODS, attributeNodes = @NamedAttributeNode("foods")),
+    // 메뉴 + 학식당/식당 (식당의 메뉴 목록은 포함하지 않음)
+    @NamedEntityGraph(name = Menus.GRAPH_PLACE, attributeNodes = {
+        @NamedAttributeNode("cafeteria"),
+        @NamedAttributeNode("restaurant")
+    })
+})
 public class Menus {
 
+    public static final String GRAPH_FOODS = "Menus.foods";
+    public static final String GRAPH_PLACE = "Menus.place";
+
+    // 메뉴 적재 시 Menus/Food INSERT를 JDBC 배치로 묶을 수 있도록 테이블 기반 pooled 생성기 사용
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "menus_id_generator")
+    @TableGenerator(name = "menus_id_generator", table = "id_generator",
+                    pkColumnName = "sequence_name", valueColumnName = "next_val",
+                    pkColumnValue = "Menus", allocationSize = 50)
     @Column(name = "MENU_NO")
     private Long menuNo;
 
@@ -39,7 +58,7 @@ public class Menus {
     @Column(name = "SOLD_OUT", nullable = false)
     private Boolean soldOut;
 
-    @Column(name = "CAFE_NO", insertable = false, updatable = false)
+    @Column(name = "CAFE_NO")
     private Long cafeNo;
 
     @Column(name = "RES_NO")
@@ -48,12 +67,20 @@ public class Menus {
     @Column(name = "MENU_DATE")
     private LocalDate menuDate;
 
-    @ManyToOne(fetch = FetchType.EAGER, cascade = CascadeType.ALL)
+    // 메뉴 동기화 시 변경 여부 비교용 (MenuDataService.contentHash)
+    @Column(name = "CONTENT_HASH", length = 32)
+    private String contentHash;
+
+    // 피드에서 빠진 메뉴는 삭제하지 않고 Y로 표시 (결제/식권 이력이 메뉴를 참조)
+    @Column(name = "DEL_YN", length = 1, nullable = false)
+    private String delYn = "N";
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "CAFE_NO", insertable = false, updatable = false)
     @JsonIgnoreProperties({"menus", "hibernateLazyInitializer"})
     private Cafeterias cafeteria;
 
-    @ManyToOne(fetch = FetchType.EAGER, cascade = CascadeType.ALL)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "RES_NO", insertable = false, updatable = false)
     @JsonIgnoreProperties({"menus", "hibernateLazyInitializer"})
     private Restaurants restaurant;
@@ -168,6 +195,22 @@ public class Menus {
         this.menuDate = menuDate;
     }
 
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getDelYn() {
+        return delYn;
+    }
+
+    public void setDelYn(String delYn) {
+        this.delYn = delYn;
+    }
+
     public Cafeterias getCafeteria() {
         return cafeteria;
     }
@@ -5,11 +5,20 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "Payment")
+// 사용자별 기간 조회(findByUserNoAndCreatedAtBetween...)와 상태별 복구/집계 조회용 복합 인덱스
+@Table(name = "Payment", indexes = {
+    @Index(name = "idx_payment_user_created", columnList = "USER_NO, CREATED_AT"),
+    @Index(name = "idx_payment_status_created", columnList = "PAYMENT_STATUS, CREATED_AT")
+})
 public class Payment {
     
+    // IDENTITY는 INSERT마다 즉시 실행되어 JDBC 배치가 불가능하므로 테이블 기반 pooled 생성기 사용
+    // (한 트랜잭션에서 여러 행을 쓸 때만 묶이며, 결제 한 건의 예약/확정 경로는 트랜잭션당 한 행이라 문장 수가 줄지 않음)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "payment_id_generator")
+    @TableGenerator(name = "payment_id_generator", table = "id_generator",
+                    pkColumnName = "sequence_name", valueColumnName = "next_val",
+                    pkColumnValue = "Payment", allocationSize = 50)
     @Column(name = "PAYMENT_ID")
     private Long paymentId;
     
@@ -42,6 +51,9 @@ public class Payment {
     @Column(name = "SSAFY_TRANSACTION_ID", length = 100)
     private String ssafyTransactionId;
     
+    @Column(name = "ACCOUNT_NO", length = 20)
+    private String accountNo; // 출금 계좌번호 (PENDING 결제 복구 시 거래내역 대조용)
+    
     // 포인트 사용 관련 필드 추가
     @Column(name = "USE_POINTS")
     private Boolean usePoints = false; // 포인트 사용 여부
@@ -181,6 +193,14 @@ public class Payment {
         this.ssafyTransactionId = ssafyTransactionId;
     }
     
+    public String getAccountNo() {
+        return accountNo;
+    }
+    
+    public void setAccountNo(String accountNo) {
+        this.accountNo = accountNo;
+    }
+    
     public Boolean getUsePoints() {
         return usePoints;
     }
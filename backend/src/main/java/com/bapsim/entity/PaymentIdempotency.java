@@ -0,0 +1,80 @@
+package com.bapsim.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 결제 요청 멱등 키 엔티티
+ * 사용자별 Idempotency-Key 당 한 건만 존재하며, 처리 결과(PaymentResponseDto JSON)를 보관하여
+ * 같은 키로 다시 들어온 요청에 재처리 없이 그대로 응답한다
+ */
+@Entity
+@Table(name = "payment_idempotency",
+       uniqueConstraints = @UniqueConstraint(name = "uk_payment_idempotency_user_key", columnNames = {"user_no", "idempotency_key"}),
+       // 결제 복구 시 결제에 연결된 키 정리
+       indexes = @Index(name = "idx_payment_idempotency_payment", columnList = "payment_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentIdempotency {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "idempotency_id")
+    private Long idempotencyId;
+
+    /**
+     * 사용자 ID
+     */
+    @Column(name = "user_no", nullable = false)
+    private Long userNo;
+
+    /**
+     * 클라이언트가 보낸 Idempotency-Key 헤더 값
+     */
+    @Column(name = "idempotency_key", nullable = false, length = 64)
+    private String idempotencyKey;
+
+    /**
+     * 요청 본문 지문 (같은 키로 다른 결제를 요청하는 경우 구분)
+     */
+    @Column(name = "request_hash", nullable = false)
+    private Integer requestHash;
+
+    /**
+     * 예약된 결제 ID (결제 예약이 커밋되기 전에는 null)
+     */
+    @Column(name = "payment_id")
+    private Long paymentId;
+
+    /**
+     * 처리 상태
+     */
+    @Column(name = "status", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    /**
+     * 처리 결과 (PaymentResponseDto JSON)
+     */
+    @Lob
+    @Column(name = "response_body")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum Status {
+        IN_PROGRESS, // 처리 중
+        COMPLETED    // 처리 완료 (응답 저장됨)
+    }
+}
@@ -0,0 +1,105 @@
+package com.bapsim.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 결제 후속 처리 outbox 엔티티
+ * 결제 트랜잭션 안에서 기록되고, 커밋 이후 워커가 포인트 적립/식권 발행을 처리
+ * paymentId 당 한 건만 존재 (멱등성 보장)
+ */
+@Entity
+@Table(name = "payment_outbox",
+       uniqueConstraints = @UniqueConstraint(name = "uk_payment_outbox_payment_id", columnNames = "payment_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentOutbox {
+
+    /**
+     * Outbox ID (Primary Key)
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private Long outboxId;
+
+    /**
+     * 결제 ID
+     */
+    @Column(name = "payment_id", nullable = false)
+    private Long paymentId;
+
+    /**
+     * 사용자 ID
+     */
+    @Column(name = "user_no", nullable = false)
+    private Long userNo;
+
+    /**
+     * 최종 결제 금액 (포인트 적립 기준)
+     */
+    @Column(name = "amount", nullable = false)
+    private Integer amount;
+
+    /**
+     * 처리 상태
+     */
+    @Column(name = "status", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    /**
+     * 처리 시도 횟수
+     */
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    /**
+     * 다음 처리 가능 시각 (재시도 백오프)
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * 마지막 오류 메시지
+     */
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum Status {
+        PENDING,     // 처리 대기
+        PROCESSING,  // 워커가 처리 중
+        DONE,        // 처리 완료
+        FAILED       // 재시도 한도 초과
+    }
+
+    /**
+     * 완료된 결제로부터 outbox 항목 생성
+     */
+    public static PaymentOutbox of(Payment payment) {
+        LocalDateTime now = LocalDateTime.now();
+        return PaymentOutbox.builder()
+                .paymentId(payment.getPaymentId())
+                .userNo(payment.getUserNo())
+                .amount(payment.getAmount())
+                .status(Status.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+}
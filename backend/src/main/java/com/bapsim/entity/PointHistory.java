@@ -15,7 +15,12 @@ import java.time.LocalDateTime;
  * 포인트 적립, 사용, 만료 등의 내역을 기록
  */
 @Entity
-@Table(name = "Point_history")
+@Table(name = "Point_history", indexes = {
+    // 사용자별 포인트 이력 (최신순)
+    @Index(name = "idx_point_history_user_created", columnList = "USER_NO, CREATED_AT"),
+    // 사용자별 적립/사용 내역 keyset 페이지
+    @Index(name = "idx_point_history_user_type_created", columnList = "USER_NO, POINT_TYPE, CREATED_AT")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -24,7 +29,10 @@ import java.time.LocalDateTime;
 public class PointHistory {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "point_history_id_generator")
+    @TableGenerator(name = "point_history_id_generator", table = "id_generator",
+                    pkColumnName = "sequence_name", valueColumnName = "next_val",
+                    pkColumnValue = "Point_history", allocationSize = 50)
     @Column(name = "POINT_ID")
     private Long pointId;
     
@@ -0,0 +1,80 @@
+package com.bapsim.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 보관된 포인트 내역 (Point_history에서 옮겨 온 오래된 내역)
+ * 포인트 내역 ID는 원본 그대로 사용한다
+ */
+@Entity
+@Table(name = "Point_history_archive", indexes = {
+    @Index(name = "idx_point_history_archive_user_created", columnList = "USER_NO, CREATED_AT"),
+    @Index(name = "idx_point_history_archive_user_type_created", columnList = "USER_NO, POINT_TYPE, CREATED_AT")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PointHistoryArchive {
+
+    @Id
+    @Column(name = "POINT_ID")
+    private Long pointId;
+
+    @Column(name = "USER_NO", nullable = false)
+    private Long userNo;
+
+    @Column(name = "PAYMENT_ID")
+    private Long paymentId;
+
+    @Column(name = "POINT_TYPE", nullable = false, length = 20)
+    private String pointType;
+
+    @Column(name = "POINTS", nullable = false)
+    private Integer points;
+
+    @Column(name = "BALANCE_AFTER", nullable = false)
+    private Integer balanceAfter;
+
+    @Column(name = "REASON", length = 100)
+    private String reason;
+
+    @Column(name = "DESCRIPTION", length = 200)
+    private String description;
+
+    @Column(name = "CREATED_AT", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "CREATED_ID", length = 50)
+    private String createdId;
+
+    /**
+     * 보관일시
+     */
+    @Column(name = "ARCHIVED_AT", nullable = false)
+    private LocalDateTime archivedAt;
+
+    /**
+     * 조회 응답용 PointHistory로 변환 (영속 상태가 아님)
+     */
+    public PointHistory toPointHistory() {
+        return PointHistory.builder()
+                .pointId(pointId)
+                .userNo(userNo)
+                .paymentId(paymentId)
+                .pointType(pointType)
+                .points(points)
+                .balanceAfter(balanceAfter)
+                .reason(reason)
+                .description(description)
+                .createdAt(createdAt)
+                .createdId(createdId)
+                .build();
+    }
+}
@@ -1,5 +1,7 @@
 package com.bapsim.entity;
 
+import org.hibernate.annotations.BatchSize;
+
 import javax.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -52,7 +54,9 @@ public class Restaurants {
     @Column(name = "UPDATED_AT", nullable = false)
     private LocalDateTime updatedAt;
     
-    @OneToMany(mappedBy = "restaurant", fetch = FetchType.EAGER)
+    // Cafeterias.menus와 같이 지연 로딩 + 배치 조회
+    @OneToMany(mappedBy = "restaurant", fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     @JsonIgnoreProperties({"restaurant", "hibernateLazyInitializer"})
     private List<Menus> menus;
     
@@ -0,0 +1,73 @@
+package com.bapsim.entity;
+
+import com.bapsim.entity.Payment.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 시간대별 매출 집계
+ * (결제 생성 일자, 시, 학식당, 메뉴 타입, 결제 상태)당 한 행이며, 결제 상태가 바뀔 때 쌓인
+ * 반영 대기 항목(SalesRollupDelta)을 주기적으로 모아 이전 상태 행의 금액을 빼고 새 상태 행에 더한다
+ * 하루 매출은 Payment 테이블 크기와 무관하게 이 테이블의 그날 행만 읽어 계산한다
+ */
+@Entity
+@Table(name = "sales_hourly_rollup",
+       uniqueConstraints = @UniqueConstraint(name = "uk_sales_hourly_rollup_key",
+               columnNames = {"sales_date", "sales_hour", "cafe_no", "menu_type", "payment_status"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesHourlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rollup_id")
+    private Long rollupId;
+
+    /**
+     * 결제 생성 일자
+     */
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    /**
+     * 결제 생성 시각의 시 (0~23)
+     */
+    @Column(name = "sales_hour", nullable = false)
+    private Integer salesHour;
+
+    /**
+     * 학식당 ID (학식당 메뉴가 아니면 0)
+     */
+    @Column(name = "cafe_no", nullable = false)
+    private Long cafeNo;
+
+    @Column(name = "menu_type", nullable = false, length = 10)
+    private String menuType;
+
+    @Column(name = "payment_status", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private PaymentStatus paymentStatus;
+
+    /**
+     * 결제 금액 합계
+     */
+    @Column(name = "amount", nullable = false)
+    private Long amount;
+
+    /**
+     * 결제 건수
+     */
+    @Column(name = "payment_count", nullable = false)
+    private Long paymentCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
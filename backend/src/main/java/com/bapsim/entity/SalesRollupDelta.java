@@ -0,0 +1,79 @@
+package com.bapsim.entity;
+
+import com.bapsim.entity.Payment.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 매출 집계 반영 대기 항목
+ * 결제 상태 전이 트랜잭션은 이 테이블에 행을 추가만 하고(공유 집계 행을 잠그지 않음),
+ * SalesRollupService가 주기적으로 모아 SalesHourlyRollup/SalesTotal에 더한 뒤 삭제한다
+ */
+@Entity
+@Table(name = "sales_rollup_delta")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesRollupDelta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "delta_id")
+    private Long deltaId;
+
+    @Column(name = "payment_id", nullable = false)
+    private Long paymentId;
+
+    /**
+     * 결제 생성 일자
+     */
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    /**
+     * 결제 생성 시각의 시 (0~23)
+     */
+    @Column(name = "sales_hour", nullable = false)
+    private Integer salesHour;
+
+    /**
+     * 학식당 ID (학식당 메뉴가 아니면 0)
+     */
+    @Column(name = "cafe_no", nullable = false)
+    private Long cafeNo;
+
+    @Column(name = "menu_type", nullable = false, length = 10)
+    private String menuType;
+
+    @Column(name = "menu_id", nullable = false)
+    private Long menuId;
+
+    @Column(name = "user_no", nullable = false)
+    private Long userNo;
+
+    @Column(name = "payment_status", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private PaymentStatus paymentStatus;
+
+    /**
+     * 가산할 금액 (이전 상태에서 빼는 항목은 음수)
+     */
+    @Column(name = "amount", nullable = false)
+    private Long amount;
+
+    /**
+     * 가산할 건수 (1 또는 -1)
+     */
+    @Column(name = "payment_count", nullable = false)
+    private Long paymentCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
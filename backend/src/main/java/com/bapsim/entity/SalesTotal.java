@@ -0,0 +1,64 @@
+package com.bapsim.entity;
+
+import com.bapsim.entity.Payment.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 메뉴별/사용자별 누적 결제 합계
+ * (구분, 메뉴 ID 또는 사용자 ID, 결제 상태)당 한 행이며 SalesHourlyRollup과 같은 방식으로 갱신된다
+ */
+@Entity
+@Table(name = "sales_total",
+       uniqueConstraints = @UniqueConstraint(name = "uk_sales_total_key",
+               columnNames = {"total_type", "target_id", "payment_status"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "total_id")
+    private Long totalId;
+
+    @Column(name = "total_type", nullable = false, length = 10)
+    @Enumerated(EnumType.STRING)
+    private TotalType totalType;
+
+    /**
+     * 메뉴 ID (MENU) 또는 사용자 ID (USER)
+     */
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    @Column(name = "payment_status", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private PaymentStatus paymentStatus;
+
+    /**
+     * 결제 금액 합계
+     */
+    @Column(name = "amount", nullable = false)
+    private Long amount;
+
+    /**
+     * 결제 건수
+     */
+    @Column(name = "payment_count", nullable = false)
+    private Long paymentCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum TotalType {
+        MENU, // 메뉴별
+        USER  // 사용자별
+    }
+}
@@ -0,0 +1,89 @@
+package com.bapsim.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 보관 이력 요약
+ * 보관 테이블로 옮긴 식권/포인트 내역의 건수와 합계를 사용자당 한 행으로 유지한다
+ * (보관분 합계 + 원본 테이블 합계 = 전체 합계, 포인트는 적립 - 사용 - 만료 = 잔액)
+ * 가장 최근에 보관된 행의 생성일시는 이력 조회 시 보관 테이블까지 읽어야 하는지 판단하는 데 쓴다
+ */
+@Entity
+@Table(name = "user_history_summary")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserHistorySummary {
+
+    @Id
+    @Column(name = "user_no")
+    private Long userNo;
+
+    /**
+     * 보관된 식권 수 (사용된 식권만 보관)
+     */
+    @Column(name = "archived_ticket_count", nullable = false)
+    private Long archivedTicketCount;
+
+    @Column(name = "archived_ticket_amount", nullable = false)
+    private Long archivedTicketAmount;
+
+    /**
+     * 보관된 식권 중 가장 최근 생성일시 (보관된 식권이 없으면 null)
+     */
+    @Column(name = "newest_archived_ticket_at")
+    private LocalDateTime newestArchivedTicketAt;
+
+    @Column(name = "archived_point_count", nullable = false)
+    private Long archivedPointCount;
+
+    /**
+     * 보관된 적립 포인트 합계
+     */
+    @Column(name = "archived_earned_points", nullable = false)
+    private Long archivedEarnedPoints;
+
+    /**
+     * 보관된 사용 포인트 합계 (양수)
+     */
+    @Column(name = "archived_used_points", nullable = false)
+    private Long archivedUsedPoints;
+
+    /**
+     * 보관된 만료 포인트 합계 (양수)
+     */
+    @Column(name = "archived_expired_points", nullable = false)
+    private Long archivedExpiredPoints;
+
+    /**
+     * 보관된 포인트 내역 중 가장 최근 생성일시 (보관된 내역이 없으면 null)
+     */
+    @Column(name = "newest_archived_point_at")
+    private LocalDateTime newestArchivedPointAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * 보관 전 빈 요약 행
+     */
+    public static UserHistorySummary empty(Long userNo, LocalDateTime now) {
+        return UserHistorySummary.builder()
+                .userNo(userNo)
+                .archivedTicketCount(0L)
+                .archivedTicketAmount(0L)
+                .archivedPointCount(0L)
+                .archivedEarnedPoints(0L)
+                .archivedUsedPoints(0L)
+                .archivedExpiredPoints(0L)
+                .updatedAt(now)
+                .build();
+    }
+}
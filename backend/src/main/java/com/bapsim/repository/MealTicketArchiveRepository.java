@@ -0,0 +1,51 @@
+package com.bapsim.repository;
+
+import com.bapsim.entity.MealTicketArchive;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 보관된 식권 Repository (이력 조회 시 오래된 범위만 읽음)
+ */
+@Repository
+public interface MealTicketArchiveRepository extends JpaRepository<MealTicketArchive, Long> {
+
+    Optional<MealTicketArchive> findFirstByPaymentId(Long paymentId);
+
+    /**
+     * 사용자별 보관 식권 첫 페이지 (MealTicketRepository.findPageByUserNo와 같은 정렬)
+     */
+    @Query("SELECT t FROM MealTicketArchive t WHERE t.userNo = :userNo ORDER BY t.createdAt DESC, t.ticketId DESC")
+    List<MealTicketArchive> findPageByUserNo(@Param("userNo") Long userNo, Pageable pageable);
+
+    /**
+     * 사용자별 보관 식권 다음 페이지 (커서 행보다 오래된 식권)
+     */
+    @Query("SELECT t FROM MealTicketArchive t WHERE t.userNo = :userNo " +
+           "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.ticketId < :ticketId)) " +
+           "ORDER BY t.createdAt DESC, t.ticketId DESC")
+    List<MealTicketArchive> findPageByUserNoBefore(@Param("userNo") Long userNo,
+                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("ticketId") Long ticketId,
+                                                   Pageable pageable);
+
+    /**
+     * 보관된 식권 ID를 ticketId 순으로 조회 (게이트 사용 비트맵 적재용 keyset 페이지)
+     */
+    @Query("SELECT t.ticketId FROM MealTicketArchive t WHERE t.ticketId > :after ORDER BY t.ticketId")
+    List<Long> findTicketIdsAfter(@Param("after") Long after, Pageable pageable);
+
+    /**
+     * 주어진 식권 ID 중 보관된 ID만 조회
+     */
+    @Query("SELECT t.ticketId FROM MealTicketArchive t WHERE t.ticketId IN :ticketIds")
+    List<Long> findExistingTicketIds(@Param("ticketIds") Collection<Long> ticketIds);
+}
@@ -1,9 +1,15 @@
 package com.bapsim.repository;
 
 import com.bapsim.entity.MealTicket;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +29,23 @@ public interface MealTicketRepository extends JpaRepository<MealTicket, Long> {
      */
     List<MealTicket> findByUserNoOrderByCreatedAtDesc(Long userNo);
     
+    /**
+     * 사용자별 식권 첫 페이지 (keyset 페이지네이션, 최신순)
+     */
+    @Query("SELECT t FROM MealTicket t WHERE t.userNo = :userNo ORDER BY t.createdAt DESC, t.ticketId DESC")
+    List<MealTicket> findPageByUserNo(@Param("userNo") Long userNo, Pageable pageable);
+    
+    /**
+     * 사용자별 식권 다음 페이지 (커서 행보다 오래된 식권)
+     */
+    @Query("SELECT t FROM MealTicket t WHERE t.userNo = :userNo " +
+           "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.ticketId < :ticketId)) " +
+           "ORDER BY t.createdAt DESC, t.ticketId DESC")
+    List<MealTicket> findPageByUserNoBefore(@Param("userNo") Long userNo,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("ticketId") Long ticketId,
+                                            Pageable pageable);
+    
     /**
      * 사용자별 사용 가능한 식권 목록 조회 (미사용)
      */
@@ -38,5 +61,29 @@ public interface MealTicketRepository extends JpaRepository<MealTicket, Long> {
      */
     List<MealTicket> findByMenuTypeOrderByCreatedAtDesc(String menuType);
     
+    /**
+     * 미사용 식권일 때만 사용 처리 (조건부 UPDATE 한 문장)
+     * 같은 식권을 동시에 사용 처리해도 한 요청만 1을 받는다
+     * @return 변경된 행 수 (1: 사용 처리됨, 0: 없는 식권이거나 이미 사용됨)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MealTicket t SET t.isUsed = true, t.usedAt = :usedAt, t.usedLocation = :usedLocation, " +
+           "t.updatedAt = :usedAt WHERE t.ticketId = :ticketId AND t.isUsed = false")
+    int useIfUnused(@Param("ticketId") Long ticketId,
+                    @Param("usedLocation") String usedLocation,
+                    @Param("usedAt") LocalDateTime usedAt);
+    
+    /**
+     * 사용된 식권 ID를 ticketId 순으로 조회 (게이트 사용 비트맵 적재용 keyset 페이지)
+     */
+    @Query("SELECT t.ticketId FROM MealTicket t WHERE t.isUsed = true AND t.ticketId > :after ORDER BY t.ticketId")
+    List<Long> findUsedTicketIdsAfter(@Param("after") Long after, Pageable pageable);
+    
+    /**
+     * 주어진 식권 ID 중 존재하는 ID만 조회 (일괄 사용 처리 실패 사유 구분용)
+     */
+    @Query("SELECT t.ticketId FROM MealTicket t WHERE t.ticketId IN :ticketIds")
+    List<Long> findExistingTicketIds(@Param("ticketIds") Collection<Long> ticketIds);
+    
     // 개수 조회 메서드들 제거 (단순화)
 }
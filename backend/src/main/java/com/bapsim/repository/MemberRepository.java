@@ -2,11 +2,32 @@ package com.bapsim.repository;
 
 import com.bapsim.entity.Member;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface MemberRepository extends JpaRepository<Member, Long> {
     Optional<Member> findByUserId(String userId);
+
+    /**
+     * 포인트 잔액 원자적 증감
+     * 잔액이 음수가 되는 경우 변경하지 않으며, 반환값이 1일 때만 성공
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Member m SET m.pointBalance = m.pointBalance + :delta, m.updatedAt = :now " +
+           "WHERE m.userNo = :userNo AND m.pointBalance + :delta >= 0")
+    int addPointBalance(@Param("userNo") Long userNo,
+                        @Param("delta") int delta,
+                        @Param("now") LocalDateTime now);
+
+    /**
+     * 포인트 잔액만 조회 (Member 전체를 읽지 않음)
+     */
+    @Query("SELECT m.pointBalance FROM Member m WHERE m.userNo = :userNo")
+    Optional<Integer> findPointBalance(@Param("userNo") Long userNo);
 }
@@ -0,0 +1,12 @@
+package com.bapsim.repository;
+
+import com.bapsim.entity.MenuImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 메뉴 JSON 적재 체크포인트 Repository (source 경로가 ID)
+ */
+@Repository
+public interface MenuImportCheckpointRepository extends JpaRepository<MenuImportCheckpoint, String> {
+}
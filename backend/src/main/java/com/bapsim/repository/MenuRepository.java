@@ -1,35 +1,129 @@
 package com.bapsim.repository;
 
 import com.bapsim.entity.Menus;
+import com.bapsim.repository.projection.MenuFoodRow;
+import com.bapsim.repository.projection.MenuSyncRow;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MenuRepository extends JpaRepository<Menus, Long> {
-    
-    @Query("SELECT m FROM Menus m LEFT JOIN FETCH m.food LEFT JOIN FETCH m.cafeteria LEFT JOIN FETCH m.restaurant WHERE m.cafeNo = :cafeNo")
-    List<Menus> findByCafeNo(@Param("cafeNo") Long cafeNo);
-    
-    @Query("SELECT m FROM Menus m LEFT JOIN FETCH m.food LEFT JOIN FETCH m.cafeteria LEFT JOIN FETCH m.restaurant WHERE m.resNo = :resNo")
-    List<Menus> findByResNo(@Param("resNo") Long resNo);
-    
-    @Query("SELECT m FROM Menus m LEFT JOIN FETCH m.food LEFT JOIN FETCH m.cafeteria LEFT JOIN FETCH m.restaurant WHERE m.mealType = :mealType")
-    List<Menus> findByMealType(@Param("mealType") String mealType);
-    
-    @Query("SELECT m FROM Menus m LEFT JOIN FETCH m.food LEFT JOIN FETCH m.cafeteria LEFT JOIN FETCH m.restaurant WHERE m.isSignature = true")
-    List<Menus> findByIsSignatureTrue();
-    
-    @Query("SELECT m FROM Menus m LEFT JOIN FETCH m.food LEFT JOIN FETCH m.cafeteria LEFT JOIN FETCH m.restaurant WHERE m.menuDate = :menuDate")
-    List<Menus> findByMenuDate(@Param("menuDate") LocalDate menuDate);
-    
-    @Query("SELECT m FROM Menus m LEFT JOIN FETCH m.food LEFT JOIN FETCH m.cafeteria LEFT JOIN FETCH m.restaurant WHERE m.menuDate BETWEEN :startDate AND :endDate")
-    List<Menus> findByMenuDateBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
-    
-    @Query("SELECT m FROM Menus m LEFT JOIN FETCH m.food LEFT JOIN FETCH m.cafeteria LEFT JOIN FETCH m.restaurant")
-    List<Menus> findAllWithFood();
+
+    /**
+     * 메뉴 + 음식 프로젝션 SELECT 절 (MenuFoodRow)
+     */
+    String MENU_FOOD_ROW_SELECT =
+            "SELECT m.menuNo AS menuNo, m.kind AS kind, m.mealType AS mealType, m.menuDate AS menuDate, " +
+            "m.isSignature AS isSignature, m.soldOut AS soldOut, m.cafeNo AS cafeNo, m.resNo AS resNo, " +
+            "f.foodNo AS foodNo, f.menuName AS menuName, f.kcal AS kcal, f.category AS category, " +
+            "f.photoPath AS photoPath, f.allergyInfo AS allergyInfo ";
+
+    /**
+     * 메뉴마다 대표 음식(가장 먼저 등록된 음식) 한 건만 조인 (음식이 없는 메뉴도 포함, 삭제된 메뉴 제외)
+     */
+    String REPRESENTATIVE_FOOD_JOIN =
+            "FROM Menus m LEFT JOIN m.foods f " +
+            "WHERE m.delYn = 'N' " +
+            "AND (f.foodNo IS NULL OR f.foodNo = (SELECT MIN(f2.foodNo) FROM Food f2 WHERE f2.menu = m)) ";
+
+    @Query(MENU_FOOD_ROW_SELECT + REPRESENTATIVE_FOOD_JOIN + "ORDER BY m.menuNo")
+    List<MenuFoodRow> findAllMenuRows();
+
+    @Query(MENU_FOOD_ROW_SELECT + REPRESENTATIVE_FOOD_JOIN + "AND m.menuNo = :menuNo")
+    List<MenuFoodRow> findMenuRowByMenuNo(@Param("menuNo") Long menuNo);
+
+    @Query(MENU_FOOD_ROW_SELECT + REPRESENTATIVE_FOOD_JOIN + "AND m.cafeNo = :cafeNo ORDER BY m.menuDate, m.menuNo")
+    List<MenuFoodRow> findMenuRowsByCafeNo(@Param("cafeNo") Long cafeNo);
+
+    @Query(MENU_FOOD_ROW_SELECT + REPRESENTATIVE_FOOD_JOIN + "AND m.resNo = :resNo ORDER BY m.menuDate, m.menuNo")
+    List<MenuFoodRow> findMenuRowsByResNo(@Param("resNo") Long resNo);
+
+    @Query(MENU_FOOD_ROW_SELECT + REPRESENTATIVE_FOOD_JOIN + "AND m.mealType = :mealType ORDER BY m.menuDate, m.menuNo")
+    List<MenuFoodRow> findMenuRowsByMealType(@Param("mealType") String mealType);
+
+    @Query(MENU_FOOD_ROW_SELECT + REPRESENTATIVE_FOOD_JOIN + "AND m.isSignature = true ORDER BY m.menuDate, m.menuNo")
+    List<MenuFoodRow> findSignatureMenuRows();
+
+    @Query(MENU_FOOD_ROW_SELECT + REPRESENTATIVE_FOOD_JOIN + "AND m.menuDate = :menuDate ORDER BY m.menuNo")
+    List<MenuFoodRow> findMenuRowsByMenuDate(@Param("menuDate") LocalDate menuDate);
+
+    /**
+     * 메뉴에 포함된 모든 음식 (음식마다 한 행)
+     */
+    @Query(MENU_FOOD_ROW_SELECT + "FROM Food f JOIN f.menu m WHERE m.menuNo = :menuNo AND m.delYn = 'N' ORDER BY f.foodNo")
+    List<MenuFoodRow> findFoodRowsByMenuNo(@Param("menuNo") Long menuNo);
+
+    /**
+     * 알러지 정보로 음식 검색 (음식마다 한 행)
+     */
+    @Query(MENU_FOOD_ROW_SELECT + "FROM Food f JOIN f.menu m WHERE m.delYn = 'N' AND f.allergyInfo LIKE CONCAT('%', :allergyInfo, '%') ORDER BY f.foodNo")
+    List<MenuFoodRow> findFoodRowsByAllergyInfoContaining(@Param("allergyInfo") String allergyInfo);
+
+    @Query(MENU_FOOD_ROW_SELECT + "FROM Food f JOIN f.menu m WHERE m.delYn = 'N' AND f.allergyInfo = :allergyInfo ORDER BY f.foodNo")
+    List<MenuFoodRow> findFoodRowsByAllergyInfo(@Param("allergyInfo") String allergyInfo);
+
+    /**
+     * 주간 식단 읽기 모델 생성용 조회 (전체 식당, 메뉴의 모든 음식)
+     */
+    @Query(MENU_FOOD_ROW_SELECT + "FROM Menus m LEFT JOIN m.foods f " +
+           "WHERE m.menuDate BETWEEN :startDate AND :endDate AND m.delYn = 'N' " +
+           "ORDER BY m.menuDate, m.menuNo, f.foodNo")
+    List<MenuFoodRow> findWeeklyMenuRows(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * 주간 식단 읽기 모델 생성용 조회 (특정 식당, 메뉴의 모든 음식)
+     */
+    @Query(MENU_FOOD_ROW_SELECT + "FROM Menus m LEFT JOIN m.foods f " +
+           "WHERE m.menuDate BETWEEN :startDate AND :endDate AND m.cafeNo = :cafeNo AND m.delYn = 'N' " +
+           "ORDER BY m.menuDate, m.menuNo, f.foodNo")
+    List<MenuFoodRow> findWeeklyMenuRowsByCafeNo(@Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate,
+                                                 @Param("cafeNo") Long cafeNo);
+
+    /**
+     * 메뉴 + 음식 목록 조회 (메뉴명 등 음식 정보가 필요한 경우)
+     */
+    @EntityGraph(Menus.GRAPH_FOODS)
+    Optional<Menus> findWithFoodsByMenuNo(Long menuNo);
+
+    /**
+     * 메뉴 + 학식당/식당 조회 (식당의 메뉴 목록은 읽지 않음)
+     */
+    @EntityGraph(Menus.GRAPH_PLACE)
+    Optional<Menus> findWithPlaceByMenuNo(Long menuNo);
+
+    /**
+     * 메뉴의 학식당 ID (매출 집계용, 식당 메뉴거나 메뉴가 없으면 null)
+     */
+    @Query("SELECT m.cafeNo FROM Menus m WHERE m.menuNo = :menuNo")
+    Long findCafeNoByMenuNo(@Param("menuNo") Long menuNo);
+
+    /**
+     * 동기화 대상 기간의 메뉴 키/해시 조회 (삭제 표시된 메뉴 포함)
+     */
+    @Query("SELECT m.menuNo AS menuNo, m.cafeNo AS cafeNo, m.resNo AS resNo, m.menuDate AS menuDate, " +
+           "m.mealType AS mealType, m.kind AS kind, m.contentHash AS contentHash, m.delYn AS delYn " +
+           "FROM Menus m WHERE m.menuDate BETWEEN :startDate AND :endDate ORDER BY m.menuNo")
+    List<MenuSyncRow> findSyncRowsByMenuDateBetween(@Param("startDate") LocalDate startDate,
+                                                    @Param("endDate") LocalDate endDate);
+
+    /**
+     * 메뉴 삭제 표시 (soft delete)
+     */
+    @Modifying
+    @Query("UPDATE Menus m SET m.delYn = 'Y', m.updatedId = :updatedId, m.updatedAt = :updatedAt " +
+           "WHERE m.menuNo IN :menuNos AND m.delYn = 'N'")
+    int markDeleted(@Param("menuNos") Collection<Long> menuNos,
+                    @Param("updatedId") String updatedId,
+                    @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -0,0 +1,93 @@
+package com.bapsim.repository;
+
+import com.bapsim.entity.PaymentIdempotency;
+import com.bapsim.entity.PaymentIdempotency.Status;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 결제 요청 멱등 키 Repository
+ */
+@Repository
+public interface PaymentIdempotencyRepository extends JpaRepository<PaymentIdempotency, Long> {
+
+    /**
+     * 사용자와 키로 조회
+     */
+    Optional<PaymentIdempotency> findByUserNoAndIdempotencyKey(Long userNo, String idempotencyKey);
+
+    /**
+     * 처리 중인 키에 예약된 결제 연결
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PaymentIdempotency i SET i.paymentId = :paymentId, i.updatedAt = :now " +
+           "WHERE i.userNo = :userNo AND i.idempotencyKey = :idempotencyKey AND i.status = :inProgress")
+    int attachPayment(@Param("userNo") Long userNo,
+                      @Param("idempotencyKey") String idempotencyKey,
+                      @Param("paymentId") Long paymentId,
+                      @Param("inProgress") Status inProgress,
+                      @Param("now") LocalDateTime now);
+
+    /**
+     * 처리 결과 저장 (IN_PROGRESS → COMPLETED)
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PaymentIdempotency i SET i.status = :completed, i.responseBody = :responseBody, i.updatedAt = :now " +
+           "WHERE i.userNo = :userNo AND i.idempotencyKey = :idempotencyKey AND i.status = :inProgress")
+    int complete(@Param("userNo") Long userNo,
+                 @Param("idempotencyKey") String idempotencyKey,
+                 @Param("responseBody") String responseBody,
+                 @Param("inProgress") Status inProgress,
+                 @Param("completed") Status completed,
+                 @Param("now") LocalDateTime now);
+
+    /**
+     * 처리 중인 키 해제 (응답 없이 처리가 중단된 경우)
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM PaymentIdempotency i " +
+           "WHERE i.userNo = :userNo AND i.idempotencyKey = :idempotencyKey AND i.status = :inProgress")
+    int release(@Param("userNo") Long userNo,
+                @Param("idempotencyKey") String idempotencyKey,
+                @Param("inProgress") Status inProgress);
+
+    /**
+     * 결제에 연결된 처리 중인 키에 결과 저장 (결제 복구에서 확정한 경우)
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PaymentIdempotency i SET i.status = :completed, i.responseBody = :responseBody, i.updatedAt = :now " +
+           "WHERE i.paymentId = :paymentId AND i.status = :inProgress")
+    int completeByPaymentId(@Param("paymentId") Long paymentId,
+                            @Param("responseBody") String responseBody,
+                            @Param("inProgress") Status inProgress,
+                            @Param("completed") Status completed,
+                            @Param("now") LocalDateTime now);
+
+    /**
+     * 결제에 연결된 처리 중인 키 해제 (결제 복구에서 실패 처리한 경우)
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM PaymentIdempotency i WHERE i.paymentId = :paymentId AND i.status = :inProgress")
+    int releaseByPaymentId(@Param("paymentId") Long paymentId,
+                           @Param("inProgress") Status inProgress);
+
+    /**
+     * 보관 기간이 지난 키 삭제
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM PaymentIdempotency i WHERE i.createdAt < :threshold")
+    int deleteCreatedBefore(@Param("threshold") LocalDateTime threshold);
+}
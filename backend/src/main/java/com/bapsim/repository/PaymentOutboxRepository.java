@@ -0,0 +1,77 @@
+package com.bapsim.repository;
+
+import com.bapsim.entity.PaymentOutbox;
+import com.bapsim.entity.PaymentOutbox.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 결제 후속 처리 outbox Repository
+ */
+@Repository
+public interface PaymentOutboxRepository extends JpaRepository<PaymentOutbox, Long> {
+
+    /**
+     * 결제 ID로 outbox 항목 조회
+     */
+    Optional<PaymentOutbox> findByPaymentId(Long paymentId);
+
+    /**
+     * 처리 시각이 된 항목 조회 (오래된 순)
+     */
+    @Query("SELECT o FROM PaymentOutbox o WHERE o.status = :status AND o.nextAttemptAt <= :now ORDER BY o.outboxId")
+    List<PaymentOutbox> findDue(@Param("status") Status status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * 상태별 항목 수 (backlog 측정용)
+     */
+    long countByStatusIn(Collection<Status> statuses);
+
+    /**
+     * 처리 선점 (PENDING → PROCESSING)
+     * 반환값이 1일 때만 선점 성공
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PaymentOutbox o SET o.status = :processing, o.attempts = o.attempts + 1, o.updatedAt = :now " +
+           "WHERE o.outboxId = :outboxId AND o.status = :pending")
+    int claim(@Param("outboxId") Long outboxId,
+              @Param("pending") Status pending,
+              @Param("processing") Status processing,
+              @Param("now") LocalDateTime now);
+
+    /**
+     * 처리 결과 기록
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PaymentOutbox o SET o.status = :status, o.nextAttemptAt = :nextAttemptAt, " +
+           "o.lastError = :lastError, o.updatedAt = :now WHERE o.outboxId = :outboxId")
+    int updateResult(@Param("outboxId") Long outboxId,
+                     @Param("status") Status status,
+                     @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                     @Param("lastError") String lastError,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * 워커 중단 등으로 PROCESSING에 남은 항목을 다시 대기 상태로 복구
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PaymentOutbox o SET o.status = :pending, o.updatedAt = :now " +
+           "WHERE o.status = :processing AND o.updatedAt < :threshold")
+    int releaseStale(@Param("pending") Status pending,
+                     @Param("processing") Status processing,
+                     @Param("threshold") LocalDateTime threshold,
+                     @Param("now") LocalDateTime now);
+}
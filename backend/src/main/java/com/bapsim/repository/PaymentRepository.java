@@ -2,11 +2,14 @@ package com.bapsim.repository;
 
 import com.bapsim.entity.Payment;
 import com.bapsim.entity.Payment.PaymentStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -32,6 +35,29 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     // 사용자별 특정 기간 내 결제 내역 조회
     List<Payment> findByUserNoAndCreatedAtBetweenOrderByCreatedAtDesc(Long userNo, LocalDateTime startDate, LocalDateTime endDate);
     
+    // 사용자별 결제 내역 첫 페이지 (keyset 페이지네이션, 최신순)
+    @Query("SELECT p FROM Payment p WHERE p.userNo = :userNo ORDER BY p.createdAt DESC, p.paymentId DESC")
+    List<Payment> findHistoryPage(@Param("userNo") Long userNo, Pageable pageable);
+    
+    // 사용자별 결제 내역 다음 페이지 (커서 행보다 오래된 결제)
+    @Query("SELECT p FROM Payment p WHERE p.userNo = :userNo " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.paymentId < :paymentId)) " +
+           "ORDER BY p.createdAt DESC, p.paymentId DESC")
+    List<Payment> findHistoryPageBefore(@Param("userNo") Long userNo,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("paymentId") Long paymentId,
+                                        Pageable pageable);
+    
+    // 사용자별 기간 내 결제 내역 페이지 (첫 페이지는 커서 대신 (endDate, Long.MAX_VALUE)로 조회)
+    @Query("SELECT p FROM Payment p WHERE p.userNo = :userNo AND p.createdAt >= :startDate " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.paymentId < :paymentId)) " +
+           "ORDER BY p.createdAt DESC, p.paymentId DESC")
+    List<Payment> findHistoryPageInRange(@Param("userNo") Long userNo,
+                                         @Param("startDate") LocalDateTime startDate,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("paymentId") Long paymentId,
+                                         Pageable pageable);
+    
     // SSAFY 거래 ID로 결제 조회
     Optional<Payment> findBySsafyTransactionId(String ssafyTransactionId);
     
@@ -50,7 +76,7 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     // 특정 금액 이상의 결제 내역 조회
     List<Payment> findByAmountGreaterThanEqualOrderByAmountDesc(Integer amount);
     
-    // 사용자별 총 결제 금액 계산
+    // 사용자별 총 결제 금액 계산 (사용자의 전체 결제를 읽으므로 일반 조회는 SalesRollupService.getUserAmount 사용)
     @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.userNo = :userNo AND p.paymentStatus = :status")
     Integer sumAmountByUserNoAndStatus(@Param("userNo") Long userNo, @Param("status") PaymentStatus status);
     
@@ -58,11 +84,21 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     @Query("SELECT COUNT(p) FROM Payment p WHERE p.userNo = :userNo AND p.paymentStatus = :status")
     Long countByUserNoAndStatus(@Param("userNo") Long userNo, @Param("status") PaymentStatus status);
     
-    // 오늘 결제된 총 금액 조회
-    @Query("SELECT SUM(p.amount) FROM Payment p WHERE DATE(p.createdAt) = CURDATE() AND p.paymentStatus = :status")
-    Integer sumTodayAmountByStatus(@Param("status") PaymentStatus status);
-    
-    // 특정 메뉴의 총 판매 금액 조회
+    // 기간 내 생성된 특정 상태의 결제 총 금액
+    // CREATED_AT에 함수를 씌우지 않은 범위 조건이라 idx_payment_status_created 인덱스 범위 스캔으로 처리됨
+    @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.paymentStatus = :status " +
+           "AND p.createdAt >= :start AND p.createdAt < :end")
+    Integer sumAmountByStatusAndCreatedAtRange(@Param("status") PaymentStatus status,
+                                               @Param("start") LocalDateTime start,
+                                               @Param("end") LocalDateTime end);
+    
+    // 오늘 결제된 총 금액 조회 (원본 기준, 일반 조회는 SalesRollupService.getTodayAmount 사용)
+    default Integer sumTodayAmountByStatus(PaymentStatus status) {
+        LocalDate today = LocalDate.now();
+        return sumAmountByStatusAndCreatedAtRange(status, today.atStartOfDay(), today.plusDays(1).atStartOfDay());
+    }
+    
+    // 특정 메뉴의 총 판매 금액 조회 (메뉴의 전체 결제를 읽으므로 일반 조회는 SalesRollupService.getMenuAmount 사용)
     @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.menuId = :menuId AND p.paymentStatus = :status")
     Integer sumAmountByMenuIdAndStatus(@Param("menuId") Long menuId, @Param("status") PaymentStatus status);
     
@@ -70,6 +106,38 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     @Query("SELECT p FROM Payment p WHERE p.paymentStatus = 'PENDING' AND p.pinVerified = false")
     List<Payment> findPendingUnverifiedPayments();
     
+    // 일정 시각 이전에 생성된 특정 상태의 결제 조회 (PENDING 결제 복구용)
+    List<Payment> findByPaymentStatusAndCreatedAtBeforeOrderByCreatedAtAsc(PaymentStatus status, LocalDateTime before, Pageable pageable);
+    
+    // PENDING 결제를 완료 처리 (반환값 1일 때만 상태 전이 성공)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.paymentStatus = :completed, p.ssafyTransactionId = :ssafyTransactionId, " +
+           "p.updatedAt = :now, p.updatedId = 'system' " +
+           "WHERE p.paymentId = :paymentId AND p.paymentStatus = :pending")
+    int completeIfPending(@Param("paymentId") Long paymentId,
+                          @Param("ssafyTransactionId") String ssafyTransactionId,
+                          @Param("pending") PaymentStatus pending,
+                          @Param("completed") PaymentStatus completed,
+                          @Param("now") LocalDateTime now);
+    
+    // PENDING 결제를 실패 처리 (반환값 1일 때만 상태 전이 성공)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.paymentStatus = :failed, p.updatedAt = :now, p.updatedId = 'system' " +
+           "WHERE p.paymentId = :paymentId AND p.paymentStatus = :pending")
+    int failIfPending(@Param("paymentId") Long paymentId,
+                      @Param("pending") PaymentStatus pending,
+                      @Param("failed") PaymentStatus failed,
+                      @Param("now") LocalDateTime now);
+    
+    // 결제 취소 (조회한 상태 그대로일 때만 전이, 반환값 1일 때만 성공)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.paymentStatus = :cancelled, p.updatedAt = :now, p.updatedId = 'system' " +
+           "WHERE p.paymentId = :paymentId AND p.paymentStatus = :current")
+    int cancelIfStatus(@Param("paymentId") Long paymentId,
+                       @Param("current") PaymentStatus current,
+                       @Param("cancelled") PaymentStatus cancelled,
+                       @Param("now") LocalDateTime now);
+    
     // 완료된 결제 중 PIN 검증이 안된 결제 조회 (보안 검증용)
     @Query("SELECT p FROM Payment p WHERE p.paymentStatus = 'COMPLETED' AND p.pinVerified = false")
     List<Payment> findCompletedUnverifiedPayments();
@@ -0,0 +1,118 @@
+package com.bapsim.repository;
+
+import com.bapsim.entity.Payment;
+import com.bapsim.entity.Payment.PaymentStatus;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 결제 상태별 내역 스트리밍 조회 (운영용 내보내기 전용 커넥션 풀)
+ * MySQL Connector/J는 useCursorFetch=true일 때만 fetch size 단위로 읽는데, 이 설정은 커넥션의 모든 문장을
+ * 서버 측 prepared statement로 바꾸므로 애플리케이션 기본 풀에는 두지 않고 이 조회만 쓰는 작은 풀에만 적용한다
+ * (DataSource 빈으로 등록하지 않으므로 JPA/기본 JdbcTemplate은 기존 풀을 그대로 쓴다)
+ */
+@Repository
+public class PaymentStatusExportRepository {
+
+    // 한 번에 가져올 행 수
+    private static final int FETCH_SIZE = 500;
+
+    private static final String SELECT_SQL =
+            "SELECT PAYMENT_ID, USER_NO, MENU_ID, MENU_TYPE, AMOUNT, PAYMENT_STATUS, PAYMENT_METHOD, PIN_VERIFIED, " +
+            "TRANSACTION_ID, SSAFY_TRANSACTION_ID, CREATED_AT, UPDATED_AT FROM Payment WHERE PAYMENT_STATUS = ?";
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    // 동시에 실행할 수 있는 내보내기 수
+    @Value("${bapsim.payment.status-export.max-connections:2}")
+    private int maxConnections;
+
+    private HikariDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void init() {
+        dataSource = new HikariDataSource();
+        dataSource.setPoolName("bapsim-payment-export");
+        dataSource.setJdbcUrl(dataSourceProperties.determineUrl());
+        dataSource.setUsername(dataSourceProperties.determineUsername());
+        dataSource.setPassword(dataSourceProperties.determinePassword());
+        dataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        dataSource.setMaximumPoolSize(maxConnections);
+        dataSource.setMinimumIdle(0);
+        dataSource.setReadOnly(true);
+        if (dataSource.getJdbcUrl().startsWith("jdbc:mysql:")) {
+            dataSource.addDataSourceProperty("useCursorFetch", "true");
+        }
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    @PreDestroy
+    void close() {
+        dataSource.close();
+    }
+
+    /**
+     * 결제 상태별 내역을 최신순으로 한 건씩 넘김 (결과를 모으지 않음)
+     * @param userNo 사용자 필터 (null이면 전체)
+     * @param startDate 생성 시각 하한 (포함, null이면 제한 없음)
+     * @param endDate 생성 시각 상한 (미포함, null이면 제한 없음)
+     * @param consumer 행마다 호출 (영속 상태가 아닌 Payment)
+     */
+    public void streamByStatus(PaymentStatus status, Long userNo, LocalDateTime startDate, LocalDateTime endDate,
+                               Consumer<Payment> consumer) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> args = new ArrayList<>();
+        args.add(status.name());
+        if (userNo != null) {
+            sql.append(" AND USER_NO = ?");
+            args.add(userNo);
+        }
+        if (startDate != null) {
+            sql.append(" AND CREATED_AT >= ?");
+            args.add(Timestamp.valueOf(startDate));
+        }
+        if (endDate != null) {
+            sql.append(" AND CREATED_AT < ?");
+            args.add(Timestamp.valueOf(endDate));
+        }
+        sql.append(" ORDER BY CREATED_AT DESC, PAYMENT_ID DESC");
+        jdbcTemplate.query(sql.toString(), (RowCallbackHandler) rs -> consumer.accept(mapPayment(rs)), args.toArray());
+    }
+
+    private static Payment mapPayment(ResultSet rs) throws SQLException {
+        Payment payment = new Payment();
+        payment.setPaymentId(rs.getLong("PAYMENT_ID"));
+        payment.setUserNo(rs.getLong("USER_NO"));
+        payment.setMenuId(rs.getLong("MENU_ID"));
+        payment.setMenuType(rs.getString("MENU_TYPE"));
+        payment.setAmount(rs.getInt("AMOUNT"));
+        payment.setPaymentStatus(PaymentStatus.valueOf(rs.getString("PAYMENT_STATUS")));
+        payment.setPaymentMethod(Payment.PaymentMethod.valueOf(rs.getString("PAYMENT_METHOD")));
+        payment.setPinVerified(rs.getBoolean("PIN_VERIFIED"));
+        payment.setTransactionId(rs.getString("TRANSACTION_ID"));
+        payment.setSsafyTransactionId(rs.getString("SSAFY_TRANSACTION_ID"));
+        payment.setCreatedAt(rs.getTimestamp("CREATED_AT").toLocalDateTime());
+        Timestamp updatedAt = rs.getTimestamp("UPDATED_AT");
+        payment.setUpdatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null);
+        return payment;
+    }
+}
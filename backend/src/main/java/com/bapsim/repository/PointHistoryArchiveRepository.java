@@ -0,0 +1,45 @@
+package com.bapsim.repository;
+
+import com.bapsim.entity.PointHistoryArchive;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 보관된 포인트 내역 Repository (이력 조회 시 오래된 범위만 읽음)
+ * 쿼리는 PointHistoryRepository의 keyset 페이지 쿼리와 같은 정렬을 쓴다
+ */
+@Repository
+public interface PointHistoryArchiveRepository extends JpaRepository<PointHistoryArchive, Long> {
+
+    @Query("SELECT ph FROM PointHistoryArchive ph WHERE ph.userNo = :userNo ORDER BY ph.createdAt DESC, ph.pointId DESC")
+    List<PointHistoryArchive> findHistoryPage(@Param("userNo") Long userNo, Pageable pageable);
+
+    @Query("SELECT ph FROM PointHistoryArchive ph WHERE ph.userNo = :userNo " +
+           "AND (ph.createdAt < :createdAt OR (ph.createdAt = :createdAt AND ph.pointId < :pointId)) " +
+           "ORDER BY ph.createdAt DESC, ph.pointId DESC")
+    List<PointHistoryArchive> findHistoryPageBefore(@Param("userNo") Long userNo,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("pointId") Long pointId,
+                                                    Pageable pageable);
+
+    @Query("SELECT ph FROM PointHistoryArchive ph WHERE ph.userNo = :userNo AND ph.pointType = :pointType " +
+           "ORDER BY ph.createdAt DESC, ph.pointId DESC")
+    List<PointHistoryArchive> findHistoryPageByType(@Param("userNo") Long userNo,
+                                                    @Param("pointType") String pointType,
+                                                    Pageable pageable);
+
+    @Query("SELECT ph FROM PointHistoryArchive ph WHERE ph.userNo = :userNo AND ph.pointType = :pointType " +
+           "AND (ph.createdAt < :createdAt OR (ph.createdAt = :createdAt AND ph.pointId < :pointId)) " +
+           "ORDER BY ph.createdAt DESC, ph.pointId DESC")
+    List<PointHistoryArchive> findHistoryPageByTypeBefore(@Param("userNo") Long userNo,
+                                                          @Param("pointType") String pointType,
+                                                          @Param("createdAt") LocalDateTime createdAt,
+                                                          @Param("pointId") Long pointId,
+                                                          Pageable pageable);
+}
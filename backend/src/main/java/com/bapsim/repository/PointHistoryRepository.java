@@ -1,12 +1,15 @@
 package com.bapsim.repository;
 
 import com.bapsim.entity.PointHistory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 포인트 내역 Repository
@@ -24,11 +27,54 @@ public interface PointHistoryRepository extends JpaRepository<PointHistory, Long
      */
     List<PointHistory> findByUserNoAndPointTypeOrderByCreatedAtDesc(Long userNo, String pointType);
     
+    /**
+     * 사용자별 포인트 내역 첫 페이지 (keyset 페이지네이션, 최신순)
+     */
+    @Query("SELECT ph FROM PointHistory ph WHERE ph.userNo = :userNo ORDER BY ph.createdAt DESC, ph.pointId DESC")
+    List<PointHistory> findHistoryPage(@Param("userNo") Long userNo, Pageable pageable);
+    
+    /**
+     * 사용자별 포인트 내역 다음 페이지 (커서 행보다 오래된 내역)
+     */
+    @Query("SELECT ph FROM PointHistory ph WHERE ph.userNo = :userNo " +
+           "AND (ph.createdAt < :createdAt OR (ph.createdAt = :createdAt AND ph.pointId < :pointId)) " +
+           "ORDER BY ph.createdAt DESC, ph.pointId DESC")
+    List<PointHistory> findHistoryPageBefore(@Param("userNo") Long userNo,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("pointId") Long pointId,
+                                             Pageable pageable);
+    
+    /**
+     * 사용자별 특정 타입의 포인트 내역 첫 페이지 (keyset 페이지네이션, 최신순)
+     */
+    @Query("SELECT ph FROM PointHistory ph WHERE ph.userNo = :userNo AND ph.pointType = :pointType " +
+           "ORDER BY ph.createdAt DESC, ph.pointId DESC")
+    List<PointHistory> findHistoryPageByType(@Param("userNo") Long userNo,
+                                             @Param("pointType") String pointType,
+                                             Pageable pageable);
+    
+    /**
+     * 사용자별 특정 타입의 포인트 내역 다음 페이지 (커서 행보다 오래된 내역)
+     */
+    @Query("SELECT ph FROM PointHistory ph WHERE ph.userNo = :userNo AND ph.pointType = :pointType " +
+           "AND (ph.createdAt < :createdAt OR (ph.createdAt = :createdAt AND ph.pointId < :pointId)) " +
+           "ORDER BY ph.createdAt DESC, ph.pointId DESC")
+    List<PointHistory> findHistoryPageByTypeBefore(@Param("userNo") Long userNo,
+                                                   @Param("pointType") String pointType,
+                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("pointId") Long pointId,
+                                                   Pageable pageable);
+    
     /**
      * 결제 ID로 포인트 내역 조회
      */
     List<PointHistory> findByPaymentId(Long paymentId);
     
+    /**
+     * 결제 ID와 타입으로 포인트 내역 조회 (중복 적립 확인용)
+     */
+    Optional<PointHistory> findFirstByPaymentIdAndPointType(Long paymentId, String pointType);
+    
     /**
      * 사용자별 포인트 적립 내역만 조회 (최신순)
      */
@@ -0,0 +1,50 @@
+package com.bapsim.repository;
+
+import com.bapsim.entity.Payment.PaymentStatus;
+import com.bapsim.entity.SalesHourlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 시간대별 매출 집계 Repository
+ */
+@Repository
+public interface SalesHourlyRollupRepository extends JpaRepository<SalesHourlyRollup, Long> {
+
+    boolean existsBySalesDateAndSalesHourAndCafeNoAndMenuTypeAndPaymentStatus(
+            LocalDate salesDate, Integer salesHour, Long cafeNo, String menuType, PaymentStatus paymentStatus);
+
+    /**
+     * 집계 행에 금액/건수 가산 (음수면 차감, 반환값 0이면 행이 없음)
+     */
+    @Modifying
+    @Query("UPDATE SalesHourlyRollup r SET r.amount = r.amount + :amount, " +
+           "r.paymentCount = r.paymentCount + :paymentCount, r.updatedAt = :now " +
+           "WHERE r.salesDate = :salesDate AND r.salesHour = :salesHour AND r.cafeNo = :cafeNo " +
+           "AND r.menuType = :menuType AND r.paymentStatus = :status")
+    int add(@Param("salesDate") LocalDate salesDate,
+            @Param("salesHour") Integer salesHour,
+            @Param("cafeNo") Long cafeNo,
+            @Param("menuType") String menuType,
+            @Param("status") PaymentStatus status,
+            @Param("amount") long amount,
+            @Param("paymentCount") long paymentCount,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * 일자별 특정 상태의 매출 합계 (최대 24시간 × 학식당 × 메뉴 타입 행)
+     */
+    @Query("SELECT COALESCE(SUM(r.amount), 0) FROM SalesHourlyRollup r " +
+           "WHERE r.salesDate = :salesDate AND r.paymentStatus = :status")
+    Long sumAmountBySalesDateAndStatus(@Param("salesDate") LocalDate salesDate,
+                                       @Param("status") PaymentStatus status);
+
+    List<SalesHourlyRollup> findBySalesDateOrderBySalesHourAscCafeNoAscMenuTypeAsc(LocalDate salesDate);
+}
@@ -0,0 +1,26 @@
+package com.bapsim.repository;
+
+import com.bapsim.entity.SalesRollupDelta;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.List;
+
+/**
+ * 매출 집계 반영 대기 항목 Repository
+ */
+@Repository
+public interface SalesRollupDeltaRepository extends JpaRepository<SalesRollupDelta, Long> {
+
+    /**
+     * 오래된 순으로 반영 대기 항목 잠금 조회
+     * 여러 노드가 동시에 반영해도 같은 항목을 두 번 더하지 않도록 앞선 반영 트랜잭션이 끝날 때까지 기다린다
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM SalesRollupDelta d ORDER BY d.deltaId")
+    List<SalesRollupDelta> findOldestForUpdate(Pageable pageable);
+}
@@ -0,0 +1,40 @@
+package com.bapsim.repository;
+
+import com.bapsim.entity.Payment.PaymentStatus;
+import com.bapsim.entity.SalesTotal;
+import com.bapsim.entity.SalesTotal.TotalType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 메뉴별/사용자별 누적 결제 합계 Repository
+ */
+@Repository
+public interface SalesTotalRepository extends JpaRepository<SalesTotal, Long> {
+
+    Optional<SalesTotal> findByTotalTypeAndTargetIdAndPaymentStatus(TotalType totalType, Long targetId,
+                                                                    PaymentStatus paymentStatus);
+
+    boolean existsByTotalTypeAndTargetIdAndPaymentStatus(TotalType totalType, Long targetId,
+                                                         PaymentStatus paymentStatus);
+
+    /**
+     * 합계 행에 금액/건수 가산 (음수면 차감, 반환값 0이면 행이 없음)
+     */
+    @Modifying
+    @Query("UPDATE SalesTotal t SET t.amount = t.amount + :amount, " +
+           "t.paymentCount = t.paymentCount + :paymentCount, t.updatedAt = :now " +
+           "WHERE t.totalType = :totalType AND t.targetId = :targetId AND t.paymentStatus = :status")
+    int add(@Param("totalType") TotalType totalType,
+            @Param("targetId") Long targetId,
+            @Param("status") PaymentStatus status,
+            @Param("amount") long amount,
+            @Param("paymentCount") long paymentCount,
+            @Param("now") LocalDateTime now);
+}
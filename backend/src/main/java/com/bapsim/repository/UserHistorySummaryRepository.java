@@ -0,0 +1,13 @@
+package com.bapsim.repository;
+
+import com.bapsim.entity.UserHistorySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 사용자별 보관 이력 요약 Repository
+ * 가산은 보관 작업(HistoryArchiveService)이 보관 트랜잭션 안에서 JDBC 배치로 처리한다
+ */
+@Repository
+public interface UserHistorySummaryRepository extends JpaRepository<UserHistorySummary, Long> {
+}
@@ -0,0 +1,39 @@
+package com.bapsim.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * 메뉴 조회용 프로젝션 (메뉴 1건 × 음식 1건)
+ * 엔티티를 만들지 않으므로 식당/레스토랑 연관관계가 함께 로딩되지 않는다
+ */
+public interface MenuFoodRow {
+
+    Long getMenuNo();
+
+    String getKind();
+
+    String getMealType();
+
+    LocalDate getMenuDate();
+
+    Boolean getIsSignature();
+
+    Boolean getSoldOut();
+
+    Long getCafeNo();
+
+    Long getResNo();
+
+    // 음식이 없는 메뉴는 아래 값이 모두 null
+    Long getFoodNo();
+
+    String getMenuName();
+
+    Long getKcal();
+
+    String getCategory();
+
+    String getPhotoPath();
+
+    String getAllergyInfo();
+}
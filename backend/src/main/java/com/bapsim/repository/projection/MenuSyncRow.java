@@ -0,0 +1,25 @@
+package com.bapsim.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * 메뉴 동기화용 프로젝션 (동기화 키 + 내용 해시)
+ */
+public interface MenuSyncRow {
+
+    Long getMenuNo();
+
+    Long getCafeNo();
+
+    Long getResNo();
+
+    LocalDate getMenuDate();
+
+    String getMealType();
+
+    String getKind();
+
+    String getContentHash();
+
+    String getDelYn();
+}
@@ -0,0 +1,393 @@
+package com.bapsim.service;
+
+import com.bapsim.dto.HistoryArchiveResult;
+import com.bapsim.entity.MealTicketArchive;
+import com.bapsim.entity.PointHistory;
+import com.bapsim.entity.PointHistoryArchive;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 이력 보관 작업
+ * 오래전에 사용된 식권과 오래된 포인트 내역을 보관 테이블로 옮겨 원본 테이블을 작게 유지한다
+ * 식권에는 유효 기간이 없으므로 사용하지 않은 식권은 발행 시점과 관계없이 보관하지 않는다 (결제한 식권을 게이트가 거절하게 되므로)
+ * 청크(chunk-size건)마다 트랜잭션 하나로 원본 행 잠금 → 보관 테이블 INSERT → 원본 DELETE → 사용자별 요약 가산을 처리하고,
+ * 청크 사이에는 chunk-pause-ms만큼 쉬어 운영 트래픽과 잠금/IO를 나눠 쓴다
+ * 이력 조회는 사용자별 요약의 가장 최근 보관 시각을 보고 필요한 페이지에서만 보관 테이블을 함께 읽는다
+ */
+@Service
+public class HistoryArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(HistoryArchiveService.class);
+
+    // 보관 대상: 사용 후 보관 기간이 지난 식권
+    private static final String TICKET_ARCHIVE_CONDITION = "is_used = TRUE AND used_at < :usedCutoff";
+
+    // 후보는 잠금 없이 PK 순으로 찾고, 잠글 때 조건을 다시 확인한다 (그 사이 사용 처리된 식권은 제외)
+    private static final String FIND_TICKET_CANDIDATES_SQL =
+            "SELECT ticket_id FROM meal_tickets WHERE ticket_id > :after AND " + TICKET_ARCHIVE_CONDITION +
+            " ORDER BY ticket_id LIMIT :limit";
+
+    private static final String LOCK_TICKETS_SQL =
+            "SELECT ticket_id, payment_id, user_no, menu_type, menu_name, amount, issued_at, is_used, used_at, " +
+            "used_location, created_at, updated_at, created_id, updated_id FROM meal_tickets " +
+            "WHERE ticket_id IN (:ticketIds) AND " + TICKET_ARCHIVE_CONDITION + " FOR UPDATE";
+
+    private static final String INSERT_TICKET_ARCHIVE_SQL =
+            "INSERT INTO meal_tickets_archive (ticket_id, payment_id, user_no, menu_type, menu_name, amount, issued_at, " +
+            "is_used, used_at, used_location, created_at, updated_at, created_id, updated_id, archived_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String DELETE_TICKETS_SQL = "DELETE FROM meal_tickets WHERE ticket_id IN (:ticketIds)";
+
+    private static final String FIND_POINT_CANDIDATES_SQL =
+            "SELECT POINT_ID FROM Point_history WHERE POINT_ID > :after AND CREATED_AT < :cutoff " +
+            "ORDER BY POINT_ID LIMIT :limit";
+
+    private static final String LOCK_POINTS_SQL =
+            "SELECT POINT_ID, USER_NO, PAYMENT_ID, POINT_TYPE, POINTS, BALANCE_AFTER, REASON, DESCRIPTION, " +
+            "CREATED_AT, CREATED_ID FROM Point_history WHERE POINT_ID IN (:pointIds) FOR UPDATE";
+
+    private static final String INSERT_POINT_ARCHIVE_SQL =
+            "INSERT INTO Point_history_archive (POINT_ID, USER_NO, PAYMENT_ID, POINT_TYPE, POINTS, BALANCE_AFTER, " +
+            "REASON, DESCRIPTION, CREATED_AT, CREATED_ID, ARCHIVED_AT) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String DELETE_POINTS_SQL = "DELETE FROM Point_history WHERE POINT_ID IN (:pointIds)";
+
+    private static final String FIND_SUMMARY_USERS_SQL =
+            "SELECT user_no FROM user_history_summary WHERE user_no IN (:userNos)";
+
+    private static final String INSERT_SUMMARY_SQL =
+            "INSERT INTO user_history_summary (user_no, archived_ticket_count, archived_ticket_amount, " +
+            "archived_point_count, archived_earned_points, archived_used_points, archived_expired_points, updated_at) " +
+            "VALUES (?, 0, 0, 0, 0, 0, 0, ?)";
+
+    private static final String ADD_TICKET_SUMMARY_SQL =
+            "UPDATE user_history_summary SET archived_ticket_count = archived_ticket_count + ?, " +
+            "archived_ticket_amount = archived_ticket_amount + ?, " +
+            "newest_archived_ticket_at = CASE WHEN newest_archived_ticket_at IS NULL OR newest_archived_ticket_at < ? " +
+            "THEN ? ELSE newest_archived_ticket_at END, updated_at = ? WHERE user_no = ?";
+
+    private static final String ADD_POINT_SUMMARY_SQL =
+            "UPDATE user_history_summary SET archived_point_count = archived_point_count + ?, " +
+            "archived_earned_points = archived_earned_points + ?, " +
+            "archived_used_points = archived_used_points + ?, " +
+            "archived_expired_points = archived_expired_points + ?, " +
+            "newest_archived_point_at = CASE WHEN newest_archived_point_at IS NULL OR newest_archived_point_at < ? " +
+            "THEN ? ELSE newest_archived_point_at END, updated_at = ? WHERE user_no = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${bapsim.archive.chunk-size:500}")
+    private int chunkSize;
+
+    // 청크 사이 대기 시간 (보관 작업이 운영 쿼리와 잠금/IO를 다투지 않도록)
+    @Value("${bapsim.archive.chunk-pause-ms:200}")
+    private long chunkPauseMs;
+
+    // 1회 실행에서 처리할 최대 청크 수 (남은 행은 다음 주기에 이어서 처리)
+    @Value("${bapsim.archive.max-chunks-per-run:100}")
+    private int maxChunksPerRun;
+
+    @Value("${bapsim.archive.meal-ticket.used-retention-days:90}")
+    private long usedTicketRetentionDays;
+
+    @Value("${bapsim.archive.point-history.retention-days:180}")
+    private long pointRetentionDays;
+
+    private Counter usedTicketCounter;
+    private Counter pointHistoryCounter;
+
+    @PostConstruct
+    void initMetrics() {
+        usedTicketCounter = archivedRowCounter("used_ticket");
+        pointHistoryCounter = archivedRowCounter("point_history");
+    }
+
+    /**
+     * 주기적 이력 보관
+     */
+    @Scheduled(fixedDelayString = "${bapsim.archive.interval-ms:3600000}",
+               initialDelayString = "${bapsim.archive.initial-delay-ms:600000}")
+    public void archiveOldHistory() {
+        try {
+            archive();
+        } catch (Exception e) {
+            log.error("이력 보관 중 오류 발생 (다음 주기에 이어서 처리)", e);
+        }
+    }
+
+    /**
+     * 보관 대상 식권과 포인트 내역을 청크 단위로 보관 테이블로 옮김
+     * 청크 수는 식권과 포인트 내역을 합쳐 max-chunks-per-run까지 처리한다
+     */
+    public synchronized HistoryArchiveResult archive() {
+        LocalDateTime now = LocalDateTime.now();
+        HistoryArchiveResult result = HistoryArchiveResult.builder().build();
+
+        MapSqlParameterSource ticketParams = new MapSqlParameterSource()
+                .addValue("usedCutoff", now.minusDays(usedTicketRetentionDays))
+                .addValue("limit", chunkSize);
+        long after = 0L;
+        while (result.getChunks() < maxChunksPerRun) {
+            List<Long> candidates = namedParameterJdbcTemplate.queryForList(FIND_TICKET_CANDIDATES_SQL,
+                    ticketParams.addValue("after", after), Long.class);
+            if (candidates.isEmpty()) {
+                break;
+            }
+            after = candidates.get(candidates.size() - 1);
+            archiveTicketChunk(candidates, ticketParams, now, result);
+            if (candidates.size() < chunkSize || !pause()) {
+                break;
+            }
+        }
+
+        MapSqlParameterSource pointParams = new MapSqlParameterSource()
+                .addValue("cutoff", now.minusDays(pointRetentionDays))
+                .addValue("limit", chunkSize);
+        after = 0L;
+        while (result.getChunks() < maxChunksPerRun) {
+            List<Long> candidates = namedParameterJdbcTemplate.queryForList(FIND_POINT_CANDIDATES_SQL,
+                    pointParams.addValue("after", after), Long.class);
+            if (candidates.isEmpty()) {
+                break;
+            }
+            after = candidates.get(candidates.size() - 1);
+            archivePointChunk(candidates, now, result);
+            if (candidates.size() < chunkSize || !pause()) {
+                break;
+            }
+        }
+
+        if (result.getChunks() > 0) {
+            log.info("이력 보관 완료: usedTickets={}, pointHistories={}, chunks={}",
+                    result.getUsedTickets(), result.getPointHistories(), result.getChunks());
+        }
+        return result;
+    }
+
+    private void archiveTicketChunk(List<Long> candidates, MapSqlParameterSource ticketParams, LocalDateTime now,
+                                    HistoryArchiveResult result) {
+        List<MealTicketArchive> archived = transactionTemplate.execute(status -> {
+            List<MealTicketArchive> rows = namedParameterJdbcTemplate.query(LOCK_TICKETS_SQL,
+                    new MapSqlParameterSource(ticketParams.getValues()).addValue("ticketIds", candidates),
+                    ticketRowMapper(now));
+            if (rows.isEmpty()) {
+                return rows;
+            }
+            jdbcTemplate.batchUpdate(INSERT_TICKET_ARCHIVE_SQL, rows, rows.size(), (ps, row) -> {
+                ps.setLong(1, row.getTicketId());
+                ps.setLong(2, row.getPaymentId());
+                ps.setLong(3, row.getUserNo());
+                ps.setString(4, row.getMenuType());
+                ps.setString(5, row.getMenuName());
+                ps.setInt(6, row.getAmount());
+                ps.setTimestamp(7, Timestamp.valueOf(row.getIssuedAt()));
+                ps.setBoolean(8, row.getIsUsed());
+                ps.setTimestamp(9, row.getUsedAt() != null ? Timestamp.valueOf(row.getUsedAt()) : null);
+                ps.setString(10, row.getUsedLocation());
+                ps.setTimestamp(11, Timestamp.valueOf(row.getCreatedAt()));
+                ps.setTimestamp(12, Timestamp.valueOf(row.getUpdatedAt()));
+                ps.setString(13, row.getCreatedId());
+                ps.setString(14, row.getUpdatedId());
+                ps.setTimestamp(15, Timestamp.valueOf(now));
+            });
+            namedParameterJdbcTemplate.update(DELETE_TICKETS_SQL, new MapSqlParameterSource("ticketIds",
+                    rows.stream().map(MealTicketArchive::getTicketId).collect(Collectors.toList())));
+
+            Map<Long, List<MealTicketArchive>> byUser = groupByUser(rows, MealTicketArchive::getUserNo);
+            ensureSummaries(byUser.keySet(), now);
+            jdbcTemplate.batchUpdate(ADD_TICKET_SUMMARY_SQL, new ArrayList<>(byUser.values()), byUser.size(),
+                    (ps, userRows) -> {
+                        Timestamp newest = Timestamp.valueOf(userRows.stream().map(MealTicketArchive::getCreatedAt)
+                                .max(LocalDateTime::compareTo).orElseThrow());
+                        ps.setLong(1, userRows.size());
+                        ps.setLong(2, userRows.stream().mapToLong(MealTicketArchive::getAmount).sum());
+                        ps.setTimestamp(3, newest);
+                        ps.setTimestamp(4, newest);
+                        ps.setTimestamp(5, Timestamp.valueOf(now));
+                        ps.setLong(6, userRows.get(0).getUserNo());
+                    });
+            return rows;
+        });
+
+        result.setChunks(result.getChunks() + 1);
+        result.setUsedTickets(result.getUsedTickets() + archived.size());
+        usedTicketCounter.increment(archived.size());
+    }
+
+    private void archivePointChunk(List<Long> candidates, LocalDateTime now, HistoryArchiveResult result) {
+        List<PointHistoryArchive> archived = transactionTemplate.execute(status -> {
+            List<PointHistoryArchive> rows = namedParameterJdbcTemplate.query(LOCK_POINTS_SQL,
+                    new MapSqlParameterSource("pointIds", candidates), pointRowMapper(now));
+            if (rows.isEmpty()) {
+                return rows;
+            }
+            jdbcTemplate.batchUpdate(INSERT_POINT_ARCHIVE_SQL, rows, rows.size(), (ps, row) -> {
+                ps.setLong(1, row.getPointId());
+                ps.setLong(2, row.getUserNo());
+                if (row.getPaymentId() != null) {
+                    ps.setLong(3, row.getPaymentId());
+                } else {
+                    ps.setNull(3, Types.BIGINT);
+                }
+                ps.setString(4, row.getPointType());
+                ps.setInt(5, row.getPoints());
+                ps.setInt(6, row.getBalanceAfter());
+                ps.setString(7, row.getReason());
+                ps.setString(8, row.getDescription());
+                ps.setTimestamp(9, Timestamp.valueOf(row.getCreatedAt()));
+                ps.setString(10, row.getCreatedId());
+                ps.setTimestamp(11, Timestamp.valueOf(now));
+            });
+            namedParameterJdbcTemplate.update(DELETE_POINTS_SQL, new MapSqlParameterSource("pointIds",
+                    rows.stream().map(PointHistoryArchive::getPointId).collect(Collectors.toList())));
+
+            Map<Long, List<PointHistoryArchive>> byUser = groupByUser(rows, PointHistoryArchive::getUserNo);
+            ensureSummaries(byUser.keySet(), now);
+            jdbcTemplate.batchUpdate(ADD_POINT_SUMMARY_SQL, new ArrayList<>(byUser.values()), byUser.size(),
+                    (ps, userRows) -> {
+                        Timestamp newest = Timestamp.valueOf(userRows.stream().map(PointHistoryArchive::getCreatedAt)
+                                .max(LocalDateTime::compareTo).orElseThrow());
+                        ps.setLong(1, userRows.size());
+                        ps.setLong(2, sumPoints(userRows, PointHistory.PointType.EARN));
+                        // 사용/만료 내역은 음수로 기록되어 있으므로 양수 합계로 바꿔 누적
+                        ps.setLong(3, -sumPoints(userRows, PointHistory.PointType.USE));
+                        ps.setLong(4, -sumPoints(userRows, PointHistory.PointType.EXPIRE));
+                        ps.setTimestamp(5, newest);
+                        ps.setTimestamp(6, newest);
+                        ps.setTimestamp(7, Timestamp.valueOf(now));
+                        ps.setLong(8, userRows.get(0).getUserNo());
+                    });
+            return rows;
+        });
+
+        result.setChunks(result.getChunks() + 1);
+        result.setPointHistories(result.getPointHistories() + archived.size());
+        pointHistoryCounter.increment(archived.size());
+    }
+
+    /**
+     * 요약 행이 없는 사용자의 빈 요약 행 생성 (이후 가산은 UPDATE 배치 한 번)
+     */
+    private void ensureSummaries(Set<Long> userNos, LocalDateTime now) {
+        Set<Long> missing = new HashSet<>(userNos);
+        missing.removeAll(namedParameterJdbcTemplate.queryForList(FIND_SUMMARY_USERS_SQL,
+                new MapSqlParameterSource("userNos", userNos), Long.class));
+        if (missing.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SUMMARY_SQL, new ArrayList<>(missing), missing.size(), (ps, userNo) -> {
+            ps.setLong(1, userNo);
+            ps.setTimestamp(2, Timestamp.valueOf(now));
+        });
+    }
+
+    /**
+     * 다음 청크 전 대기
+     * @return 중단 요청(종료 중)을 받으면 false
+     */
+    private boolean pause() {
+        if (chunkPauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(chunkPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("이력 보관 중단 요청, 남은 행은 다음 주기에 처리");
+            return false;
+        }
+    }
+
+    private static long sumPoints(List<PointHistoryArchive> rows, String pointType) {
+        return rows.stream().filter(row -> pointType.equals(row.getPointType()))
+                .mapToLong(PointHistoryArchive::getPoints).sum();
+    }
+
+    private static <T> Map<Long, List<T>> groupByUser(List<T> rows, Function<T, Long> userNoOf) {
+        // 사용자 번호 순으로 요약 행을 잠가 동시 실행 간 교착을 막는다
+        Map<Long, List<T>> byUser = new LinkedHashMap<>();
+        rows.stream().map(userNoOf).sorted().distinct().forEach(userNo -> byUser.put(userNo, new ArrayList<>()));
+        rows.forEach(row -> byUser.get(userNoOf.apply(row)).add(row));
+        return byUser;
+    }
+
+    private static RowMapper<MealTicketArchive> ticketRowMapper(LocalDateTime archivedAt) {
+        return (rs, rowNum) -> MealTicketArchive.builder()
+                .ticketId(rs.getLong("ticket_id"))
+                .paymentId(rs.getLong("payment_id"))
+                .userNo(rs.getLong("user_no"))
+                .menuType(rs.getString("menu_type"))
+                .menuName(rs.getString("menu_name"))
+                .amount(rs.getInt("amount"))
+                .issuedAt(rs.getTimestamp("issued_at").toLocalDateTime())
+                .isUsed(rs.getBoolean("is_used"))
+                .usedAt(rs.getTimestamp("used_at") != null ? rs.getTimestamp("used_at").toLocalDateTime() : null)
+                .usedLocation(rs.getString("used_location"))
+                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                .updatedAt(rs.getTimestamp("updated_at").toLocalDateTime())
+                .createdId(rs.getString("created_id"))
+                .updatedId(rs.getString("updated_id"))
+                .archivedAt(archivedAt)
+                .build();
+    }
+
+    private static RowMapper<PointHistoryArchive> pointRowMapper(LocalDateTime archivedAt) {
+        return (rs, rowNum) -> PointHistoryArchive.builder()
+                .pointId(rs.getLong("POINT_ID"))
+                .userNo(rs.getLong("USER_NO"))
+                .paymentId(rs.getObject("PAYMENT_ID") != null ? rs.getLong("PAYMENT_ID") : null)
+                .pointType(rs.getString("POINT_TYPE"))
+                .points(rs.getInt("POINTS"))
+                .balanceAfter(rs.getInt("BALANCE_AFTER"))
+                .reason(rs.getString("REASON"))
+                .description(rs.getString("DESCRIPTION"))
+                .createdAt(rs.getTimestamp("CREATED_AT").toLocalDateTime())
+                .createdId(rs.getString("CREATED_ID"))
+                .archivedAt(archivedAt)
+                .build();
+    }
+
+    private Counter archivedRowCounter(String kind) {
+        return Counter.builder("bapsim.archive.rows")
+                .description("보관 테이블로 옮긴 행 수")
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,247 @@
+package com.bapsim.service;
+
+import com.bapsim.dto.GateVerificationResult;
+import com.bapsim.dto.GateVerificationResult.Outcome;
+import com.bapsim.dto.MealTicketTokenClaims;
+import com.bapsim.dto.TicketRedemptionItem;
+import com.bapsim.dto.TicketRedemptionResult;
+import com.bapsim.repository.MealTicketArchiveRepository;
+import com.bapsim.repository.MealTicketRepository;
+import com.bapsim.service.MealTicketRedemptionWriter.Redemption;
+import com.bapsim.util.SpentTicketBitmap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * 게이트 식권 확인 서비스
+ * 서명된 식권 토큰과 노드 로컬 사용 비트맵만으로 통과 여부를 판단하고(DB 조회 없음),
+ * 사용 처리는 {@link MealTicketRedemptionWriter}가 모아서 meal_tickets에 반영한다
+ * 비트맵은 노드마다 따로 있으므로 같은 식권이 서로 다른 노드의 게이트를 동시에 통과하면 DB 반영 시 충돌로 집계된다
+ */
+@Service
+public class MealTicketGateService {
+
+    private static final Logger log = LoggerFactory.getLogger(MealTicketGateService.class);
+
+    @Autowired
+    private MealTicketTokenService mealTicketTokenService;
+
+    @Autowired
+    private MealTicketRedemptionWriter mealTicketRedemptionWriter;
+
+    @Autowired
+    private MealTicketRepository mealTicketRepository;
+
+    @Autowired
+    private MealTicketArchiveRepository mealTicketArchiveRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${bapsim.meal-ticket.gate.warmup-page-size:10000}")
+    private int warmupPageSize;
+
+    @Value("${bapsim.meal-ticket.redemption.max-batch-items:200}")
+    private int maxBatchItems;
+
+    private final SpentTicketBitmap spentTickets = new SpentTicketBitmap();
+
+    private Counter acceptedCounter;
+    private Counter invalidCounter;
+    private Counter alreadyUsedCounter;
+
+    @PostConstruct
+    void initMetrics() {
+        acceptedCounter = verificationCounter("accepted");
+        invalidCounter = verificationCounter("invalid_token");
+        alreadyUsedCounter = verificationCounter("already_used");
+    }
+
+    /**
+     * 기동 시 DB에서 이미 사용된 식권 ID와 보관된 식권 ID(사용된 식권)를 읽어 비트맵을 채움 (ticketId 순 keyset 페이지)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSpentTickets() {
+        int used = loadTicketIds(mealTicketRepository::findUsedTicketIdsAfter);
+        int archived = loadTicketIds(mealTicketArchiveRepository::findTicketIdsAfter);
+        log.info("사용된 식권 비트맵 적재 완료: used={}, archived={}, pages={}", used, archived, spentTickets.pageCount());
+    }
+
+    private int loadTicketIds(BiFunction<Long, Pageable, List<Long>> pageQuery) {
+        long after = Long.MIN_VALUE;
+        int loaded = 0;
+        List<Long> ticketIds;
+        do {
+            ticketIds = pageQuery.apply(after, PageRequest.of(0, warmupPageSize));
+            for (Long ticketId : ticketIds) {
+                spentTickets.markSpent(ticketId);
+            }
+            loaded += ticketIds.size();
+            if (!ticketIds.isEmpty()) {
+                after = ticketIds.get(ticketIds.size() - 1);
+            }
+        } while (ticketIds.size() == warmupPageSize);
+        return loaded;
+    }
+
+    /**
+     * 게이트에서 식권 토큰 확인 및 사용 처리
+     * @param location 사용 위치 (식당명/게이트)
+     */
+    public GateVerificationResult verify(String token, String location) {
+        MealTicketTokenClaims claims;
+        try {
+            claims = mealTicketTokenService.verify(token);
+        } catch (IllegalArgumentException e) {
+            log.warn("게이트 식권 토큰 검증 실패: location={}, reason={}", location, e.getMessage());
+            invalidCounter.increment();
+            return GateVerificationResult.builder().outcome(Outcome.INVALID_TOKEN).build();
+        }
+
+        if (!spentTickets.markSpent(claims.getTicketId())) {
+            log.warn("게이트 이미 사용된 식권: ticketId={}, location={}", claims.getTicketId(), location);
+            alreadyUsedCounter.increment();
+            return GateVerificationResult.builder().outcome(Outcome.ALREADY_USED).ticket(claims).build();
+        }
+
+        mealTicketRedemptionWriter.enqueue(claims.getTicketId(), location, LocalDateTime.now());
+        acceptedCounter.increment();
+        return GateVerificationResult.builder().outcome(Outcome.ACCEPTED).ticket(claims).build();
+    }
+
+    /**
+     * 식권 일괄 사용 처리 (연결이 끊겼던 게이트 스캐너가 쌓아 둔 스캔을 한 번에 반영)
+     * 토큰 검증과 중복 확인은 메모리에서 하고, 통과한 식권은 JDBC 배치 한 번으로 바로 DB에 반영한다
+     * @param location 사용 위치 (식당명/게이트)
+     * @return 요청 순서대로 항목별 결과
+     * @throws IllegalArgumentException 항목이 없거나 max-batch-items보다 많은 경우
+     */
+    public List<TicketRedemptionResult> redeemBatch(List<TicketRedemptionItem> items, String location) {
+        if (items == null || items.isEmpty() || items.size() > maxBatchItems) {
+            throw new IllegalArgumentException("일괄 사용 처리는 1건 이상 " + maxBatchItems + "건 이하로 요청해야 합니다");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<TicketRedemptionResult> results = new ArrayList<>(items.size());
+        List<Redemption> redemptions = new ArrayList<>();
+        List<TicketRedemptionResult> pendingResults = new ArrayList<>();
+
+        for (TicketRedemptionItem item : items) {
+            Long ticketId = resolveTicketId(item);
+            TicketRedemptionResult result = TicketRedemptionResult.builder().ticketId(ticketId).build();
+            results.add(result);
+            if (ticketId == null) {
+                result.setOutcome(Outcome.INVALID_TOKEN);
+                invalidCounter.increment();
+            } else if (!spentTickets.markSpent(ticketId)) {
+                // 이미 사용되었거나 같은 요청 안에서 중복 스캔된 식권
+                result.setOutcome(Outcome.ALREADY_USED);
+                alreadyUsedCounter.increment();
+            } else {
+                LocalDateTime usedAt = item.getUsedAt() == null || item.getUsedAt().isAfter(now) ? now : item.getUsedAt();
+                redemptions.add(new Redemption(ticketId, location, usedAt));
+                pendingResults.add(result);
+            }
+        }
+        if (redemptions.isEmpty()) {
+            return results;
+        }
+
+        int[] counts;
+        try {
+            counts = mealTicketRedemptionWriter.write(redemptions);
+        } catch (RuntimeException e) {
+            // 반영되지 않았으므로 표시를 되돌려 재시도할 수 있게 함
+            redemptions.forEach(redemption -> spentTickets.clear(redemption.getTicketId()));
+            throw e;
+        }
+
+        List<Long> rejectedIds = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                pendingResults.get(i).setOutcome(Outcome.ACCEPTED);
+                acceptedCounter.increment();
+            } else {
+                rejectedIds.add(pendingResults.get(i).getTicketId());
+            }
+        }
+        if (!rejectedIds.isEmpty()) {
+            // 반영되지 않은 식권만 조회해 없는 식권과 이미 사용된 식권(보관된 식권 포함)을 구분
+            Set<Long> existing = new HashSet<>(mealTicketRepository.findExistingTicketIds(rejectedIds));
+            if (existing.size() < rejectedIds.size()) {
+                existing.addAll(mealTicketArchiveRepository.findExistingTicketIds(rejectedIds));
+            }
+            for (TicketRedemptionResult result : pendingResults) {
+                if (result.getOutcome() != null) {
+                    continue;
+                }
+                if (existing.contains(result.getTicketId())) {
+                    result.setOutcome(Outcome.ALREADY_USED);
+                    alreadyUsedCounter.increment();
+                } else {
+                    result.setOutcome(Outcome.NOT_FOUND);
+                    spentTickets.clear(result.getTicketId());
+                }
+            }
+        }
+        log.info("식권 일괄 사용 처리: location={}, requested={}, accepted={}",
+                location, items.size(), counts.length - rejectedIds.size());
+        return results;
+    }
+
+    /**
+     * 이 노드에서 사용 표시 (식권 사용 API 경로에서 DB 반영 전 선점용)
+     * @return 처음 표시되었으면 true, 이미 사용 표시된 식권이면 false
+     */
+    public boolean markSpent(Long ticketId) {
+        return spentTickets.markSpent(ticketId);
+    }
+
+    /**
+     * 이 노드에서 사용 표시된 식권인지 확인 (DB 반영 대기 중 포함)
+     */
+    public boolean isSpent(Long ticketId) {
+        return spentTickets.isSpent(ticketId);
+    }
+
+    /**
+     * 사용 표시 해제 (식권 사용 API 트랜잭션이 롤백된 경우)
+     */
+    public void release(Long ticketId) {
+        spentTickets.clear(ticketId);
+    }
+
+    private Long resolveTicketId(TicketRedemptionItem item) {
+        if (item.getToken() != null) {
+            try {
+                return mealTicketTokenService.verify(item.getToken()).getTicketId();
+            } catch (IllegalArgumentException e) {
+                log.warn("일괄 사용 처리 식권 토큰 검증 실패: reason={}", e.getMessage());
+                return null;
+            }
+        }
+        return item.getTicketId();
+    }
+
+    private Counter verificationCounter(String result) {
+        return Counter.builder("bapsim.meal-ticket.gate.verified")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
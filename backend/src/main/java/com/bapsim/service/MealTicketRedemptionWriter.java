@@ -0,0 +1,174 @@
+package com.bapsim.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 식권 사용 처리 일괄 쓰기
+ * 게이트에서 메모리로 먼저 사용 처리한 식권을 모아 두었다가 주기적으로 meal_tickets에 JDBC 배치 한 번으로 반영한다
+ * 각 행은 미사용일 때만 바뀌는 조건부 UPDATE이므로, 다른 노드나 API에서 먼저 사용된 식권은 충돌로 집계된다
+ */
+@Service
+public class MealTicketRedemptionWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(MealTicketRedemptionWriter.class);
+
+    private static final String USE_IF_UNUSED_SQL =
+            "UPDATE meal_tickets SET is_used = TRUE, used_at = ?, used_location = ?, updated_at = ? " +
+            "WHERE ticket_id = ? AND is_used = FALSE";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${bapsim.meal-ticket.redemption.batch-size:500}")
+    private int batchSize;
+
+    private final ConcurrentLinkedQueue<Redemption> pending = new ConcurrentLinkedQueue<>();
+
+    // ConcurrentLinkedQueue.size()는 전체를 순회하므로 따로 셈
+    private final AtomicInteger backlog = new AtomicInteger();
+
+    private Counter appliedCounter;
+    private Counter conflictCounter;
+
+    @PostConstruct
+    void initMetrics() {
+        Gauge.builder("bapsim.meal-ticket.redemption.backlog", backlog, AtomicInteger::get)
+                .description("DB에 반영되지 않은 식권 사용 처리 수")
+                .register(meterRegistry);
+        appliedCounter = Counter.builder("bapsim.meal-ticket.redemption.written")
+                .tag("result", "applied")
+                .register(meterRegistry);
+        conflictCounter = Counter.builder("bapsim.meal-ticket.redemption.written")
+                .tag("result", "conflict")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 사용 처리 반영 예약
+     */
+    public void enqueue(Long ticketId, String location, LocalDateTime usedAt) {
+        pending.add(new Redemption(ticketId, location, usedAt));
+        backlog.incrementAndGet();
+    }
+
+    /**
+     * 쌓인 사용 처리를 batch-size 단위로 반영
+     * 배치가 실패하면 남은 항목을 다시 넣고 다음 주기에 재시도한다
+     */
+    @Scheduled(fixedDelayString = "${bapsim.meal-ticket.redemption.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        List<Redemption> batch = new ArrayList<>(batchSize);
+        Redemption next;
+        while ((next = pending.poll()) != null) {
+            backlog.decrementAndGet();
+            batch.add(next);
+            if (batch.size() >= batchSize) {
+                if (!writeOrRequeue(batch)) {
+                    return;
+                }
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeOrRequeue(batch);
+        }
+    }
+
+    /**
+     * 사용 처리 목록을 한 트랜잭션, 한 JDBC 배치로 반영
+     * @return 항목별 변경 행 수 (1: 반영됨, 0: 없는 식권이거나 이미 사용됨)
+     */
+    public int[] write(List<Redemption> redemptions) {
+        if (redemptions.isEmpty()) {
+            return new int[0];
+        }
+        int[][] result = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(
+                USE_IF_UNUSED_SQL, redemptions, redemptions.size(), (ps, redemption) -> {
+                    Timestamp usedAt = Timestamp.valueOf(redemption.getUsedAt());
+                    ps.setTimestamp(1, usedAt);
+                    ps.setString(2, redemption.getLocation());
+                    ps.setTimestamp(3, usedAt);
+                    ps.setLong(4, redemption.getTicketId());
+                }));
+        int[] counts = result[0];
+        for (int i = 0; i < counts.length; i++) {
+            // 드라이버가 행 수를 알려 주지 않는 경우(SUCCESS_NO_INFO)는 반영된 것으로 본다
+            if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                counts[i] = 1;
+            }
+        }
+        return counts;
+    }
+
+    private boolean writeOrRequeue(List<Redemption> batch) {
+        try {
+            int[] counts = write(batch);
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    appliedCounter.increment();
+                } else {
+                    // 다른 노드의 게이트나 식권 사용 API에서 먼저 사용된 식권이 이 노드에서 다시 통과한 경우
+                    conflictCounter.increment();
+                    log.warn("식권 사용 처리 충돌 (이미 사용되었거나 없는 식권): ticketId={}, location={}",
+                            batch.get(i).getTicketId(), batch.get(i).getLocation());
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            log.error("식권 사용 처리 일괄 반영 실패, 다음 주기에 재시도: count={}", batch.size(), e);
+            pending.addAll(batch);
+            backlog.addAndGet(batch.size());
+            return false;
+        }
+    }
+
+    /**
+     * 종료 전에 남은 사용 처리 반영
+     */
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+        if (backlog.get() > 0) {
+            log.error("종료 시점에 DB에 반영하지 못한 식권 사용 처리: count={}", backlog.get());
+        }
+    }
+
+    /**
+     * 반영 대기 중인 사용 처리 한 건
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Redemption {
+        private Long ticketId;
+        private String location;
+        private LocalDateTime usedAt;
+    }
+}
@@ -1,20 +1,30 @@
 package com.bapsim.service;
 
+import com.bapsim.dto.CursorPage;
+import com.bapsim.dto.WalletTicketDto;
 import com.bapsim.entity.MealTicket;
+import com.bapsim.entity.MealTicketArchive;
 import com.bapsim.entity.Payment;
+import com.bapsim.entity.UserHistorySummary;
+import com.bapsim.repository.MealTicketArchiveRepository;
 import com.bapsim.repository.MealTicketRepository;
 import com.bapsim.repository.PaymentRepository;
-import com.bapsim.repository.MenuPriceRepository;
+import com.bapsim.repository.UserHistorySummaryRepository;
+import com.bapsim.util.HistoryCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * 식권 발행 및 관리 서비스 (단순화)
@@ -29,11 +39,26 @@ public class MealTicketService {
     @Autowired
     private MealTicketRepository mealTicketRepository;
     
+    @Autowired
+    private MealTicketArchiveRepository mealTicketArchiveRepository;
+    
+    @Autowired
+    private UserHistorySummaryRepository userHistorySummaryRepository;
+    
     @Autowired
     private PaymentRepository paymentRepository;
     
     @Autowired
-    private MenuPriceRepository menuPriceRepository;
+    private MenuPriceService menuPriceService;
+    
+    @Autowired
+    private MealTicketTokenService mealTicketTokenService;
+    
+    @Autowired
+    private MealTicketGateService mealTicketGateService;
+    
+    @Autowired
+    private MealTicketWalletCache mealTicketWalletCache;
     
     /**
      * 결제 완료 후 식권 자동 발행
@@ -63,7 +88,9 @@ public class MealTicketService {
             Optional<MealTicket> existingTicket = mealTicketRepository.findByPaymentId(paymentId);
             if (existingTicket.isPresent()) {
                 log.warn("이미 발행된 식권이 존재함: paymentId={}, ticketId={}", paymentId, existingTicket.get().getTicketId());
-                return existingTicket.get();
+                MealTicket ticket = existingTicket.get();
+                ticket.setToken(mealTicketTokenService.mint(ticket));
+                return ticket;
             }
             
             // 4. 메뉴 가격 정보 조회
@@ -79,6 +106,12 @@ public class MealTicketService {
             // 6. 식권 저장
             MealTicket savedTicket = mealTicketRepository.save(mealTicket);
             
+            // 7. 게이트에서 DB 조회 없이 확인할 서명 토큰 발급
+            savedTicket.setToken(mealTicketTokenService.mint(savedTicket));
+            
+            // 8. 커밋되면 캐시된 식권 지갑에 추가
+            addToWalletAfterCommit(savedTicket);
+            
             log.info("식권 발행 완료: ticketId={}, paymentId={}", savedTicket.getTicketId(), paymentId);
             
             return savedTicket;
@@ -96,8 +129,8 @@ public class MealTicketService {
         // 1. 메뉴명 조회
         String menuName = getMenuNameByType(payment.getMenuType());
         
-        // 2. 발행일시 설정
-        LocalDateTime issuedAt = LocalDateTime.now();
+        // 2. 발행일시 설정 (DB DATETIME과 식권 토큰의 발행 시각이 같도록 초 단위로 자름)
+        LocalDateTime issuedAt = LocalDateTime.now().withNano(0);
         
         // 3. MealTicket 엔티티 생성
         MealTicket mealTicket = MealTicket.builder()
@@ -120,8 +153,7 @@ public class MealTicketService {
      */
     private Integer getMenuPriceByType(String menuType) {
         try {
-            var today = java.time.LocalDate.now();
-            var menuPriceOpt = menuPriceRepository.findCurrentPrice(menuType, today);
+            var menuPriceOpt = menuPriceService.findCurrentPrice(menuType);
             return menuPriceOpt.map(mp -> mp.getPrice().intValue()).orElse(null);
         } catch (Exception e) {
             log.error("메뉴 가격 조회 중 오류 발생: menuType={}", menuType, e);
@@ -134,8 +166,7 @@ public class MealTicketService {
      */
     private String getMenuNameByType(String menuType) {
         try {
-            var today = java.time.LocalDate.now();
-            var menuPriceOpt = menuPriceRepository.findCurrentPrice(menuType, today);
+            var menuPriceOpt = menuPriceService.findCurrentPrice(menuType);
             return menuPriceOpt.map(mp -> mp.getMealType()).orElse("메뉴 타입 " + menuType);
         } catch (Exception e) {
             log.error("메뉴명 조회 중 오류 발생: menuType={}", menuType, e);
@@ -145,6 +176,7 @@ public class MealTicketService {
     
     /**
      * 식권 사용 처리
+     * 조건부 UPDATE의 변경 행 수로 사용 성공 여부를 판단하고, 실패한 경우에만 식권 존재 여부를 조회해 사유를 구분한다
      * @param ticketId 식권 ID
      * @param location 사용 위치 (식당명)
      * @return 사용 처리된 식권
@@ -153,28 +185,24 @@ public class MealTicketService {
         try {
             log.info("식권 사용 처리 시작: ticketId={}, location={}", ticketId, location);
             
-            // 1. 식권 조회
-            Optional<MealTicket> ticketOpt = mealTicketRepository.findById(ticketId);
-            if (ticketOpt.isEmpty()) {
-                log.error("식권을 찾을 수 없음: ticketId={}", ticketId);
-                throw new RuntimeException("식권을 찾을 수 없습니다");
-            }
-            
-            MealTicket ticket = ticketOpt.get();
-            
-            // 2. 식권 사용 가능 여부 확인
-            if (ticket.getIsUsed()) {
+            if (!redeem(ticketId, location)) {
+                if (!mealTicketRepository.existsById(ticketId)) {
+                    if (mealTicketArchiveRepository.existsById(ticketId)) {
+                        log.error("이미 사용되어 보관된 식권: ticketId={}", ticketId);
+                        throw new RuntimeException("이미 사용된 식권입니다");
+                    }
+                    log.error("식권을 찾을 수 없음: ticketId={}", ticketId);
+                    throw new RuntimeException("식권을 찾을 수 없습니다");
+                }
                 log.error("이미 사용된 식권: ticketId={}", ticketId);
                 throw new RuntimeException("이미 사용된 식권입니다");
             }
             
-            // 3. 식권 사용 처리
-            ticket.use(location);
-            MealTicket updatedTicket = mealTicketRepository.save(ticket);
-            
             log.info("식권 사용 처리 완료: ticketId={}", ticketId);
             
-            return updatedTicket;
+            // 응답용 조회 (사용 처리는 이미 끝났으므로 경합과 무관)
+            return mealTicketRepository.findById(ticketId)
+                    .orElseThrow(() -> new RuntimeException("식권을 찾을 수 없습니다"));
             
         } catch (Exception e) {
             log.error("식권 사용 처리 중 오류 발생: ticketId={}", ticketId, e);
@@ -182,20 +210,128 @@ public class MealTicketService {
         }
     }
     
+    /**
+     * 식권 사용 처리 (게이트 스캐너용)
+     * 조회 없이 조건부 UPDATE 한 문장으로 처리한다
+     * 게이트 토큰 확인으로 이미 사용 처리된 식권(DB 반영 대기 중 포함)은 DB를 보지 않고 거절한다
+     * 없는 식권(잘못된 ID, 아직 발행되지 않은 ID)이면 사용 표시를 되돌려 발행 후에 사용할 수 있게 한다
+     * @return 이번 요청으로 사용 처리되었으면 true, 없는 식권이거나 이미 사용된 식권이면 false
+     */
+    public boolean redeem(Long ticketId, String location) {
+        if (!mealTicketGateService.markSpent(ticketId)) {
+            return false;
+        }
+        releaseOnRollback(ticketId);
+        if (mealTicketRepository.useIfUnused(ticketId, location, LocalDateTime.now()) == 1) {
+            return true;
+        }
+        // 이미 사용된 식권(보관된 식권 포함)은 표시를 유지
+        if (!mealTicketRepository.existsById(ticketId) && !mealTicketArchiveRepository.existsById(ticketId)) {
+            mealTicketGateService.release(ticketId);
+        }
+        return false;
+    }
+    
+    /**
+     * 발행 트랜잭션이 커밋된 뒤 식권 지갑 캐시에 반영
+     */
+    private void addToWalletAfterCommit(MealTicket ticket) {
+        WalletTicketDto walletTicket = toWalletTicket(ticket);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            mealTicketWalletCache.onIssued(ticket.getUserNo(), walletTicket);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                mealTicketWalletCache.onIssued(ticket.getUserNo(), walletTicket);
+            }
+        });
+    }
+    
+    private WalletTicketDto toWalletTicket(MealTicket ticket) {
+        return WalletTicketDto.builder()
+                .ticketId(ticket.getTicketId())
+                .menuType(ticket.getMenuType())
+                .menuName(ticket.getMenuName())
+                .amount(ticket.getAmount())
+                .issuedAt(ticket.getIssuedAt())
+                .token(ticket.getToken() != null ? ticket.getToken() : mealTicketTokenService.mint(ticket))
+                .build();
+    }
+    
+    /**
+     * 사용 처리 트랜잭션이 커밋되지 않으면 게이트 사용 표시를 되돌림
+     */
+    private void releaseOnRollback(Long ticketId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    mealTicketGateService.release(ticketId);
+                }
+            }
+        });
+    }
+    
     // 조회 메서드들
     
     /**
-     * 식권 ID로 식권 조회
+     * 식권 ID로 식권 조회 (원본에 없으면 보관된 식권에서 조회)
      */
     public Optional<MealTicket> findById(Long ticketId) {
-        return mealTicketRepository.findById(ticketId);
+        Optional<MealTicket> ticket = mealTicketRepository.findById(ticketId);
+        if (ticket.isPresent()) {
+            return ticket;
+        }
+        return mealTicketArchiveRepository.findById(ticketId).map(MealTicketArchive::toMealTicket);
     }
     
     /**
-     * 사용자별 식권 목록 조회
+     * 사용자별 식권 페이지 조회 (keyset 페이지네이션, 최신순)
+     * 보관된 식권까지 닿는 페이지는 보관 테이블을 같은 커서로 함께 조회해 합친다
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지면 null)
+     * @param size 페이지 크기 (최대 HistoryCursor.MAX_PAGE_SIZE)
      */
-    public List<MealTicket> findByUserNo(Long userNo) {
-        return mealTicketRepository.findByUserNoOrderByCreatedAtDesc(userNo);
+    @Transactional(readOnly = true)
+    public CursorPage<MealTicket> findPageByUserNo(Long userNo, String cursor, Integer size) {
+        HistoryCursor after = HistoryCursor.decode(cursor);
+        int pageSize = HistoryCursor.pageSize(size);
+        // 다음 페이지 여부 확인용으로 한 건 더 조회
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        
+        List<MealTicket> tickets = after == null
+                ? mealTicketRepository.findPageByUserNo(userNo, limit)
+                : mealTicketRepository.findPageByUserNoBefore(userNo, after.getCreatedAt(), after.getId(), limit);
+        LocalDateTime newestArchivedAt = userHistorySummaryRepository.findById(userNo)
+                .map(UserHistorySummary::getNewestArchivedTicketAt)
+                .orElse(null);
+        if (HistoryCursor.reachesArchive(tickets, pageSize, MealTicket::getCreatedAt, newestArchivedAt)) {
+            List<MealTicket> archived = (after == null
+                    ? mealTicketArchiveRepository.findPageByUserNo(userNo, limit)
+                    : mealTicketArchiveRepository.findPageByUserNoBefore(userNo, after.getCreatedAt(), after.getId(), limit))
+                    .stream()
+                    .map(MealTicketArchive::toMealTicket)
+                    .collect(Collectors.toList());
+            tickets = HistoryCursor.mergeNewestFirst(tickets, archived, MealTicket::getCreatedAt, MealTicket::getTicketId,
+                    pageSize + 1);
+        }
+        return CursorPage.of(tickets, pageSize, ticket -> new HistoryCursor(ticket.getCreatedAt(), ticket.getTicketId()).encode());
+    }
+    
+    /**
+     * 사용자별 식권 지갑 조회 (미사용 식권, 최신순)
+     * 최근 조회한 사용자의 지갑은 캐시에서 바로 응답하므로 트랜잭션을 시작하지 않는다
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<WalletTicketDto> getWallet(Long userNo) {
+        return mealTicketWalletCache.get(userNo, key -> mealTicketRepository.findByUserNoAndIsUsedFalseOrderByCreatedAtDesc(key)
+                .stream()
+                .map(this::toWalletTicket)
+                .collect(Collectors.toList()));
     }
     
     /**
@@ -213,10 +349,14 @@ public class MealTicketService {
     }
     
     /**
-     * 결제 ID로 식권 조회
+     * 결제 ID로 식권 조회 (원본에 없으면 보관된 식권에서 조회)
      */
     public Optional<MealTicket> findByPaymentId(Long paymentId) {
-        return mealTicketRepository.findByPaymentId(paymentId);
+        Optional<MealTicket> ticket = mealTicketRepository.findByPaymentId(paymentId);
+        if (ticket.isPresent()) {
+            return ticket;
+        }
+        return mealTicketArchiveRepository.findFirstByPaymentId(paymentId).map(MealTicketArchive::toMealTicket);
     }
     
     // 통계 기능 제거 (단순화)
@@ -0,0 +1,138 @@
+package com.bapsim.service;
+
+import com.bapsim.dto.MealTicketTokenClaims;
+import com.bapsim.entity.MealTicket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * 식권 토큰 서비스
+ * (ticketId, userNo, menuType, issuedAt)에 HMAC-SHA256 서명을 붙인 짧은 토큰을 만들고 검증한다
+ * 토큰 형식: Base64URL(ticketId|userNo|menuType|발행 epoch 초) + "." + Base64URL(서명 앞 16바이트)
+ * 같은 식권이면 항상 같은 토큰이 나오므로 따로 저장하지 않는다
+ */
+@Service
+public class MealTicketTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(MealTicketTokenService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String FIELD_SEPARATOR = "|";
+    private static final char SIGNATURE_SEPARATOR = '.';
+    // QR 코드에 담기 좋게 서명은 128비트로 자름
+    private static final int SIGNATURE_BYTES = 16;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    // 서명 키 없이 임시 키로 기동해도 되는 프로필 (단일 프로세스 개발/테스트)
+    private static final Profiles EPHEMERAL_KEY_PROFILES = Profiles.of("local", "test");
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${bapsim.meal-ticket.token.secret:}")
+    private String secret;
+
+    private SecretKeySpec key;
+
+    // Mac은 스레드 안전하지 않으므로 스레드별로 재사용
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    @PostConstruct
+    void init() {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            // 노드마다, 재시작할 때마다 키가 달라지면 발급한 토큰이 게이트에서 모두 거절됨
+            if (!environment.acceptsProfiles(EPHEMERAL_KEY_PROFILES)) {
+                throw new IllegalStateException("식권 토큰 서명 키가 설정되지 않았습니다 " +
+                        "(bapsim.meal-ticket.token.secret 또는 MEAL_TICKET_TOKEN_SECRET)");
+            }
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            log.warn("식권 토큰 서명 키가 설정되지 않아 임시 키를 사용합니다. 재시작하거나 다른 노드에서는 토큰을 검증할 수 없습니다 " +
+                    "(bapsim.meal-ticket.token.secret)");
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+
+    /**
+     * 식권 토큰 발급
+     */
+    public String mint(MealTicket ticket) {
+        String payload = ticket.getTicketId() + FIELD_SEPARATOR + ticket.getUserNo() + FIELD_SEPARATOR
+                + ticket.getMenuType() + FIELD_SEPARATOR + ticket.getIssuedAt().toEpochSecond(ZoneOffset.UTC);
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + SIGNATURE_SEPARATOR + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    /**
+     * 식권 토큰 검증
+     * @return 서명이 맞으면 토큰에 담긴 식권 정보
+     * @throws IllegalArgumentException 형식이 잘못되었거나 서명이 맞지 않는 토큰
+     */
+    public MealTicketTokenClaims verify(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("식권 토큰이 없습니다");
+        }
+        int separator = token.indexOf(SIGNATURE_SEPARATOR);
+        if (separator <= 0) {
+            throw new IllegalArgumentException("잘못된 식권 토큰입니다");
+        }
+        try {
+            byte[] payloadBytes = DECODER.decode(token.substring(0, separator));
+            byte[] signature = DECODER.decode(token.substring(separator + 1));
+            // 서명 비교는 일정 시간 비교로 (타이밍 공격 방지)
+            if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+                throw new IllegalArgumentException("식권 토큰 서명이 올바르지 않습니다");
+            }
+
+            String[] fields = new String(payloadBytes, StandardCharsets.UTF_8).split("\\" + FIELD_SEPARATOR);
+            if (fields.length != 4) {
+                throw new IllegalArgumentException("잘못된 식권 토큰입니다");
+            }
+            return MealTicketTokenClaims.builder()
+                    .ticketId(Long.parseLong(fields[0]))
+                    .userNo(Long.parseLong(fields[1]))
+                    .menuType(fields[2])
+                    .issuedAt(LocalDateTime.ofEpochSecond(Long.parseLong(fields[3]), 0, ZoneOffset.UTC))
+                    .build();
+        } catch (NumberFormatException e) {
+            // Base64 디코딩 실패는 IllegalArgumentException으로 그대로 전달됨
+            throw new IllegalArgumentException("잘못된 식권 토큰입니다", e);
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        return Arrays.copyOf(macs.get().doFinal(payload), SIGNATURE_BYTES);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("식권 토큰 서명 초기화 실패", e);
+        }
+    }
+}
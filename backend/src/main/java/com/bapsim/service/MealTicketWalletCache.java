@@ -0,0 +1,164 @@
+package com.bapsim.service;
+
+import com.bapsim.dto.WalletTicketDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 사용자별 식권 지갑 캐시 (사용 가능한 식권 목록)
+ * 앱을 열 때마다 조회되는 지갑 화면을 DB 조회 없이 응답하기 위해 최근 조회한 사용자의 지갑을 LRU로 보관한다
+ * - 발행: {@link #onIssued}로 캐시된 지갑에 바로 추가
+ * - 사용: 사용 처리 경로(API, 게이트, 일괄)가 모두 표시하는 사용 비트맵으로 조회 시점에 걸러낸다
+ * 다른 노드에서 사용된 식권은 이 노드가 알 수 없으므로 ttl-seconds 안에 다시 조회해 반영한다
+ */
+@Component
+public class MealTicketWalletCache {
+
+    @Autowired
+    private MealTicketGateService mealTicketGateService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${bapsim.meal-ticket.wallet.max-users:10000}")
+    private int maxUsers;
+
+    @Value("${bapsim.meal-ticket.wallet.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private Map<Long, CachedWallet> wallets;
+    private final ConcurrentHashMap<Long, CompletableFuture<List<WalletTicketDto>>> inFlight = new ConcurrentHashMap<>();
+
+    private Counter hitCounter;
+    private Counter missCounter;
+    private Counter coalescedCounter;
+
+    @PostConstruct
+    void init() {
+        wallets = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedWallet> eldest) {
+                return size() > maxUsers;
+            }
+        });
+        hitCounter = requestCounter("hit");
+        missCounter = requestCounter("miss");
+        coalescedCounter = requestCounter("coalesced");
+    }
+
+    /**
+     * 지갑 조회
+     * 유효한 캐시가 있으면 사용된 식권만 걸러 반환하고, 없으면 진행 중인 조회에 합류하거나 직접 조회한다
+     * @param loader 사용자의 미사용 식권 조회 (최신순)
+     */
+    public List<WalletTicketDto> get(Long userNo, Function<Long, List<WalletTicketDto>> loader) {
+        CachedWallet cached = wallets.get(userNo);
+        if (cached != null && cached.expiresAt - System.nanoTime() > 0) {
+            hitCounter.increment();
+            return unspent(userNo, cached);
+        }
+
+        CompletableFuture<List<WalletTicketDto>> flight = new CompletableFuture<>();
+        CompletableFuture<List<WalletTicketDto>> existing = inFlight.putIfAbsent(userNo, flight);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return filterSpent(await(existing));
+        }
+
+        missCounter.increment();
+        try {
+            List<WalletTicketDto> tickets = Collections.unmodifiableList(new ArrayList<>(loader.apply(userNo)));
+            // 조회 도중 새 식권이 발행되었다면(inFlight에서 제거됨) 캐시에 저장하지 않음
+            inFlight.computeIfPresent(userNo, (key, current) -> {
+                if (current != flight) {
+                    return current;
+                }
+                wallets.put(key, new CachedWallet(tickets, System.nanoTime() + ttlSeconds * 1_000_000_000L));
+                return null;
+            });
+            flight.complete(tickets);
+            return filterSpent(tickets);
+        } catch (RuntimeException e) {
+            inFlight.remove(userNo, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 식권 발행 반영 (발행 트랜잭션 커밋 후 호출)
+     * 캐시된 지갑 맨 앞에 추가하고, 진행 중인 조회는 결과를 캐시하지 않도록 분리한다
+     */
+    public void onIssued(Long userNo, WalletTicketDto ticket) {
+        inFlight.remove(userNo);
+        wallets.computeIfPresent(userNo, (key, wallet) -> wallet.withIssued(ticket));
+    }
+
+    private List<WalletTicketDto> unspent(Long userNo, CachedWallet cached) {
+        List<WalletTicketDto> tickets = filterSpent(cached.tickets);
+        if (tickets.size() != cached.tickets.size()) {
+            // 사용된 식권을 뺀 목록으로 교체해 다음 조회부터는 다시 거르지 않음
+            wallets.replace(userNo, cached, new CachedWallet(Collections.unmodifiableList(tickets), cached.expiresAt));
+        }
+        return tickets;
+    }
+
+    private List<WalletTicketDto> filterSpent(List<WalletTicketDto> tickets) {
+        return tickets.stream()
+                .filter(ticket -> !mealTicketGateService.isSpent(ticket.getTicketId()))
+                .collect(Collectors.toList());
+    }
+
+    private static List<WalletTicketDto> await(CompletableFuture<List<WalletTicketDto>> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private Counter requestCounter(String result) {
+        return Counter.builder("bapsim.meal-ticket.wallet.requests")
+                .description("식권 지갑 캐시 조회 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static class CachedWallet {
+        private final List<WalletTicketDto> tickets;
+        private final long expiresAt;
+
+        private CachedWallet(List<WalletTicketDto> tickets, long expiresAt) {
+            this.tickets = tickets;
+            this.expiresAt = expiresAt;
+        }
+
+        private CachedWallet withIssued(WalletTicketDto ticket) {
+            if (tickets.stream().anyMatch(existing -> existing.getTicketId().equals(ticket.getTicketId()))) {
+                return this;
+            }
+            List<WalletTicketDto> updated = new ArrayList<>(tickets.size() + 1);
+            updated.add(ticket);
+            updated.addAll(tickets);
+            return new CachedWallet(Collections.unmodifiableList(updated), expiresAt);
+        }
+    }
+}
@@ -1,103 +1,177 @@
 package com.bapsim.service;
 
+import com.bapsim.dto.MenuImportRecord;
+import com.bapsim.dto.MenuImportResult;
 import com.bapsim.entity.Food;
+import com.bapsim.entity.MenuImportCheckpoint;
 import com.bapsim.entity.Menus;
+import com.bapsim.repository.MenuImportCheckpointRepository;
 import com.bapsim.repository.MenuRepository;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import java.io.IOException;
 import java.io.InputStream;
-import java.time.LocalDate;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 
+/**
+ * 메뉴 JSON 파일(resources/data/menus) 적재 서비스
+ * 파일을 토큰 스트림으로 읽어 batch-size 건씩 한 트랜잭션에 저장하고 (INSERT는 JDBC 배치)
+ * 배치마다 체크포인트를 같은 트랜잭션에 기록해 실패 후 다시 실행하면 이어서 적재한다
+ */
 @Service
 public class MenuDataService {
 
     private static final Logger logger = LoggerFactory.getLogger(MenuDataService.class);
 
+    // 해시 입력에서 필드 경계를 구분하는 문자 (Unit Separator)
+    private static final char HASH_SEPARATOR = '\u001f';
+
     @Autowired
     private MenuRepository menuRepository;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
-
-    @Transactional
-    public void loadMenuDataFromJson(String jsonFilePath) {
-        try {
-            logger.info("메뉴 데이터 JSON 파일 로딩 시작: {}", jsonFilePath);
-            ClassPathResource resource = new ClassPathResource(jsonFilePath);
-            InputStream inputStream = resource.getInputStream();
-            List<Map<String, Object>> menuDataList = objectMapper.readValue(
-                inputStream, 
-                new TypeReference<List<Map<String, Object>>>() {}
-            );
-            logger.info("JSON 파일에서 {} 개의 메뉴 데이터를 읽었습니다.", menuDataList.size());
-
-            for (Map<String, Object> menuData : menuDataList) {
-                saveMenuData(menuData);
+    @Autowired
+    private MenuImportCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private WeeklyMenuViewService weeklyMenuViewService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // 한 트랜잭션(= 체크포인트 간격)에 저장할 메뉴 수이자 JDBC 배치 크기
+    @Value("${bapsim.menu.import.batch-size:500}")
+    private int batchSize;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public MenuImportResult loadMenuDataFromJson(String jsonFilePath) {
+        logger.info("메뉴 데이터 JSON 파일 로딩 시작: {}", jsonFilePath);
+        ClassPathResource resource = new ClassPathResource(jsonFilePath);
+        long startedAt = System.nanoTime();
+
+        try (InputStream inputStream = resource.getInputStream();
+             MenuJsonStreamReader reader = new MenuJsonStreamReader(jsonFactory, inputStream)) {
+            long sourceSize = resource.contentLength();
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+            int resumedRows = reader.skip(resumePosition(jsonFilePath, sourceSize));
+            if (resumedRows > 0) {
+                logger.info("체크포인트에서 이어서 적재: {} ({}건 건너뜀)", jsonFilePath, resumedRows);
+            }
+
+            int importedRows = 0;
+            List<MenuImportRecord> batch = new ArrayList<>(batchSize);
+            MenuImportRecord record;
+            while ((record = reader.next()) != null) {
+                batch.add(record);
+                if (batch.size() >= batchSize) {
+                    importedRows += saveBatch(transactionTemplate, jsonFilePath, sourceSize, batch, reader.getPosition());
+                    logger.debug("메뉴 적재 진행: {} - {}건, {} rows/sec",
+                            jsonFilePath, importedRows, rowsPerSecond(importedRows, startedAt));
+                }
+            }
+            if (!batch.isEmpty()) {
+                importedRows += saveBatch(transactionTemplate, jsonFilePath, sourceSize, batch, reader.getPosition());
             }
-            logger.info("메뉴 데이터 저장 완료");
+            // 끝까지 적재했으면 체크포인트 제거 (다음 실행은 처음부터)
+            checkpointRepository.findById(jsonFilePath).ifPresent(checkpointRepository::delete);
+
+            MenuImportResult result = MenuImportResult.builder()
+                    .source(jsonFilePath)
+                    .importedRows(importedRows)
+                    .resumedRows(resumedRows)
+                    .elapsedMillis((System.nanoTime() - startedAt) / 1_000_000)
+                    .build();
+            logger.info("메뉴 데이터 저장 완료: {} - {}건, {}ms, {} rows/sec",
+                    jsonFilePath, result.getImportedRows(), result.getElapsedMillis(),
+                    String.format("%.1f", result.getRowsPerSecond()));
+            return result;
         } catch (IOException e) {
             logger.error("JSON 파일 읽기 실패: {}", jsonFilePath, e);
             throw new RuntimeException("메뉴 데이터 로딩 실패", e);
         }
     }
 
-    private void saveMenuData(Map<String, Object> menuData) {
-        try {
-            // 1. Create Menus entity
-            Menus menu = createMenuFromData(menuData);
-
-            // 2. Create Food entity if it exists
-            if (menuData.containsKey("food")) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> foodData = (Map<String, Object>) menuData.get("food");
-                Food food = createFoodFromData(foodData);
+    /**
+     * 이어서 적재할 위치 (체크포인트가 없거나 파일이 바뀌었으면 0)
+     */
+    private int resumePosition(String source, long sourceSize) {
+        Optional<MenuImportCheckpoint> checkpoint = checkpointRepository.findById(source);
+        if (checkpoint.isEmpty()) {
+            return 0;
+        }
+        if (checkpoint.get().getSourceSize() != sourceSize) {
+            logger.warn("적재 중이던 파일이 바뀌어 체크포인트를 무시합니다: {} (이전 크기={}, 현재 크기={})",
+                    source, checkpoint.get().getSourceSize(), sourceSize);
+            return 0;
+        }
+        return checkpoint.get().getImportedCount();
+    }
 
-                // 3. Link entities together
-                menu.setFood(food);
-                food.setMenu(menu);
+    /**
+     * 메뉴 배치 저장 + 체크포인트 갱신 (한 트랜잭션)
+     * 실패하면 배치와 체크포인트가 함께 롤백되므로 다음 실행은 직전 체크포인트부터 다시 적재한다
+     */
+    private int saveBatch(TransactionTemplate transactionTemplate, String source, long sourceSize,
+                          List<MenuImportRecord> batch, int position) {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+
+            List<Menus> menus = new ArrayList<>(batch.size());
+            for (MenuImportRecord record : batch) {
+                menus.add(createMenu(record));
             }
-
-            // 4. Save the parent entity (Menus). Food will be saved automatically by cascade.
-            Menus savedMenu = menuRepository.save(menu);
-            logger.debug("메뉴 저장 완료: {}", savedMenu.getMenuNo());
-
-        } catch (Exception e) {
-            logger.error("메뉴 데이터 저장 실패: {}", menuData, e);
-        }
+            // Food는 cascade로 함께 저장
+            menuRepository.saveAll(menus);
+
+            checkpointRepository.save(MenuImportCheckpoint.builder()
+                    .source(source)
+                    .sourceSize(sourceSize)
+                    .importedCount(position)
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+
+            // 적재가 커밋되면 주간 식단 뷰를 다시 만들도록 무효화
+            weeklyMenuViewService.invalidateAllAfterCommit();
+        });
+        int saved = batch.size();
+        batch.clear();
+        return saved;
     }
 
-    private Menus createMenuFromData(Map<String, Object> menuData) {
+    Menus createMenu(MenuImportRecord record) {
         Menus menu = new Menus();
-        menu.setKind(getStringValue(menuData, "kind", "A"));
-        menu.setMealType(getStringValue(menuData, "mealType", "점심"));
-        menu.setIsSignature(getBooleanValue(menuData, "isSignature", false));
-        menu.setSoldOut(getBooleanValue(menuData, "soldOut", false));
-
-        if (menuData.containsKey("cafeNo")) {
-            menu.setCafeNo(getLongValue(menuData, "cafeNo"));
-        } else if (menuData.containsKey("resNo")) {
-            menu.setResNo(getLongValue(menuData, "resNo"));
-        }
-
-        if (menuData.containsKey("menuDate")) {
-            String dateStr = getStringValue(menuData, "menuDate");
-            try {
-                LocalDate menuDate = LocalDate.parse(dateStr);
-                menu.setMenuDate(menuDate);
-            } catch (Exception e) {
-                logger.warn("날짜 파싱 실패: {}", dateStr);
-            }
+        menu.setKind(record.getKind());
+        menu.setMealType(record.getMealType());
+        menu.setIsSignature(record.getIsSignature());
+        menu.setSoldOut(record.getSoldOut());
+
+        if (record.getCafeNo() != null) {
+            menu.setCafeNo(record.getCafeNo());
+        } else if (record.getResNo() != null) {
+            menu.setResNo(record.getResNo());
         }
+        menu.setMenuDate(record.getMenuDate());
+        menu.setContentHash(contentHash(record));
 
         String currentUser = "system";
         LocalDateTime now = LocalDateTime.now();
@@ -106,31 +180,56 @@ public class MenuDataService {
         menu.setUpdatedId(currentUser);
         menu.setUpdatedAt(now);
 
+        if (record.getFood() != null) {
+            Food food = createFood(record.getFood());
+            menu.setFoods(new ArrayList<>(List.of(food)));
+            food.setMenu(menu);
+        }
         return menu;
     }
 
-    private Food createFoodFromData(Map<String, Object> foodData) {
+    Food createFood(MenuImportRecord.FoodRecord foodRecord) {
         Food food = new Food();
-        food.setMenuName(getStringValue(foodData, "menuName"));
-        food.setKcal(getLongValue(foodData, "kcal", 0L));
-        food.setAllergy(getLongValue(foodData, "allergy", 0L));
-        food.setCategory(getStringValue(foodData, "category", "한식"));
-        food.setContent(getStringValue(foodData, "content", ""));
-
-        if (foodData.containsKey("photoPath")) {
-            food.setPhotoPath(getStringValue(foodData, "photoPath"));
-        }
-        if (foodData.containsKey("allergyInfo")) {
-            food.setAllergyInfo(getStringValue(foodData, "allergyInfo"));
-        }
+        applyFood(food, foodRecord);
         return food;
     }
 
-    // Utility methods
-    private String getStringValue(Map<String, Object> data, String key) { return getStringValue(data, key, ""); }
-    private String getStringValue(Map<String, Object> data, String key, String defaultValue) { Object value = data.get(key); return value != null ? value.toString() : defaultValue; }
-    private Long getLongValue(Map<String, Object> data, String key) { return getLongValue(data, key, 0L); }
-    private Long getLongValue(Map<String, Object> data, String key, Long defaultValue) { Object value = data.get(key); if (value == null) return defaultValue; if (value instanceof Number) { return ((Number) value).longValue(); } try { return Long.parseLong(value.toString()); } catch (NumberFormatException e) { return defaultValue; } }
-    private Boolean getBooleanValue(Map<String, Object> data, String key) { return getBooleanValue(data, key, false); }
-    private Boolean getBooleanValue(Map<String, Object> data, String key, Boolean defaultValue) { Object value = data.get(key); if (value == null) return defaultValue; if (value instanceof Boolean) { return (Boolean) value; } return Boolean.parseBoolean(value.toString()); }
+    /**
+     * 음식 필드를 레코드 값으로 덮어씀 (동기화 시 기존 음식 갱신에도 사용)
+     */
+    void applyFood(Food food, MenuImportRecord.FoodRecord foodRecord) {
+        food.setMenuName(foodRecord.getMenuName());
+        food.setKcal(foodRecord.getKcal());
+        food.setAllergy(foodRecord.getAllergy());
+        food.setCategory(foodRecord.getCategory());
+        food.setContent(foodRecord.getContent());
+        food.setPhotoPath(foodRecord.getPhotoPath());
+        food.setAllergyInfo(foodRecord.getAllergyInfo());
+    }
+
+    /**
+     * 메뉴 내용 해시 (동기화 키인 식당/날짜/mealType/kind를 제외한 값)
+     * 변경 감지용이므로 MD5로 충분하다
+     */
+    static String contentHash(MenuImportRecord record) {
+        StringBuilder content = new StringBuilder(128)
+                .append(record.getIsSignature()).append(HASH_SEPARATOR)
+                .append(record.getSoldOut());
+        MenuImportRecord.FoodRecord food = record.getFood();
+        if (food != null) {
+            content.append(HASH_SEPARATOR).append(food.getMenuName())
+                    .append(HASH_SEPARATOR).append(food.getKcal())
+                    .append(HASH_SEPARATOR).append(food.getAllergy())
+                    .append(HASH_SEPARATOR).append(food.getCategory())
+                    .append(HASH_SEPARATOR).append(food.getContent())
+                    .append(HASH_SEPARATOR).append(food.getPhotoPath())
+                    .append(HASH_SEPARATOR).append(food.getAllergyInfo());
+        }
+        return DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String rowsPerSecond(int rows, long startedAt) {
+        long elapsedNanos = System.nanoTime() - startedAt;
+        return String.format("%.1f", elapsedNanos > 0 ? rows * 1_000_000_000.0 / elapsedNanos : rows);
+    }
 }
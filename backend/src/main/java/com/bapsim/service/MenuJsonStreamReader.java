@@ -0,0 +1,232 @@
+package com.bapsim.service;
+
+import com.bapsim.dto.MenuImportRecord;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 메뉴 JSON 배열을 토큰 스트림으로 한 건씩 읽는 리더
+ * 파일 전체를 Map 목록으로 올리지 않고 MenuImportRecord로 바로 매핑한다
+ * 알 수 없는 필드(createdId 등)는 건너뛴다
+ */
+class MenuJsonStreamReader implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MenuJsonStreamReader.class);
+
+    private final JsonParser parser;
+
+    // 지금까지 읽거나 건너뛴 메뉴 수
+    private int position;
+    private boolean finished;
+
+    MenuJsonStreamReader(JsonFactory jsonFactory, InputStream inputStream) throws IOException {
+        this.parser = jsonFactory.createParser(inputStream);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "메뉴 데이터는 JSON 배열이어야 합니다");
+        }
+    }
+
+    /**
+     * 다음 메뉴 한 건 (더 없으면 null)
+     */
+    MenuImportRecord next() throws IOException {
+        if (!advanceToNextMenu()) {
+            return null;
+        }
+        MenuImportRecord menu = readMenu();
+        position++;
+        return menu;
+    }
+
+    /**
+     * 매핑 없이 메뉴를 건너뜀 (체크포인트에서 이어받을 때)
+     * @return 실제로 건너뛴 메뉴 수
+     */
+    int skip(int count) throws IOException {
+        int skipped = 0;
+        while (skipped < count && advanceToNextMenu()) {
+            parser.skipChildren();
+            position++;
+            skipped++;
+        }
+        return skipped;
+    }
+
+    int getPosition() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private boolean advanceToNextMenu() throws IOException {
+        if (finished) {
+            return false;
+        }
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_OBJECT) {
+            return true;
+        }
+        if (token == JsonToken.END_ARRAY || token == null) {
+            finished = true;
+            return false;
+        }
+        throw new JsonParseException(parser, "메뉴 항목은 JSON 객체여야 합니다: " + token);
+    }
+
+    private MenuImportRecord readMenu() throws IOException {
+        MenuImportRecord.MenuImportRecordBuilder menu = MenuImportRecord.builder();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "kind":
+                    String kind = readString();
+                    if (kind != null) {
+                        menu.kind(kind);
+                    }
+                    break;
+                case "mealType":
+                    String mealType = readString();
+                    if (mealType != null) {
+                        menu.mealType(mealType);
+                    }
+                    break;
+                case "isSignature":
+                    menu.isSignature(readBoolean());
+                    break;
+                case "soldOut":
+                    menu.soldOut(readBoolean());
+                    break;
+                case "cafeNo":
+                    menu.cafeNo(readLong(0L));
+                    break;
+                case "resNo":
+                    menu.resNo(readLong(0L));
+                    break;
+                case "menuDate":
+                    menu.menuDate(readDate());
+                    break;
+                case "food":
+                    if (value == JsonToken.START_OBJECT) {
+                        menu.food(readFood());
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return menu.build();
+    }
+
+    private MenuImportRecord.FoodRecord readFood() throws IOException {
+        MenuImportRecord.FoodRecord.FoodRecordBuilder food = MenuImportRecord.FoodRecord.builder();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "menuName":
+                    String menuName = readString();
+                    if (menuName != null) {
+                        food.menuName(menuName);
+                    }
+                    break;
+                case "kcal":
+                    food.kcal(readLong(0L));
+                    break;
+                case "allergy":
+                    food.allergy(readLong(0L));
+                    break;
+                case "category":
+                    String category = readString();
+                    if (category != null) {
+                        food.category(category);
+                    }
+                    break;
+                case "content":
+                    String content = readString();
+                    if (content != null) {
+                        food.content(content);
+                    }
+                    break;
+                case "photoPath":
+                    food.photoPath(readString());
+                    break;
+                case "allergyInfo":
+                    food.allergyInfo(readString());
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return food.build();
+    }
+
+    /**
+     * 스칼라 값은 문자열로, 객체/배열은 건너뛰고 null
+     */
+    private String readString() throws IOException {
+        if (parser.currentToken().isScalarValue()) {
+            return parser.getValueAsString();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private Long readLong(Long defaultValue) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token.isNumeric()) {
+            return parser.getValueAsLong();
+        }
+        String text = readString();
+        if (text == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(text.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private Boolean readBoolean() throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token.isBoolean()) {
+            return parser.getBooleanValue();
+        }
+        return Boolean.parseBoolean(readString());
+    }
+
+    private LocalDate readDate() throws IOException {
+        String text = readString();
+        if (text == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(text);
+        } catch (DateTimeParseException e) {
+            logger.warn("날짜 파싱 실패: {}", text);
+            return null;
+        }
+    }
+}
@@ -2,16 +2,22 @@ package com.bapsim.service;
 
 import com.bapsim.entity.MenuPrice;
 import com.bapsim.repository.MenuPriceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.annotation.PostConstruct;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class MenuPriceService {
@@ -21,6 +27,90 @@ public class MenuPriceService {
     @Autowired
     private MenuPriceRepository menuPriceRepository;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // 오늘 날짜 기준 가격표 스냅샷 (가격 변경 커밋 후 통째로 교체)
+    private final AtomicReference<MenuPriceSnapshot> snapshotRef = new AtomicReference<>();
+    
+    private Counter snapshotHitCounter;
+    private Counter snapshotMissCounter;
+    private Counter snapshotRebuildCounter;
+    
+    @PostConstruct
+    void initMetrics() {
+        snapshotHitCounter = Counter.builder("bapsim.menu_price.snapshot.lookups")
+                .tag("result", "hit")
+                .description("가격표 스냅샷에서 바로 응답한 조회 수")
+                .register(meterRegistry);
+        snapshotMissCounter = Counter.builder("bapsim.menu_price.snapshot.lookups")
+                .tag("result", "miss")
+                .description("스냅샷 재생성이 필요했던 조회 수")
+                .register(meterRegistry);
+        snapshotRebuildCounter = Counter.builder("bapsim.menu_price.snapshot.rebuilds")
+                .description("가격표 스냅샷 재생성 횟수")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * 오늘 기준 kind의 가격 정보를 메모리 스냅샷에서 조회
+     * 결제/식권 발행 경로에서 사용 (DB 조회 없음)
+     */
+    public Optional<MenuPriceSnapshot.Entry> findCurrentPrice(String kind) {
+        return getSnapshot().find(kind);
+    }
+    
+    /**
+     * 오늘 날짜의 가격표 스냅샷 반환
+     * 날짜가 바뀌었거나 아직 생성되지 않았다면 새로 만든다
+     */
+    public MenuPriceSnapshot getSnapshot() {
+        LocalDate today = LocalDate.now();
+        MenuPriceSnapshot snapshot = snapshotRef.get();
+        if (snapshot != null && snapshot.getDate().equals(today)) {
+            snapshotHitCounter.increment();
+            return snapshot;
+        }
+        
+        snapshotMissCounter.increment();
+        synchronized (snapshotRef) {
+            // 다른 스레드가 먼저 만들었으면 그대로 사용
+            snapshot = snapshotRef.get();
+            if (snapshot != null && snapshot.getDate().equals(today)) {
+                return snapshot;
+            }
+            return rebuildSnapshot(today);
+        }
+    }
+    
+    /**
+     * 가격표 스냅샷 재생성 후 원자적으로 교체
+     */
+    public MenuPriceSnapshot rebuildSnapshot(LocalDate date) {
+        MenuPriceSnapshot snapshot = MenuPriceSnapshot.of(date, menuPriceRepository.findAllCurrentPrices(date));
+        snapshotRef.set(snapshot);
+        snapshotRebuildCounter.increment();
+        logger.info("메뉴 가격 스냅샷 재생성: date={}, kinds={}", date, snapshot.getEntries().size());
+        return snapshot;
+    }
+    
+    /**
+     * 가격 변경이 커밋된 뒤 스냅샷 재생성
+     * 트랜잭션 밖에서 호출되면 즉시 재생성
+     */
+    private void rebuildSnapshotAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuildSnapshot(LocalDate.now());
+                }
+            });
+        } else {
+            rebuildSnapshot(LocalDate.now());
+        }
+    }
+    
     /**
      * 특정 종류의 현재 유효한 가격 조회 (mealType 무관)
      */
@@ -63,7 +153,9 @@ public class MenuPriceService {
         menuPrice.setUpdatedAt(now);
         menuPrice.setIsActive(true);
         
-        return menuPriceRepository.save(menuPrice);
+        MenuPrice savedPrice = menuPriceRepository.save(menuPrice);
+        rebuildSnapshotAfterCommit();
+        return savedPrice;
     }
     
     /**
@@ -83,7 +175,9 @@ public class MenuPriceService {
             price.setUpdatedId("system");
             price.setUpdatedAt(LocalDateTime.now());
             
-            return menuPriceRepository.save(price);
+            MenuPrice savedPrice = menuPriceRepository.save(price);
+            rebuildSnapshotAfterCommit();
+            return savedPrice;
         }
         return null;
     }
@@ -100,6 +194,7 @@ public class MenuPriceService {
             price.setUpdatedId("system");
             price.setUpdatedAt(LocalDateTime.now());
             menuPriceRepository.save(price);
+            rebuildSnapshotAfterCommit();
             return true;
         }
         return false;
@@ -0,0 +1,87 @@
+package com.bapsim.service;
+
+import com.bapsim.entity.MenuPrice;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 특정 날짜 기준 유효한 메뉴 가격표의 불변 스냅샷
+ * 결제 경로에서 kind → 가격/mealType 조회를 DB 왕복 없이 처리
+ */
+public final class MenuPriceSnapshot {
+
+    private final LocalDate date;
+    private final Map<String, Entry> entries;
+
+    private MenuPriceSnapshot(LocalDate date, Map<String, Entry> entries) {
+        this.date = date;
+        this.entries = Collections.unmodifiableMap(entries);
+    }
+
+    /**
+     * findAllCurrentPrices 결과로 스냅샷 생성
+     * 같은 kind가 여러 개면 findCurrentPrice와 동일하게 가장 최근 적용일의 가격을 사용
+     */
+    public static MenuPriceSnapshot of(LocalDate date, List<MenuPrice> prices) {
+        Map<String, Entry> entries = new HashMap<>();
+        for (MenuPrice price : prices) {
+            Entry existing = entries.get(price.getKind());
+            if (existing == null || price.getEffectiveDate().isAfter(existing.getEffectiveDate())) {
+                entries.put(price.getKind(), new Entry(price));
+            }
+        }
+        return new MenuPriceSnapshot(date, entries);
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public Optional<Entry> find(String kind) {
+        return Optional.ofNullable(entries.get(kind));
+    }
+
+    public Collection<Entry> getEntries() {
+        return entries.values();
+    }
+
+    /**
+     * 스냅샷에 담기는 가격 정보 (MenuPrice 엔티티의 읽기 전용 사본)
+     */
+    public static final class Entry {
+
+        private final String kind;
+        private final String mealType;
+        private final Long price;
+        private final LocalDate effectiveDate;
+
+        private Entry(MenuPrice menuPrice) {
+            this.kind = menuPrice.getKind();
+            this.mealType = menuPrice.getMealType();
+            this.price = menuPrice.getPrice();
+            this.effectiveDate = menuPrice.getEffectiveDate();
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public String getMealType() {
+            return mealType;
+        }
+
+        public Long getPrice() {
+            return price;
+        }
+
+        public LocalDate getEffectiveDate() {
+            return effectiveDate;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.bapsim.service;
+
+import com.bapsim.dto.MenuDTO;
+import com.bapsim.repository.MenuRepository;
+import com.bapsim.repository.projection.MenuFoodRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 메뉴 조회 서비스
+ * 엔티티 그래프 대신 메뉴/음식 프로젝션을 한 번의 쿼리로 읽어 MenuDTO로 변환한다
+ * 가격은 오늘 기준 가격표 스냅샷(kind별)에서 채운다
+ */
+@Service
+public class MenuService {
+
+    // 알러지 성분이 없는 음식의 allergyInfo 값
+    private static final String ALLERGY_FREE = "알러지 성분 없음";
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private MenuPriceService menuPriceService;
+
+    public List<MenuDTO> getAllMenus() {
+        return toDtos(menuRepository.findAllMenuRows());
+    }
+
+    /**
+     * 메뉴 단건 조회 (없으면 null)
+     */
+    public MenuDTO getMenuById(Long menuNo) {
+        List<MenuDTO> menus = toDtos(menuRepository.findMenuRowByMenuNo(menuNo));
+        return menus.isEmpty() ? null : menus.get(0);
+    }
+
+    public List<MenuDTO> getMenusByCafeteria(Long cafeNo) {
+        return toDtos(menuRepository.findMenuRowsByCafeNo(cafeNo));
+    }
+
+    public List<MenuDTO> getMenusByRestaurant(Long resNo) {
+        return toDtos(menuRepository.findMenuRowsByResNo(resNo));
+    }
+
+    public List<MenuDTO> getMenusByMealType(String mealType) {
+        return toDtos(menuRepository.findMenuRowsByMealType(mealType));
+    }
+
+    public List<MenuDTO> getSignatureMenus() {
+        return toDtos(menuRepository.findSignatureMenuRows());
+    }
+
+    public List<MenuDTO> getMenusByDate(LocalDate menuDate) {
+        return toDtos(menuRepository.findMenuRowsByMenuDate(menuDate));
+    }
+
+    /**
+     * 메뉴에 포함된 음식 목록 (음식마다 한 건)
+     */
+    public List<MenuDTO> getFoodsByMenu(Long menuNo) {
+        return toDtos(menuRepository.findFoodRowsByMenuNo(menuNo));
+    }
+
+    /**
+     * 알러지 정보가 포함된 음식 목록 (음식마다 한 건)
+     */
+    public List<MenuDTO> getMenusByAllergy(String allergyType) {
+        return toDtos(menuRepository.findFoodRowsByAllergyInfoContaining(allergyType));
+    }
+
+    /**
+     * 알러지가 없는 음식 목록 (음식마다 한 건)
+     */
+    public List<MenuDTO> getAllergyFreeMenus() {
+        return toDtos(menuRepository.findFoodRowsByAllergyInfo(ALLERGY_FREE));
+    }
+
+    private List<MenuDTO> toDtos(List<MenuFoodRow> rows) {
+        MenuPriceSnapshot prices = menuPriceService.getSnapshot();
+        List<MenuDTO> menus = new ArrayList<>(rows.size());
+        for (MenuFoodRow row : rows) {
+            MenuDTO menu = new MenuDTO(
+                    row.getMenuNo(),
+                    // 대표 메뉴명은 Menus.getMenuName과 동일한 규칙 (음식 이름, 없으면 "kind - mealType")
+                    row.getFoodNo() != null ? row.getMenuName() : row.getKind() + " - " + row.getMealType(),
+                    prices.find(row.getKind()).map(MenuPriceSnapshot.Entry::getPrice).orElse(null),
+                    row.getCategory(),
+                    row.getKcal(),
+                    row.getPhotoPath(),
+                    row.getIsSignature(),
+                    row.getSoldOut(),
+                    row.getMealType(),
+                    row.getMenuDate());
+            menu.setKind(row.getKind());
+            menu.setAllergyInfo(row.getAllergyInfo());
+            menu.setCafeNo(row.getCafeNo());
+            menu.setResNo(row.getResNo());
+            menus.add(menu);
+        }
+        return menus;
+    }
+}
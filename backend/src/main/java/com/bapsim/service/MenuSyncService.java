@@ -0,0 +1,287 @@
+package com.bapsim.service;
+
+import com.bapsim.dto.MenuImportRecord;
+import com.bapsim.dto.MenuSyncResult;
+import com.bapsim.entity.Food;
+import com.bapsim.entity.Menus;
+import com.bapsim.repository.FoodRepository;
+import com.bapsim.repository.MenuRepository;
+import com.bapsim.repository.projection.MenuSyncRow;
+import com.fasterxml.jackson.core.JsonFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 메뉴 JSON 증분 동기화 서비스
+ * (학식당/식당, 날짜, mealType, kind)를 키로 피드와 기존 메뉴를 비교해 바뀐 메뉴만 추가/수정/삭제 표시한다
+ * 피드에 포함된 (식당, 날짜)의 메뉴 중 피드에 없는 메뉴는 삭제 표시(DEL_YN = 'Y')한다
+ * 다시 실행해도 중복 메뉴가 생기지 않으므로, 매일 갱신 비용은 바뀐 메뉴 수에 비례한다
+ */
+@Service
+public class MenuSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MenuSyncService.class);
+
+    private static final String SYNC_USER = "system";
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private FoodRepository foodRepository;
+
+    @Autowired
+    private MenuDataService menuDataService;
+
+    @Autowired
+    private WeeklyMenuViewService weeklyMenuViewService;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Transactional
+    public MenuSyncResult syncMenuDataFromJson(String jsonFilePath) {
+        logger.info("메뉴 데이터 동기화 시작: {}", jsonFilePath);
+        long startedAt = System.nanoTime();
+
+        Map<SyncKey, MenuImportRecord> feed = new LinkedHashMap<>();
+        int skipped = readFeed(jsonFilePath, feed);
+        if (feed.isEmpty()) {
+            return MenuSyncResult.builder().source(jsonFilePath).skipped(skipped).build();
+        }
+
+        // 피드가 다루는 (식당, 날짜) 범위의 기존 메뉴만 비교 대상
+        Set<SyncKey> scopes = new HashSet<>();
+        LocalDate startDate = null;
+        LocalDate endDate = null;
+        for (SyncKey key : feed.keySet()) {
+            scopes.add(key.scope());
+            startDate = startDate == null || key.menuDate.isBefore(startDate) ? key.menuDate : startDate;
+            endDate = endDate == null || key.menuDate.isAfter(endDate) ? key.menuDate : endDate;
+        }
+        Map<SyncKey, List<MenuSyncRow>> existing = new HashMap<>();
+        for (MenuSyncRow row : menuRepository.findSyncRowsByMenuDateBetween(startDate, endDate)) {
+            SyncKey key = SyncKey.of(row);
+            if (scopes.contains(key.scope())) {
+                existing.computeIfAbsent(key, k -> new ArrayList<>()).add(row);
+            }
+        }
+
+        List<Menus> inserts = new ArrayList<>();
+        Map<Long, MenuImportRecord> updates = new HashMap<>();
+        List<Long> deletes = new ArrayList<>();
+        Set<LocalDate> changedDates = new HashSet<>();
+        int unchanged = 0;
+
+        for (Map.Entry<SyncKey, MenuImportRecord> entry : feed.entrySet()) {
+            MenuImportRecord record = entry.getValue();
+            List<MenuSyncRow> rows = existing.remove(entry.getKey());
+            if (rows == null) {
+                inserts.add(menuDataService.createMenu(record));
+                changedDates.add(record.getMenuDate());
+                continue;
+            }
+
+            // 같은 키의 메뉴가 여러 건이면 (전체 재적재로 생긴 중복) 가장 오래된 유효 메뉴만 남긴다
+            MenuSyncRow kept = rows.stream()
+                    .filter(row -> !isDeleted(row))
+                    .findFirst()
+                    .orElse(rows.get(0));
+            for (MenuSyncRow row : rows) {
+                if (row != kept && !isDeleted(row)) {
+                    deletes.add(row.getMenuNo());
+                    changedDates.add(row.getMenuDate());
+                }
+            }
+
+            if (!isDeleted(kept) && MenuDataService.contentHash(record).equals(kept.getContentHash())) {
+                unchanged++;
+            } else {
+                updates.put(kept.getMenuNo(), record);
+                changedDates.add(record.getMenuDate());
+            }
+        }
+
+        // 피드에서 빠진 메뉴
+        for (List<MenuSyncRow> rows : existing.values()) {
+            for (MenuSyncRow row : rows) {
+                if (!isDeleted(row)) {
+                    deletes.add(row.getMenuNo());
+                    changedDates.add(row.getMenuDate());
+                }
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!inserts.isEmpty()) {
+            menuRepository.saveAll(inserts);
+        }
+        if (!updates.isEmpty()) {
+            for (Menus menu : menuRepository.findAllById(updates.keySet())) {
+                applyRecord(menu, updates.get(menu.getMenuNo()), now);
+            }
+        }
+        int deleted = deletes.isEmpty() ? 0 : menuRepository.markDeleted(deletes, SYNC_USER, now);
+
+        // 바뀐 날짜의 주간 식단 뷰만 커밋 이후 무효화
+        changedDates.forEach(weeklyMenuViewService::invalidateAfterCommit);
+
+        MenuSyncResult result = MenuSyncResult.builder()
+                .source(jsonFilePath)
+                .inserted(inserts.size())
+                .updated(updates.size())
+                .deleted(deleted)
+                .unchanged(unchanged)
+                .skipped(skipped)
+                .elapsedMillis((System.nanoTime() - startedAt) / 1_000_000)
+                .build();
+        logger.info("메뉴 데이터 동기화 완료: {} - 추가 {}건, 수정 {}건, 삭제 {}건, 변경 없음 {}건, {}ms",
+                jsonFilePath, result.getInserted(), result.getUpdated(), result.getDeleted(),
+                result.getUnchanged(), result.getElapsedMillis());
+        return result;
+    }
+
+    /**
+     * 피드를 키별로 읽음 (같은 키가 여러 번 나오면 마지막 값 사용)
+     * @return 날짜가 없어 건너뛴 레코드 수
+     */
+    private int readFeed(String jsonFilePath, Map<SyncKey, MenuImportRecord> feed) {
+        int skipped = 0;
+        try (InputStream inputStream = new ClassPathResource(jsonFilePath).getInputStream();
+             MenuJsonStreamReader reader = new MenuJsonStreamReader(jsonFactory, inputStream)) {
+            MenuImportRecord record;
+            while ((record = reader.next()) != null) {
+                if (record.getMenuDate() == null) {
+                    logger.warn("날짜가 없는 메뉴는 동기화하지 않습니다: {}번째 항목", reader.getPosition());
+                    skipped++;
+                    continue;
+                }
+                if (feed.put(SyncKey.of(record), record) != null) {
+                    logger.warn("피드에 같은 메뉴 키가 중복되어 마지막 값을 사용합니다: {}번째 항목", reader.getPosition());
+                }
+            }
+        } catch (IOException e) {
+            logger.error("JSON 파일 읽기 실패: {}", jsonFilePath, e);
+            throw new RuntimeException("메뉴 데이터 동기화 실패", e);
+        }
+        return skipped;
+    }
+
+    /**
+     * 기존 메뉴를 피드 값으로 갱신 (삭제 표시된 메뉴는 복구)
+     * 피드는 메뉴당 음식 한 건이므로 대표 음식(가장 먼저 등록된 음식)만 남긴다
+     */
+    private void applyRecord(Menus menu, MenuImportRecord record, LocalDateTime now) {
+        menu.setIsSignature(record.getIsSignature());
+        menu.setSoldOut(record.getSoldOut());
+        menu.setContentHash(MenuDataService.contentHash(record));
+        menu.setDelYn("N");
+        menu.setUpdatedId(SYNC_USER);
+        menu.setUpdatedAt(now);
+
+        List<Food> foods = menu.getFoods();
+        Food kept = record.getFood() == null ? null
+                : foods.stream().min(Comparator.comparing(Food::getFoodNo)).orElse(null);
+
+        List<Food> removed = new ArrayList<>();
+        for (Food food : foods) {
+            if (food != kept) {
+                removed.add(food);
+            }
+        }
+        if (!removed.isEmpty()) {
+            foods.removeAll(removed);
+            foodRepository.deleteAll(removed);
+        }
+
+        if (record.getFood() == null) {
+            return;
+        }
+        if (kept == null) {
+            Food food = menuDataService.createFood(record.getFood());
+            food.setMenu(menu);
+            foods.add(food);
+        } else {
+            menuDataService.applyFood(kept, record.getFood());
+        }
+    }
+
+    private static boolean isDeleted(MenuSyncRow row) {
+        return "Y".equals(row.getDelYn());
+    }
+
+    /**
+     * 동기화 키 (학식당 메뉴는 cafeNo, 식당 메뉴는 resNo)
+     */
+    private static final class SyncKey {
+        private final Long cafeNo;
+        private final Long resNo;
+        private final LocalDate menuDate;
+        private final String mealType;
+        private final String kind;
+
+        private SyncKey(Long cafeNo, Long resNo, LocalDate menuDate, String mealType, String kind) {
+            this.cafeNo = cafeNo;
+            // 적재 시 cafeNo가 있으면 resNo는 저장하지 않으므로 키에서도 무시
+            this.resNo = cafeNo != null ? null : resNo;
+            this.menuDate = menuDate;
+            this.mealType = mealType;
+            this.kind = kind;
+        }
+
+        static SyncKey of(MenuImportRecord record) {
+            return new SyncKey(record.getCafeNo(), record.getResNo(), record.getMenuDate(),
+                    record.getMealType(), record.getKind());
+        }
+
+        static SyncKey of(MenuSyncRow row) {
+            return new SyncKey(row.getCafeNo(), row.getResNo(), row.getMenuDate(),
+                    row.getMealType(), row.getKind());
+        }
+
+        /**
+         * (식당, 날짜) 범위
+         */
+        SyncKey scope() {
+            return new SyncKey(cafeNo, resNo, menuDate, null, null);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SyncKey)) {
+                return false;
+            }
+            SyncKey other = (SyncKey) o;
+            return Objects.equals(cafeNo, other.cafeNo)
+                    && Objects.equals(resNo, other.resNo)
+                    && Objects.equals(menuDate, other.menuDate)
+                    && Objects.equals(mealType, other.mealType)
+                    && Objects.equals(kind, other.kind);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(cafeNo, resNo, menuDate, mealType, kind);
+        }
+    }
+}
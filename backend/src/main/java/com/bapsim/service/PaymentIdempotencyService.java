@@ -0,0 +1,292 @@
+package com.bapsim.service;
+
+import com.bapsim.dto.PaymentRequestDto;
+import com.bapsim.dto.PaymentResponseDto;
+import com.bapsim.entity.Payment;
+import com.bapsim.entity.PaymentIdempotency;
+import com.bapsim.entity.PaymentIdempotency.Status;
+import com.bapsim.repository.PaymentIdempotencyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+
+/**
+ * 결제 요청 멱등 처리 서비스
+ * Idempotency-Key가 같은 중복 요청(더블 탭, 클라이언트 재시도)에는 검증/PIN 확인/출금을 다시 하지 않고
+ * 처음 요청의 응답을 그대로 돌려준다. 최근 응답은 메모리 LRU 캐시에서, 그 외에는 DB에서 조회한다
+ * 응답은 결제 예약(포인트 차감 + PENDING 기록)이 커밋된 뒤의 결과만 저장한다. 예약 전 거절(PIN 오류, 검증 실패,
+ * 예약 실패)과 예약 후 출금 없이 실패 처리된 결과는 키를 해제해 같은 키로 다시 시도할 수 있게 하고,
+ * 출금 여부를 아직 모르는 PAYMENT_PENDING은 처리 중 상태로 두었다가 결제 복구가 확정/실패 처리할 때 정리한다
+ */
+@Service
+public class PaymentIdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentIdempotencyService.class);
+
+    private static final int MAX_KEY_LENGTH = 64;
+
+    // 예약 후 출금되지 않은 채 실패 처리되어 다시 시도하면 결과가 달라질 수 있는 실패 (저장하지 않고 키 해제)
+    private static final Set<String> RETRYABLE_ERROR_CODES = Set.of("BANK_API_UNAVAILABLE", "SSAFY_API_ERROR");
+
+    // 출금 여부를 아직 모르는 결과 (복구 작업이 확인하기 전에 다시 실행하면 이중 출금될 수 있음)
+    private static final String OUTCOME_UNKNOWN_ERROR_CODE = "PAYMENT_PENDING";
+
+    @Autowired
+    private PaymentIdempotencyRepository paymentIdempotencyRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MenuPriceService menuPriceService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${bapsim.payment.idempotency.cache-size:10000}")
+    private int cacheSize;
+
+    @Value("${bapsim.payment.idempotency.retention-hours:24}")
+    private long retentionHours;
+
+    private Map<String, StoredResponse> recentResponses;
+
+    private Counter executedCounter;
+    private Counter replayedCounter;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    void init() {
+        recentResponses = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        executedCounter = requestCounter("executed");
+        replayedCounter = requestCounter("replayed");
+        rejectedCounter = requestCounter("rejected");
+    }
+
+    /**
+     * 멱등 키 기준으로 결제 처리
+     * 키가 없으면 그대로 처리하고, 이미 처리된 키면 저장된 응답을 반환한다
+     * @param payment 결제 처리 (결제 예약이 커밋되면 인자로 받은 콜백에 결제 ID를 넘긴다)
+     */
+    public PaymentResponseDto execute(PaymentRequestDto requestDto, String idempotencyKey,
+                                      Function<LongConsumer, PaymentResponseDto> payment) {
+        if (idempotencyKey == null || idempotencyKey.trim().isEmpty()) {
+            return payment.apply(paymentId -> { });
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            rejectedCounter.increment();
+            return PaymentResponseDto.failure("INVALID_IDEMPOTENCY_KEY",
+                    "Idempotency-Key는 " + MAX_KEY_LENGTH + "자 이하여야 합니다");
+        }
+
+        Long userNo = requestDto.getUserNo();
+        int requestHash = requestHash(requestDto);
+
+        // 1. 최근 응답 캐시
+        StoredResponse cached = recentResponses.get(cacheKey(userNo, idempotencyKey));
+        if (cached != null) {
+            return replay(cached, requestHash, userNo, idempotencyKey);
+        }
+
+        // 2. DB에 기록된 키
+        Optional<PaymentIdempotency> existing = paymentIdempotencyRepository.findByUserNoAndIdempotencyKey(userNo, idempotencyKey);
+        if (existing.isPresent()) {
+            return replay(existing.get(), requestHash);
+        }
+
+        // 3. 키 선점 (유니크 인덱스로 동시 요청 중 하나만 성공)
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            paymentIdempotencyRepository.saveAndFlush(PaymentIdempotency.builder()
+                    .userNo(userNo)
+                    .idempotencyKey(idempotencyKey)
+                    .requestHash(requestHash)
+                    .status(Status.IN_PROGRESS)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            return paymentIdempotencyRepository.findByUserNoAndIdempotencyKey(userNo, idempotencyKey)
+                    .map(record -> replay(record, requestHash))
+                    .orElseGet(this::inProgress);
+        }
+
+        executedCounter.increment();
+        AtomicLong reservedPaymentId = new AtomicLong();
+        PaymentResponseDto response = null;
+        try {
+            response = payment.apply(paymentId -> {
+                reservedPaymentId.set(paymentId);
+                paymentIdempotencyRepository.attachPayment(userNo, idempotencyKey, paymentId,
+                        Status.IN_PROGRESS, LocalDateTime.now());
+            });
+            return response;
+        } finally {
+            boolean reserved = reservedPaymentId.get() != 0L;
+            if (!reserved || (response != null && RETRYABLE_ERROR_CODES.contains(response.getErrorCode()))) {
+                // 예약 전에 끝났거나 출금 없이 실패 처리된 경우 같은 키로 다시 시도할 수 있도록 해제
+                paymentIdempotencyRepository.release(userNo, idempotencyKey, Status.IN_PROGRESS);
+            } else if (response == null || OUTCOME_UNKNOWN_ERROR_CODE.equals(response.getErrorCode())) {
+                // 같은 키의 재시도에는 처리 중 응답을 돌려주고, 결제 복구가 결과를 확인하면 정리한다
+                log.warn("출금 결과 확인 대기, 멱등 키는 처리 중 상태로 유지: userNo={}, key={}, paymentId={}",
+                        userNo, idempotencyKey, reservedPaymentId.get());
+            } else {
+                complete(userNo, idempotencyKey, requestHash, response);
+            }
+        }
+    }
+
+    /**
+     * 결제 복구에서 확정된 결제의 처리 중인 키에 성공 응답 저장
+     */
+    public void resolveConfirmed(Payment payment) {
+        String menuName = menuPriceService.findCurrentPrice(payment.getMenuType())
+                .map(MenuPriceSnapshot.Entry::getMealType)
+                .orElse("메뉴 타입 " + payment.getMenuType());
+        PaymentResponseDto response = Boolean.TRUE.equals(payment.getUsePoints())
+                ? PaymentResponseDto.successWithPoints(payment.getPaymentId(), payment.getUserNo(), payment.getMenuId(),
+                        payment.getMenuType(), menuName, payment.getOriginalPrice(), payment.getAmount(),
+                        payment.getPaymentStatus(), payment.getPaymentMethod(), payment.getTransactionId(),
+                        payment.getSsafyTransactionId(), payment.getPointAmount())
+                : PaymentResponseDto.success(payment.getPaymentId(), payment.getUserNo(), payment.getMenuId(),
+                        payment.getMenuType(), menuName, payment.getAmount(), payment.getPaymentStatus(),
+                        payment.getPaymentMethod(), payment.getTransactionId(), payment.getSsafyTransactionId());
+        try {
+            int completed = paymentIdempotencyRepository.completeByPaymentId(payment.getPaymentId(),
+                    objectMapper.writeValueAsString(response), Status.IN_PROGRESS, Status.COMPLETED, LocalDateTime.now());
+            if (completed > 0) {
+                log.info("복구된 결제의 멱등 키에 응답 저장: paymentId={}", payment.getPaymentId());
+            }
+        } catch (JsonProcessingException e) {
+            log.error("복구된 결제 응답 저장 실패, 멱등 키는 처리 중 상태로 유지: paymentId={}", payment.getPaymentId(), e);
+        }
+    }
+
+    /**
+     * 결제 복구에서 실패 처리된 결제의 처리 중인 키 해제 (출금되지 않았으므로 같은 키로 다시 시도 가능)
+     */
+    public void resolveFailed(Long paymentId) {
+        if (paymentIdempotencyRepository.releaseByPaymentId(paymentId, Status.IN_PROGRESS) > 0) {
+            log.info("실패 처리된 결제의 멱등 키 해제: paymentId={}", paymentId);
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 멱등 키 정리
+     */
+    @Scheduled(fixedDelayString = "${bapsim.payment.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpiredKeys() {
+        try {
+            int deleted = paymentIdempotencyRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(retentionHours));
+            if (deleted > 0) {
+                log.info("만료된 결제 멱등 키 정리: count={}", deleted);
+            }
+        } catch (Exception e) {
+            log.error("결제 멱등 키 정리 중 오류 발생", e);
+        }
+    }
+
+    private void complete(Long userNo, String idempotencyKey, int requestHash, PaymentResponseDto response) {
+        try {
+            String responseBody = objectMapper.writeValueAsString(response);
+            paymentIdempotencyRepository.complete(userNo, idempotencyKey, responseBody,
+                    Status.IN_PROGRESS, Status.COMPLETED, LocalDateTime.now());
+            recentResponses.put(cacheKey(userNo, idempotencyKey), new StoredResponse(requestHash, response));
+        } catch (JsonProcessingException e) {
+            // 결제가 이미 진행되었을 수 있으므로 키를 해제하지 않고 처리 중 상태로 둔다
+            log.error("결제 응답 저장 실패, 멱등 키는 처리 중 상태로 유지: userNo={}, key={}", userNo, idempotencyKey, e);
+        }
+    }
+
+    private PaymentResponseDto replay(PaymentIdempotency record, int requestHash) {
+        if (record.getStatus() != Status.COMPLETED || record.getResponseBody() == null) {
+            if (record.getRequestHash() != requestHash) {
+                return keyMismatch(record.getUserNo(), record.getIdempotencyKey());
+            }
+            return inProgress();
+        }
+        try {
+            StoredResponse stored = new StoredResponse(record.getRequestHash(),
+                    objectMapper.readValue(record.getResponseBody(), PaymentResponseDto.class));
+            recentResponses.put(cacheKey(record.getUserNo(), record.getIdempotencyKey()), stored);
+            return replay(stored, requestHash, record.getUserNo(), record.getIdempotencyKey());
+        } catch (JsonProcessingException e) {
+            log.error("저장된 결제 응답 복원 실패: userNo={}, key={}", record.getUserNo(), record.getIdempotencyKey(), e);
+            return inProgress();
+        }
+    }
+
+    private PaymentResponseDto replay(StoredResponse stored, int requestHash, Long userNo, String idempotencyKey) {
+        if (stored.requestHash != requestHash) {
+            return keyMismatch(userNo, idempotencyKey);
+        }
+        log.info("중복 결제 요청, 저장된 응답 반환: userNo={}, key={}, paymentId={}",
+                userNo, idempotencyKey, stored.response.getPaymentId());
+        replayedCounter.increment();
+        return stored.response;
+    }
+
+    private PaymentResponseDto inProgress() {
+        rejectedCounter.increment();
+        return PaymentResponseDto.failure("IDEMPOTENCY_KEY_IN_PROGRESS", "같은 결제 요청을 처리하고 있습니다. 잠시 후 결제 내역을 확인해주세요");
+    }
+
+    private PaymentResponseDto keyMismatch(Long userNo, String idempotencyKey) {
+        log.warn("다른 결제 요청에 사용된 멱등 키: userNo={}, key={}", userNo, idempotencyKey);
+        rejectedCounter.increment();
+        return PaymentResponseDto.failure("IDEMPOTENCY_KEY_MISMATCH", "이미 다른 결제 요청에 사용된 Idempotency-Key입니다");
+    }
+
+    private static int requestHash(PaymentRequestDto requestDto) {
+        // DB에 저장되므로 실행마다 달라지는 enum hashCode 대신 이름 사용
+        String paymentMethod = requestDto.getPaymentMethod() != null ? requestDto.getPaymentMethod().name() : null;
+        return Objects.hash(requestDto.getMenuId(), requestDto.getMenuType(), requestDto.getAmount(),
+                paymentMethod, requestDto.getAccountNo(),
+                requestDto.getUsePoints(), requestDto.getPointAmount());
+    }
+
+    private static String cacheKey(Long userNo, String idempotencyKey) {
+        return userNo + ":" + idempotencyKey;
+    }
+
+    private Counter requestCounter(String result) {
+        return Counter.builder("bapsim.payment.idempotency.requests")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static class StoredResponse {
+        private final int requestHash;
+        private final PaymentResponseDto response;
+
+        private StoredResponse(int requestHash, PaymentResponseDto response) {
+            this.requestHash = requestHash;
+            this.response = response;
+        }
+    }
+}
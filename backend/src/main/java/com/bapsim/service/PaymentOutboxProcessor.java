@@ -0,0 +1,185 @@
+package com.bapsim.service;
+
+import com.bapsim.entity.PaymentOutbox;
+import com.bapsim.entity.PaymentOutbox.Status;
+import com.bapsim.repository.PaymentOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 결제 후속 처리 워커
+ * payment_outbox 항목을 꺼내 포인트 적립과 식권 발행을 결제 트랜잭션과 분리해 처리
+ */
+@Service
+public class PaymentOutboxProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentOutboxProcessor.class);
+
+    @Autowired
+    private PaymentOutboxRepository paymentOutboxRepository;
+
+    @Autowired
+    private PointService pointService;
+
+    @Autowired
+    private MealTicketService mealTicketService;
+
+    @Autowired
+    @Qualifier("postPaymentExecutor")
+    private ThreadPoolTaskExecutor postPaymentExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${bapsim.payment.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${bapsim.payment.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${bapsim.payment.outbox.stale-seconds:300}")
+    private long staleSeconds;
+
+    private final AtomicLong backlog = new AtomicLong();
+
+    private Counter completedCounter;
+    private Counter retriedCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    void initMetrics() {
+        Gauge.builder("bapsim.payment.outbox.backlog", backlog, AtomicLong::get)
+                .description("처리되지 않은 결제 후속 처리 항목 수")
+                .register(meterRegistry);
+        completedCounter = Counter.builder("bapsim.payment.outbox.processed")
+                .tag("result", "completed")
+                .register(meterRegistry);
+        retriedCounter = Counter.builder("bapsim.payment.outbox.processed")
+                .tag("result", "retried")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("bapsim.payment.outbox.processed")
+                .tag("result", "failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 결제 트랜잭션이 커밋된 뒤 바로 처리 요청
+     * 트랜잭션 밖에서 호출되면 즉시 워커에 넘긴다
+     */
+    public void dispatchAfterCommit(Long outboxId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(outboxId);
+                }
+            });
+        } else {
+            submit(outboxId);
+        }
+    }
+
+    /**
+     * 처리 시각이 된 outbox 항목을 주기적으로 워커에 전달
+     * 즉시 처리에 실패했거나 거절된 항목, 재시도 대상이 여기서 다시 처리된다
+     */
+    @Scheduled(fixedDelayString = "${bapsim.payment.outbox.poll-interval-ms:5000}")
+    public void pollOutbox() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+
+            int released = paymentOutboxRepository.releaseStale(
+                    Status.PENDING, Status.PROCESSING, now.minusSeconds(staleSeconds), now);
+            if (released > 0) {
+                log.warn("처리 중 상태로 남은 outbox 항목 복구: count={}", released);
+            }
+
+            List<PaymentOutbox> dueEntries = paymentOutboxRepository.findDue(
+                    Status.PENDING, now, PageRequest.of(0, batchSize));
+            for (PaymentOutbox entry : dueEntries) {
+                submit(entry.getOutboxId());
+            }
+
+            backlog.set(paymentOutboxRepository.countByStatusIn(EnumSet.of(Status.PENDING, Status.PROCESSING)));
+        } catch (Exception e) {
+            log.error("결제 후속 처리 outbox 폴링 중 오류 발생", e);
+        }
+    }
+
+    private void submit(Long outboxId) {
+        try {
+            postPaymentExecutor.execute(() -> process(outboxId));
+        } catch (TaskRejectedException e) {
+            // 워커 큐가 가득 참 - 다음 폴링에서 다시 처리
+            log.warn("결제 후속 처리 워커 큐 포화, 다음 폴링에서 재처리: outboxId={}", outboxId);
+        }
+    }
+
+    /**
+     * outbox 항목 하나 처리
+     * 선점에 성공한 워커만 처리하며, 각 단계는 paymentId 기준으로 멱등하다
+     */
+    void process(Long outboxId) {
+        if (paymentOutboxRepository.claim(outboxId, Status.PENDING, Status.PROCESSING, LocalDateTime.now()) == 0) {
+            return; // 다른 워커가 처리 중이거나 이미 처리됨
+        }
+
+        Optional<PaymentOutbox> entryOpt = paymentOutboxRepository.findById(outboxId);
+        if (entryOpt.isEmpty()) {
+            return;
+        }
+        PaymentOutbox entry = entryOpt.get();
+
+        try {
+            // 1. 포인트 적립 (최종 결제 금액의 2%)
+            Integer earnedPoints = pointService.earnPointsFromPaymentInNewTransaction(
+                    entry.getUserNo(), entry.getPaymentId(), entry.getAmount());
+            log.info("포인트 적립 완료: paymentId={}, earnedPoints={}", entry.getPaymentId(), earnedPoints);
+
+            // 2. 식권 발행
+            mealTicketService.issueTicketAfterPaymentInNewTransaction(entry.getPaymentId());
+            log.info("식권 발행 완료: paymentId={}", entry.getPaymentId());
+
+            paymentOutboxRepository.updateResult(outboxId, Status.DONE, entry.getNextAttemptAt(), null, LocalDateTime.now());
+            completedCounter.increment();
+
+        } catch (Exception e) {
+            int attempts = entry.getAttempts();
+            String error = e.getMessage() != null && e.getMessage().length() > 500
+                    ? e.getMessage().substring(0, 500) : e.getMessage();
+
+            if (attempts >= maxAttempts) {
+                log.error("결제 후속 처리 재시도 한도 초과: paymentId={}, attempts={}", entry.getPaymentId(), attempts, e);
+                paymentOutboxRepository.updateResult(outboxId, Status.FAILED, entry.getNextAttemptAt(), error, LocalDateTime.now());
+                failedCounter.increment();
+            } else {
+                // 지수 백오프 (2, 4, 8 ... 초)
+                LocalDateTime nextAttemptAt = LocalDateTime.now().plusSeconds(1L << attempts);
+                log.warn("결제 후속 처리 실패, 재시도 예정: paymentId={}, attempts={}, nextAttemptAt={}",
+                        entry.getPaymentId(), attempts, nextAttemptAt, e);
+                paymentOutboxRepository.updateResult(outboxId, Status.PENDING, nextAttemptAt, error, LocalDateTime.now());
+                retriedCounter.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.bapsim.service;
+
+import com.bapsim.dto.PaymentRequestDto;
+import com.bapsim.dto.PaymentValidationDto;
+import com.bapsim.entity.Payment;
+import com.bapsim.entity.PaymentOutbox;
+import com.bapsim.repository.PaymentOutboxRepository;
+import com.bapsim.repository.PaymentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 결제 상태 기록 서비스
+ * 결제를 짧은 트랜잭션 단위(예약 → 확정/실패)로 기록하여
+ * SSAFY 출금 API 호출 동안 DB 커넥션을 점유하지 않도록 한다
+ * 상태가 바뀔 때마다 같은 트랜잭션에서 매출 집계 반영 대기 항목을 남긴다
+ */
+@Service
+@Transactional
+public class PaymentRecordService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentRecordService.class);
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PaymentOutboxRepository paymentOutboxRepository;
+
+    @Autowired
+    private PaymentOutboxProcessor paymentOutboxProcessor;
+
+    @Autowired
+    private PointService pointService;
+
+    @Autowired
+    private MenuPriceService menuPriceService;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    /**
+     * 결제 예약
+     * 포인트 차감과 PENDING 결제 기록을 하나의 트랜잭션으로 처리
+     * @return PENDING 상태로 저장된 결제
+     */
+    public Payment reserve(PaymentRequestDto requestDto, PaymentValidationDto validation) {
+        // 1. 포인트 사용 시 포인트 차감
+        if (usesPoints(requestDto)) {
+            pointService.usePoints(requestDto.getUserNo(), requestDto.getPointAmount(),
+                "식권 구매", String.format("메뉴 타입 %s 구매 시 포인트 차감", requestDto.getMenuType()));
+            log.info("포인트 차감 완료: userNo={}, pointAmount={}", requestDto.getUserNo(), requestDto.getPointAmount());
+        }
+
+        // 2. 결제 엔티티 생성 (최종 결제 금액으로)
+        Payment payment = createPaymentEntity(requestDto);
+        if (validation.getFinalAmount() != null) {
+            payment.setAmount(validation.getFinalAmount());
+        }
+        payment.setPinVerified(true);
+
+        Payment savedPayment = paymentRepository.save(payment);
+        salesRollupService.record(savedPayment, null, Payment.PaymentStatus.PENDING);
+        log.info("결제 예약 완료: paymentId={}, transactionId={}, amount={}",
+                savedPayment.getPaymentId(), savedPayment.getTransactionId(), savedPayment.getAmount());
+        return savedPayment;
+    }
+
+    /**
+     * 결제 확정
+     * PENDING 결제를 COMPLETED로 전환하고 후속 처리(포인트 적립, 식권 발행)를 outbox에 기록
+     * @return 확정된 결제, 이미 다른 곳에서 처리된 경우 빈 값
+     */
+    public Optional<Payment> confirm(Long paymentId, String ssafyTransactionId) {
+        int updated = paymentRepository.completeIfPending(paymentId, ssafyTransactionId,
+                Payment.PaymentStatus.PENDING, Payment.PaymentStatus.COMPLETED, LocalDateTime.now());
+        if (updated == 0) {
+            log.warn("PENDING 상태가 아닌 결제는 확정할 수 없음: paymentId={}", paymentId);
+            return Optional.empty();
+        }
+
+        Payment payment = paymentRepository.findById(paymentId)
+                .orElseThrow(() -> new RuntimeException("결제 정보를 찾을 수 없습니다: " + paymentId));
+        salesRollupService.record(payment, Payment.PaymentStatus.PENDING, Payment.PaymentStatus.COMPLETED);
+
+        // 포인트 적립 / 식권 발행은 outbox에 기록하고 커밋 이후 워커가 처리
+        PaymentOutbox outbox = paymentOutboxRepository.save(PaymentOutbox.of(payment));
+        paymentOutboxProcessor.dispatchAfterCommit(outbox.getOutboxId());
+        log.info("결제 확정 완료: paymentId={}, ssafyTransactionId={}, outboxId={}",
+                paymentId, ssafyTransactionId, outbox.getOutboxId());
+
+        return Optional.of(payment);
+    }
+
+    /**
+     * 결제 실패 처리
+     * PENDING 결제를 FAILED로 전환하고 예약 시 차감한 포인트를 환원
+     * @return 실패 처리 여부 (이미 다른 곳에서 처리된 경우 false)
+     */
+    public boolean fail(Long paymentId, String reason) {
+        int updated = paymentRepository.failIfPending(paymentId,
+                Payment.PaymentStatus.PENDING, Payment.PaymentStatus.FAILED, LocalDateTime.now());
+        if (updated == 0) {
+            log.warn("PENDING 상태가 아닌 결제는 실패 처리할 수 없음: paymentId={}", paymentId);
+            return false;
+        }
+
+        Payment payment = paymentRepository.findById(paymentId)
+                .orElseThrow(() -> new RuntimeException("결제 정보를 찾을 수 없습니다: " + paymentId));
+
+        if (Boolean.TRUE.equals(payment.getUsePoints()) && payment.getPointAmount() != null && payment.getPointAmount() > 0) {
+            pointService.earnPoints(payment.getUserNo(), paymentId, payment.getPointAmount(), "결제 실패 환원",
+                String.format("결제 실패로 차감된 포인트 환원 (%d포인트)", payment.getPointAmount()));
+            log.info("결제 실패 포인트 환원: paymentId={}, pointAmount={}", paymentId, payment.getPointAmount());
+        }
+
+        salesRollupService.record(payment, Payment.PaymentStatus.PENDING, Payment.PaymentStatus.FAILED);
+
+        log.info("결제 실패 처리 완료: paymentId={}, reason={}", paymentId, reason);
+        return true;
+    }
+
+    private boolean usesPoints(PaymentRequestDto requestDto) {
+        return requestDto.getUsePoints() != null && requestDto.getUsePoints() &&
+               requestDto.getPointAmount() != null && requestDto.getPointAmount() > 0;
+    }
+
+    private Payment createPaymentEntity(PaymentRequestDto requestDto) {
+        Payment payment = new Payment();
+        payment.setUserNo(requestDto.getUserNo());
+        payment.setMenuId(requestDto.getMenuId());
+        payment.setMenuType(requestDto.getMenuType());
+        payment.setAccountNo(requestDto.getAccountNo());
+
+        // 메뉴 타입에 따른 실제 가격으로 설정 (사용자 입력 금액이 아닌)
+        Integer actualPrice = menuPriceService.findCurrentPrice(requestDto.getMenuType())
+                .map(price -> price.getPrice().intValue())
+                .orElse(null);
+        payment.setAmount(actualPrice != null ? actualPrice : requestDto.getAmount());
+
+        // 포인트 사용 정보 설정
+        payment.setUsePoints(requestDto.getUsePoints() != null ? requestDto.getUsePoints() : false);
+        payment.setPointAmount(requestDto.getPointAmount() != null ? requestDto.getPointAmount() : 0);
+        payment.setOriginalPrice(actualPrice != null ? actualPrice : requestDto.getAmount());
+
+        payment.setPaymentMethod(requestDto.getPaymentMethod());
+        payment.setPinVerified(false);
+        payment.setTransactionId(generateTransactionId());
+        payment.setCreatedId("system");
+        payment.setUpdatedId("system");
+
+        return payment;
+    }
+
+    private String generateTransactionId() {
+        return "TXN_" + System.currentTimeMillis() + "_" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,130 @@
+package com.bapsim.service;
+
+import com.bapsim.dto.TransactionHistoryResponse;
+import com.bapsim.entity.Payment;
+import com.bapsim.repository.PaymentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * PENDING 결제 복구 서비스
+ * 출금 API 호출 도중 서버가 중단되거나 응답을 받지 못해 PENDING으로 남은 결제를
+ * SSAFY 거래내역과 대조하여 확정 또는 실패 처리한다
+ */
+@Service
+public class PaymentRecoveryService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentRecoveryService.class);
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    // SSAFY 거래일자는 한국 시간 기준
+    private static final ZoneId KOREA_ZONE = ZoneId.of("Asia/Seoul");
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PaymentRecordService paymentRecordService;
+
+    @Autowired
+    private SsafyApiService ssafyApiService;
+
+    @Autowired
+    private PaymentIdempotencyService paymentIdempotencyService;
+
+    // 출금 API 읽기 타임아웃보다 충분히 긴 유예 시간
+    @Value("${bapsim.payment.recovery.grace-seconds:120}")
+    private long graceSeconds;
+
+    @Value("${bapsim.payment.recovery.batch-size:50}")
+    private int batchSize;
+
+    /**
+     * 오래된 PENDING 결제 주기적 복구
+     */
+    @Scheduled(fixedDelayString = "${bapsim.payment.recovery.interval-ms:60000}")
+    public void recoverPendingPayments() {
+        try {
+            List<Payment> pendingPayments = paymentRepository.findByPaymentStatusAndCreatedAtBeforeOrderByCreatedAtAsc(
+                    Payment.PaymentStatus.PENDING, LocalDateTime.now().minusSeconds(graceSeconds), PageRequest.of(0, batchSize));
+
+            for (Payment payment : pendingPayments) {
+                recover(payment);
+            }
+        } catch (Exception e) {
+            log.error("PENDING 결제 복구 중 오류 발생", e);
+        }
+    }
+
+    /**
+     * 결제 하나를 거래내역과 대조하여 정리
+     * 거래내역 조회에 실패하면 다음 주기에 다시 시도한다
+     */
+    void recover(Payment payment) {
+        if (payment.getAccountNo() == null || payment.getAccountNo().trim().isEmpty()) {
+            log.warn("계좌번호가 없는 PENDING 결제 실패 처리: paymentId={}", payment.getPaymentId());
+            if (paymentRecordService.fail(payment.getPaymentId(), "RECOVERY_NO_ACCOUNT")) {
+                paymentIdempotencyService.resolveFailed(payment.getPaymentId());
+            }
+            return;
+        }
+
+        Optional<String> ssafyTransactionId;
+        try {
+            ssafyTransactionId = findWithdrawal(payment);
+        } catch (Exception e) {
+            log.warn("거래내역 조회 실패, 다음 주기에 재시도: paymentId={}", payment.getPaymentId(), e);
+            return;
+        }
+
+        if (ssafyTransactionId.isPresent()) {
+            log.info("출금 내역 확인, 결제 확정: paymentId={}, ssafyTransactionId={}",
+                    payment.getPaymentId(), ssafyTransactionId.get());
+            paymentRecordService.confirm(payment.getPaymentId(), ssafyTransactionId.get())
+                    .ifPresent(paymentIdempotencyService::resolveConfirmed);
+        } else {
+            log.info("출금 내역 없음, 결제 실패 처리: paymentId={}", payment.getPaymentId());
+            if (paymentRecordService.fail(payment.getPaymentId(), "RECOVERY_NO_WITHDRAWAL")) {
+                paymentIdempotencyService.resolveFailed(payment.getPaymentId());
+            }
+        }
+    }
+
+    /**
+     * 결제 생성일 기준 출금 거래내역에서 내부 거래 ID가 포함된 거래 검색
+     */
+    private Optional<String> findWithdrawal(Payment payment) {
+        LocalDate startDate = payment.getCreatedAt().toLocalDate().minusDays(1);
+        LocalDate endDate = LocalDate.now(KOREA_ZONE);
+
+        TransactionHistoryResponse response = ssafyApiService.inquireTransactionHistory(
+                payment.getAccountNo(), startDate.format(DATE_FORMATTER), endDate.format(DATE_FORMATTER), "D", "DESC");
+
+        if (response == null || response.getHeader() == null || !"H0000".equals(response.getHeader().getResponseCode())) {
+            throw new IllegalStateException("거래내역 조회 응답 실패: " + response);
+        }
+        if (response.getRec() == null || response.getRec().getList() == null) {
+            return Optional.empty();
+        }
+
+        // 거래 고유 번호가 없으면 출금 API 성공 시와 동일하게 응답 코드로 기록
+        return response.getRec().getList().stream()
+                .filter(detail -> detail.getTransactionSummary() != null
+                        && detail.getTransactionSummary().contains(payment.getTransactionId()))
+                .map(detail -> detail.getTransactionUniqueNo() != null ? detail.getTransactionUniqueNo() : "H0000")
+                .findFirst();
+    }
+}
@@ -3,17 +3,27 @@ package com.bapsim.service;
 import com.bapsim.dto.*;
 import com.bapsim.entity.*;
 import com.bapsim.repository.*;
+import com.bapsim.util.HistoryCursor;
 import com.bapsim.util.SsafyApiHeaderGenerator;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,6 +32,9 @@ public class PaymentService {
     
     private static final Logger log = LoggerFactory.getLogger(PaymentService.class);
     
+    // 결제 내역 스트리밍 시 응답을 클라이언트로 내보내는 간격 (행 수)
+    private static final int STREAM_FLUSH_INTERVAL = 100;
+    
     @Autowired
     private PaymentRepository paymentRepository;
     
@@ -34,6 +47,9 @@ public class PaymentService {
     @Autowired
     private MenuPriceRepository menuPriceRepository;
     
+    @Autowired
+    private MenuPriceService menuPriceService;
+    
     @Autowired
     private SsafyApiService ssafyApiService;
     
@@ -41,14 +57,28 @@ public class PaymentService {
     private SsafyApiHeaderGenerator headerGenerator;
     
     @Autowired
-    private MealTicketService mealTicketService;
+    private PointService pointService;
     
     @Autowired
-    private PointService pointService;
+    private PaymentRecordService paymentRecordService;
+    
+    @Autowired
+    private PaymentIdempotencyService paymentIdempotencyService;
+    
+    @Autowired
+    private SalesRollupService salesRollupService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private PaymentStatusExportRepository paymentStatusExportRepository;
     
     /**
      * 결제 전 검증
+     * SSAFY 잔액 조회 API를 호출하므로 트랜잭션 없이 실행
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PaymentValidationDto validatePayment(PaymentRequestDto requestDto) {
         // 0. 계좌번호 검증 (SSAFY API 연동 필수)
         if (requestDto.getAccountNo() == null || requestDto.getAccountNo().trim().isEmpty()) {
@@ -68,18 +98,18 @@ public class PaymentService {
         
         // 2. 메뉴 존재 여부 및 가격 확인
         Optional<Menus> menuOpt = menuRepository.findById(requestDto.getMenuId());
-        if (menuOpt.isEmpty()) {
+        // 동기화로 삭제 표시된 메뉴는 결제 불가
+        if (menuOpt.isEmpty() || "Y".equals(menuOpt.get().getDelYn())) {
             return PaymentValidationDto.menuUnavailable(requestDto.getUserNo(), requestDto.getMenuId(), 
                     requestDto.getMenuType(), "알 수 없는 메뉴", "메뉴를 찾을 수 없습니다");
         }
         
         Menus menu = menuOpt.get();
         
-        // 3. 메뉴 가격 조회 (MenuPrice 테이블만 사용)
-        // requestDto.getMenuType()을 kind로 사용하여 MenuPrice 테이블에서 직접 조회
-        Optional<MenuPrice> menuPriceOpt = menuPriceRepository.findCurrentPrice(
-            requestDto.getMenuType(),  // 사용자 요청의 menuType (A, B, C, D, E)
-            java.time.LocalDate.now()
+        // 3. 메뉴 가격 조회 (MenuPrice 가격표 스냅샷 사용)
+        // requestDto.getMenuType()을 kind로 사용하여 오늘 기준 가격표에서 조회
+        Optional<MenuPriceSnapshot.Entry> menuPriceOpt = menuPriceService.findCurrentPrice(
+            requestDto.getMenuType()  // 사용자 요청의 menuType (A, B, C, D, E)
         );
         
         if (menuPriceOpt.isEmpty()) {
@@ -87,9 +117,8 @@ public class PaymentService {
                     requestDto.getMenuId(), requestDto.getMenuType(), java.time.LocalDate.now());
             
             // 디버깅을 위해 사용 가능한 메뉴 타입들 조회
-            List<MenuPrice> availablePrices = menuPriceRepository.findAllCurrentPrices(java.time.LocalDate.now());
             log.info("현재 사용 가능한 메뉴 타입들: {}", 
-                    availablePrices.stream()
+                    menuPriceService.getSnapshot().getEntries().stream()
                         .map(mp -> mp.getKind() + "(" + mp.getMealType() + ")")
                         .collect(java.util.stream.Collectors.toList()));
             
@@ -98,7 +127,7 @@ public class PaymentService {
                     "해당 메뉴 타입의 가격 정보를 찾을 수 없습니다. 요청한 메뉴 타입: " + requestDto.getMenuType());
         }
         
-        MenuPrice menuPrice = menuPriceOpt.get();
+        MenuPriceSnapshot.Entry menuPrice = menuPriceOpt.get();
         
         // 4. 요청된 금액과 실제 메뉴 가격 비교 (사용자가 금액을 입력한 경우)
         Integer requestedAmount = requestDto.getAmount();
@@ -335,13 +364,11 @@ public class PaymentService {
      */
     public Integer getMenuPriceByType(String menuType) {
         try {
-            java.time.LocalDate today = java.time.LocalDate.now();
-            // 메뉴 타입(kind)으로 가격 조회 (mealType은 null로 설정하여 모든 mealType에 대해 조회)
-            List<MenuPrice> prices = menuPriceRepository.findCurrentPricesByKind(menuType, today);
+            // 메뉴 타입(kind)으로 가격 조회 (가격표 스냅샷, 가장 최근에 유효한 가격)
+            Optional<MenuPriceSnapshot.Entry> price = menuPriceService.findCurrentPrice(menuType);
             
-            if (!prices.isEmpty()) {
-                // 첫 번째 가격 반환 (가장 최근에 유효한 가격)
-                return prices.get(0).getPrice().intValue();
+            if (price.isPresent()) {
+                return price.get().getPrice().intValue();
             }
             
             log.warn("메뉴 타입 {}에 대한 가격 정보를 찾을 수 없음", menuType);
@@ -353,10 +380,29 @@ public class PaymentService {
         }
     }
     
+    /**
+     * 멱등 키를 적용한 결제 처리
+     * 같은 Idempotency-Key로 다시 들어온 요청에는 처음 요청의 응답을 그대로 반환
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PaymentResponseDto processPayment(PaymentRequestDto requestDto, String idempotencyKey) {
+        return paymentIdempotencyService.execute(requestDto, idempotencyKey, onReserved -> processPayment(requestDto, onReserved));
+    }
+    
     /**
      * 결제 처리
+     * 예약(PENDING 기록) → SSAFY 출금 → 확정(COMPLETED 기록) 순서로 진행하며,
+     * 출금 API 호출은 트랜잭션 밖에서 수행하여 DB 커넥션을 점유하지 않는다
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PaymentResponseDto processPayment(PaymentRequestDto requestDto) {
+        return processPayment(requestDto, paymentId -> { });
+    }
+    
+    /**
+     * @param onReserved 결제 예약이 커밋된 뒤 결제 ID를 받는 콜백 (멱등 키 연결)
+     */
+    private PaymentResponseDto processPayment(PaymentRequestDto requestDto, LongConsumer onReserved) {
         try {
             // 1. 결제 전 검증
             PaymentValidationDto validation = validatePayment(requestDto);
@@ -370,101 +416,87 @@ public class PaymentService {
                 return PaymentResponseDto.pinVerificationFailed();
             }
             
-            // 3. 포인트 사용 시 포인트 차감
-            if (requestDto.getUsePoints() != null && requestDto.getUsePoints() && 
-                requestDto.getPointAmount() != null && requestDto.getPointAmount() > 0) {
-                try {
-                    pointService.usePoints(requestDto.getUserNo(), requestDto.getPointAmount(), 
-                        "식권 구매", String.format("메뉴 타입 %s 구매 시 포인트 차감", requestDto.getMenuType()));
-                    log.info("포인트 차감 완료: userNo={}, pointAmount={}", requestDto.getUserNo(), requestDto.getPointAmount());
-                } catch (Exception e) {
-                    log.error("포인트 차감 중 오류 발생: userNo={}, pointAmount={}", requestDto.getUserNo(), requestDto.getPointAmount(), e);
-                    return PaymentResponseDto.failure("POINT_DEDUCTION_ERROR", "포인트 차감 중 오류가 발생했습니다");
-                }
+            // 3. 결제 예약 (포인트 차감 + PENDING 결제 기록, 짧은 트랜잭션)
+            Payment payment;
+            try {
+                payment = paymentRecordService.reserve(requestDto, validation);
+            } catch (Exception e) {
+                log.error("결제 예약 중 오류 발생: userNo={}, pointAmount={}", requestDto.getUserNo(), requestDto.getPointAmount(), e);
+                return PaymentResponseDto.failure("POINT_DEDUCTION_ERROR", "포인트 차감 중 오류가 발생했습니다");
             }
-            
-            // 4. 결제 엔티티 생성 (최종 결제 금액으로)
-            Payment payment = createPaymentEntity(requestDto);
-            if (validation.getFinalAmount() != null) {
-                payment.setAmount(validation.getFinalAmount());
+            onReserved.accept(payment.getPaymentId());
+            
+            // 4. SSAFY 출금 API 호출 (트랜잭션 밖)
+            String ssafyTransactionId;
+            try {
+                ssafyTransactionId = callSsafyWithdrawalApi(payment);
+            } catch (SsafyApiUnavailableException e) {
+                // 요청을 보내지 않았으므로 출금되지 않음 - 바로 실패 처리
+                log.warn("SSAFY 출금 API 호출 거절: paymentId={}, reason={}", payment.getPaymentId(), e.getReason());
+                paymentRecordService.fail(payment.getPaymentId(), "BANK_API_UNAVAILABLE");
+                return PaymentResponseDto.bankUnavailable();
+            } catch (ResourceAccessException | HttpServerErrorException e) {
+                // 응답을 받지 못했거나 은행/게이트웨이 5xx라 출금 여부를 알 수 없음
+                // PENDING으로 남겨두고 복구 작업에서 거래내역으로 확인 (포인트 환원은 복구 작업이 실패로 판단할 때만)
+                log.error("SSAFY 출금 API 응답 없음, 결제 확인 대기: paymentId={}", payment.getPaymentId(), e);
+                return PaymentResponseDto.failure("PAYMENT_PENDING", "결제 결과를 확인하고 있습니다. 잠시 후 결제 내역을 확인해주세요");
             }
             
-            // 5. SSAFY 출금 API 호출
-            String ssafyTransactionId = callSsafyWithdrawalApi(requestDto);
             if (ssafyTransactionId == null) {
-                payment.setPaymentStatus(Payment.PaymentStatus.FAILED);
-                paymentRepository.save(payment);
+                paymentRecordService.fail(payment.getPaymentId(), "SSAFY_API_ERROR");
                 return PaymentResponseDto.failure("SSAFY_API_ERROR", "SSAFY 출금 API 호출에 실패했습니다");
             }
             
-                         // 6. 결제 완료 처리
-             payment.setSsafyTransactionId(ssafyTransactionId);
-             payment.setPaymentStatus(Payment.PaymentStatus.COMPLETED);
-             payment.setPinVerified(true);
-             payment.setUpdatedAt(LocalDateTime.now());
-             payment.setUpdatedId("system");
-             
-             Payment savedPayment = paymentRepository.save(payment);
-             
-                // 7. 포인트 적립 (최종 결제 금액의 2%)
-                try {
-                    log.info("결제 완료 후 포인트 적립 시작: paymentId={}, amount={}", savedPayment.getPaymentId(), savedPayment.getAmount());
-                    Integer earnedPoints = pointService.earnPointsFromPayment(savedPayment.getUserNo(), savedPayment.getPaymentId(), savedPayment.getAmount());
-                    log.info("포인트 적립 완료: paymentId={}, earnedPoints={}", savedPayment.getPaymentId(), earnedPoints);
-                } catch (Exception e) {
-                    log.error("포인트 적립 중 오류 발생: paymentId={}", savedPayment.getPaymentId(), e);
-                    // 포인트 적립 실패는 결제 성공에 영향을 주지 않음
-                }
-                
-                // 8. 식권 자동 발행
-                try {
-                    log.info("결제 완료 후 식권 발행 시작: paymentId={}", savedPayment.getPaymentId());
-                    MealTicket ticket = mealTicketService.issueTicketAfterPayment(savedPayment.getPaymentId());
-                    log.info("식권 발행 완료: paymentId={}, ticketId={}", savedPayment.getPaymentId(), ticket != null ? ticket.getTicketId() : "null");
-                } catch (Exception e) {
-                    log.error("식권 발행 중 오류 발생: paymentId={}", savedPayment.getPaymentId(), e);
-                    // 식권 발행 실패는 결제 성공에 영향을 주지 않음
-                }
+            // 5. 결제 확정 (COMPLETED 기록 + 포인트 적립/식권 발행 outbox 등록, 짧은 트랜잭션)
+            Optional<Payment> confirmed = paymentRecordService.confirm(payment.getPaymentId(), ssafyTransactionId);
+            if (confirmed.isEmpty()) {
+                return PaymentResponseDto.failure("PAYMENT_STATE_CONFLICT", "결제 상태가 이미 변경되었습니다. 결제 내역을 확인해주세요");
+            }
+            Payment savedPayment = confirmed.get();
+            
+            // 6. 성공 응답 생성
+            // menuName은 MenuPrice 테이블의 mealType을 사용
+            String menuName = getMenuNameFromMenuPrice(savedPayment.getMenuType());
+            if (menuName == null || menuName.isEmpty()) {
+                menuName = "메뉴 타입 " + savedPayment.getMenuType();
+            }
             
-                         // 9. 성공 응답 생성
-             // menuName은 MenuPrice 테이블의 mealType을 사용
-             String menuName = getMenuNameFromMenuPrice(savedPayment.getMenuType());
-             if (menuName == null || menuName.isEmpty()) {
-                 menuName = "메뉴 타입 " + savedPayment.getMenuType();
-             }
-             
-             // 포인트 사용 여부에 따른 응답 생성
-             if (requestDto.getUsePoints() != null && requestDto.getUsePoints() && 
-                 requestDto.getPointAmount() != null && requestDto.getPointAmount() > 0) {
-                 return PaymentResponseDto.successWithPoints(
-                     savedPayment.getPaymentId(),
-                     savedPayment.getUserNo(),
-                     savedPayment.getMenuId(),
-                     savedPayment.getMenuType(),
-                     menuName,
-                     validation.getMenuPrice(), // 원래 메뉴 가격
-                     savedPayment.getAmount(),   // 최종 결제 금액
-                     savedPayment.getPaymentStatus(),
-                     savedPayment.getPaymentMethod(),
-                     savedPayment.getTransactionId(),
-                     savedPayment.getSsafyTransactionId(),
-                     requestDto.getPointAmount()
-                 );
-             } else {
-                 return PaymentResponseDto.success(
-                     savedPayment.getPaymentId(),
-                     savedPayment.getUserNo(),
-                     savedPayment.getMenuId(),
-                     savedPayment.getMenuType(),
-                     menuName,
-                     savedPayment.getAmount(),
-                     savedPayment.getPaymentStatus(),
-                     savedPayment.getPaymentMethod(),
-                     savedPayment.getTransactionId(),
-                     savedPayment.getSsafyTransactionId()
-                 );
-             }
+            // 포인트 사용 여부에 따른 응답 생성
+            if (requestDto.getUsePoints() != null && requestDto.getUsePoints() && 
+                requestDto.getPointAmount() != null && requestDto.getPointAmount() > 0) {
+                return PaymentResponseDto.successWithPoints(
+                    savedPayment.getPaymentId(),
+                    savedPayment.getUserNo(),
+                    savedPayment.getMenuId(),
+                    savedPayment.getMenuType(),
+                    menuName,
+                    validation.getMenuPrice(), // 원래 메뉴 가격
+                    savedPayment.getAmount(),   // 최종 결제 금액
+                    savedPayment.getPaymentStatus(),
+                    savedPayment.getPaymentMethod(),
+                    savedPayment.getTransactionId(),
+                    savedPayment.getSsafyTransactionId(),
+                    requestDto.getPointAmount()
+                );
+            } else {
+                return PaymentResponseDto.success(
+                    savedPayment.getPaymentId(),
+                    savedPayment.getUserNo(),
+                    savedPayment.getMenuId(),
+                    savedPayment.getMenuType(),
+                    menuName,
+                    savedPayment.getAmount(),
+                    savedPayment.getPaymentStatus(),
+                    savedPayment.getPaymentMethod(),
+                    savedPayment.getTransactionId(),
+                    savedPayment.getSsafyTransactionId()
+                );
+            }
             
+        } catch (SsafyApiUnavailableException e) {
+            log.warn("SSAFY API 호출 거절로 결제 중단: userNo={}, endpoint={}, reason={}",
+                    requestDto.getUserNo(), e.getEndpoint(), e.getReason());
+            return PaymentResponseDto.bankUnavailable();
         } catch (Exception e) {
             return PaymentResponseDto.failure("PAYMENT_PROCESS_ERROR", "결제 처리 중 오류가 발생했습니다: " + e.getMessage());
         }
@@ -487,6 +519,75 @@ public class PaymentService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * 결제 내역 페이지 조회 (keyset 페이지네이션, 최신순)
+     * startDate/endDate가 모두 있으면 기간 내 결제만 조회
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지면 null)
+     * @param size 페이지 크기 (최대 HistoryCursor.MAX_PAGE_SIZE)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PaymentHistoryDto> getPaymentHistoryPage(Long userNo, LocalDateTime startDate, LocalDateTime endDate,
+                                                               String cursor, Integer size) {
+        HistoryCursor after = HistoryCursor.decode(cursor);
+        int pageSize = HistoryCursor.pageSize(size);
+        // 다음 페이지 여부 확인용으로 한 건 더 조회
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        
+        List<Payment> payments;
+        if (startDate != null && endDate != null) {
+            payments = after != null
+                    ? paymentRepository.findHistoryPageInRange(userNo, startDate, after.getCreatedAt(), after.getId(), limit)
+                    : paymentRepository.findHistoryPageInRange(userNo, startDate, endDate, Long.MAX_VALUE, limit);
+        } else if (after != null) {
+            payments = paymentRepository.findHistoryPageBefore(userNo, after.getCreatedAt(), after.getId(), limit);
+        } else {
+            payments = paymentRepository.findHistoryPage(userNo, limit);
+        }
+        
+        return CursorPage.of(payments, pageSize,
+                        payment -> new HistoryCursor(payment.getCreatedAt(), payment.getPaymentId()).encode())
+                .map(this::convertToHistoryDto);
+    }
+    
+    /**
+     * 결제 상태별 내역을 NDJSON(한 줄에 PaymentHistoryDto 하나)으로 출력 (운영용)
+     * 내보내기 전용 커넥션 풀에서 fetch size 단위로 읽어 한 건씩 쓰므로 결과 크기와 관계없이 메모리 사용량이 일정하다
+     * @param userNo 사용자 필터 (null이면 전체)
+     * @param startDate 생성 시각 하한 (포함, null이면 제한 없음)
+     * @param endDate 생성 시각 상한 (미포함, null이면 제한 없음)
+     * @return 출력한 결제 건수
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long streamPaymentsByStatus(Payment.PaymentStatus status, Long userNo, LocalDateTime startDate,
+                                       LocalDateTime endDate, OutputStream outputStream) throws IOException {
+        long[] written = {0};
+        JsonGenerator generator = objectMapper.createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // 최상위 값 사이 기본 구분자(공백) 대신 줄바꿈만 직접 씀
+        generator.setRootValueSeparator(null);
+        try {
+            paymentStatusExportRepository.streamByStatus(status, userNo, startDate, endDate, payment -> {
+                try {
+                    generator.writeObject(convertToHistoryDto(payment));
+                    generator.writeRaw('\n');
+                    if (++written[0] % STREAM_FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // 클라이언트 연결 종료 등 응답 쓰기 실패
+            throw e.getCause();
+        } finally {
+            generator.close();
+        }
+        log.info("결제 상태별 내역 스트리밍 완료: status={}, userNo={}, startDate={}, endDate={}, count={}",
+                status, userNo, startDate, endDate, written[0]);
+        return written[0];
+    }
+    
     /**
      * 결제 취소
      */
@@ -511,12 +612,17 @@ public class PaymentService {
         // SSAFY 환불 API 호출 (필요시)
         // TODO: SSAFY 환불 API 구현
         
-        // 결제 상태 변경
+        // 결제 상태 변경 (조회 이후 다른 곳에서 상태가 바뀌었으면 취소하지 않음)
+        Payment.PaymentStatus previousStatus = payment.getPaymentStatus();
+        LocalDateTime now = LocalDateTime.now();
+        int updated = paymentRepository.cancelIfStatus(paymentId, previousStatus, Payment.PaymentStatus.CANCELLED, now);
+        if (updated == 0) {
+            return PaymentResponseDto.failure("CANCEL_NOT_ALLOWED", "해당 결제는 취소할 수 없습니다");
+        }
         payment.setPaymentStatus(Payment.PaymentStatus.CANCELLED);
-        payment.setUpdatedAt(LocalDateTime.now());
+        payment.setUpdatedAt(now);
         payment.setUpdatedId("system");
-        
-        paymentRepository.save(payment);
+        salesRollupService.record(payment, previousStatus, Payment.PaymentStatus.CANCELLED);
         
                  // menuName은 MenuPrice 테이블의 mealType을 사용
          String menuName = getMenuNameFromMenuPrice(payment.getMenuType());
@@ -540,66 +646,34 @@ public class PaymentService {
     
     // Private helper methods
     
-    private Payment createPaymentEntity(PaymentRequestDto requestDto) {
-        Payment payment = new Payment();
-        payment.setUserNo(requestDto.getUserNo());
-        payment.setMenuId(requestDto.getMenuId());
-        payment.setMenuType(requestDto.getMenuType());
-        
-        // 메뉴 타입에 따른 실제 가격으로 설정 (사용자 입력 금액이 아닌)
-        Integer actualPrice = getMenuPriceByType(requestDto.getMenuType());
-        payment.setAmount(actualPrice != null ? actualPrice : requestDto.getAmount());
-        
-        // 포인트 사용 정보 설정
-        payment.setUsePoints(requestDto.getUsePoints() != null ? requestDto.getUsePoints() : false);
-        payment.setPointAmount(requestDto.getPointAmount() != null ? requestDto.getPointAmount() : 0);
-        payment.setOriginalPrice(actualPrice != null ? actualPrice : requestDto.getAmount());
-        
-        payment.setPaymentMethod(requestDto.getPaymentMethod());
-        payment.setPinVerified(false);
-        payment.setTransactionId(generateTransactionId());
-        payment.setCreatedId("system");
-        payment.setUpdatedId("system");
-        
-        return payment;
-    }
-    
-    private String generateTransactionId() {
-        return "TXN_" + System.currentTimeMillis() + "_" + UUID.randomUUID().toString().substring(0, 8);
-    }
-    
-    private String callSsafyWithdrawalApi(PaymentRequestDto requestDto) {
+    /**
+     * SSAFY 출금 API 호출
+     * 거래요약에 내부 거래 ID를 포함하여 복구 시 거래내역과 대조할 수 있도록 한다
+     * @return SSAFY 거래 고유 번호, 출금 실패 시 null
+     * @throws ResourceAccessException 응답을 받지 못해 출금 여부를 알 수 없는 경우
+     * @throws HttpServerErrorException 은행이나 게이트웨이가 5xx로 응답해 출금 여부를 알 수 없는 경우
+     */
+    private String callSsafyWithdrawalApi(Payment payment) {
         try {
             // SSAFY 출금 API 호출
-            String accountNo = requestDto.getAccountNo();
+            String accountNo = payment.getAccountNo();
             if (accountNo == null || accountNo.trim().isEmpty()) {
-                log.error("계좌번호가 제공되지 않았습니다: userNo={}", requestDto.getUserNo());
+                log.error("계좌번호가 제공되지 않았습니다: userNo={}", payment.getUserNo());
                 return null;
             }
             
-            // 포인트 사용 여부에 따른 최종 결제 금액 계산
-            Integer actualAmount;
-            if (requestDto.getUsePoints() != null && requestDto.getUsePoints() && 
-                requestDto.getPointAmount() != null && requestDto.getPointAmount() > 0) {
-                // 포인트 사용 시: 원래 가격 - 포인트 금액
-                Integer originalPrice = getMenuPriceByType(requestDto.getMenuType());
-                actualAmount = Math.max(0, originalPrice - requestDto.getPointAmount());
-            } else {
-                // 포인트 미사용 시: 원래 가격
-                actualAmount = requestDto.getAmount() != null ? 
-                    requestDto.getAmount() : getMenuPriceByType(requestDto.getMenuType());
-            }
-            
+            // 예약된 결제의 최종 결제 금액 (포인트 사용 시 차감 후 금액)
+            Integer actualAmount = payment.getAmount();
             if (actualAmount == null) {
                 log.error("메뉴 타입 {}에 대한 가격을 찾을 수 없습니다: userNo={}", 
-                        requestDto.getMenuType(), requestDto.getUserNo());
+                        payment.getMenuType(), payment.getUserNo());
                 return null;
             }
             
             WithdrawalResponse response = ssafyApiService.withdrawMoney(
                 accountNo, 
                 new java.math.BigDecimal(actualAmount), 
-                "학식 결제 - " + requestDto.getMenuType() + " 메뉴"
+                withdrawalSummary(payment)
             );
             
             if (response != null && response.getHeader() != null && "H0000".equals(response.getHeader().getResponseCode())) {
@@ -623,12 +697,27 @@ public class PaymentService {
                 return null;
             }
             
+        } catch (SsafyApiUnavailableException e) {
+            throw e;
         } catch (Exception e) {
+            if (e.getCause() instanceof ResourceAccessException) {
+                throw (ResourceAccessException) e.getCause();
+            }
+            if (e.getCause() instanceof HttpServerErrorException) {
+                throw (HttpServerErrorException) e.getCause();
+            }
             log.error("SSAFY 출금 API 호출 중 오류 발생", e);
             return null;
         }
     }
     
+    /**
+     * 출금 거래요약 (내부 거래 ID 포함, 복구 시 거래내역 대조 키)
+     */
+    private String withdrawalSummary(Payment payment) {
+        return "학식 결제 - " + payment.getMenuType() + " 메뉴 (" + payment.getTransactionId() + ")";
+    }
+    
     private Integer getCurrentBalance(Long userNo) {
         try {
             // SSAFY 잔액 조회 API 호출
@@ -676,6 +765,9 @@ public class PaymentService {
                 return 0;
             }
             
+        } catch (SsafyApiUnavailableException e) {
+            // 잔액 0으로 처리하면 잔액 부족으로 보이므로 호출자에게 그대로 전달
+            throw e;
         } catch (Exception e) {
             log.error("SSAFY 잔액 조회 API 호출 중 오류 발생: userNo={}", userNo, e);
             return 0;
@@ -683,7 +775,7 @@ public class PaymentService {
     }
     
     private String getMenuName(Long menuId) {
-        Optional<Menus> menuOpt = menuRepository.findById(menuId);
+        Optional<Menus> menuOpt = menuRepository.findWithFoodsByMenuNo(menuId);
         return menuOpt.map(Menus::getMenuName).orElse("알 수 없는 메뉴");
     }
     
@@ -692,12 +784,10 @@ public class PaymentService {
      */
     private String getMenuNameFromMenuPrice(String menuType) {
         try {
-            java.time.LocalDate today = java.time.LocalDate.now();
-            Optional<MenuPrice> menuPriceOpt = menuPriceRepository.findCurrentPrice(menuType, today);
+            Optional<MenuPriceSnapshot.Entry> menuPriceOpt = menuPriceService.findCurrentPrice(menuType);
             
             if (menuPriceOpt.isPresent()) {
-                MenuPrice menuPrice = menuPriceOpt.get();
-                return menuPrice.getMealType();
+                return menuPriceOpt.get().getMealType();
             }
             
             log.warn("메뉴 타입 {}에 대한 mealType을 찾을 수 없음", menuType);
@@ -1,18 +1,26 @@
 package com.bapsim.service;
 
-import com.bapsim.entity.Member;
+import com.bapsim.dto.CursorPage;
 import com.bapsim.entity.PointHistory;
+import com.bapsim.entity.PointHistoryArchive;
+import com.bapsim.entity.UserHistorySummary;
 import com.bapsim.repository.MemberRepository;
+import com.bapsim.repository.PointHistoryArchiveRepository;
 import com.bapsim.repository.PointHistoryRepository;
+import com.bapsim.repository.UserHistorySummaryRepository;
+import com.bapsim.util.HistoryCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.annotation.Propagation;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * 포인트 관리 서비스
@@ -30,6 +38,12 @@ public class PointService {
     @Autowired
     private PointHistoryRepository pointHistoryRepository;
     
+    @Autowired
+    private PointHistoryArchiveRepository pointHistoryArchiveRepository;
+    
+    @Autowired
+    private UserHistorySummaryRepository userHistorySummaryRepository;
+    
     /**
      * 결제 완료 후 포인트 적립 (결제 금액의 2%)
      * @param userNo 사용자 번호
@@ -41,6 +55,13 @@ public class PointService {
         try {
             log.info("포인트 적립 시작: userNo={}, paymentId={}, amount={}", userNo, paymentId, paymentAmount);
             
+            // 0. 이미 적립된 결제인지 확인 (재처리 시 중복 적립 방지)
+            Optional<PointHistory> existingEarn = pointHistoryRepository.findFirstByPaymentIdAndPointType(paymentId, PointHistory.PointType.EARN);
+            if (existingEarn.isPresent()) {
+                log.warn("이미 포인트가 적립된 결제: paymentId={}, pointId={}", paymentId, existingEarn.get().getPointId());
+                return existingEarn.get().getPoints();
+            }
+            
             // 1. 포인트 계산 (결제 금액의 2%)
             Integer earnedPoints = (int)(paymentAmount * 0.02);
             
@@ -74,22 +95,14 @@ public class PointService {
      * @return 적립 후 포인트 잔액
      */
     public Integer earnPoints(Long userNo, Long paymentId, Integer points, String reason, String description) {
-        // 1. 사용자 포인트 잔액 증가
-        Member member = memberRepository.findById(userNo)
-            .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + userNo));
-        
-        Integer currentBalance = member.getPointBalance() != null ? member.getPointBalance() : 0;
-        Integer newBalance = currentBalance + points;
-        
-        member.setPointBalance(newBalance);
-        memberRepository.save(member);
+        // 1. 사용자 포인트 잔액 증가 (조건부 UPDATE, Member를 읽어 덮어쓰지 않음)
+        Integer newBalance = applyPointDelta(userNo, points);
         
         // 2. 포인트 적립 내역 기록
         PointHistory history = PointHistory.earnPoints(userNo, paymentId, points, newBalance, reason, description);
         pointHistoryRepository.save(history);
         
-        log.info("포인트 적립 완료: userNo={}, points={}, currentBalance={}, newBalance={}", 
-            userNo, points, currentBalance, newBalance);
+        log.info("포인트 적립 완료: userNo={}, points={}, newBalance={}", userNo, points, newBalance);
         
         return newBalance;
     }
@@ -103,73 +116,114 @@ public class PointService {
      * @return 사용 후 포인트 잔액
      */
     public Integer usePoints(Long userNo, Integer points, String reason, String description) {
-        // 1. 사용자 포인트 잔액 확인
-        Member member = memberRepository.findById(userNo)
-            .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + userNo));
+        // 1. 잔액이 충분할 때만 차감 (잔액 확인과 차감을 한 문장으로 처리)
+        Integer newBalance = applyPointDelta(userNo, -points);
         
-        Integer currentBalance = member.getPointBalance() != null ? member.getPointBalance() : 0;
-        
-        if (currentBalance < points) {
-            throw new RuntimeException("포인트가 부족합니다. 현재: " + currentBalance + ", 필요: " + points);
-        }
-        
-        // 2. 포인트 사용 처리
-        Integer newBalance = currentBalance - points;
-        member.setPointBalance(newBalance);
-        memberRepository.save(member);
-        
-        // 3. 포인트 사용 내역 기록
+        // 2. 포인트 사용 내역 기록
         PointHistory history = PointHistory.usePoints(userNo, points, newBalance, reason, description);
         pointHistoryRepository.save(history);
         
-        log.info("포인트 사용 완료: userNo={}, points={}, currentBalance={}, newBalance={}", 
-            userNo, points, currentBalance, newBalance);
+        log.info("포인트 사용 완료: userNo={}, points={}, newBalance={}", userNo, points, newBalance);
         
         return newBalance;
     }
     
+    /**
+     * 포인트 잔액 증감
+     * UPDATE가 해당 행을 잠그므로 같은 트랜잭션에서 다시 읽은 잔액이 이번 변경 직후의 잔액이다
+     * @return 변경 후 포인트 잔액
+     */
+    private Integer applyPointDelta(Long userNo, int delta) {
+        int updated = memberRepository.addPointBalance(userNo, delta, LocalDateTime.now());
+        Integer balance = memberRepository.findPointBalance(userNo)
+            .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + userNo));
+        
+        if (updated == 0) {
+            throw new RuntimeException("포인트가 부족합니다. 현재: " + balance + ", 필요: " + (-delta));
+        }
+        return balance;
+    }
+    
     /**
      * 포인트 잔액 조회
      * @param userNo 사용자 번호
      * @return 포인트 잔액
      */
     public Integer getPointBalance(Long userNo) {
-        Optional<Member> memberOpt = memberRepository.findById(userNo);
-        if (memberOpt.isEmpty()) {
-            return 0;
-        }
-        
-        Member member = memberOpt.get();
-        return member.getPointBalance() != null ? member.getPointBalance() : 0;
+        return memberRepository.findPointBalance(userNo).orElse(0);
     }
     
     // 포인트 잔액은 Member 테이블의 pointBalance 필드에서 직접 조회
     
     /**
-     * 포인트 내역 조회
+     * 포인트 내역 페이지 조회 (keyset 페이지네이션, 최신순)
      * @param userNo 사용자 번호
-     * @return 포인트 내역 목록
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지면 null)
+     * @param size 페이지 크기 (최대 HistoryCursor.MAX_PAGE_SIZE)
+     * @return 포인트 내역 페이지
      */
-    public List<PointHistory> getPointHistory(Long userNo) {
-        return pointHistoryRepository.findByUserNoOrderByCreatedAtDesc(userNo);
+    @Transactional(readOnly = true)
+    public CursorPage<PointHistory> getPointHistory(Long userNo, String cursor, Integer size) {
+        return getPointHistoryPage(userNo, null, cursor, size);
     }
     
     /**
-     * 포인트 적립 내역만 조회
+     * 포인트 적립 내역 페이지 조회
      * @param userNo 사용자 번호
-     * @return 포인트 적립 내역 목록
+     * @return 포인트 적립 내역 페이지
      */
-    public List<PointHistory> getEarnPointHistory(Long userNo) {
-        return pointHistoryRepository.findByUserNoAndPointTypeOrderByCreatedAtDesc(userNo, PointHistory.PointType.EARN);
+    @Transactional(readOnly = true)
+    public CursorPage<PointHistory> getEarnPointHistory(Long userNo, String cursor, Integer size) {
+        return getPointHistoryPage(userNo, PointHistory.PointType.EARN, cursor, size);
     }
     
     /**
-     * 포인트 사용 내역만 조회
+     * 포인트 사용 내역 페이지 조회
      * @param userNo 사용자 번호
-     * @return 포인트 사용 내역 목록
+     * @return 포인트 사용 내역 페이지
      */
-    public List<PointHistory> getUsePointHistory(Long userNo) {
-        return pointHistoryRepository.findByUserNoAndPointTypeOrderByCreatedAtDesc(userNo, PointHistory.PointType.USE);
+    @Transactional(readOnly = true)
+    public CursorPage<PointHistory> getUsePointHistory(Long userNo, String cursor, Integer size) {
+        return getPointHistoryPage(userNo, PointHistory.PointType.USE, cursor, size);
+    }
+    
+    private CursorPage<PointHistory> getPointHistoryPage(Long userNo, String pointType, String cursor, Integer size) {
+        HistoryCursor after = HistoryCursor.decode(cursor);
+        int pageSize = HistoryCursor.pageSize(size);
+        // 다음 페이지 여부 확인용으로 한 건 더 조회
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        
+        List<PointHistory> history;
+        if (pointType == null) {
+            history = after == null
+                    ? pointHistoryRepository.findHistoryPage(userNo, limit)
+                    : pointHistoryRepository.findHistoryPageBefore(userNo, after.getCreatedAt(), after.getId(), limit);
+        } else {
+            history = after == null
+                    ? pointHistoryRepository.findHistoryPageByType(userNo, pointType, limit)
+                    : pointHistoryRepository.findHistoryPageByTypeBefore(userNo, pointType, after.getCreatedAt(), after.getId(), limit);
+        }
+        
+        // 보관된 내역까지 닿는 페이지는 보관 테이블을 같은 커서로 함께 조회해 합친다
+        LocalDateTime newestArchivedAt = userHistorySummaryRepository.findById(userNo)
+                .map(UserHistorySummary::getNewestArchivedPointAt)
+                .orElse(null);
+        if (HistoryCursor.reachesArchive(history, pageSize, PointHistory::getCreatedAt, newestArchivedAt)) {
+            List<PointHistoryArchive> archived;
+            if (pointType == null) {
+                archived = after == null
+                        ? pointHistoryArchiveRepository.findHistoryPage(userNo, limit)
+                        : pointHistoryArchiveRepository.findHistoryPageBefore(userNo, after.getCreatedAt(), after.getId(), limit);
+            } else {
+                archived = after == null
+                        ? pointHistoryArchiveRepository.findHistoryPageByType(userNo, pointType, limit)
+                        : pointHistoryArchiveRepository.findHistoryPageByTypeBefore(userNo, pointType, after.getCreatedAt(), after.getId(), limit);
+            }
+            history = HistoryCursor.mergeNewestFirst(history,
+                    archived.stream().map(PointHistoryArchive::toPointHistory).collect(Collectors.toList()),
+                    PointHistory::getCreatedAt, PointHistory::getPointId, pageSize + 1);
+        }
+        return CursorPage.of(history, pageSize, row -> new HistoryCursor(row.getCreatedAt(), row.getPointId()).encode());
     }
     
     /**
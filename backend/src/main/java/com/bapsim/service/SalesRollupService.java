@@ -0,0 +1,277 @@
+package com.bapsim.service;
+
+import com.bapsim.entity.Payment;
+import com.bapsim.entity.Payment.PaymentStatus;
+import com.bapsim.entity.SalesHourlyRollup;
+import com.bapsim.entity.SalesRollupDelta;
+import com.bapsim.entity.SalesTotal;
+import com.bapsim.entity.SalesTotal.TotalType;
+import com.bapsim.repository.MenuRepository;
+import com.bapsim.repository.SalesHourlyRollupRepository;
+import com.bapsim.repository.SalesRollupDeltaRepository;
+import com.bapsim.repository.SalesTotalRepository;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 매출 집계 서비스
+ * 결제 상태가 바뀌는 트랜잭션에서는 반영 대기 항목(SalesRollupDelta)만 추가하고,
+ * 주기 작업이 이를 모아 시간대별 집계(SalesHourlyRollup)와 메뉴별/사용자별 합계(SalesTotal)에 더한다
+ * 결제 트랜잭션이 공유 집계 행을 잠그지 않으므로 점심 피크의 동시 결제가 같은 행에서 줄 서지 않으며,
+ * 조회 값은 반영 주기(bapsim.sales-rollup.apply-interval-ms)만큼 늦을 수 있다
+ * 오늘/메뉴별/사용자별 합계 조회는 Payment 테이블을 읽지 않고 집계 행에서 바로 답한다
+ */
+@Service
+public class SalesRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesRollupService.class);
+
+    // 학식당 메뉴가 아닌 결제(식당 메뉴, 메뉴 정보 없음)의 cafeNo
+    static final long NO_CAFETERIA = 0L;
+
+    @Autowired
+    private SalesHourlyRollupRepository salesHourlyRollupRepository;
+
+    @Autowired
+    private SalesTotalRepository salesTotalRepository;
+
+    @Autowired
+    private SalesRollupDeltaRepository salesRollupDeltaRepository;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${bapsim.sales-rollup.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * 결제 상태 전이 반영 (결제 상태를 바꾼 트랜잭션 안에서 호출)
+     * 이전 상태에서 금액/건수를 빼고 새 상태에 더하는 반영 대기 항목을 추가한다
+     * 결제가 롤백되면 항목도 함께 롤백되므로 집계는 커밋된 상태 전이만 반영한다
+     * @param from 이전 상태 (새 결제면 null)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Payment payment, PaymentStatus from, PaymentStatus to) {
+        LocalDateTime createdAt = payment.getCreatedAt();
+        Long cafeNo = menuRepository.findCafeNoByMenuNo(payment.getMenuId());
+        long amount = payment.getAmount();
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<PaymentStatus, Integer> deltas = new EnumMap<>(PaymentStatus.class);
+        if (from != null) {
+            deltas.put(from, -1);
+        }
+        deltas.merge(to, 1, Integer::sum);
+
+        List<SalesRollupDelta> entries = new ArrayList<>(deltas.size());
+        deltas.forEach((status, count) -> entries.add(SalesRollupDelta.builder()
+                .paymentId(payment.getPaymentId())
+                .salesDate(createdAt.toLocalDate())
+                .salesHour(createdAt.getHour())
+                .cafeNo(cafeNo != null ? cafeNo : NO_CAFETERIA)
+                .menuType(payment.getMenuType())
+                .menuId(payment.getMenuId())
+                .userNo(payment.getUserNo())
+                .paymentStatus(status)
+                .amount((long) count * amount)
+                .paymentCount((long) count)
+                .createdAt(now)
+                .build()));
+        salesRollupDeltaRepository.saveAll(entries);
+    }
+
+    /**
+     * 쌓인 반영 대기 항목을 batch-size 단위로 집계 행에 반영
+     * 한 배치는 한 트랜잭션에서 키별로 합산해 행마다 UPDATE(없으면 INSERT) 한 번으로 더하고 항목을 삭제한다
+     * 실패한 배치는 롤백되어 다음 주기에 다시 반영된다
+     */
+    @Scheduled(fixedDelayString = "${bapsim.sales-rollup.apply-interval-ms:1000}")
+    public synchronized void applyPendingDeltas() {
+        try {
+            Integer applied;
+            do {
+                applied = transactionTemplate.execute(status -> applyBatch());
+            } while (applied != null && applied >= batchSize);
+        } catch (Exception e) {
+            log.error("매출 집계 반영 실패, 다음 주기에 재시도", e);
+        }
+    }
+
+    private int applyBatch() {
+        List<SalesRollupDelta> deltas = salesRollupDeltaRepository.findOldestForUpdate(PageRequest.of(0, batchSize));
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        Map<HourlyKey, long[]> hourly = new LinkedHashMap<>();
+        Map<TotalKey, long[]> totals = new LinkedHashMap<>();
+        List<Long> deltaIds = new ArrayList<>(deltas.size());
+        for (SalesRollupDelta delta : deltas) {
+            HourlyKey hourlyKey = new HourlyKey(delta.getSalesDate(), delta.getSalesHour(), delta.getCafeNo(),
+                    delta.getMenuType(), delta.getPaymentStatus());
+            accumulate(hourly.computeIfAbsent(hourlyKey, key -> new long[2]), delta);
+            accumulate(totals.computeIfAbsent(
+                    new TotalKey(TotalType.MENU, delta.getMenuId(), delta.getPaymentStatus()), key -> new long[2]), delta);
+            accumulate(totals.computeIfAbsent(
+                    new TotalKey(TotalType.USER, delta.getUserNo(), delta.getPaymentStatus()), key -> new long[2]), delta);
+            deltaIds.add(delta.getDeltaId());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        hourly.forEach((key, sum) -> addHourly(key, sum[0], sum[1], now));
+        totals.forEach((key, sum) -> addTotal(key, sum[0], sum[1], now));
+        salesRollupDeltaRepository.deleteAllByIdInBatch(deltaIds);
+        return deltas.size();
+    }
+
+    private static void accumulate(long[] sum, SalesRollupDelta delta) {
+        sum[0] += delta.getAmount();
+        sum[1] += delta.getPaymentCount();
+    }
+
+    /**
+     * 오늘 생성된 결제 중 특정 상태의 총 금액
+     */
+    @Transactional(readOnly = true)
+    public long getTodayAmount(PaymentStatus status) {
+        return getDailyAmount(LocalDate.now(), status);
+    }
+
+    /**
+     * 특정 일자에 생성된 결제 중 특정 상태의 총 금액
+     */
+    @Transactional(readOnly = true)
+    public long getDailyAmount(LocalDate salesDate, PaymentStatus status) {
+        return salesHourlyRollupRepository.sumAmountBySalesDateAndStatus(salesDate, status);
+    }
+
+    /**
+     * 특정 일자의 시간대/학식당/메뉴 타입/상태별 매출
+     */
+    @Transactional(readOnly = true)
+    public List<SalesHourlyRollup> getHourlySales(LocalDate salesDate) {
+        return salesHourlyRollupRepository.findBySalesDateOrderBySalesHourAscCafeNoAscMenuTypeAsc(salesDate);
+    }
+
+    /**
+     * 메뉴별 특정 상태의 총 금액
+     */
+    @Transactional(readOnly = true)
+    public long getMenuAmount(Long menuId, PaymentStatus status) {
+        return findTotal(TotalType.MENU, menuId, status).getAmount();
+    }
+
+    /**
+     * 사용자별 특정 상태의 총 금액
+     */
+    @Transactional(readOnly = true)
+    public long getUserAmount(Long userNo, PaymentStatus status) {
+        return findTotal(TotalType.USER, userNo, status).getAmount();
+    }
+
+    /**
+     * 사용자별 특정 상태의 결제 건수
+     */
+    @Transactional(readOnly = true)
+    public long getUserPaymentCount(Long userNo, PaymentStatus status) {
+        return findTotal(TotalType.USER, userNo, status).getPaymentCount();
+    }
+
+    private SalesTotal findTotal(TotalType totalType, Long targetId, PaymentStatus status) {
+        return salesTotalRepository.findByTotalTypeAndTargetIdAndPaymentStatus(totalType, targetId, status)
+                .orElseGet(() -> SalesTotal.builder().amount(0L).paymentCount(0L).build());
+    }
+
+    private void addHourly(HourlyKey key, long amount, long count, LocalDateTime now) {
+        // 같은 배치에서 예약 후 확정된 결제처럼 서로 상쇄된 경우
+        if (amount == 0 && count == 0) {
+            return;
+        }
+        if (salesHourlyRollupRepository.add(key.getSalesDate(), key.getSalesHour(), key.getCafeNo(),
+                key.getMenuType(), key.getStatus(), amount, count, now) > 0) {
+            return;
+        }
+        if (count < 0) {
+            // 집계 도입 전에 생성된 결제는 이전 상태 행이 없을 수 있음
+            log.warn("시간대별 매출 집계 행이 없어 반영하지 않음: {}, amount={}, count={}", key, amount, count);
+            return;
+        }
+        // 반영 대기 항목을 잠근 배치만 행을 만들므로 같은 키의 INSERT가 동시에 일어나지 않는다
+        salesHourlyRollupRepository.save(SalesHourlyRollup.builder()
+                .salesDate(key.getSalesDate())
+                .salesHour(key.getSalesHour())
+                .cafeNo(key.getCafeNo())
+                .menuType(key.getMenuType())
+                .paymentStatus(key.getStatus())
+                .amount(amount)
+                .paymentCount(count)
+                .updatedAt(now)
+                .build());
+    }
+
+    private void addTotal(TotalKey key, long amount, long count, LocalDateTime now) {
+        if (amount == 0 && count == 0) {
+            return;
+        }
+        if (salesTotalRepository.add(key.getTotalType(), key.getTargetId(), key.getStatus(), amount, count, now) > 0) {
+            return;
+        }
+        if (count < 0) {
+            log.warn("매출 합계 행이 없어 반영하지 않음: {}, amount={}, count={}", key, amount, count);
+            return;
+        }
+        salesTotalRepository.save(SalesTotal.builder()
+                .totalType(key.getTotalType())
+                .targetId(key.getTargetId())
+                .paymentStatus(key.getStatus())
+                .amount(amount)
+                .paymentCount(count)
+                .updatedAt(now)
+                .build());
+    }
+
+    /**
+     * 시간대별 집계 행 키
+     */
+    @Data
+    @AllArgsConstructor
+    private static class HourlyKey {
+        private LocalDate salesDate;
+        private Integer salesHour;
+        private Long cafeNo;
+        private String menuType;
+        private PaymentStatus status;
+    }
+
+    /**
+     * 메뉴별/사용자별 합계 행 키
+     */
+    @Data
+    @AllArgsConstructor
+    private static class TotalKey {
+        private TotalType totalType;
+        private Long targetId;
+        private PaymentStatus status;
+    }
+}
@@ -0,0 +1,169 @@
+package com.bapsim.service;
+
+import com.bapsim.config.SsafyApiConfig;
+import com.bapsim.config.SsafyApiRequestFactory;
+import com.bapsim.util.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * SSAFY API 호출 보호
+ * 엔드포인트별 동시 호출 제한(bulkhead)과 서킷 브레이커를 적용하여
+ * 은행 API 장애 시 요청 스레드가 타임아웃까지 묶이지 않고 바로 실패하도록 한다
+ */
+@Slf4j
+@Component
+public class SsafyApiGuard {
+
+    private static final List<String> ENDPOINTS = List.of(
+            SsafyApiRequestFactory.BALANCE_INQUIRY,
+            SsafyApiRequestFactory.WITHDRAWAL,
+            SsafyApiRequestFactory.TRANSACTION_HISTORY);
+
+    private final Map<String, Endpoint> endpoints = new HashMap<>();
+    private final long maxWaitMillis;
+    private final RetryTemplate idempotentRetryTemplate;
+
+    public SsafyApiGuard(SsafyApiConfig ssafyApiConfig, MeterRegistry meterRegistry) {
+        SsafyApiConfig.Breaker breaker = ssafyApiConfig.getCircuitBreaker();
+        SsafyApiConfig.Bulkhead bulkhead = ssafyApiConfig.getBulkhead();
+        SsafyApiConfig.Retry retry = ssafyApiConfig.getRetry();
+
+        for (String name : ENDPOINTS) {
+            Endpoint endpoint = new Endpoint(
+                    new CircuitBreaker(name, breaker.getSlidingWindowSize(), breaker.getMinimumCalls(),
+                            breaker.getFailureRateThreshold(), breaker.getOpenDuration(), breaker.getHalfOpenCalls()),
+                    new Semaphore(bulkhead.getMaxConcurrentCalls()),
+                    rejectedCounter(meterRegistry, name, SsafyApiUnavailableException.Reason.CIRCUIT_OPEN),
+                    rejectedCounter(meterRegistry, name, SsafyApiUnavailableException.Reason.BULKHEAD_FULL));
+            endpoints.put(name, endpoint);
+
+            // 0 = CLOSED, 1 = OPEN, 2 = HALF_OPEN
+            Gauge.builder("bapsim.ssafy.circuit.state", endpoint.circuitBreaker, cb -> cb.getState().ordinal())
+                    .description("SSAFY API 서킷 브레이커 상태 (0=CLOSED, 1=OPEN, 2=HALF_OPEN)")
+                    .tag("endpoint", name)
+                    .register(meterRegistry);
+            Gauge.builder("bapsim.ssafy.bulkhead.available", endpoint.bulkhead, Semaphore::availablePermits)
+                    .description("SSAFY API 동시 호출 여유 슬롯 수")
+                    .tag("endpoint", name)
+                    .register(meterRegistry);
+        }
+
+        this.maxWaitMillis = bulkhead.getMaxWait();
+        // 응답을 받지 못했거나 5xx인 경우만 재시도, 거절(SsafyApiUnavailableException)은 재시도하지 않음
+        this.idempotentRetryTemplate = RetryTemplate.builder()
+                .maxAttempts(retry.getMaxAttempts())
+                .exponentialBackoff(retry.getInitialInterval(), 2, retry.getMaxInterval())
+                .retryOn(ResourceAccessException.class)
+                .retryOn(HttpServerErrorException.class)
+                .traversingCauses()
+                .build();
+    }
+
+    /**
+     * 보호된 호출 (재시도 없음)
+     * 출금처럼 멱등하지 않은 호출에 사용
+     */
+    public <T> T call(String endpointName, Supplier<T> call) {
+        Endpoint endpoint = endpoints.get(endpointName);
+        if (endpoint == null) {
+            throw new IllegalArgumentException("등록되지 않은 SSAFY API 엔드포인트: " + endpointName);
+        }
+
+        if (!acquire(endpoint.bulkhead)) {
+            endpoint.bulkheadRejected.increment();
+            throw new SsafyApiUnavailableException(endpointName, SsafyApiUnavailableException.Reason.BULKHEAD_FULL);
+        }
+        try {
+            if (!endpoint.circuitBreaker.tryAcquire()) {
+                endpoint.circuitRejected.increment();
+                throw new SsafyApiUnavailableException(endpointName, SsafyApiUnavailableException.Reason.CIRCUIT_OPEN);
+            }
+
+            try {
+                T result = call.get();
+                endpoint.circuitBreaker.onSuccess();
+                return result;
+            } catch (RuntimeException e) {
+                // 은행이 응답한 오류(4xx, 업무 오류)는 장애로 보지 않음
+                if (isUnavailable(e)) {
+                    endpoint.circuitBreaker.onFailure();
+                } else {
+                    endpoint.circuitBreaker.onSuccess();
+                }
+                throw e;
+            }
+        } finally {
+            endpoint.bulkhead.release();
+        }
+    }
+
+    /**
+     * 보호된 호출 + 일시적 장애 재시도
+     * 잔액 조회처럼 여러 번 호출해도 결과가 같은 호출에만 사용
+     */
+    public <T> T callIdempotent(String endpointName, Supplier<T> call) {
+        return idempotentRetryTemplate.execute(context -> call(endpointName, call));
+    }
+
+    CircuitBreaker.State getState(String endpointName) {
+        return endpoints.get(endpointName).circuitBreaker.getState();
+    }
+
+    private boolean acquire(Semaphore bulkhead) {
+        if (maxWaitMillis <= 0) {
+            return bulkhead.tryAcquire();
+        }
+        try {
+            return bulkhead.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean isUnavailable(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ResourceAccessException || t instanceof HttpServerErrorException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String endpoint,
+                                           SsafyApiUnavailableException.Reason reason) {
+        return Counter.builder("bapsim.ssafy.calls.rejected")
+                .tag("endpoint", endpoint)
+                .tag("reason", reason.name().toLowerCase())
+                .register(meterRegistry);
+    }
+
+    private static class Endpoint {
+        private final CircuitBreaker circuitBreaker;
+        private final Semaphore bulkhead;
+        private final Counter circuitRejected;
+        private final Counter bulkheadRejected;
+
+        private Endpoint(CircuitBreaker circuitBreaker, Semaphore bulkhead,
+                         Counter circuitRejected, Counter bulkheadRejected) {
+            this.circuitBreaker = circuitBreaker;
+            this.bulkhead = bulkhead;
+            this.circuitRejected = circuitRejected;
+            this.bulkheadRejected = bulkheadRejected;
+        }
+    }
+}
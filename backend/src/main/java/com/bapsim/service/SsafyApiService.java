@@ -1,6 +1,7 @@
 package com.bapsim.service;
 
 import com.bapsim.config.SsafyApiConfig;
+import com.bapsim.config.SsafyApiRequestFactory;
 import com.bapsim.dto.*;
 import com.bapsim.util.SsafyApiHeaderGenerator;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +24,8 @@ public class SsafyApiService {
     
     private final SsafyApiConfig ssafyApiConfig;
     private final SsafyApiHeaderGenerator headerGenerator;
+    private final SsafyApiGuard ssafyApiGuard;
+    private final SsafyBalanceCache balanceCache;
     
     @Qualifier("ssafyApiRestTemplate")
     private final RestTemplate restTemplate;
@@ -33,6 +36,16 @@ public class SsafyApiService {
      * @return 잔액 조회 결과
      */
     public BalanceInquiryResponse inquireBalance(String accountNo) {
+        // 짧은 시간 동안 캐시된 잔액을 사용하고, 동시 조회는 한 번의 호출로 합침
+        return balanceCache.get(accountNo, this::inquireBalanceUncached);
+    }
+    
+    private BalanceInquiryResponse inquireBalanceUncached(String accountNo) {
+        // 조회 API는 멱등하므로 일시적 장애 시 재시도
+        return ssafyApiGuard.callIdempotent(SsafyApiRequestFactory.BALANCE_INQUIRY, () -> requestBalance(accountNo));
+    }
+    
+    private BalanceInquiryResponse requestBalance(String accountNo) {
         log.info("잔액 조회 API 호출 시작: 계좌번호={}", accountNo);
         
         try {
@@ -71,6 +84,16 @@ public class SsafyApiService {
      * @return 출금 결과
      */
     public WithdrawalResponse withdrawMoney(String accountNo, BigDecimal amount, String summary) {
+        try {
+            // 출금은 멱등하지 않으므로 재시도하지 않음
+            return ssafyApiGuard.call(SsafyApiRequestFactory.WITHDRAWAL, () -> requestWithdrawal(accountNo, amount, summary));
+        } finally {
+            // 출금 결과를 알 수 없는 경우도 있으므로 호출 후에는 항상 잔액 캐시 무효화
+            balanceCache.invalidate(accountNo);
+        }
+    }
+    
+    private WithdrawalResponse requestWithdrawal(String accountNo, BigDecimal amount, String summary) {
         log.info("출금 API 호출 시작: 계좌번호={}, 금액={}, 요약={}", accountNo, amount, summary);
         
         try {
@@ -114,6 +137,12 @@ public class SsafyApiService {
      */
     public TransactionHistoryResponse inquireTransactionHistory(String accountNo, String startDate, 
                                                              String endDate, String transactionType, String orderByType) {
+        return ssafyApiGuard.callIdempotent(SsafyApiRequestFactory.TRANSACTION_HISTORY,
+                () -> requestTransactionHistory(accountNo, startDate, endDate, transactionType, orderByType));
+    }
+    
+    private TransactionHistoryResponse requestTransactionHistory(String accountNo, String startDate, 
+                                                                 String endDate, String transactionType, String orderByType) {
         log.info("거래내역 조회 API 호출 시작: 계좌번호={}, 기간={}~{}, 유형={}", 
                 accountNo, startDate, endDate, transactionType);
         
@@ -0,0 +1,31 @@
+package com.bapsim.service;
+
+/**
+ * SSAFY API 호출 거절 예외
+ * 서킷 브레이커가 열려 있거나 동시 호출 한도를 넘어 요청을 보내지 않은 경우 발생
+ * (요청이 전송되지 않았으므로 출금 여부를 확인할 필요가 없다)
+ */
+public class SsafyApiUnavailableException extends RuntimeException {
+
+    public enum Reason {
+        CIRCUIT_OPEN,
+        BULKHEAD_FULL
+    }
+
+    private final String endpoint;
+    private final Reason reason;
+
+    public SsafyApiUnavailableException(String endpoint, Reason reason) {
+        super("SSAFY API 호출 거절: endpoint=" + endpoint + ", reason=" + reason);
+        this.endpoint = endpoint;
+        this.reason = reason;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,137 @@
+package com.bapsim.service;
+
+import com.bapsim.config.SsafyApiConfig;
+import com.bapsim.dto.BalanceInquiryResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 계좌 잔액 단기 캐시
+ * 결제 검증과 결제 처리가 연달아 잔액을 조회하므로 짧은 시간 동안 조회 결과를 재사용하고,
+ * 같은 계좌에 대한 동시 조회는 진행 중인 한 번의 API 호출 결과를 함께 사용한다
+ */
+@Component
+public class SsafyBalanceCache {
+
+    private final ConcurrentHashMap<String, CachedBalance> cache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<BalanceInquiryResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter coalescedCounter;
+
+    public SsafyBalanceCache(SsafyApiConfig ssafyApiConfig, MeterRegistry meterRegistry) {
+        this.ttlNanos = ssafyApiConfig.getBalanceCache().getTtl() * 1_000_000L;
+        this.maxEntries = ssafyApiConfig.getBalanceCache().getMaxEntries();
+        this.hitCounter = requestCounter(meterRegistry, "hit");
+        this.missCounter = requestCounter(meterRegistry, "miss");
+        this.coalescedCounter = requestCounter(meterRegistry, "coalesced");
+    }
+
+    /**
+     * 잔액 조회
+     * 유효한 캐시가 있으면 사용하고, 없으면 진행 중인 조회에 합류하거나 직접 조회한다
+     */
+    public BalanceInquiryResponse get(String accountNo, Function<String, BalanceInquiryResponse> loader) {
+        CachedBalance cached = cache.get(accountNo);
+        if (cached != null && cached.expiresAt - System.nanoTime() > 0) {
+            hitCounter.increment();
+            return cached.response;
+        }
+
+        CompletableFuture<BalanceInquiryResponse> flight = new CompletableFuture<>();
+        CompletableFuture<BalanceInquiryResponse> existing = inFlight.putIfAbsent(accountNo, flight);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return await(existing);
+        }
+
+        missCounter.increment();
+        try {
+            BalanceInquiryResponse response = loader.apply(accountNo);
+            // 조회 도중 무효화되었다면(inFlight에서 제거됨) 캐시에 저장하지 않음
+            inFlight.computeIfPresent(accountNo, (key, current) -> {
+                if (current != flight) {
+                    return current;
+                }
+                if (ttlNanos > 0 && isSuccess(response)) {
+                    cache.put(key, new CachedBalance(response, System.nanoTime() + ttlNanos));
+                }
+                return null;
+            });
+            flight.complete(response);
+            evictIfFull();
+            return response;
+        } catch (Throwable e) {
+            // Error(StackOverflowError, OutOfMemoryError 등)도 합류한 요청에 전달해야 무한 대기하지 않음
+            inFlight.remove(accountNo, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 계좌 잔액 캐시 무효화 (출금 후 호출)
+     * 진행 중인 조회도 함께 분리하여 출금 전 잔액이 다시 캐시되지 않도록 한다
+     */
+    public void invalidate(String accountNo) {
+        inFlight.remove(accountNo);
+        cache.remove(accountNo);
+    }
+
+    private void evictIfFull() {
+        if (cache.size() <= maxEntries) {
+            return;
+        }
+        long now = System.nanoTime();
+        cache.entrySet().removeIf(entry -> entry.getValue().expiresAt - now <= 0);
+        if (cache.size() > maxEntries) {
+            cache.clear();
+        }
+    }
+
+    private static BalanceInquiryResponse await(CompletableFuture<BalanceInquiryResponse> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isSuccess(BalanceInquiryResponse response) {
+        return response != null && response.getHeader() != null
+                && "H0000".equals(response.getHeader().getResponseCode());
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("bapsim.ssafy.balance_cache.requests")
+                .description("계좌 잔액 캐시 조회 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static class CachedBalance {
+        private final BalanceInquiryResponse response;
+        private final long expiresAt;
+
+        private CachedBalance(BalanceInquiryResponse response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.bapsim.service;
+
+import java.time.LocalDate;
+
+/**
+ * 주간 식단 읽기 모델 (시작일 + 식당 단위로 미리 직렬화한 JSON)
+ * 생성 후 변경되지 않으며, 메뉴/가격이 바뀌면 새 뷰로 교체된다
+ */
+public final class WeeklyMenuView {
+
+    private final LocalDate weekStart;
+    private final Long cafeNo;
+    private final byte[] body;
+    private final String eTag;
+    // 가격을 채울 때 사용한 가격표 (가격표가 교체되면 뷰도 다시 만든다)
+    private final MenuPriceSnapshot priceSnapshot;
+
+    WeeklyMenuView(LocalDate weekStart, Long cafeNo, byte[] body, String eTag, MenuPriceSnapshot priceSnapshot) {
+        this.weekStart = weekStart;
+        this.cafeNo = cafeNo;
+        this.body = body;
+        this.eTag = eTag;
+        this.priceSnapshot = priceSnapshot;
+    }
+
+    public LocalDate getWeekStart() {
+        return weekStart;
+    }
+
+    public Long getCafeNo() {
+        return cafeNo;
+    }
+
+    /**
+     * 직렬화된 응답 본문 (호출자는 내용을 수정하면 안 된다)
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    MenuPriceSnapshot getPriceSnapshot() {
+        return priceSnapshot;
+    }
+}
@@ -0,0 +1,275 @@
+package com.bapsim.service;
+
+import com.bapsim.dto.WeeklyMenuItemDto;
+import com.bapsim.repository.MenuRepository;
+import com.bapsim.repository.projection.MenuFoodRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 주간 식단 읽기 모델 서비스
+ * (시작일, 식당)별 주간 식단을 JSON 바이트로 미리 직렬화해 두고, 점심 시간대에 몰리는 같은 주 조회를
+ * DB 조회/엔티티 직렬화 없이 바로 응답한다. 메뉴 적재/변경이 커밋되면 해당 주의 뷰를 무효화한다
+ */
+@Service
+public class WeeklyMenuViewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WeeklyMenuViewService.class);
+
+    private static final int WEEK_DAYS = 7;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private MenuPriceService menuPriceService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${bapsim.menu.weekly-view.max-entries:256}")
+    private int maxEntries;
+
+    private final ConcurrentHashMap<ViewKey, WeeklyMenuView> views = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ViewKey, CompletableFuture<WeeklyMenuView>> inFlight = new ConcurrentHashMap<>();
+
+    private Counter hitCounter;
+    private Counter missCounter;
+    private Counter coalescedCounter;
+
+    @PostConstruct
+    void initMetrics() {
+        hitCounter = requestCounter("hit");
+        missCounter = requestCounter("miss");
+        coalescedCounter = requestCounter("coalesced");
+    }
+
+    /**
+     * 주간 식단 뷰 조회
+     * 유효한 뷰가 있으면 그대로 반환하고, 없으면 진행 중인 생성에 합류하거나 직접 생성한다
+     * @param weekStart 시작일 (시작일부터 7일간)
+     * @param cafeNo 식당 번호 (null이면 전체)
+     */
+    public WeeklyMenuView getView(LocalDate weekStart, Long cafeNo) {
+        ViewKey key = new ViewKey(weekStart, cafeNo);
+        MenuPriceSnapshot prices = menuPriceService.getSnapshot();
+
+        WeeklyMenuView view = views.get(key);
+        if (view != null && view.getPriceSnapshot() == prices) {
+            hitCounter.increment();
+            return view;
+        }
+
+        CompletableFuture<WeeklyMenuView> flight = new CompletableFuture<>();
+        CompletableFuture<WeeklyMenuView> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return await(existing);
+        }
+
+        missCounter.increment();
+        try {
+            WeeklyMenuView built = build(key, prices);
+            // 생성 도중 무효화되었다면(inFlight에서 제거됨) 저장하지 않음
+            inFlight.computeIfPresent(key, (k, current) -> {
+                if (current != flight) {
+                    return current;
+                }
+                views.put(k, built);
+                return null;
+            });
+            flight.complete(built);
+            evictIfFull(prices);
+            return built;
+        } catch (RuntimeException e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * menuDate를 포함하는 주간 식단 뷰 무효화
+     */
+    public void invalidate(LocalDate menuDate) {
+        inFlight.keySet().removeIf(key -> key.covers(menuDate));
+        views.keySet().removeIf(key -> key.covers(menuDate));
+    }
+
+    /**
+     * 모든 주간 식단 뷰 무효화 (메뉴 데이터 일괄 적재 후)
+     */
+    public void invalidateAll() {
+        inFlight.clear();
+        views.clear();
+    }
+
+    /**
+     * 메뉴 변경이 커밋된 뒤 menuDate가 포함된 뷰 무효화
+     * 트랜잭션 밖에서 호출되면 즉시 무효화
+     */
+    public void invalidateAfterCommit(LocalDate menuDate) {
+        runAfterCommit(() -> invalidate(menuDate));
+    }
+
+    /**
+     * 메뉴 데이터 적재가 커밋된 뒤 모든 뷰 무효화
+     * 트랜잭션 밖에서 호출되면 즉시 무효화
+     */
+    public void invalidateAllAfterCommit() {
+        runAfterCommit(this::invalidateAll);
+    }
+
+    private void runAfterCommit(Runnable invalidation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        } else {
+            invalidation.run();
+        }
+    }
+
+    private WeeklyMenuView build(ViewKey key, MenuPriceSnapshot prices) {
+        LocalDate endDate = key.weekStart.plusDays(WEEK_DAYS - 1);
+        List<MenuFoodRow> rows = key.cafeNo == null
+                ? menuRepository.findWeeklyMenuRows(key.weekStart, endDate)
+                : menuRepository.findWeeklyMenuRowsByCafeNo(key.weekStart, endDate, key.cafeNo);
+
+        // 날짜별로 그룹화 (조회 결과가 날짜, 메뉴 순으로 정렬되어 있음)
+        Map<String, List<WeeklyMenuItemDto>> weeklyMenuMap = new LinkedHashMap<>();
+        Map<Long, WeeklyMenuItemDto> itemsByMenuNo = new HashMap<>();
+        for (MenuFoodRow row : rows) {
+            WeeklyMenuItemDto item = itemsByMenuNo.get(row.getMenuNo());
+            if (item == null) {
+                item = WeeklyMenuItemDto.builder()
+                        .menuNo(row.getMenuNo())
+                        .kind(row.getKind())
+                        .mealType(row.getMealType())
+                        .menuDate(row.getMenuDate())
+                        .isSignature(row.getIsSignature())
+                        .soldOut(row.getSoldOut())
+                        .cafeNo(row.getCafeNo())
+                        .resNo(row.getResNo())
+                        .price(prices.find(row.getKind()).map(MenuPriceSnapshot.Entry::getPrice).orElse(null))
+                        .foods(new ArrayList<>())
+                        .build();
+                itemsByMenuNo.put(row.getMenuNo(), item);
+                weeklyMenuMap.computeIfAbsent(row.getMenuDate().toString(), date -> new ArrayList<>()).add(item);
+            }
+            if (row.getFoodNo() != null) {
+                item.getFoods().add(WeeklyMenuItemDto.FoodItem.builder()
+                        .foodNo(row.getFoodNo())
+                        .menuName(row.getMenuName())
+                        .kcal(row.getKcal())
+                        .category(row.getCategory())
+                        .photoPath(row.getPhotoPath())
+                        .allergyInfo(row.getAllergyInfo())
+                        .build());
+            }
+        }
+        // 대표 메뉴명은 Menus.getMenuName과 동일한 규칙 (첫 음식 이름, 없으면 "kind - mealType")
+        for (WeeklyMenuItemDto item : itemsByMenuNo.values()) {
+            item.setMenuName(item.getFoods().isEmpty()
+                    ? item.getKind() + " - " + item.getMealType()
+                    : item.getFoods().get(0).getMenuName());
+        }
+
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(weeklyMenuMap);
+            String eTag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+            logger.info("주간 식단 뷰 생성: weekStart={}, cafeNo={}, menus={}, bytes={}",
+                    key.weekStart, key.cafeNo, itemsByMenuNo.size(), body.length);
+            return new WeeklyMenuView(key.weekStart, key.cafeNo, body, eTag, prices);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("주간 식단 직렬화 실패", e);
+        }
+    }
+
+    private void evictIfFull(MenuPriceSnapshot prices) {
+        if (views.size() <= maxEntries) {
+            return;
+        }
+        views.values().removeIf(view -> view.getPriceSnapshot() != prices);
+        if (views.size() > maxEntries) {
+            views.clear();
+        }
+    }
+
+    private static WeeklyMenuView await(CompletableFuture<WeeklyMenuView> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private Counter requestCounter(String result) {
+        return Counter.builder("bapsim.menu.weekly_view.requests")
+                .description("주간 식단 뷰 조회 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static final class ViewKey {
+        private final LocalDate weekStart;
+        private final Long cafeNo;
+
+        private ViewKey(LocalDate weekStart, Long cafeNo) {
+            this.weekStart = weekStart;
+            this.cafeNo = cafeNo;
+        }
+
+        private boolean covers(LocalDate date) {
+            return !date.isBefore(weekStart) && !date.isAfter(weekStart.plusDays(WEEK_DAYS - 1));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ViewKey)) {
+                return false;
+            }
+            ViewKey other = (ViewKey) o;
+            return weekStart.equals(other.weekStart) && Objects.equals(cafeNo, other.cafeNo);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(weekStart, cafeNo);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.bapsim.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 호출 횟수 기반 서킷 브레이커
+ * 최근 호출의 실패율이 임계치를 넘으면 일정 시간 호출을 차단하고(OPEN),
+ * 이후 제한된 수의 시험 호출(HALF_OPEN)이 모두 성공하면 다시 허용한다(CLOSED)
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+
+    // 최근 호출 결과 (true = 실패)
+    private final boolean[] window;
+    private int windowIndex;
+    private int recordedCalls;
+    private int failedCalls;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(String name, int slidingWindowSize, int minimumCalls, int failureRateThreshold,
+                          long openDurationMillis, int halfOpenCalls) {
+        this(name, slidingWindowSize, minimumCalls, failureRateThreshold, openDurationMillis, halfOpenCalls, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, int slidingWindowSize, int minimumCalls, int failureRateThreshold,
+                   long openDurationMillis, int halfOpenCalls, LongSupplier nanoClock) {
+        this.name = name;
+        this.window = new boolean[Math.max(1, slidingWindowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDurationMillis * 1_000_000L;
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 호출 허용 여부
+     * 허용된 호출은 반드시 onSuccess 또는 onFailure로 결과를 알려야 한다
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openDurationNanos) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+            halfOpenPermits = halfOpenCalls;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                resetWindow();
+                transitionTo(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recordedCalls >= minimumCalls && failedCalls * 100 >= failureRateThreshold * recordedCalls) {
+                open();
+            }
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void record(boolean failed) {
+        if (recordedCalls == window.length) {
+            if (window[windowIndex]) {
+                failedCalls--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        window[windowIndex] = failed;
+        if (failed) {
+            failedCalls++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void open() {
+        openedAt = nanoClock.getAsLong();
+        transitionTo(State.OPEN);
+    }
+
+    private void resetWindow() {
+        windowIndex = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+    }
+
+    private void transitionTo(State newState) {
+        if (state != newState) {
+            log.warn("서킷 브레이커 상태 변경: name={}, {} -> {}", name, state, newState);
+            state = newState;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.bapsim.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 이력 조회 keyset 페이지 커서
+ * 이전 페이지 마지막 행의 (createdAt, id)를 불투명한 토큰(Base64 URL)으로 주고받는다
+ * 다음 페이지는 OFFSET 없이 커서 행보다 오래된 행만 인덱스로 찾으므로 이력이 길어져도 조회 비용이 같다
+ */
+public final class HistoryCursor {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    public HistoryCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 토큰 해석
+     * @return 토큰이 없으면 null (첫 페이지)
+     * @throws IllegalArgumentException 형식이 잘못된 토큰
+     */
+    public static HistoryCursor decode(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("잘못된 페이지 커서입니다: " + token);
+            }
+            return new HistoryCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 페이지 커서입니다: " + token, e);
+        }
+    }
+
+    /**
+     * 요청한 페이지 크기를 1 ~ MAX_PAGE_SIZE 범위로 제한 (없으면 기본값)
+     */
+    public static int pageSize(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(requested, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * 보관 테이블까지 읽어야 하는 페이지인지 판단
+     * 원본 테이블에서 size + 1건을 채웠고 마지막 행이 가장 최근 보관 행보다 새로우면 이 페이지는 원본 테이블만으로 충분하다
+     * (보관 기준이 생성일시가 아니므로 원본 테이블에 보관 행보다 오래된 행이 남아 있을 수 있어 범위를 겹쳐 비교한다)
+     * @param hotRows 원본 테이블에서 최신순으로 size + 1건까지 조회한 행
+     * @param newestArchivedAt 사용자의 가장 최근 보관 행 생성일시 (보관된 행이 없으면 null)
+     */
+    public static <T> boolean reachesArchive(List<T> hotRows, int size, Function<T, LocalDateTime> createdAtOf,
+                                             LocalDateTime newestArchivedAt) {
+        if (newestArchivedAt == null) {
+            return false;
+        }
+        return hotRows.size() <= size || !createdAtOf.apply(hotRows.get(size)).isAfter(newestArchivedAt);
+    }
+
+    /**
+     * 최신순으로 정렬된 두 목록을 (createdAt, id) 최신순으로 합쳐 limit건까지 반환
+     * 원본/보관 테이블은 같은 ID를 갖는 행이 없으므로 중복 제거는 하지 않는다
+     */
+    public static <T> List<T> mergeNewestFirst(List<T> first, List<T> second, Function<T, LocalDateTime> createdAtOf,
+                                               Function<T, Long> idOf, int limit) {
+        Comparator<T> newestFirst = Comparator.comparing(createdAtOf).thenComparing(idOf).reversed();
+        List<T> merged = new ArrayList<>(Math.min(limit, first.size() + second.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < first.size() || j < second.size())) {
+            if (j >= second.size() || (i < first.size() && newestFirst.compare(first.get(i), second.get(j)) <= 0)) {
+                merged.add(first.get(i++));
+            } else {
+                merged.add(second.get(j++));
+            }
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,74 @@
+package com.bapsim.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 사용된 식권 ID 비트맵 (노드 로컬, 메모리)
+ * 식권 ID는 id_generator에서 순차로 할당되므로 65,536개 ID 단위 페이지(8KB)로 나눠 필요한 페이지만 만든다
+ * (식권 100만 장 ≈ 125KB). 블룸 필터와 달리 오탐이 없어 사용하지 않은 식권을 거절하는 일이 없다
+ */
+public final class SpentTicketBitmap {
+
+    private static final int PAGE_BITS = 16;
+    private static final int WORDS_PER_PAGE = (1 << PAGE_BITS) / Long.SIZE;
+
+    private final ConcurrentHashMap<Long, AtomicLongArray> pages = new ConcurrentHashMap<>();
+
+    /**
+     * 사용 표시
+     * @return 이번 호출로 처음 표시되었으면 true, 이미 사용 표시된 식권이면 false
+     */
+    public boolean markSpent(long ticketId) {
+        AtomicLongArray page = pages.computeIfAbsent(ticketId >>> PAGE_BITS, key -> new AtomicLongArray(WORDS_PER_PAGE));
+        int word = wordIndex(ticketId);
+        long mask = bitMask(ticketId);
+        while (true) {
+            long current = page.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (page.compareAndSet(word, current, current | mask)) {
+                return true;
+            }
+        }
+    }
+
+    public boolean isSpent(long ticketId) {
+        AtomicLongArray page = pages.get(ticketId >>> PAGE_BITS);
+        return page != null && (page.get(wordIndex(ticketId)) & bitMask(ticketId)) != 0;
+    }
+
+    /**
+     * 사용 표시 해제 (DB 반영 전에 실패한 사용 처리 되돌리기용)
+     */
+    public void clear(long ticketId) {
+        AtomicLongArray page = pages.get(ticketId >>> PAGE_BITS);
+        if (page == null) {
+            return;
+        }
+        int word = wordIndex(ticketId);
+        long mask = bitMask(ticketId);
+        while (true) {
+            long current = page.get(word);
+            if ((current & mask) == 0 || page.compareAndSet(word, current, current & ~mask)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 할당된 페이지 수 (메모리 사용량 확인용)
+     */
+    public int pageCount() {
+        return pages.size();
+    }
+
+    private static int wordIndex(long ticketId) {
+        return (int) (ticketId & ((1 << PAGE_BITS) - 1)) >>> 6;
+    }
+
+    private static long bitMask(long ticketId) {
+        return 1L << (ticketId & 63);
+    }
+}
@@ -2,86 +2,168 @@ package com.bapsim.util;
 
 import com.bapsim.config.SsafyApiConfig;
 import com.bapsim.dto.SsafyApiHeader;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * SSAFY API 헤더 정보를 자동으로 생성하는 유틸리티
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class SsafyApiHeaderGenerator {
-    
-    private final SsafyApiConfig ssafyApiConfig;
-    
+
     // 한국 시간대 상수
     private static final ZoneId KOREA_ZONE = ZoneId.of("Asia/Seoul");
-    
+
+    // DateTimeFormatter는 불변/스레드 안전하므로 호출마다 만들지 않고 재사용
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HHmmss");
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    // 기관거래고유번호 = yyyyMMddHHmmss(14) + 인스턴스 번호(2) + 초 내 순번(4)
+    static final int MAX_NODE_ID = 99;
+    static final int SEQUENCES_PER_SECOND = 10_000;
+
+    // 인스턴스 번호를 지정하지 않아도 되는 프로필 (단일 인스턴스 개발/테스트, 0번 사용)
+    private static final Profiles DEFAULT_NODE_ID_PROFILES = Profiles.of("local", "test");
+
+    private final SsafyApiConfig ssafyApiConfig;
+    private final Clock clock;
+    private final String nodeIdDigits;
+
+    // 마지막으로 발급한 (기준 초 * SEQUENCES_PER_SECOND + 순번)
+    private final AtomicLong lastIssued = new AtomicLong();
+
+    // 순번을 모두 써서 앞당겨 사용 중인 초의 yyyyMMddHHmmss (부하가 계속될 때 매번 포맷하지 않도록)
+    private volatile FormattedSecond advancedSecond;
+
+    @Autowired
+    public SsafyApiHeaderGenerator(SsafyApiConfig ssafyApiConfig, Environment environment) {
+        this(requireNodeId(ssafyApiConfig, environment), Clock.system(KOREA_ZONE));
+    }
+
+    SsafyApiHeaderGenerator(SsafyApiConfig ssafyApiConfig, Clock clock) {
+        int nodeId = ssafyApiConfig.getNodeId() != null ? ssafyApiConfig.getNodeId() : 0;
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("ssafy.api.node-id는 0~" + MAX_NODE_ID + " 사이여야 합니다: " + nodeId);
+        }
+        this.ssafyApiConfig = ssafyApiConfig;
+        this.clock = clock;
+        this.nodeIdDigits = nodeId < 10 ? "0" + nodeId : String.valueOf(nodeId);
+    }
+
+    /**
+     * 인스턴스 번호 확인
+     * 모든 인스턴스가 기본값 0을 쓰면 같은 초에 발급한 기관거래고유번호가 겹치므로, 운영 프로필에서는 명시해야 한다
+     */
+    private static SsafyApiConfig requireNodeId(SsafyApiConfig ssafyApiConfig, Environment environment) {
+        if (ssafyApiConfig.getNodeId() == null && !environment.acceptsProfiles(DEFAULT_NODE_ID_PROFILES)) {
+            throw new IllegalStateException("ssafy.api.node-id가 설정되지 않았습니다 (인스턴스마다 0~" + MAX_NODE_ID
+                    + " 사이의 서로 다른 값, SSAFY_API_NODE_ID)");
+        }
+        return ssafyApiConfig;
+    }
+
     /**
      * SSAFY API 헤더 생성
      * @param apiName API 이름
      * @return 생성된 헤더 객체
      */
     public SsafyApiHeader generateHeader(String apiName) {
+        // 시각은 한 번만 읽어 전송 날짜/시간과 고유 거래 번호가 같은 시점을 가리키도록 함
+        Instant now = clock.instant();
+        LocalDateTime koreaTime = LocalDateTime.ofInstant(now, KOREA_ZONE);
+        String transmissionDate = DATE_FORMATTER.format(koreaTime);
+        String transmissionTime = TIME_FORMATTER.format(koreaTime);
+
         SsafyApiHeader header = new SsafyApiHeader();
-        
+
         header.setApiName(apiName);
-        header.setTransmissionDate(generateTransmissionDate());
-        header.setTransmissionTime(generateTransmissionTime());
+        header.setTransmissionDate(transmissionDate);
+        header.setTransmissionTime(transmissionTime);
         header.setInstitutionCode(ssafyApiConfig.getHeaders().getInstitutionCode());
         header.setFintechAppNo(ssafyApiConfig.getHeaders().getFintechAppNo());
         header.setApiServiceCode(apiName);
-        header.setInstitutionTransactionUniqueNo(generateUniqueTransactionNo());
+        header.setInstitutionTransactionUniqueNo(
+                generateUniqueTransactionNo(now.getEpochSecond(), transmissionDate, transmissionTime));
         header.setApiKey(ssafyApiConfig.getHeaders().getApiKey());
         header.setUserKey(ssafyApiConfig.getHeaders().getUserKey());
-        
+
         log.debug("생성된 SSAFY API 헤더: {}", header);
         return header;
     }
-    
+
     /**
-     * 전송 날짜 생성 (yyyyMMdd 형식) - 한국 시간 기준
+     * 고유 거래 번호 생성 (yyyyMMddHHmmss + 인스턴스 번호 2자리 + 순번 4자리) - 한국 시간 기준
+     * 난수 대신 인스턴스별 단조 증가 순번을 사용하므로 같은 초에 동시에 요청해도 번호가 겹치지 않는다
      */
-    private String generateTransmissionDate() {
-        LocalDateTime koreaTime = LocalDateTime.now(KOREA_ZONE);
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMdd");
-        String date = koreaTime.format(formatter);
-        log.debug("생성된 전송 날짜 (KST): {}", date);
-        return date;
+    private String generateUniqueTransactionNo(long epochSecond, String transmissionDate, String transmissionTime) {
+        long issued = nextSequence(epochSecond);
+        long issuedSecond = issued / SEQUENCES_PER_SECOND;
+        int sequence = (int) (issued % SEQUENCES_PER_SECOND);
+
+        StringBuilder uniqueNo = new StringBuilder(20);
+        if (issuedSecond == epochSecond) {
+            uniqueNo.append(transmissionDate).append(transmissionTime);
+        } else {
+            // 한 초에 순번을 모두 쓴 경우 다음 초 번호를 미리 사용
+            uniqueNo.append(formatAdvancedSecond(issuedSecond));
+        }
+        uniqueNo.append(nodeIdDigits);
+        if (sequence < 1000) {
+            uniqueNo.append('0');
+        }
+        if (sequence < 100) {
+            uniqueNo.append('0');
+        }
+        if (sequence < 10) {
+            uniqueNo.append('0');
+        }
+        return uniqueNo.append(sequence).toString();
     }
-    
-    /**
-     * 전송 시간 생성 (HHmmss 형식) - 한국 시간 기준
-     */
-    private String generateTransmissionTime() {
-        LocalDateTime koreaTime = LocalDateTime.now(KOREA_ZONE);
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HHmmss");
-        String time = koreaTime.format(formatter);
-        log.debug("생성된 전송 시간 (KST): {}", time);
-        return time;
+
+    private String formatAdvancedSecond(long epochSecond) {
+        FormattedSecond cached = advancedSecond;
+        if (cached != null && cached.epochSecond == epochSecond) {
+            return cached.timestamp;
+        }
+        String timestamp = TIMESTAMP_FORMATTER.format(LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), KOREA_ZONE));
+        advancedSecond = new FormattedSecond(epochSecond, timestamp);
+        return timestamp;
     }
-    
+
     /**
-     * 고유 거래 번호 생성 (yyyyMMddHHmmss + 6자리 난수) - 한국 시간 기준
+     * (기준 초, 순번) 발급
+     * 같은 초에는 순번을 1씩 올리고, 시계가 뒤로 가더라도 마지막으로 발급한 값보다 작은 값은 발급하지 않는다
      */
-    private String generateUniqueTransactionNo() {
-        LocalDateTime koreaTime = LocalDateTime.now(KOREA_ZONE);
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
-        String timestamp = koreaTime.format(formatter);
-        
-        // 6자리 난수 생성
-        Random random = new Random();
-        String randomPart = String.format("%06d", random.nextInt(1000000));
-        
-        String uniqueNo = timestamp + randomPart;
-        log.debug("생성된 고유 거래 번호 (KST): {}", uniqueNo);
-        return uniqueNo;
+    long nextSequence(long epochSecond) {
+        long floor = epochSecond * SEQUENCES_PER_SECOND;
+        while (true) {
+            long last = lastIssued.get();
+            long next = Math.max(last + 1, floor);
+            if (lastIssued.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    private static final class FormattedSecond {
+        private final long epochSecond;
+        private final String timestamp;
+
+        private FormattedSecond(long epochSecond, String timestamp) {
+            this.epochSecond = epochSecond;
+            this.timestamp = timestamp;
+        }
     }
 }
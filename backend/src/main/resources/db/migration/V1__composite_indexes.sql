@@ -0,0 +1,20 @@
+-- 조회 쿼리 형태에 맞춘 복합 인덱스 (MySQL)
+-- 새 스키마는 엔티티의 @Table(indexes)로 함께 생성되므로, 이미 운영 중인 DB에만 적용한다
+
+-- PaymentRepository.findByUserNoAndCreatedAtBetweenOrderByCreatedAtDesc, findByUserNoOrderByCreatedAtDesc
+CREATE INDEX idx_payment_user_created ON Payment (USER_NO, CREATED_AT);
+
+-- 결제 복구(findByPaymentStatusAndCreatedAtBefore...)와 상태별 일 매출 집계
+CREATE INDEX idx_payment_status_created ON Payment (PAYMENT_STATUS, CREATED_AT);
+
+-- MealTicketRepository.findByUserNoAndIsUsedFalseOrderByCreatedAtDesc
+CREATE INDEX idx_meal_tickets_user_used_created ON meal_tickets (user_no, is_used, created_at);
+
+-- PointHistoryRepository.findByUserNoOrderByCreatedAtDesc
+CREATE INDEX idx_point_history_user_created ON Point_history (USER_NO, CREATED_AT);
+
+-- MenuPriceRepository.findCurrentPrice(kind, date)
+CREATE INDEX idx_menu_price_kind_active_effective ON Menu_Price (KIND, IS_ACTIVE, EFFECTIVE_DATE);
+
+-- MenuRepository 날짜 범위 조회 (주간 식단, 동기화)
+CREATE INDEX idx_menus_menu_date ON Menus (MENU_DATE, CAFE_NO);
@@ -0,0 +1,43 @@
+-- 매출 집계 테이블 (MySQL)
+-- 새 스키마는 엔티티(SalesHourlyRollup, SalesTotal)로 함께 생성되므로, 이미 운영 중인 DB에만 적용한다
+
+-- 시간대별 매출 집계 (결제 생성 일자/시, 학식당, 메뉴 타입, 결제 상태)
+CREATE TABLE IF NOT EXISTS sales_hourly_rollup (
+    rollup_id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    sales_date DATE NOT NULL,
+    sales_hour INT NOT NULL,
+    cafe_no BIGINT NOT NULL,
+    menu_type VARCHAR(10) NOT NULL,
+    payment_status VARCHAR(20) NOT NULL,
+    amount BIGINT NOT NULL,
+    payment_count BIGINT NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    CONSTRAINT uk_sales_hourly_rollup_key UNIQUE (sales_date, sales_hour, cafe_no, menu_type, payment_status)
+);
+
+-- 메뉴별/사용자별 누적 결제 합계
+CREATE TABLE IF NOT EXISTS sales_total (
+    total_id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    total_type VARCHAR(10) NOT NULL,
+    target_id BIGINT NOT NULL,
+    payment_status VARCHAR(20) NOT NULL,
+    amount BIGINT NOT NULL,
+    payment_count BIGINT NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    CONSTRAINT uk_sales_total_key UNIQUE (total_type, target_id, payment_status)
+);
+
+-- 기존 결제 백필 (한 번만 실행, 이후에는 결제 상태 전이 시 애플리케이션이 갱신)
+INSERT INTO sales_hourly_rollup (sales_date, sales_hour, cafe_no, menu_type, payment_status, amount, payment_count, updated_at)
+SELECT DATE(p.CREATED_AT), HOUR(p.CREATED_AT), COALESCE(m.CAFE_NO, 0), p.MENU_TYPE, p.PAYMENT_STATUS,
+       SUM(p.AMOUNT), COUNT(*), NOW(6)
+FROM Payment p LEFT JOIN Menus m ON m.MENU_NO = p.MENU_ID
+GROUP BY DATE(p.CREATED_AT), HOUR(p.CREATED_AT), COALESCE(m.CAFE_NO, 0), p.MENU_TYPE, p.PAYMENT_STATUS;
+
+INSERT INTO sales_total (total_type, target_id, payment_status, amount, payment_count, updated_at)
+SELECT 'MENU', p.MENU_ID, p.PAYMENT_STATUS, SUM(p.AMOUNT), COUNT(*), NOW(6)
+FROM Payment p GROUP BY p.MENU_ID, p.PAYMENT_STATUS;
+
+INSERT INTO sales_total (total_type, target_id, payment_status, amount, payment_count, updated_at)
+SELECT 'USER', p.USER_NO, p.PAYMENT_STATUS, SUM(p.AMOUNT), COUNT(*), NOW(6)
+FROM Payment p GROUP BY p.USER_NO, p.PAYMENT_STATUS;
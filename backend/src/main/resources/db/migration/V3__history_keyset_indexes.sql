@@ -0,0 +1,8 @@
+-- 이력 keyset 페이지네이션용 인덱스 (MySQL)
+-- InnoDB 보조 인덱스에는 PK가 뒤에 붙으므로 (created_at, id) 역순 정렬을 인덱스 순서대로 읽는다
+
+-- MealTicketRepository.findPageByUserNo / findPageByUserNoBefore
+CREATE INDEX idx_meal_tickets_user_created ON meal_tickets (user_no, created_at);
+
+-- PointHistoryRepository.findHistoryPageByType / findHistoryPageByTypeBefore (적립/사용 내역)
+CREATE INDEX idx_point_history_user_type_created ON Point_history (USER_NO, POINT_TYPE, CREATED_AT);
@@ -0,0 +1,55 @@
+-- 이력 보관 테이블 (MySQL)
+-- 새 스키마는 엔티티(MealTicketArchive, PointHistoryArchive, UserHistorySummary)로 함께 생성되므로, 이미 운영 중인 DB에만 적용한다
+-- 보관은 HistoryArchiveService가 청크 단위로 처리하므로 백필은 하지 않는다
+
+-- 보관된 식권 (meal_tickets와 같은 컬럼, ticket_id는 원본 그대로)
+CREATE TABLE IF NOT EXISTS meal_tickets_archive (
+    ticket_id BIGINT NOT NULL PRIMARY KEY,
+    payment_id BIGINT NOT NULL,
+    user_no BIGINT NOT NULL,
+    menu_type VARCHAR(10) NOT NULL,
+    menu_name VARCHAR(100) NOT NULL,
+    amount INT NOT NULL,
+    issued_at DATETIME(6) NOT NULL,
+    is_used BIT NOT NULL,
+    used_at DATETIME(6),
+    used_location VARCHAR(100),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    created_id VARCHAR(50),
+    updated_id VARCHAR(50),
+    archived_at DATETIME(6) NOT NULL,
+    INDEX idx_meal_tickets_archive_user_created (user_no, created_at),
+    INDEX idx_meal_tickets_archive_payment (payment_id)
+);
+
+-- 보관된 포인트 내역 (Point_history와 같은 컬럼, POINT_ID는 원본 그대로)
+CREATE TABLE IF NOT EXISTS Point_history_archive (
+    POINT_ID BIGINT NOT NULL PRIMARY KEY,
+    USER_NO BIGINT NOT NULL,
+    PAYMENT_ID BIGINT,
+    POINT_TYPE VARCHAR(20) NOT NULL,
+    POINTS INT NOT NULL,
+    BALANCE_AFTER INT NOT NULL,
+    REASON VARCHAR(100),
+    DESCRIPTION VARCHAR(200),
+    CREATED_AT DATETIME(6) NOT NULL,
+    CREATED_ID VARCHAR(50),
+    ARCHIVED_AT DATETIME(6) NOT NULL,
+    INDEX idx_point_history_archive_user_created (USER_NO, CREATED_AT),
+    INDEX idx_point_history_archive_user_type_created (USER_NO, POINT_TYPE, CREATED_AT)
+);
+
+-- 사용자별 보관 이력 요약
+CREATE TABLE IF NOT EXISTS user_history_summary (
+    user_no BIGINT NOT NULL PRIMARY KEY,
+    archived_ticket_count BIGINT NOT NULL,
+    archived_ticket_amount BIGINT NOT NULL,
+    newest_archived_ticket_at DATETIME(6),
+    archived_point_count BIGINT NOT NULL,
+    archived_earned_points BIGINT NOT NULL,
+    archived_used_points BIGINT NOT NULL,
+    archived_expired_points BIGINT NOT NULL,
+    newest_archived_point_at DATETIME(6),
+    updated_at DATETIME(6) NOT NULL
+);
@@ -0,0 +1,18 @@
+-- 매출 집계 반영 대기 테이블 (MySQL)
+-- 새 스키마는 엔티티(SalesRollupDelta)로 함께 생성되므로, 이미 운영 중인 DB에만 적용한다
+-- 결제 트랜잭션은 이 테이블에 추가만 하고, 집계 행(sales_hourly_rollup, sales_total)은 주기 작업이 갱신한다
+
+CREATE TABLE IF NOT EXISTS sales_rollup_delta (
+    delta_id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    payment_id BIGINT NOT NULL,
+    sales_date DATE NOT NULL,
+    sales_hour INT NOT NULL,
+    cafe_no BIGINT NOT NULL,
+    menu_type VARCHAR(10) NOT NULL,
+    menu_id BIGINT NOT NULL,
+    user_no BIGINT NOT NULL,
+    payment_status VARCHAR(20) NOT NULL,
+    amount BIGINT NOT NULL,
+    payment_count BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL
+);
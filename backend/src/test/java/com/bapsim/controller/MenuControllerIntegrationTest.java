@@ -4,6 +4,7 @@ import com.bapsim.entity.Food;
 import com.bapsim.entity.Menus;
 import com.bapsim.entity.MenuPrice;
 import com.bapsim.repository.MenuRepository;
+import com.bapsim.service.MenuPriceService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +32,9 @@ class MenuControllerIntegrationTest {
     @Autowired
     private MenuRepository menuRepository;
 
+    @Autowired
+    private MenuPriceService menuPriceService;
+
     private Menus testMenu;
 
     @BeforeEach
@@ -84,6 +88,9 @@ class MenuControllerIntegrationTest {
 
         // 5. Menus 저장 (Food, MenuPrice는 CascadeType.ALL로 자동 저장)
         testMenu = menuRepository.save(testMenu);
+
+        // 응답 가격은 오늘 기준 가격표 스냅샷에서 채워짐
+        menuPriceService.rebuildSnapshot(LocalDate.now());
     }
 
     @Test
@@ -93,7 +100,7 @@ class MenuControllerIntegrationTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$[0].menuNo").value(testMenu.getMenuNo()))
                 .andExpect(jsonPath("$[0].menuName").value("우렁된장찌개"))
-                .andExpect(jsonPath("$[0].menuPrice.price").value(6000));
+                .andExpect(jsonPath("$[0].price").value(6000));
     }
 
     @Test
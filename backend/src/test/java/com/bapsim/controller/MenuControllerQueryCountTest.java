@@ -0,0 +1,196 @@
+package com.bapsim.controller;
+
+import com.bapsim.entity.Food;
+import com.bapsim.entity.MenuPrice;
+import com.bapsim.entity.Menus;
+import com.bapsim.entity.Restaurants;
+import com.bapsim.repository.MenuPriceRepository;
+import com.bapsim.repository.MenuRepository;
+import com.bapsim.repository.RestaurantsRepository;
+import com.bapsim.service.MenuPriceService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 메뉴 조회 API의 SQL 실행 수 테스트
+ * 프로젝션으로 조회하므로 메뉴/음식 수와 관계없이 엔드포인트마다 정해진 수의 SQL만 실행되는지 확인
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MenuControllerQueryCountTest {
+
+    private static final LocalDate MENU_DATE = LocalDate.of(2025, 8, 25);
+    private static final int MENUS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private MenuPriceRepository menuPriceRepository;
+
+    @Autowired
+    private RestaurantsRepository restaurantsRepository;
+
+    @Autowired
+    private MenuPriceService menuPriceService;
+
+    private Long resNo;
+    private Long menuNo;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+
+        Restaurants restaurant = new Restaurants();
+        restaurant.setResName("테스트식당");
+        restaurant.setAddress("테스트 주소");
+        restaurant.setPhoneNo(20000000L);
+        restaurant.setOpenTime(now);
+        restaurant.setCloseTime(now);
+        restaurant.setRunYn("Y");
+        restaurant.setDelYn("N");
+        restaurant.setVisitor(0L);
+        restaurant.setCreatedId("test");
+        restaurant.setCreatedAt(now);
+        restaurant.setUpdatedId("test");
+        restaurant.setUpdatedAt(now);
+        resNo = restaurantsRepository.save(restaurant).getResNo();
+
+        for (int i = 0; i < MENUS; i++) {
+            menuNo = saveMenu(i);
+        }
+
+        MenuPrice menuPrice = new MenuPrice();
+        menuPrice.setKind("A");
+        menuPrice.setMealType("한식");
+        menuPrice.setPrice(6000L);
+        menuPrice.setEffectiveDate(LocalDate.now());
+        menuPrice.setIsActive(true);
+        menuPrice.setCreatedId("test");
+        menuPrice.setCreatedAt(now);
+        menuPrice.setUpdatedId("test");
+        menuPrice.setUpdatedAt(now);
+        menuPriceRepository.save(menuPrice);
+        menuPriceService.rebuildSnapshot(LocalDate.now());
+    }
+
+    @AfterEach
+    void tearDown() {
+        menuPriceRepository.deleteAll();
+        menuRepository.deleteAll();
+        restaurantsRepository.deleteAll();
+    }
+
+    @Test
+    void 메뉴_조회_API는_메뉴_수와_관계없이_한_번의_SQL로_응답한다() throws Exception {
+        assertStatements("/api/menus", 1);
+        assertStatements("/api/menus/" + menuNo, 1);
+        assertStatements("/api/menus/" + menuNo + "/food", 1);
+        assertStatements("/api/menus/cafeteria/1", 1);
+        assertStatements("/api/menus/restaurant/" + resNo, 1);
+        assertStatements("/api/menus/type/한식", 1);
+        assertStatements("/api/menus/signature", 1);
+        assertStatements("/api/menus/date/" + MENU_DATE, 1);
+        assertStatements("/api/menus/allergy/대두", 1);
+        assertStatements("/api/menus/allergy-free", 1);
+        // 메뉴 + 해당 날짜 가격표
+        assertStatements("/api/menus/with-prices/" + MENU_DATE, 2);
+    }
+
+    @Test
+    void 메뉴마다_대표_음식_한_건으로_응답한다() throws Exception {
+        mockMvc.perform(get("/api/menus/date/" + MENU_DATE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(MENUS)))
+                .andExpect(jsonPath("$[0].menuName").value("메인 0"))
+                .andExpect(jsonPath("$[0].price").value(6000));
+
+        mockMvc.perform(get("/api/menus/" + menuNo + "/food"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    void fields로_응답_필드_묶음을_고른다() throws Exception {
+        mockMvc.perform(get("/api/menus/" + menuNo).param("fields", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.menuName").exists())
+                .andExpect(jsonPath("$.price").value(6000))
+                .andExpect(jsonPath("$.kcal").doesNotExist())
+                .andExpect(jsonPath("$.allergyInfo").doesNotExist());
+
+        mockMvc.perform(get("/api/menus/" + menuNo))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.kcal").value(500))
+                .andExpect(jsonPath("$.allergyInfo").value("대두(된장)"));
+
+        mockMvc.perform(get("/api/menus/" + menuNo).param("fields", "everything"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void assertStatements(String url, long maxStatements) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get(url)).andExpect(status().is2xxSuccessful());
+
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= maxStatements, url + " SQL 실행 수: " + statements);
+    }
+
+    private Long saveMenu(int index) {
+        LocalDateTime now = LocalDateTime.now();
+
+        Menus menu = new Menus();
+        menu.setKind("A");
+        menu.setMealType("한식");
+        menu.setIsSignature(index == 0);
+        menu.setSoldOut(false);
+        menu.setResNo(resNo);
+        menu.setMenuDate(MENU_DATE);
+        menu.setCreatedId("test");
+        menu.setCreatedAt(now);
+        menu.setUpdatedId("test");
+        menu.setUpdatedAt(now);
+        menu.setFoods(new ArrayList<>());
+        menu.getFoods().add(food(menu, "메인 " + index, "대두(된장)"));
+        menu.getFoods().add(food(menu, "반찬 " + index, "알러지 성분 없음"));
+        return menuRepository.save(menu).getMenuNo();
+    }
+
+    private static Food food(Menus menu, String menuName, String allergyInfo) {
+        Food food = new Food();
+        food.setMenuName(menuName);
+        food.setKcal(500L);
+        food.setAllergy(0L);
+        food.setCategory("한식");
+        food.setAllergyInfo(allergyInfo);
+        food.setMenu(menu);
+        return food;
+    }
+}
@@ -0,0 +1,156 @@
+package com.bapsim.controller;
+
+import com.bapsim.entity.Food;
+import com.bapsim.entity.MenuPrice;
+import com.bapsim.entity.Menus;
+import com.bapsim.repository.MenuPriceRepository;
+import com.bapsim.repository.MenuRepository;
+import com.bapsim.service.MenuPriceService;
+import com.bapsim.service.WeeklyMenuViewService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 주간 식단 읽기 모델 테스트
+ * 미리 직렬화된 뷰를 ETag와 함께 응답하고, 메뉴가 바뀌면 뷰가 다시 만들어지는지 확인
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MenuControllerWeeklyViewTest {
+
+    private static final LocalDate WEEK_START = LocalDate.of(2025, 8, 25);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private MenuPriceRepository menuPriceRepository;
+
+    @Autowired
+    private MenuPriceService menuPriceService;
+
+    @Autowired
+    private WeeklyMenuViewService weeklyMenuViewService;
+
+    @BeforeEach
+    void setUp() {
+        saveMenu("A", "한식", WEEK_START, "우렁된장찌개");
+        saveMenu("B", "일품", WEEK_START.plusDays(2), "돈까스");
+        // 다음 주 메뉴는 포함되지 않아야 함
+        saveMenu("A", "한식", WEEK_START.plusDays(7), "김치찌개");
+
+        LocalDateTime now = LocalDateTime.now();
+        MenuPrice menuPrice = new MenuPrice();
+        menuPrice.setKind("A");
+        menuPrice.setMealType("한식");
+        menuPrice.setPrice(6000L);
+        menuPrice.setEffectiveDate(LocalDate.now());
+        menuPrice.setIsActive(true);
+        menuPrice.setCreatedId("test");
+        menuPrice.setCreatedAt(now);
+        menuPrice.setUpdatedId("test");
+        menuPrice.setUpdatedAt(now);
+        menuPriceRepository.save(menuPrice);
+        menuPriceService.rebuildSnapshot(LocalDate.now());
+    }
+
+    @AfterEach
+    void tearDown() {
+        weeklyMenuViewService.invalidateAll();
+        menuPriceRepository.deleteAll();
+        menuRepository.deleteAll();
+    }
+
+    @Test
+    void 주간_식단을_날짜별로_묶어_ETag와_함께_반환한다() throws Exception {
+        mockMvc.perform(get("/api/menus/weekly/2025-08-25"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$['2025-08-25']", hasSize(1)))
+                .andExpect(jsonPath("$['2025-08-25'][0].menuName").value("우렁된장찌개"))
+                .andExpect(jsonPath("$['2025-08-25'][0].price").value(6000))
+                .andExpect(jsonPath("$['2025-08-25'][0].foods[0].kcal").value(450))
+                .andExpect(jsonPath("$['2025-08-27'][0].menuName").value("돈까스"))
+                .andExpect(jsonPath("$['2025-09-01']").doesNotExist());
+    }
+
+    @Test
+    void ETag가_같으면_304로_응답한다() throws Exception {
+        String eTag = mockMvc.perform(get("/api/menus/weekly/2025-08-25"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/menus/weekly/2025-08-25").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void 뷰는_재사용되고_메뉴가_바뀌면_다시_만들어진다() {
+        String eTag = weeklyMenuViewService.getView(WEEK_START, null).getETag();
+        assertSame(weeklyMenuViewService.getView(WEEK_START, null), weeklyMenuViewService.getView(WEEK_START, null));
+
+        // 다른 주의 변경은 영향 없음
+        weeklyMenuViewService.invalidate(WEEK_START.plusDays(7));
+        assertEquals(eTag, weeklyMenuViewService.getView(WEEK_START, null).getETag());
+
+        saveMenu("C", "도시락", WEEK_START.plusDays(4), "두부스테이크");
+        weeklyMenuViewService.invalidate(WEEK_START.plusDays(4));
+
+        assertNotEquals(eTag, weeklyMenuViewService.getView(WEEK_START, null).getETag());
+    }
+
+    @Test
+    void 잘못된_날짜는_400으로_응답한다() throws Exception {
+        mockMvc.perform(get("/api/menus/weekly/2025-13-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void saveMenu(String kind, String mealType, LocalDate menuDate, String foodName) {
+        LocalDateTime now = LocalDateTime.now();
+
+        Menus menu = new Menus();
+        menu.setKind(kind);
+        menu.setMealType(mealType);
+        menu.setIsSignature(false);
+        menu.setSoldOut(false);
+        menu.setMenuDate(menuDate);
+        menu.setCreatedId("test");
+        menu.setCreatedAt(now);
+        menu.setUpdatedId("test");
+        menu.setUpdatedAt(now);
+
+        Food food = new Food();
+        food.setMenuName(foodName);
+        food.setKcal(450L);
+        food.setAllergy(0L);
+        food.setCategory(mealType);
+        food.setMenu(menu);
+        menu.setFoods(new ArrayList<>());
+        menu.getFoods().add(food);
+
+        menuRepository.save(menu);
+    }
+}
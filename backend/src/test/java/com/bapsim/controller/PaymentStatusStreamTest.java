@@ -0,0 +1,151 @@
+package com.bapsim.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 결제 상태별 NDJSON 스트리밍 조회 테스트
+ * fetch size보다 많은 결과도 빠짐없이 한 줄에 한 건씩 내보내고, 사용자/기간 필터가 적용되는지 확인
+ * 관리자만 호출할 수 있고, 사용자나 기간 조건 없이 전체를 내보내는 요청은 거절하는지 확인
+ */
+@SpringBootTest(properties = {
+    // 스케줄 작업이 테스트 도중 끼어들지 않도록 주기를 늘림
+    "bapsim.payment.recovery.interval-ms=3600000",
+    "bapsim.payment.outbox.poll-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PaymentStatusStreamTest {
+
+    private static final long ID_OFFSET = 3_000_000L;
+    private static final int ROWS = 1_200;
+    private static final long USER_NO = 4L;
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 4, 1, 0, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        // 회원/메뉴 없이 결제 테이블만 채움
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        List<Object[]> payments = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            payments.add(new Object[]{ID_OFFSET + i, (long) (i % 10), 1L, "A", 6000,
+                    i % 2 == 0 ? "FAILED" : "COMPLETED", "CARD", true, "TXN_STREAM_" + i,
+                    Timestamp.valueOf(BASE_TIME.plusMinutes(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO Payment (PAYMENT_ID, USER_NO, MENU_ID, MENU_TYPE, AMOUNT, PAYMENT_STATUS, " +
+                "PAYMENT_METHOD, PIN_VERIFIED, TRANSACTION_ID, CREATED_AT) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", payments);
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM Payment WHERE PAYMENT_ID >= ?", ID_OFFSET);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void 상태별_결제를_한_줄에_한_건씩_최신순으로_내보낸다() throws Exception {
+        List<JsonNode> lines = stream("/api/payment/status/failed?startDate=" + BASE_TIME
+                + "&endDate=" + BASE_TIME.plusMinutes(ROWS));
+
+        assertEquals(ROWS / 2, lines.size());
+        assertTrue(lines.stream().allMatch(line -> "FAILED".equals(line.get("paymentStatus").asText())));
+        assertTrue(lines.get(0).get("paymentId").asLong() > lines.get(1).get("paymentId").asLong());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void 사용자와_기간으로_거른다() throws Exception {
+        // 0~99분(종료 시각 미포함) 결제 중 사용자 4 (i % 10 == 4, 모두 FAILED)
+        List<JsonNode> lines = stream("/api/payment/status/FAILED?userNo=" + USER_NO
+                + "&startDate=" + BASE_TIME + "&endDate=" + BASE_TIME.plusMinutes(100));
+
+        assertEquals(10, lines.size());
+        assertTrue(lines.stream().allMatch(line -> line.get("userNo").asLong() == USER_NO));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void 알_수_없는_상태는_거절한다() throws Exception {
+        mockMvc.perform(get("/api/payment/status/UNKNOWN?userNo=" + USER_NO))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void 사용자도_기간도_없거나_기간이_너무_길면_거절한다() throws Exception {
+        mockMvc.perform(get("/api/payment/status/FAILED"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("INVALID_REQUEST"));
+        mockMvc.perform(get("/api/payment/status/FAILED?startDate=" + BASE_TIME))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/payment/status/FAILED?startDate=" + BASE_TIME + "&endDate=" + BASE_TIME.plusDays(32)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/payment/status/FAILED?userNo=" + USER_NO
+                        + "&startDate=" + BASE_TIME.plusDays(1) + "&endDate=" + BASE_TIME))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void 관리자가_아니면_조회할_수_없다() throws Exception {
+        mockMvc.perform(get("/api/payment/status/FAILED?userNo=" + USER_NO))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser
+    void 일반_사용자도_조회할_수_없다() throws Exception {
+        mockMvc.perform(get("/api/payment/status/FAILED?userNo=" + USER_NO))
+                .andExpect(status().isForbidden());
+    }
+
+    private List<JsonNode> stream(String url) throws Exception {
+        MvcResult started = mockMvc.perform(get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        return lines;
+    }
+}
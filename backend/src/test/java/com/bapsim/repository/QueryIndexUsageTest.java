@@ -0,0 +1,136 @@
+package com.bapsim.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 조회 쿼리 인덱스 사용 테스트 (H2 EXPLAIN)
+ * 대량 데이터를 넣은 뒤 주요 조회 쿼리의 실행 계획에 전체 스캔(tableScan)이 없는지 확인
+ * SQL은 각 Repository 메서드가 만드는 WHERE/ORDER BY 형태를 그대로 옮긴 것
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryIndexUsageTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryIndexUsageTest.class);
+
+    private static final int USERS = 500;
+    private static final int ROWS = 10_000;
+    private static final int MENU_DAYS = 2_000;
+    private static final long ID_OFFSET = 1_000_000L;
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDate BASE_DATE = LocalDate.of(2020, 1, 1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        // 회원/메뉴 등 참조 대상 없이 조회 대상 테이블만 채움
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+
+        List<Object[]> payments = new ArrayList<>();
+        List<Object[]> tickets = new ArrayList<>();
+        List<Object[]> points = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            long id = ID_OFFSET + i;
+            long userNo = i % USERS;
+            Timestamp createdAt = Timestamp.valueOf(BASE_TIME.plusMinutes(i));
+            payments.add(new Object[]{id, userNo, 1L, "A", 6000, i % 10 == 0 ? "FAILED" : "COMPLETED",
+                    "CARD", true, "TXN_IDX_" + i, createdAt});
+            tickets.add(new Object[]{id, id, userNo, "A", "메뉴", 6000, createdAt, i % 3 == 0, createdAt, createdAt});
+            points.add(new Object[]{id, userNo, i % 2 == 0 ? "EARN" : "USE", 60, 1000, createdAt});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO Payment (PAYMENT_ID, USER_NO, MENU_ID, MENU_TYPE, AMOUNT, PAYMENT_STATUS, " +
+                "PAYMENT_METHOD, PIN_VERIFIED, TRANSACTION_ID, CREATED_AT) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", payments);
+        jdbcTemplate.batchUpdate("INSERT INTO meal_tickets (ticket_id, payment_id, user_no, menu_type, menu_name, amount, " +
+                "issued_at, is_used, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", tickets);
+        jdbcTemplate.batchUpdate("INSERT INTO Point_history (POINT_ID, USER_NO, POINT_TYPE, POINTS, BALANCE_AFTER, CREATED_AT) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", points);
+
+        List<Object[]> prices = new ArrayList<>();
+        List<Object[]> menus = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(BASE_TIME);
+        for (int day = 0; day < MENU_DAYS; day++) {
+            Date date = Date.valueOf(BASE_DATE.plusDays(day));
+            String kind = String.valueOf((char) ('A' + day % 26));
+            prices.add(new Object[]{ID_OFFSET + day, kind, "한식", 6000L, date, true, "test", now, "test", now});
+            for (int meal = 0; meal < 5; meal++) {
+                menus.add(new Object[]{ID_OFFSET + day * 5L + meal, kind, "한식", false, "test", now, "test", now,
+                        false, date, "N"});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO Menu_Price (PRICE_NO, KIND, MEAL_TYPE, PRICE, EFFECTIVE_DATE, IS_ACTIVE, " +
+                "CREATED_ID, CREATED_AT, UPDATED_ID, UPDATED_AT) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", prices);
+        jdbcTemplate.batchUpdate("INSERT INTO Menus (MENU_NO, KIND, MEAL_TYPE, IS_SIGNATURE, CREATED_ID, CREATED_AT, " +
+                "UPDATED_ID, UPDATED_AT, SOLD_OUT, MENU_DATE, DEL_YN) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", menus);
+
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+        // 선택도 통계 갱신
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM Point_history WHERE POINT_ID >= ?", ID_OFFSET);
+        jdbcTemplate.update("DELETE FROM meal_tickets WHERE ticket_id >= ?", ID_OFFSET);
+        jdbcTemplate.update("DELETE FROM Payment WHERE PAYMENT_ID >= ?", ID_OFFSET);
+        jdbcTemplate.update("DELETE FROM Menu_Price WHERE PRICE_NO >= ?", ID_OFFSET);
+        jdbcTemplate.update("DELETE FROM Menus WHERE MENU_NO >= ?", ID_OFFSET);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        // PaymentRepository.findByUserNoAndCreatedAtBetweenOrderByCreatedAtDesc
+        "SELECT * FROM Payment WHERE USER_NO = 7 " +
+            "AND CREATED_AT BETWEEN TIMESTAMP '2025-01-01 00:00:00' AND TIMESTAMP '2025-01-03 00:00:00' " +
+            "ORDER BY CREATED_AT DESC",
+        // PaymentRepository.findByPaymentStatusAndCreatedAtBeforeOrderByCreatedAtAsc
+        // (복구 대상인 PENDING 대신 FAILED로 시드해 복구 스케줄러가 건드리지 않도록 함)
+        "SELECT * FROM Payment WHERE PAYMENT_STATUS = 'FAILED' AND CREATED_AT < TIMESTAMP '2025-01-02 00:00:00' " +
+            "ORDER BY CREATED_AT ASC",
+        // PaymentRepository.sumAmountByStatusAndCreatedAtRange (sumTodayAmountByStatus)
+        "SELECT SUM(AMOUNT) FROM Payment WHERE PAYMENT_STATUS = 'COMPLETED' " +
+            "AND CREATED_AT >= TIMESTAMP '2025-01-02 00:00:00' AND CREATED_AT < TIMESTAMP '2025-01-03 00:00:00'",
+        // MealTicketRepository.findByUserNoAndIsUsedFalseOrderByCreatedAtDesc
+        "SELECT * FROM meal_tickets WHERE user_no = 7 AND is_used = FALSE ORDER BY created_at DESC",
+        // MealTicketRepository.findPageByUserNoBefore (keyset 페이지)
+        "SELECT * FROM meal_tickets WHERE user_no = 7 AND (created_at < TIMESTAMP '2025-01-05 00:00:00' " +
+            "OR (created_at = TIMESTAMP '2025-01-05 00:00:00' AND ticket_id < 1005000)) " +
+            "ORDER BY created_at DESC, ticket_id DESC LIMIT 21",
+        // PointHistoryRepository.findByUserNoOrderByCreatedAtDesc
+        "SELECT * FROM Point_history WHERE USER_NO = 7 ORDER BY CREATED_AT DESC",
+        // MenuPriceRepository.findCurrentPrice(kind, date)
+        "SELECT * FROM Menu_Price WHERE KIND = 'C' AND IS_ACTIVE = TRUE AND EFFECTIVE_DATE <= DATE '2022-06-01' " +
+            "AND (EXPIRY_DATE IS NULL OR EXPIRY_DATE >= DATE '2022-06-01') ORDER BY EFFECTIVE_DATE DESC",
+        // MenuRepository.findWeeklyMenuRows / findSyncRowsByMenuDateBetween (날짜 범위)
+        "SELECT * FROM Menus WHERE MENU_DATE BETWEEN DATE '2022-06-06' AND DATE '2022-06-12' AND DEL_YN = 'N' " +
+            "ORDER BY MENU_DATE, MENU_NO"
+    })
+    void 주요_조회_쿼리는_전체_스캔을_하지_않는다(String sql) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        logger.info("실행 계획: {}", plan);
+
+        assertNotNull(plan);
+        assertFalse(plan.contains("tableScan"), "전체 스캔: " + plan);
+    }
+}
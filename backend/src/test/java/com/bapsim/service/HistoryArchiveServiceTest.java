@@ -0,0 +1,174 @@
+package com.bapsim.service;
+
+import com.bapsim.dto.CursorPage;
+import com.bapsim.dto.HistoryArchiveResult;
+import com.bapsim.entity.MealTicket;
+import com.bapsim.entity.PointHistory;
+import com.bapsim.entity.UserHistorySummary;
+import com.bapsim.repository.UserHistorySummaryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 이력 보관 작업 테스트
+ * 보관 대상만 청크 단위로 보관 테이블로 옮기고 사용자별 요약에 건수/합계가 남는지,
+ * 이력 페이지가 원본과 보관 테이블을 빠짐없이 중복 없이 이어서 보여 주는지 확인
+ */
+@SpringBootTest(properties = {
+    "bapsim.archive.chunk-size=2",
+    "bapsim.archive.chunk-pause-ms=0",
+    "bapsim.archive.initial-delay-ms=3600000",
+    "bapsim.meal-ticket.redemption.flush-interval-ms=3600000",
+    "bapsim.payment.recovery.interval-ms=3600000",
+    "bapsim.payment.outbox.poll-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class HistoryArchiveServiceTest {
+
+    private static final long ID_OFFSET = 4_000_000L;
+
+    @Autowired
+    private HistoryArchiveService historyArchiveService;
+
+    @Autowired
+    private MealTicketService mealTicketService;
+
+    @Autowired
+    private MealTicketGateService mealTicketGateService;
+
+    @Autowired
+    private PointService pointService;
+
+    @Autowired
+    private UserHistorySummaryRepository userHistorySummaryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM meal_tickets WHERE ticket_id >= ?", ID_OFFSET);
+        jdbcTemplate.update("DELETE FROM meal_tickets_archive WHERE ticket_id >= ?", ID_OFFSET);
+        jdbcTemplate.update("DELETE FROM Point_history WHERE POINT_ID >= ?", ID_OFFSET);
+        jdbcTemplate.update("DELETE FROM Point_history_archive WHERE POINT_ID >= ?", ID_OFFSET);
+        userHistorySummaryRepository.deleteAll();
+    }
+
+    @Test
+    void 보관_대상만_옮기고_사용자별_요약에_누적한다() {
+        seedTicket(1, 501L, now.minusDays(120), now.minusDays(100)); // 사용 후 90일 경과 → 보관
+        seedTicket(2, 501L, now.minusDays(120), now.minusDays(10));
+        seedTicket(3, 501L, now.minusDays(400), null);               // 미사용 식권은 오래되어도 보관하지 않음
+        seedTicket(4, 501L, now.minusDays(10), null);
+        seedPoint(1, 501L, PointHistory.PointType.EARN, 100, now.minusDays(200));
+        seedPoint(2, 501L, PointHistory.PointType.USE, -30, now.minusDays(190));
+        seedPoint(3, 501L, PointHistory.PointType.EXPIRE, -10, now.minusDays(185));
+        seedPoint(4, 501L, PointHistory.PointType.EARN, 50, now.minusDays(5));
+
+        HistoryArchiveResult result = historyArchiveService.archive();
+
+        assertEquals(1, result.getUsedTickets());
+        assertEquals(3, result.getPointHistories());
+        // 청크 크기 2: 식권 1청크, 포인트 내역 2청크
+        assertEquals(3, result.getChunks());
+        assertEquals(List.of(ID_OFFSET + 2, ID_OFFSET + 3, ID_OFFSET + 4), ids("SELECT ticket_id FROM meal_tickets WHERE user_no = 501 ORDER BY ticket_id"));
+        assertEquals(List.of(ID_OFFSET + 1), ids("SELECT ticket_id FROM meal_tickets_archive WHERE user_no = 501 ORDER BY ticket_id"));
+        assertEquals(List.of(ID_OFFSET + 4), ids("SELECT POINT_ID FROM Point_history WHERE USER_NO = 501 ORDER BY POINT_ID"));
+
+        UserHistorySummary summary = userHistorySummaryRepository.findById(501L).orElseThrow();
+        assertEquals(1, summary.getArchivedTicketCount());
+        assertEquals(6000, summary.getArchivedTicketAmount());
+        assertEquals(now.minusDays(120), summary.getNewestArchivedTicketAt());
+        assertEquals(3, summary.getArchivedPointCount());
+        assertEquals(100, summary.getArchivedEarnedPoints());
+        assertEquals(30, summary.getArchivedUsedPoints());
+        assertEquals(10, summary.getArchivedExpiredPoints());
+        assertEquals(now.minusDays(185), summary.getNewestArchivedPointAt());
+
+        // 오래된 미사용 식권은 그대로 사용할 수 있고, 보관된 식권도 조회는 된다
+        assertFalse(mealTicketGateService.isSpent(ID_OFFSET + 3));
+        assertTrue(mealTicketService.findById(ID_OFFSET + 3).orElseThrow().isAvailable());
+        assertFalse(mealTicketService.findById(ID_OFFSET + 1).orElseThrow().isAvailable());
+        RuntimeException e = assertThrows(RuntimeException.class, () -> mealTicketService.useTicket(ID_OFFSET + 1, "학생식당"));
+        assertTrue(e.getMessage().contains("이미 사용된 식권입니다"), e.getMessage());
+
+        // 다시 실행해도 옮길 행이 없음
+        HistoryArchiveResult again = historyArchiveService.archive();
+        assertEquals(0, again.getChunks());
+        assertEquals(1, userHistorySummaryRepository.findById(501L).orElseThrow().getArchivedTicketCount());
+    }
+
+    @Test
+    void 이력_페이지는_원본과_보관_테이블을_빠짐없이_이어서_보여준다() {
+        // 보관 기준이 생성일시가 아니므로 원본에 남은 식권이 보관된 식권보다 오래될 수 있음
+        seedTicket(11, 502L, now.minusDays(1), null);
+        seedTicket(12, 502L, now.minusDays(150), now.minusDays(140));
+        seedTicket(13, 502L, now.minusDays(160), null);
+        seedTicket(14, 502L, now.minusDays(170), now.minusDays(100));
+        seedTicket(15, 502L, now.minusDays(170), now.minusDays(20));
+        seedTicket(16, 502L, now.minusDays(170), now.minusDays(95));
+        seedTicket(17, 502L, now.minusDays(200), null);
+        for (int i = 0; i < 5; i++) {
+            seedPoint(11 + i, 502L, i % 2 == 0 ? PointHistory.PointType.EARN : PointHistory.PointType.USE,
+                    i % 2 == 0 ? 10 : -10, now.minusDays(50L * i));
+        }
+
+        historyArchiveService.archive();
+
+        assertEquals(List.of(ID_OFFSET + 12, ID_OFFSET + 14, ID_OFFSET + 16),
+                ids("SELECT ticket_id FROM meal_tickets_archive WHERE user_no = 502 ORDER BY ticket_id"));
+        assertEquals(List.of(ID_OFFSET + 11, ID_OFFSET + 12, ID_OFFSET + 13, ID_OFFSET + 16, ID_OFFSET + 15,
+                        ID_OFFSET + 14, ID_OFFSET + 17),
+                readAllPages(cursor -> mealTicketService.findPageByUserNo(502L, cursor, 2), MealTicket::getTicketId));
+        assertEquals(List.of(ID_OFFSET + 11, ID_OFFSET + 12, ID_OFFSET + 13, ID_OFFSET + 14, ID_OFFSET + 15),
+                readAllPages(cursor -> pointService.getPointHistory(502L, cursor, 2), PointHistory::getPointId));
+        assertEquals(List.of(ID_OFFSET + 11, ID_OFFSET + 13, ID_OFFSET + 15),
+                readAllPages(cursor -> pointService.getEarnPointHistory(502L, cursor, 1), PointHistory::getPointId));
+    }
+
+    private <T> List<Long> readAllPages(Function<String, CursorPage<T>> pageOf, Function<T, Long> idOf) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<T> page = pageOf.apply(cursor);
+            page.getItems().forEach(item -> ids.add(idOf.apply(item)));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private List<Long> ids(String sql) {
+        return jdbcTemplate.queryForList(sql, Long.class);
+    }
+
+    private void seedTicket(long id, long userNo, LocalDateTime createdAt, LocalDateTime usedAt) {
+        jdbcTemplate.update("INSERT INTO meal_tickets (ticket_id, payment_id, user_no, menu_type, menu_name, amount, " +
+                "issued_at, is_used, used_at, used_location, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                ID_OFFSET + id, ID_OFFSET + id, userNo, "A", "한식", 6000, Timestamp.valueOf(createdAt), usedAt != null,
+                usedAt != null ? Timestamp.valueOf(usedAt) : null, usedAt != null ? "학생식당" : null,
+                Timestamp.valueOf(createdAt), Timestamp.valueOf(usedAt != null ? usedAt : createdAt));
+    }
+
+    private void seedPoint(long id, long userNo, String pointType, int points, LocalDateTime createdAt) {
+        // 회원/결제 없이 포인트 내역 행만 넣음
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        jdbcTemplate.update("INSERT INTO Point_history (POINT_ID, USER_NO, POINT_TYPE, POINTS, BALANCE_AFTER, REASON, " +
+                "CREATED_AT) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                ID_OFFSET + id, userNo, pointType, points, 0, "테스트", Timestamp.valueOf(createdAt));
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+    }
+}
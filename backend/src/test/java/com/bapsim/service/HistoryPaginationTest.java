@@ -0,0 +1,140 @@
+package com.bapsim.service;
+
+import com.bapsim.dto.CursorPage;
+import com.bapsim.entity.MealTicket;
+import com.bapsim.entity.PointHistory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 이력 keyset 페이지네이션 테스트
+ * 같은 시각에 생성된 행이 섞여 있어도 페이지 사이에 빠지거나 겹치는 행이 없는지 확인
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class HistoryPaginationTest {
+
+    private static final long USER_NO = 900_001L;
+    private static final long OTHER_USER_NO = 900_002L;
+    private static final long ID_OFFSET = 2_000_000L;
+    private static final int ROWS = 55;
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    @Autowired
+    private PointService pointService;
+
+    @Autowired
+    private MealTicketService mealTicketService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // 회원/결제 없이 이력 테이블만 채움
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        List<Object[]> points = new ArrayList<>();
+        List<Object[]> tickets = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            long id = ID_OFFSET + i;
+            long userNo = i % 11 == 0 ? OTHER_USER_NO : USER_NO;
+            // 세 건씩 같은 시각 (createdAt 동률은 id로 구분)
+            Timestamp createdAt = Timestamp.valueOf(BASE_TIME.plusMinutes(i / 3));
+            points.add(new Object[]{id, userNo, i % 2 == 0 ? PointHistory.PointType.EARN : PointHistory.PointType.USE,
+                    10, 1000, createdAt});
+            tickets.add(new Object[]{id, id, userNo, "A", "메뉴", 6000, createdAt, i % 3 == 0, createdAt, createdAt});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO Point_history (POINT_ID, USER_NO, POINT_TYPE, POINTS, BALANCE_AFTER, CREATED_AT) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", points);
+        jdbcTemplate.batchUpdate("INSERT INTO meal_tickets (ticket_id, payment_id, user_no, menu_type, menu_name, amount, " +
+                "issued_at, is_used, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", tickets);
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM Point_history WHERE POINT_ID >= ?", ID_OFFSET);
+        jdbcTemplate.update("DELETE FROM meal_tickets WHERE ticket_id >= ?", ID_OFFSET);
+    }
+
+    @Test
+    void 포인트_내역을_커서로_끝까지_넘기면_모든_행을_한_번씩_최신순으로_받는다() {
+        List<PointHistory> all = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<PointHistory> page = pointService.getPointHistory(USER_NO, cursor, 20);
+            assertTrue(page.getItems().size() <= 20);
+            all.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            assertEquals(cursor != null, page.isHasNext());
+            pages++;
+        } while (cursor != null);
+
+        long expected = countRows(USER_NO);
+        assertEquals(expected, all.size());
+        assertEquals((expected + 19) / 20, pages);
+        assertAllDistinct(all.stream().map(PointHistory::getPointId).collect(Collectors.toList()));
+        for (int i = 1; i < all.size(); i++) {
+            PointHistory previous = all.get(i - 1);
+            PointHistory current = all.get(i);
+            assertTrue(previous.getCreatedAt().isAfter(current.getCreatedAt())
+                    || (previous.getCreatedAt().isEqual(current.getCreatedAt()) && previous.getPointId() > current.getPointId()));
+            assertEquals(USER_NO, current.getUserNo());
+        }
+    }
+
+    @Test
+    void 적립_내역_페이지에는_적립만_나온다() {
+        CursorPage<PointHistory> first = pointService.getEarnPointHistory(USER_NO, null, 5);
+        CursorPage<PointHistory> second = pointService.getEarnPointHistory(USER_NO, first.getNextCursor(), 5);
+
+        assertEquals(5, first.getItems().size());
+        assertTrue(first.isHasNext());
+        assertTrue(second.getItems().stream().allMatch(row -> PointHistory.PointType.EARN.equals(row.getPointType())));
+        Set<Long> firstIds = first.getItems().stream().map(PointHistory::getPointId).collect(Collectors.toSet());
+        assertTrue(second.getItems().stream().noneMatch(row -> firstIds.contains(row.getPointId())));
+    }
+
+    @Test
+    void 식권_목록도_커서로_이어서_조회한다() {
+        Set<Long> ids = new HashSet<>();
+        String cursor = null;
+        do {
+            CursorPage<MealTicket> page = mealTicketService.findPageByUserNo(USER_NO, cursor, 7);
+            page.getItems().forEach(ticket -> assertTrue(ids.add(ticket.getTicketId())));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(countRows(USER_NO), ids.size());
+    }
+
+    @Test
+    void 잘못된_커서는_거절한다() {
+        assertThrows(IllegalArgumentException.class, () -> pointService.getPointHistory(USER_NO, "broken", 20));
+    }
+
+    private long countRows(long userNo) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM Point_history WHERE USER_NO = ? AND POINT_ID >= ?",
+                Long.class, userNo, ID_OFFSET);
+    }
+
+    private static void assertAllDistinct(List<Long> ids) {
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+    }
+}
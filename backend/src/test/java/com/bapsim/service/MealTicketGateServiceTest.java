@@ -0,0 +1,208 @@
+package com.bapsim.service;
+
+import com.bapsim.dto.GateVerificationResult;
+import com.bapsim.dto.GateVerificationResult.Outcome;
+import com.bapsim.dto.TicketRedemptionItem;
+import com.bapsim.dto.TicketRedemptionResult;
+import com.bapsim.entity.MealTicket;
+import com.bapsim.repository.MealTicketRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 게이트 식권 확인 테스트
+ * 서명 토큰과 사용 비트맵만으로 DB 조회 없이 통과/거절을 판단하고, 사용 처리가 일괄 쓰기로 DB에 반영되는지 확인
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    // 일괄 쓰기는 테스트에서 직접 flush
+    "bapsim.meal-ticket.redemption.flush-interval-ms=3600000",
+    "bapsim.payment.recovery.interval-ms=3600000",
+    "bapsim.payment.outbox.poll-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class MealTicketGateServiceTest {
+
+    @Autowired
+    private MealTicketGateService mealTicketGateService;
+
+    @Autowired
+    private MealTicketTokenService mealTicketTokenService;
+
+    @Autowired
+    private MealTicketRedemptionWriter mealTicketRedemptionWriter;
+
+    @Autowired
+    private MealTicketService mealTicketService;
+
+    @Autowired
+    private MealTicketRepository mealTicketRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        mealTicketRedemptionWriter.flush();
+        mealTicketRepository.deleteAll();
+    }
+
+    @Test
+    void 토큰에는_식권_정보가_서명되어_담긴다() {
+        MealTicket ticket = issueTicket();
+
+        String token = mealTicketTokenService.mint(ticket);
+
+        assertEquals(token, mealTicketTokenService.mint(ticket));
+        var claims = mealTicketTokenService.verify(token);
+        assertEquals(ticket.getTicketId(), claims.getTicketId());
+        assertEquals(ticket.getUserNo(), claims.getUserNo());
+        assertEquals(ticket.getMenuType(), claims.getMenuType());
+        assertEquals(ticket.getIssuedAt(), claims.getIssuedAt());
+    }
+
+    @Test
+    void 게이트는_DB_조회_없이_한_번만_통과시킨다() {
+        MealTicket ticket = issueTicket();
+        String token = mealTicketTokenService.mint(ticket);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        GateVerificationResult first = mealTicketGateService.verify(token, "정문 게이트");
+        GateVerificationResult second = mealTicketGateService.verify(token, "후문 게이트");
+
+        assertEquals(Outcome.ACCEPTED, first.getOutcome());
+        assertEquals(ticket.getTicketId(), first.getTicket().getTicketId());
+        assertEquals(Outcome.ALREADY_USED, second.getOutcome());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        // DB 반영 전에도 식권 사용 API는 거절
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> mealTicketService.useTicket(ticket.getTicketId(), "매점"));
+        assertTrue(e.getMessage().contains("이미 사용된 식권입니다"), e.getMessage());
+
+        mealTicketRedemptionWriter.flush();
+
+        MealTicket used = mealTicketRepository.findById(ticket.getTicketId()).orElseThrow();
+        assertTrue(used.getIsUsed());
+        assertEquals("정문 게이트", used.getUsedLocation());
+        assertNotNull(used.getUsedAt());
+    }
+
+    @Test
+    void 변조된_토큰은_거절한다() {
+        MealTicket ticket = issueTicket();
+        String token = mealTicketTokenService.mint(ticket);
+        // 다른 식권 ID로 바꾼 페이로드에 원래 서명을 붙임
+        MealTicket other = MealTicket.builder()
+                .ticketId(ticket.getTicketId() + 1)
+                .userNo(ticket.getUserNo())
+                .menuType(ticket.getMenuType())
+                .issuedAt(ticket.getIssuedAt())
+                .build();
+        String forged = mealTicketTokenService.mint(other).split("\\.")[0] + "." + token.split("\\.")[1];
+
+        assertEquals(Outcome.INVALID_TOKEN, mealTicketGateService.verify(forged, "정문 게이트").getOutcome());
+        assertEquals(Outcome.INVALID_TOKEN, mealTicketGateService.verify("not-a-token", "정문 게이트").getOutcome());
+        assertEquals(Outcome.INVALID_TOKEN, mealTicketGateService.verify(null, "정문 게이트").getOutcome());
+        // 거절된 토큰은 사용 표시하지 않음
+        assertEquals(Outcome.ACCEPTED, mealTicketGateService.verify(token, "정문 게이트").getOutcome());
+    }
+
+    @Test
+    void 다른_경로에서_먼저_사용된_식권은_반영할_때_충돌로_집계한다() {
+        MealTicket ticket = issueTicket();
+        // 다른 노드에서 사용 처리된 상황 (이 노드의 비트맵은 모름)
+        transactionTemplate.executeWithoutResult(status ->
+                mealTicketRepository.useIfUnused(ticket.getTicketId(), "다른 노드", LocalDateTime.now()));
+        double conflictsBefore = conflicts();
+
+        assertEquals(Outcome.ACCEPTED,
+                mealTicketGateService.verify(mealTicketTokenService.mint(ticket), "정문 게이트").getOutcome());
+        mealTicketRedemptionWriter.flush();
+
+        assertEquals(conflictsBefore + 1, conflicts());
+        assertEquals("다른 노드", mealTicketRepository.findById(ticket.getTicketId()).orElseThrow().getUsedLocation());
+    }
+
+    @Test
+    void 일괄_사용_처리는_항목별_결과를_요청_순서대로_돌려준다() {
+        MealTicket byToken = issueTicket();
+        MealTicket byId = issueTicket();
+        MealTicket usedElsewhere = issueTicket();
+        transactionTemplate.executeWithoutResult(status ->
+                mealTicketRepository.useIfUnused(usedElsewhere.getTicketId(), "다른 노드", LocalDateTime.now()));
+        LocalDateTime scannedAt = LocalDateTime.now().minusMinutes(3).withNano(0);
+
+        List<TicketRedemptionResult> results = mealTicketGateService.redeemBatch(List.of(
+                TicketRedemptionItem.builder().token(mealTicketTokenService.mint(byToken)).build(),
+                TicketRedemptionItem.builder().ticketId(byId.getTicketId()).usedAt(scannedAt).build(),
+                TicketRedemptionItem.builder().ticketId(byId.getTicketId()).build(),
+                TicketRedemptionItem.builder().ticketId(usedElsewhere.getTicketId()).build(),
+                TicketRedemptionItem.builder().ticketId(-1L).build(),
+                TicketRedemptionItem.builder().token("not-a-token").build()
+        ), "정문 게이트");
+
+        assertEquals(List.of(Outcome.ACCEPTED, Outcome.ACCEPTED, Outcome.ALREADY_USED, Outcome.ALREADY_USED,
+                        Outcome.NOT_FOUND, Outcome.INVALID_TOKEN),
+                results.stream().map(TicketRedemptionResult::getOutcome).collect(Collectors.toList()));
+        assertEquals(byToken.getTicketId(), results.get(0).getTicketId());
+        assertNull(results.get(5).getTicketId());
+
+        // 일괄 쓰기를 기다리지 않고 바로 반영됨
+        assertTrue(mealTicketRepository.findById(byToken.getTicketId()).orElseThrow().getIsUsed());
+        MealTicket used = mealTicketRepository.findById(byId.getTicketId()).orElseThrow();
+        assertEquals(scannedAt, used.getUsedAt());
+        assertEquals("정문 게이트", used.getUsedLocation());
+        assertEquals("다른 노드", mealTicketRepository.findById(usedElsewhere.getTicketId()).orElseThrow().getUsedLocation());
+
+        // 같은 스캔을 재전송해도 다시 반영되지 않음
+        assertEquals(Outcome.ALREADY_USED, mealTicketGateService.redeemBatch(
+                List.of(TicketRedemptionItem.builder().ticketId(byId.getTicketId()).build()), "정문 게이트")
+                .get(0).getOutcome());
+    }
+
+    @Test
+    void 일괄_사용_처리_항목_수를_제한한다() {
+        assertThrows(IllegalArgumentException.class, () -> mealTicketGateService.redeemBatch(List.of(), "정문 게이트"));
+        List<TicketRedemptionItem> tooMany = java.util.stream.LongStream.range(0, 201)
+                .mapToObj(id -> TicketRedemptionItem.builder().ticketId(id).build())
+                .collect(Collectors.toList());
+        assertThrows(IllegalArgumentException.class, () -> mealTicketGateService.redeemBatch(tooMany, "정문 게이트"));
+    }
+
+    private double conflicts() {
+        return meterRegistry.get("bapsim.meal-ticket.redemption.written").tag("result", "conflict").counter().count();
+    }
+
+    private MealTicket issueTicket() {
+        return mealTicketRepository.save(MealTicket.builder()
+                .paymentId(1L)
+                .userNo(1L)
+                .menuType("A")
+                .menuName("한식")
+                .amount(6000)
+                .issuedAt(LocalDateTime.now().withNano(0))
+                .build());
+    }
+}
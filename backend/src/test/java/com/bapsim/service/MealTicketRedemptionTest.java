@@ -0,0 +1,198 @@
+package com.bapsim.service;
+
+import com.bapsim.entity.MealTicket;
+import com.bapsim.repository.MealTicketRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 식권 사용 처리 동시성 테스트
+ * 같은 식권을 여러 게이트에서 동시에 스캔해도 한 번만 사용 처리되는지 확인하고,
+ * 게이트 대기열을 흉내 내 사용 처리 처리량(초당 스캔 수)과 스캔당 실행 문장 수를 측정한다
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    // 스케줄 작업의 조회가 문장 수 측정에 섞이지 않도록 주기를 늘림
+    "bapsim.payment.recovery.interval-ms=3600000",
+    "bapsim.payment.outbox.poll-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class MealTicketRedemptionTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MealTicketRedemptionTest.class);
+
+    private static final int SCANNERS = 32;
+    private static final int GATES = 4;
+    private static final int QUEUED_TICKETS = 500;
+    // 한 식권을 몇 번 스캔하는지 (중복 스캔은 거절되어야 함)
+    private static final int SCANS_PER_TICKET = 2;
+
+    @Autowired
+    private MealTicketService mealTicketService;
+
+    @Autowired
+    private MealTicketRepository mealTicketRepository;
+
+    @Autowired
+    private MealTicketGateService mealTicketGateService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        mealTicketRepository.deleteAll();
+    }
+
+    @Test
+    void 같은_식권을_동시에_사용하면_한_번만_성공한다() throws Exception {
+        Long ticketId = issueTicket(1L).getTicketId();
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(SCANNERS);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < SCANNERS; i++) {
+                String location = "게이트-" + i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        mealTicketService.useTicket(ticketId, location);
+                        succeeded.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        assertTrue(e.getMessage().contains("이미 사용된 식권입니다"), e.getMessage());
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, succeeded.get());
+        assertEquals(SCANNERS - 1, rejected.get());
+        MealTicket ticket = mealTicketRepository.findById(ticketId).orElseThrow();
+        assertTrue(ticket.getIsUsed());
+        assertNotNull(ticket.getUsedAt());
+        assertTrue(ticket.getUsedLocation().startsWith("게이트-"));
+    }
+
+    @Test
+    void 없는_식권은_사용할_수_없다() {
+        RuntimeException e = assertThrows(RuntimeException.class, () -> mealTicketService.useTicket(-1L, "게이트"));
+
+        assertTrue(e.getMessage().contains("식권을 찾을 수 없습니다"), e.getMessage());
+    }
+
+    @Test
+    void 없는_식권_사용_시도는_사용_표시를_남기지_않는다() {
+        // 아직 발행되지 않은 ID
+        Long ticketId = issueTicket(1L).getTicketId() + 1_000;
+
+        assertFalse(mealTicketService.redeem(ticketId, "게이트"));
+        assertFalse(mealTicketGateService.isSpent(ticketId));
+
+        // 이미 사용된 식권은 표시를 유지해 DB를 보지 않고 거절
+        Long usedId = issueTicket(2L).getTicketId();
+        assertTrue(mealTicketService.redeem(usedId, "게이트"));
+        assertFalse(mealTicketService.redeem(usedId, "게이트"));
+        assertTrue(mealTicketGateService.isSpent(usedId));
+    }
+
+    @Test
+    void 게이트_대기열_처리량() throws Exception {
+        // 식권마다 두 번씩 대기열에 넣어 같은 식권이 여러 게이트에 동시에 찍히는 상황을 만든다
+        ConcurrentLinkedQueue<Long> queue = new ConcurrentLinkedQueue<>();
+        List<Long> ticketIds = new ArrayList<>();
+        for (int i = 0; i < QUEUED_TICKETS; i++) {
+            ticketIds.add(issueTicket(i % 50).getTicketId());
+        }
+        for (int scan = 0; scan < SCANS_PER_TICKET; scan++) {
+            queue.addAll(ticketIds);
+        }
+        int scans = queue.size();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        AtomicInteger succeeded = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(GATES);
+
+        long startedAt;
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int gate = 0; gate < GATES; gate++) {
+                String location = "게이트-" + gate;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    Long ticketId;
+                    while ((ticketId = queue.poll()) != null) {
+                        if (mealTicketService.redeem(ticketId, location)) {
+                            succeeded.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+
+        long statements = statistics.getPrepareStatementCount();
+        log.info("게이트 {}개, 스캔 {}건 (식권 {}장): 소요 {}ms, 초당 {}건, 스캔당 {}us, 스캔당 문장 {}",
+                GATES, scans, QUEUED_TICKETS, elapsedNanos / 1_000_000,
+                String.format("%.0f", scans * 1_000_000_000.0 / elapsedNanos),
+                elapsedNanos / 1_000 / scans,
+                String.format("%.2f", (double) statements / scans));
+
+        assertEquals(QUEUED_TICKETS, succeeded.get());
+        assertEquals(0, mealTicketRepository.findAll().stream().filter(MealTicket::isAvailable).count());
+        // 조회 없이 사용 처리당 UPDATE 한 문장, 중복 스캔은 사용 비트맵에서 거절되어 문장이 없음
+        assertEquals(QUEUED_TICKETS, statements);
+    }
+
+    private MealTicket issueTicket(long userNo) {
+        return mealTicketRepository.save(MealTicket.builder()
+                .paymentId(userNo)
+                .userNo(userNo)
+                .menuType("A")
+                .menuName("한식")
+                .amount(6000)
+                .issuedAt(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,191 @@
+package com.bapsim.service;
+
+import com.bapsim.dto.WalletTicketDto;
+import com.bapsim.entity.MealTicket;
+import com.bapsim.entity.MenuPrice;
+import com.bapsim.repository.MealTicketRepository;
+import com.bapsim.repository.MenuPriceRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 식권 지갑 캐시 테스트
+ * 두 번째 조회부터 DB를 읽지 않고, 발행/사용 처리가 캐시된 지갑에 바로 반영되며, 사용자 수가 제한되는지 확인
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "bapsim.meal-ticket.wallet.max-users=2",
+    "bapsim.meal-ticket.redemption.flush-interval-ms=3600000",
+    "bapsim.payment.recovery.interval-ms=3600000",
+    "bapsim.payment.outbox.poll-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class MealTicketWalletCacheTest {
+
+    private static final long ID_OFFSET = 3_000_000L;
+
+    @Autowired
+    private MealTicketService mealTicketService;
+
+    @Autowired
+    private MealTicketGateService mealTicketGateService;
+
+    @Autowired
+    private MealTicketTokenService mealTicketTokenService;
+
+    @Autowired
+    private MealTicketRepository mealTicketRepository;
+
+    @Autowired
+    private MenuPriceRepository menuPriceRepository;
+
+    @Autowired
+    private MenuPriceService menuPriceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mealTicketRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM Payment WHERE PAYMENT_ID >= ?", ID_OFFSET);
+        menuPriceRepository.deleteAll();
+        menuPriceService.rebuildSnapshot(LocalDate.now());
+    }
+
+    @Test
+    void 두_번째_조회부터는_DB를_읽지_않는다() {
+        MealTicket older = issueTicket(101L);
+        MealTicket newer = issueTicket(101L);
+
+        List<WalletTicketDto> first = mealTicketService.getWallet(101L);
+        statistics.clear();
+        List<WalletTicketDto> second = mealTicketService.getWallet(101L);
+
+        assertEquals(List.of(newer.getTicketId(), older.getTicketId()), ticketIds(first));
+        assertEquals(first, second);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(mealTicketTokenService.mint(newer), second.get(0).getToken());
+    }
+
+    @Test
+    void 사용된_식권은_캐시된_지갑에서_바로_빠진다() {
+        MealTicket byApi = issueTicket(102L);
+        MealTicket byGate = issueTicket(102L);
+        MealTicket unused = issueTicket(102L);
+        mealTicketService.getWallet(102L);
+
+        mealTicketService.useTicket(byApi.getTicketId(), "학생식당");
+        mealTicketGateService.verify(mealTicketTokenService.mint(byGate), "정문 게이트");
+        statistics.clear();
+
+        assertEquals(List.of(unused.getTicketId()), ticketIds(mealTicketService.getWallet(102L)));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void 발행된_식권은_캐시된_지갑에_바로_추가된다() {
+        MealTicket existing = issueTicket(103L);
+        assertEquals(List.of(existing.getTicketId()), ticketIds(mealTicketService.getWallet(103L)));
+        seedCompletedPayment(ID_OFFSET, 103L);
+
+        MealTicket issued = mealTicketService.issueTicketAfterPaymentInNewTransaction(ID_OFFSET);
+        statistics.clear();
+        List<WalletTicketDto> wallet = mealTicketService.getWallet(103L);
+
+        assertEquals(List.of(issued.getTicketId(), existing.getTicketId()), ticketIds(wallet));
+        assertEquals(issued.getToken(), wallet.get(0).getToken());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void 최근에_조회하지_않은_사용자부터_캐시에서_밀려난다() {
+        issueTicket(201L);
+        issueTicket(202L);
+        issueTicket(203L);
+        double missesBefore = requests("miss");
+
+        mealTicketService.getWallet(201L);
+        mealTicketService.getWallet(202L);
+        mealTicketService.getWallet(201L); // 201이 최근 사용으로 갱신됨
+        mealTicketService.getWallet(203L); // 202가 밀려남
+        mealTicketService.getWallet(201L);
+        assertEquals(missesBefore + 3, requests("miss"));
+
+        mealTicketService.getWallet(202L);
+        assertEquals(missesBefore + 4, requests("miss"));
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("bapsim.meal-ticket.wallet.requests").tag("result", result).counter().count();
+    }
+
+    private static List<Long> ticketIds(List<WalletTicketDto> wallet) {
+        return wallet.stream().map(WalletTicketDto::getTicketId).collect(Collectors.toList());
+    }
+
+    private MealTicket issueTicket(long userNo) {
+        return mealTicketRepository.save(MealTicket.builder()
+                .paymentId(userNo)
+                .userNo(userNo)
+                .menuType("A")
+                .menuName("한식")
+                .amount(6000)
+                .issuedAt(LocalDateTime.now().withNano(0))
+                .build());
+    }
+
+    private void seedCompletedPayment(long paymentId, long userNo) {
+        LocalDateTime now = LocalDateTime.now();
+        MenuPrice menuPrice = new MenuPrice();
+        menuPrice.setKind("A");
+        menuPrice.setMealType("한식");
+        menuPrice.setPrice(6000L);
+        menuPrice.setEffectiveDate(LocalDate.now());
+        menuPrice.setIsActive(true);
+        menuPrice.setCreatedId("test");
+        menuPrice.setCreatedAt(now);
+        menuPrice.setUpdatedId("test");
+        menuPrice.setUpdatedAt(now);
+        menuPriceRepository.save(menuPrice);
+        menuPriceService.rebuildSnapshot(LocalDate.now());
+
+        // 회원/메뉴 없이 결제 행만 넣음
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        jdbcTemplate.update("INSERT INTO Payment (PAYMENT_ID, USER_NO, MENU_ID, MENU_TYPE, AMOUNT, PAYMENT_STATUS, " +
+                "PAYMENT_METHOD, PIN_VERIFIED, TRANSACTION_ID, CREATED_AT) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                paymentId, userNo, 1L, "A", 6000, "COMPLETED", "CARD", true, "TXN_WALLET_" + paymentId,
+                Timestamp.valueOf(now));
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+    }
+}
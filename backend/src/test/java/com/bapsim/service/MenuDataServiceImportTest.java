@@ -0,0 +1,91 @@
+package com.bapsim.service;
+
+import com.bapsim.dto.MenuImportResult;
+import com.bapsim.entity.MenuImportCheckpoint;
+import com.bapsim.repository.FoodRepository;
+import com.bapsim.repository.MenuImportCheckpointRepository;
+import com.bapsim.repository.MenuRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 메뉴 JSON 스트리밍 적재 테스트
+ * 배치 단위 저장, 체크포인트에서 이어서 적재, 파일이 바뀐 경우 처음부터 적재하는지 확인
+ */
+@SpringBootTest(properties = "bapsim.menu.import.batch-size=2")
+@ActiveProfiles("test")
+class MenuDataServiceImportTest {
+
+    private static final String SOURCE = "data/menus/import_sample.json";
+    private static final int SAMPLE_MENUS = 5;
+
+    @Autowired
+    private MenuDataService menuDataService;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private FoodRepository foodRepository;
+
+    @Autowired
+    private MenuImportCheckpointRepository checkpointRepository;
+
+    @AfterEach
+    void tearDown() {
+        checkpointRepository.deleteAll();
+        menuRepository.deleteAll();
+    }
+
+    @Test
+    void 파일_전체를_배치로_나눠_저장하고_체크포인트를_지운다() {
+        MenuImportResult result = menuDataService.loadMenuDataFromJson(SOURCE);
+
+        assertEquals(SAMPLE_MENUS, result.getImportedRows());
+        assertEquals(0, result.getResumedRows());
+        assertTrue(result.getRowsPerSecond() > 0);
+        assertEquals(SAMPLE_MENUS, menuRepository.count());
+        assertEquals(SAMPLE_MENUS, foodRepository.count());
+        assertFalse(checkpointRepository.existsById(SOURCE));
+    }
+
+    @Test
+    void 체크포인트가_있으면_이어서_적재한다() throws IOException {
+        saveCheckpoint(new ClassPathResource(SOURCE).contentLength(), 3);
+
+        MenuImportResult result = menuDataService.loadMenuDataFromJson(SOURCE);
+
+        assertEquals(3, result.getResumedRows());
+        assertEquals(SAMPLE_MENUS - 3, result.getImportedRows());
+        assertEquals(SAMPLE_MENUS - 3, menuRepository.count());
+        assertFalse(checkpointRepository.existsById(SOURCE));
+    }
+
+    @Test
+    void 파일이_바뀌었으면_체크포인트를_무시한다() {
+        saveCheckpoint(1L, 3);
+
+        MenuImportResult result = menuDataService.loadMenuDataFromJson(SOURCE);
+
+        assertEquals(0, result.getResumedRows());
+        assertEquals(SAMPLE_MENUS, result.getImportedRows());
+    }
+
+    private void saveCheckpoint(long sourceSize, int importedCount) {
+        checkpointRepository.save(MenuImportCheckpoint.builder()
+                .source(SOURCE)
+                .sourceSize(sourceSize)
+                .importedCount(importedCount)
+                .updatedAt(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,156 @@
+package com.bapsim.service;
+
+import com.bapsim.entity.Cafeterias;
+import com.bapsim.entity.Menus;
+import com.bapsim.entity.University;
+import com.bapsim.repository.CafeteriasRepository;
+import com.bapsim.repository.MenuRepository;
+import com.bapsim.repository.UniversityRepository;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 메뉴 연관관계 fetch 계획 테스트
+ * 메뉴 한 건을 읽을 때 학식당의 메뉴 이력 전체가 딸려 오지 않는지 확인
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class MenuFetchPlanTest {
+
+    private static final int HISTORY_DAYS = 60;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private CafeteriasRepository cafeteriasRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    private TransactionTemplate transactionTemplate;
+    private Long cafeNo;
+    private Long menuNo;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        LocalDateTime now = LocalDateTime.now();
+
+        University university = new University();
+        university.setUniName("테스트대학교");
+        university = universityRepository.save(university);
+
+        Cafeterias cafeteria = new Cafeterias();
+        cafeteria.setUniId(university.getUniId());
+        cafeteria.setBuildName("학생식당");
+        cafeteria.setPhoneNo(20000000L);
+        cafeteria.setOpenTime(now);
+        cafeteria.setCloseTime(now);
+        cafeteria.setRunYn("Y");
+        cafeteria.setDelYn("N");
+        cafeteria.setVisitor(0L);
+        cafeteria.setCreatedId("test");
+        cafeteria.setCreatedAt(now);
+        cafeteria.setUpdatedId("test");
+        cafeteria.setUpdatedAt(now);
+        cafeNo = cafeteriasRepository.save(cafeteria).getCafeNo();
+
+        // 메뉴 이력이 쌓인 학식당
+        LocalDate today = LocalDate.now();
+        for (int day = HISTORY_DAYS; day >= 0; day--) {
+            Menus menu = new Menus();
+            menu.setKind("A");
+            menu.setMealType("한식");
+            menu.setIsSignature(false);
+            menu.setSoldOut(false);
+            menu.setCafeNo(cafeNo);
+            menu.setMenuDate(today.minusDays(day));
+            menu.setCreatedId("test");
+            menu.setCreatedAt(now);
+            menu.setUpdatedId("test");
+            menu.setUpdatedAt(now);
+            menuNo = menuRepository.save(menu).getMenuNo();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        menuRepository.deleteAll();
+        cafeteriasRepository.deleteAll();
+        universityRepository.deleteAll();
+    }
+
+    @Test
+    void 메뉴만_조회하면_학식당은_읽지_않는다() {
+        Statistics statistics = clearedStatistics();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Menus menu = menuRepository.findById(menuNo).orElseThrow();
+
+            assertEquals(cafeNo, menu.getCafeNo());
+            assertFalse(Hibernate.isInitialized(menu.getCafeteria()));
+        });
+
+        assertEquals(1, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void 학식당을_함께_조회해도_메뉴_이력은_읽지_않는다() {
+        Statistics statistics = clearedStatistics();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Menus menu = menuRepository.findWithPlaceByMenuNo(menuNo).orElseThrow();
+
+            assertTrue(Hibernate.isInitialized(menu.getCafeteria()));
+            assertEquals("학생식당", menu.getCafeteria().getBuildName());
+            assertFalse(Hibernate.isInitialized(menu.getCafeteria().getMenus()));
+        });
+
+        // 메뉴 + 학식당 (메뉴 이력 HISTORY_DAYS건은 로드하지 않음)
+        assertEquals(2, statistics.getEntityLoadCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void 학식당의_메뉴_목록은_필요할_때_한_번에_읽는다() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Cafeterias cafeteria = cafeteriasRepository.findById(cafeNo).orElseThrow();
+            assertFalse(Hibernate.isInitialized(cafeteria.getMenus()));
+
+            Statistics statistics = clearedStatistics();
+            assertEquals(HISTORY_DAYS + 1, cafeteria.getMenus().size());
+            assertEquals(1, statistics.getCollectionLoadCount());
+            assertEquals(1, statistics.getPrepareStatementCount());
+        });
+    }
+
+    private Statistics clearedStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,95 @@
+package com.bapsim.service;
+
+import com.bapsim.dto.MenuImportRecord;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MenuJsonStreamReaderTest {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Test
+    void 기존_메뉴_파일을_그대로_읽는다() throws IOException {
+        try (InputStream inputStream = new ClassPathResource("data/menus/cafeteria_menus.json").getInputStream();
+             MenuJsonStreamReader reader = new MenuJsonStreamReader(jsonFactory, inputStream)) {
+            MenuImportRecord first = reader.next();
+
+            assertEquals("C", first.getKind());
+            assertEquals("도시락", first.getMealType());
+            assertTrue(first.getIsSignature());
+            assertEquals(1L, first.getCafeNo());
+            assertNull(first.getResNo());
+            assertEquals(LocalDate.of(2025, 8, 25), first.getMenuDate());
+            assertEquals("두부스테이크+칠리소스", first.getFood().getMenuName());
+            assertEquals(450L, first.getFood().getKcal());
+            assertEquals("대두(두부)", first.getFood().getAllergyInfo());
+
+            int count = 1;
+            while (reader.next() != null) {
+                count++;
+            }
+            assertEquals(9, count);
+            assertEquals(9, reader.getPosition());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void 값_형식이_달라도_기존_기본값_규칙대로_매핑한다() throws IOException {
+        try (InputStream inputStream = new ClassPathResource("data/menus/import_sample.json").getInputStream();
+             MenuJsonStreamReader reader = new MenuJsonStreamReader(jsonFactory, inputStream)) {
+            reader.next();
+
+            // 문자열 boolean/숫자, 알 수 없는 배열 필드
+            MenuImportRecord second = reader.next();
+            assertTrue(second.getIsSignature());
+            assertEquals(780L, second.getFood().getKcal());
+            assertEquals("", second.getFood().getContent());
+
+            // null 값은 없는 것으로 처리
+            MenuImportRecord third = reader.next();
+            assertNull(third.getFood().getPhotoPath());
+            assertFalse(third.getSoldOut());
+
+            reader.next();
+
+            // 누락 필드는 기본값, 잘못된 날짜는 null
+            MenuImportRecord fifth = reader.next();
+            assertEquals("A", fifth.getKind());
+            assertNull(fifth.getMenuDate());
+            assertEquals(0L, fifth.getFood().getKcal());
+            assertEquals("한식", fifth.getFood().getCategory());
+        }
+    }
+
+    @Test
+    void 건너뛴_뒤_다음_메뉴부터_읽는다() throws IOException {
+        try (InputStream inputStream = new ClassPathResource("data/menus/import_sample.json").getInputStream();
+             MenuJsonStreamReader reader = new MenuJsonStreamReader(jsonFactory, inputStream)) {
+            assertEquals(3, reader.skip(3));
+            assertEquals(3, reader.getPosition());
+            assertEquals("김치찌개", reader.next().getFood().getMenuName());
+
+            // 남은 수보다 많이 건너뛰면 남은 만큼만
+            assertEquals(1, reader.skip(10));
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void 배열이_아니면_예외() {
+        InputStream inputStream = new ByteArrayInputStream("{\"kind\":\"A\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(JsonParseException.class, () -> new MenuJsonStreamReader(jsonFactory, inputStream));
+    }
+}
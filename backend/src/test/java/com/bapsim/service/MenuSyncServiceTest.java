@@ -0,0 +1,126 @@
+package com.bapsim.service;
+
+import com.bapsim.dto.MenuDTO;
+import com.bapsim.dto.MenuSyncResult;
+import com.bapsim.repository.FoodRepository;
+import com.bapsim.repository.MenuRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 메뉴 증분 동기화 테스트
+ * 바뀐 메뉴만 추가/수정/삭제 표시하고, 다시 실행해도 중복이 생기지 않는지 확인
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class MenuSyncServiceTest {
+
+    private static final String DAY1 = "data/menus/sync_day1.json";
+    private static final String DAY2 = "data/menus/sync_day2.json";
+    private static final LocalDate MONDAY = LocalDate.of(2025, 9, 1);
+
+    @Autowired
+    private MenuSyncService menuSyncService;
+
+    @Autowired
+    private MenuDataService menuDataService;
+
+    @Autowired
+    private MenuService menuService;
+
+    @Autowired
+    private WeeklyMenuViewService weeklyMenuViewService;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private FoodRepository foodRepository;
+
+    @AfterEach
+    void tearDown() {
+        weeklyMenuViewService.invalidateAll();
+        menuRepository.deleteAll();
+    }
+
+    @Test
+    void 같은_피드를_다시_동기화하면_아무것도_바뀌지_않는다() {
+        MenuSyncResult first = menuSyncService.syncMenuDataFromJson(DAY1);
+        assertEquals(4, first.getInserted());
+
+        MenuSyncResult second = menuSyncService.syncMenuDataFromJson(DAY1);
+
+        assertEquals(0, second.getInserted());
+        assertEquals(0, second.getUpdated());
+        assertEquals(0, second.getDeleted());
+        assertEquals(4, second.getUnchanged());
+        assertEquals(4, menuRepository.count());
+        assertEquals(4, foodRepository.count());
+    }
+
+    @Test
+    void 바뀐_메뉴만_추가_수정_삭제한다() {
+        menuSyncService.syncMenuDataFromJson(DAY1);
+        String eTag = weeklyMenuViewService.getView(MONDAY, null).getETag();
+
+        MenuSyncResult result = menuSyncService.syncMenuDataFromJson(DAY2);
+
+        // A: 칼로리 변경, B/9월 2일 A: 그대로, C: 피드에서 빠짐, D: 신규
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getUpdated());
+        assertEquals(1, result.getDeleted());
+        assertEquals(2, result.getUnchanged());
+
+        List<MenuDTO> menus = menuService.getMenusByDate(MONDAY);
+        assertEquals(List.of("A", "B", "D"),
+                menus.stream().map(MenuDTO::getKind).sorted().collect(Collectors.toList()));
+        MenuDTO updated = menus.stream().filter(menu -> "A".equals(menu.getKind())).findFirst().orElseThrow();
+        assertEquals(480L, updated.getKcal());
+
+        // 삭제 표시만 하고 행은 유지, 음식은 메뉴당 한 건
+        assertEquals(5, menuRepository.count());
+        assertEquals(5, foodRepository.count());
+
+        // 바뀐 주의 주간 식단 뷰는 다시 만들어짐
+        assertNotEquals(eTag, weeklyMenuViewService.getView(MONDAY, null).getETag());
+    }
+
+    @Test
+    void 삭제_표시된_메뉴가_피드에_다시_나오면_복구한다() {
+        menuSyncService.syncMenuDataFromJson(DAY1);
+        menuSyncService.syncMenuDataFromJson(DAY2);
+
+        MenuSyncResult result = menuSyncService.syncMenuDataFromJson(DAY1);
+
+        // A: 칼로리 원복, C: 복구, D: 삭제
+        assertEquals(0, result.getInserted());
+        assertEquals(2, result.getUpdated());
+        assertEquals(1, result.getDeleted());
+        assertEquals(List.of("A", "B", "C"),
+                menuService.getMenusByDate(MONDAY).stream().map(MenuDTO::getKind).sorted().collect(Collectors.toList()));
+        assertEquals(5, menuRepository.count());
+    }
+
+    @Test
+    void 전체_재적재로_생긴_중복_메뉴는_하나만_남긴다() {
+        menuDataService.loadMenuDataFromJson(DAY1);
+        menuDataService.loadMenuDataFromJson(DAY1);
+        assertEquals(6, menuService.getMenusByDate(MONDAY).size());
+
+        MenuSyncResult result = menuSyncService.syncMenuDataFromJson(DAY1);
+
+        assertEquals(0, result.getInserted());
+        assertEquals(4, result.getDeleted());
+        assertEquals(4, result.getUnchanged());
+        assertEquals(3, menuService.getMenusByDate(MONDAY).size());
+    }
+}
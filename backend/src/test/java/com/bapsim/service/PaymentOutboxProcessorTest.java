@@ -0,0 +1,277 @@
+package com.bapsim.service;
+
+import com.bapsim.entity.Member;
+import com.bapsim.entity.MenuPrice;
+import com.bapsim.entity.Menus;
+import com.bapsim.entity.Payment;
+import com.bapsim.entity.PaymentOutbox;
+import com.bapsim.entity.PaymentOutbox.Status;
+import com.bapsim.entity.PointHistory;
+import com.bapsim.entity.University;
+import com.bapsim.repository.MealTicketRepository;
+import com.bapsim.repository.MemberRepository;
+import com.bapsim.repository.MenuPriceRepository;
+import com.bapsim.repository.MenuRepository;
+import com.bapsim.repository.PaymentOutboxRepository;
+import com.bapsim.repository.PaymentRepository;
+import com.bapsim.repository.PointHistoryRepository;
+import com.bapsim.repository.UniversityRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 결제 후속 처리 outbox 테스트
+ * 후속 처리가 실패하면 백오프 후 재시도되고, 같은 항목을 다시 실행하거나 동시에 실행해도
+ * 포인트 적립과 식권 발행이 결제당 한 번만 일어나는지 확인
+ */
+@SpringBootTest(properties = {
+    "bapsim.payment.outbox.max-attempts=3",
+    // 스케줄 작업이 테스트 도중 끼어들지 않도록 주기를 늘림
+    "bapsim.payment.recovery.interval-ms=3600000",
+    "bapsim.payment.outbox.poll-interval-ms=3600000",
+    "bapsim.meal-ticket.redemption.flush-interval-ms=3600000",
+    "bapsim.archive.initial-delay-ms=3600000"
+})
+@ActiveProfiles("test")
+class PaymentOutboxProcessorTest {
+
+    // 다른 테스트의 가격표와 겹치지 않는 메뉴 종류 (가격이 없으면 식권 발행이 실패함)
+    private static final String MENU_KIND = "Z";
+    private static final int AMOUNT = 6000;
+    private static final int EARNED_POINTS = 120;
+
+    @Autowired
+    private PaymentOutboxProcessor paymentOutboxProcessor;
+
+    @Autowired
+    private PaymentOutboxRepository paymentOutboxRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PointHistoryRepository pointHistoryRepository;
+
+    @Autowired
+    private MealTicketRepository mealTicketRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private MenuPriceRepository menuPriceRepository;
+
+    @Autowired
+    private MenuPriceService menuPriceService;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    private Member member;
+    private Menus menu;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+
+        University university = new University();
+        university.setUniName("테스트대학교");
+        university = universityRepository.save(university);
+
+        member = new Member();
+        member.setUniId(university.getUniId());
+        member.setUserId("outbox-user");
+        member.setUserPass("password");
+        member.setUserName("테스트");
+        member.setUserType("STUDENT");
+        member.setUserStatus("ACTIVE");
+        member.setUserPin("1234");
+        member.setPointBalance(0);
+        member.setCreatedId("test");
+        member.setCreatedAt(now);
+        member.setUpdatedId("test");
+        member.setUpdatedAt(now);
+        member = memberRepository.save(member);
+
+        menu = new Menus();
+        menu.setKind(MENU_KIND);
+        menu.setMealType("한식");
+        menu.setIsSignature(false);
+        menu.setSoldOut(false);
+        menu.setMenuDate(LocalDate.now());
+        menu.setCreatedId("test");
+        menu.setCreatedAt(now);
+        menu.setUpdatedId("test");
+        menu.setUpdatedAt(now);
+        menu = menuRepository.save(menu);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mealTicketRepository.deleteAll();
+        paymentOutboxRepository.deleteAll();
+        pointHistoryRepository.deleteAll();
+        paymentRepository.deleteAll();
+        menuPriceRepository.deleteAll();
+        menuPriceService.rebuildSnapshot(LocalDate.now());
+        menuRepository.deleteAll();
+        memberRepository.deleteAll();
+        universityRepository.deleteAll();
+    }
+
+    @Test
+    void 후속_처리가_실패하면_백오프_후_재시도하고_포인트는_한_번만_적립한다() {
+        // 가격표가 없어 식권 발행 실패 (포인트 적립은 이미 커밋됨)
+        Long outboxId = completedPaymentOutbox();
+        LocalDateTime before = LocalDateTime.now();
+
+        paymentOutboxProcessor.process(outboxId);
+
+        PaymentOutbox failed = paymentOutboxRepository.findById(outboxId).orElseThrow();
+        assertEquals(Status.PENDING, failed.getStatus());
+        assertEquals(1, failed.getAttempts());
+        assertTrue(failed.getLastError().contains("식권 발행에 실패했습니다"), failed.getLastError());
+        assertTrue(failed.getNextAttemptAt().isAfter(before.plusSeconds(1)), failed.getNextAttemptAt().toString());
+        // 백오프 중인 항목은 폴링 대상이 아님
+        assertTrue(paymentOutboxRepository.findDue(Status.PENDING, before, PageRequest.of(0, 10)).isEmpty());
+        assertEquals(List.of(outboxId), dueIds(failed.getNextAttemptAt()));
+
+        createMenuPrice();
+        paymentOutboxProcessor.process(outboxId);
+
+        PaymentOutbox done = paymentOutboxRepository.findById(outboxId).orElseThrow();
+        assertEquals(Status.DONE, done.getStatus());
+        assertEquals(2, done.getAttempts());
+        assertTrue(mealTicketRepository.findByPaymentId(done.getPaymentId()).isPresent());
+        assertPostPaymentAppliedOnce(done.getPaymentId());
+    }
+
+    @Test
+    void 재시도_한도를_넘으면_FAILED로_남기고_다시_가져가지_않는다() {
+        Long outboxId = completedPaymentOutbox();
+
+        for (int i = 0; i < 3; i++) {
+            paymentOutboxProcessor.process(outboxId);
+        }
+        // 한도를 넘은 항목은 선점되지 않음
+        paymentOutboxProcessor.process(outboxId);
+
+        PaymentOutbox failed = paymentOutboxRepository.findById(outboxId).orElseThrow();
+        assertEquals(Status.FAILED, failed.getStatus());
+        assertEquals(3, failed.getAttempts());
+        assertTrue(dueIds(LocalDateTime.now().plusDays(1)).isEmpty());
+        assertTrue(mealTicketRepository.findByPaymentId(failed.getPaymentId()).isEmpty());
+    }
+
+    @Test
+    void 같은_항목을_다시_실행해도_식권과_포인트를_다시_지급하지_않는다() throws Exception {
+        createMenuPrice();
+        Long outboxId = completedPaymentOutbox();
+
+        // 동시에 실행하면 선점한 워커 하나만 처리
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                paymentOutboxProcessor.process(outboxId);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        PaymentOutbox done = paymentOutboxRepository.findById(outboxId).orElseThrow();
+        assertEquals(Status.DONE, done.getStatus());
+        assertEquals(1, done.getAttempts());
+        Long ticketId = mealTicketRepository.findByPaymentId(done.getPaymentId()).orElseThrow().getTicketId();
+
+        // 완료 기록 전에 워커가 중단되어 다시 대기 상태가 된 경우 (처리 중 항목 복구 후 재실행)
+        paymentOutboxRepository.updateResult(outboxId, Status.PENDING, LocalDateTime.now(), null, LocalDateTime.now());
+        paymentOutboxProcessor.process(outboxId);
+
+        PaymentOutbox rerun = paymentOutboxRepository.findById(outboxId).orElseThrow();
+        assertEquals(Status.DONE, rerun.getStatus());
+        assertEquals(2, rerun.getAttempts());
+        assertEquals(ticketId, mealTicketRepository.findByPaymentId(done.getPaymentId()).orElseThrow().getTicketId());
+        assertEquals(1, mealTicketRepository.findAll().size());
+        assertPostPaymentAppliedOnce(done.getPaymentId());
+    }
+
+    private void assertPostPaymentAppliedOnce(Long paymentId) {
+        List<PointHistory> history = pointHistoryRepository.findByPaymentId(paymentId);
+        assertEquals(1, history.size());
+        assertEquals(PointHistory.PointType.EARN, history.get(0).getPointType());
+        assertEquals(EARNED_POINTS, history.get(0).getPoints());
+        assertEquals(EARNED_POINTS, memberRepository.findById(member.getUserNo()).orElseThrow().getPointBalance());
+    }
+
+    private List<Long> dueIds(LocalDateTime now) {
+        List<Long> ids = new ArrayList<>();
+        paymentOutboxRepository.findDue(Status.PENDING, now, PageRequest.of(0, 10))
+                .forEach(entry -> ids.add(entry.getOutboxId()));
+        return ids;
+    }
+
+    private Long completedPaymentOutbox() {
+        Payment payment = new Payment();
+        payment.setUserNo(member.getUserNo());
+        payment.setMenuId(menu.getMenuNo());
+        payment.setMenuType(MENU_KIND);
+        payment.setAccountNo("9992453470888242");
+        payment.setAmount(AMOUNT);
+        payment.setOriginalPrice(AMOUNT);
+        payment.setUsePoints(false);
+        payment.setPointAmount(0);
+        payment.setPaymentMethod(Payment.PaymentMethod.CARD);
+        payment.setPaymentStatus(Payment.PaymentStatus.COMPLETED);
+        payment.setPinVerified(true);
+        payment.setTransactionId("TXN_OUTBOX_TEST");
+        payment.setSsafyTransactionId("WD-OUTBOX");
+        payment.setCreatedId("test");
+        payment.setUpdatedId("test");
+        payment = paymentRepository.save(payment);
+        return paymentOutboxRepository.save(PaymentOutbox.of(payment)).getOutboxId();
+    }
+
+    private void createMenuPrice() {
+        LocalDateTime now = LocalDateTime.now();
+        MenuPrice menuPrice = new MenuPrice();
+        menuPrice.setKind(MENU_KIND);
+        menuPrice.setMealType("한식");
+        menuPrice.setPrice((long) AMOUNT);
+        menuPrice.setEffectiveDate(LocalDate.now());
+        menuPrice.setIsActive(true);
+        menuPrice.setCreatedId("test");
+        menuPrice.setCreatedAt(now);
+        menuPrice.setUpdatedId("test");
+        menuPrice.setUpdatedAt(now);
+        menuPriceRepository.save(menuPrice);
+        menuPriceService.rebuildSnapshot(LocalDate.now());
+    }
+}
@@ -0,0 +1,418 @@
+package com.bapsim.service;
+
+import com.bapsim.dto.PaymentRequestDto;
+import com.bapsim.dto.PaymentResponseDto;
+import com.bapsim.entity.Member;
+import com.bapsim.entity.MenuPrice;
+import com.bapsim.entity.Menus;
+import com.bapsim.entity.Payment;
+import com.bapsim.entity.PaymentIdempotency;
+import com.bapsim.entity.University;
+import com.bapsim.repository.MemberRepository;
+import com.bapsim.repository.MenuPriceRepository;
+import com.bapsim.repository.MenuRepository;
+import com.bapsim.repository.PaymentIdempotencyRepository;
+import com.bapsim.repository.PaymentOutboxRepository;
+import com.bapsim.repository.PaymentRepository;
+import com.bapsim.repository.PointHistoryRepository;
+import com.bapsim.repository.UniversityRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 로컬 SSAFY API 스텁을 상대로 한 결제 트랜잭션 경계 테스트
+ * 출금 API 호출 동안 DB 커넥션을 점유하지 않는지, 결과에 따라 결제가 확정/실패/복구되는지 확인
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PaymentServiceSsafyStubTest {
+
+    private static final String ACCOUNT_NO = "9992453470888242";
+
+    private static final HttpServer ssafyStub;
+
+    // 스텁 응답 제어 및 관찰 값
+    private static volatile String withdrawalResponseCode = "H0000";
+    private static volatile int withdrawalHttpStatus = 200;
+    private static volatile String historySummary = "";
+    private static volatile int activeConnectionsDuringWithdrawal = -1;
+    private static final AtomicInteger withdrawalCalls = new AtomicInteger();
+    private static volatile HikariDataSource hikariDataSource;
+
+    static {
+        try {
+            ssafyStub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ssafyStub.createContext("/demandDeposit/inquireDemandDepositAccountBalance", exchange ->
+                respond(exchange, "{\"Header\":{\"responseCode\":\"H0000\"},\"REC\":{\"accountBalance\":\"100000\"}}"));
+        ssafyStub.createContext("/demandDeposit/updateDemandDepositAccountWithdrawal", exchange -> {
+            withdrawalCalls.incrementAndGet();
+            // 출금 API 호출 시점에 요청 스레드가 커넥션을 들고 있는지 기록
+            activeConnectionsDuringWithdrawal = hikariDataSource.getHikariPoolMXBean().getActiveConnections();
+            respond(exchange, withdrawalHttpStatus, "{\"Header\":{\"responseCode\":\"" + withdrawalResponseCode + "\"},"
+                    + "\"REC\":{\"transactionUniqueNo\":\"STUB-WD-1\",\"transactionDate\":\"20250101\"}}");
+        });
+        ssafyStub.createContext("/demandDeposit/inquireTransactionHistoryList", exchange ->
+                respond(exchange, "{\"Header\":{\"responseCode\":\"H0000\"},\"REC\":{\"totalCount\":\"1\",\"list\":["
+                        + "{\"transactionUniqueNo\":\"STUB-WD-2\",\"transactionSummary\":\"" + historySummary + "\"}]}}"));
+        ssafyStub.start();
+    }
+
+    @DynamicPropertySource
+    static void ssafyProperties(DynamicPropertyRegistry registry) {
+        registry.add("ssafy.api.base-url", () -> "http://localhost:" + ssafyStub.getAddress().getPort());
+        // 스케줄 작업이 테스트 도중 끼어들지 않도록 주기를 늘림
+        registry.add("bapsim.payment.recovery.interval-ms", () -> "3600000");
+        registry.add("bapsim.payment.outbox.poll-interval-ms", () -> "3600000");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        ssafyStub.stop(0);
+    }
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentRecoveryService paymentRecoveryService;
+
+    @Autowired
+    private MenuPriceService menuPriceService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PaymentOutboxRepository paymentOutboxRepository;
+
+    @Autowired
+    private PointHistoryRepository pointHistoryRepository;
+
+    @Autowired
+    private PaymentIdempotencyRepository paymentIdempotencyRepository;
+
+    @Autowired
+    private PaymentIdempotencyService paymentIdempotencyService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private MenuPriceRepository menuPriceRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    // 후속 처리(포인트 적립, 식권 발행)는 이 테스트 범위 밖
+    @MockBean
+    private PaymentOutboxProcessor paymentOutboxProcessor;
+
+    private Member member;
+    private Menus menu;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        hikariDataSource = dataSource.unwrap(HikariDataSource.class);
+        withdrawalResponseCode = "H0000";
+        withdrawalHttpStatus = 200;
+        historySummary = "";
+        activeConnectionsDuringWithdrawal = -1;
+        withdrawalCalls.set(0);
+
+        LocalDateTime now = LocalDateTime.now();
+
+        University university = new University();
+        university.setUniName("테스트대학교");
+        university = universityRepository.save(university);
+
+        member = new Member();
+        member.setUniId(university.getUniId());
+        member.setUserId("stub-user");
+        member.setUserPass("password");
+        member.setUserName("테스트");
+        member.setUserType("STUDENT");
+        member.setUserStatus("ACTIVE");
+        member.setUserPin("1234");
+        member.setPointBalance(1000);
+        member.setCreatedId("test");
+        member.setCreatedAt(now);
+        member.setUpdatedId("test");
+        member.setUpdatedAt(now);
+        member = memberRepository.save(member);
+
+        menu = new Menus();
+        menu.setKind("A");
+        menu.setMealType("한식");
+        menu.setIsSignature(false);
+        menu.setSoldOut(false);
+        menu.setMenuDate(LocalDate.now());
+        menu.setCreatedId("test");
+        menu.setCreatedAt(now);
+        menu.setUpdatedId("test");
+        menu.setUpdatedAt(now);
+        menu = menuRepository.save(menu);
+
+        MenuPrice menuPrice = new MenuPrice();
+        menuPrice.setKind("A");
+        menuPrice.setMealType("한식");
+        menuPrice.setPrice(6000L);
+        menuPrice.setEffectiveDate(LocalDate.now());
+        menuPrice.setIsActive(true);
+        menuPrice.setCreatedId("test");
+        menuPrice.setCreatedAt(now);
+        menuPrice.setUpdatedId("test");
+        menuPrice.setUpdatedAt(now);
+        menuPriceRepository.save(menuPrice);
+        menuPriceService.rebuildSnapshot(LocalDate.now());
+    }
+
+    @AfterEach
+    void tearDown() {
+        paymentIdempotencyRepository.deleteAll();
+        paymentOutboxRepository.deleteAll();
+        pointHistoryRepository.deleteAll();
+        paymentRepository.deleteAll();
+        menuPriceRepository.deleteAll();
+        menuRepository.deleteAll();
+        memberRepository.deleteAll();
+        universityRepository.deleteAll();
+    }
+
+    @Test
+    void processPayment_출금_성공시_커넥션_없이_호출하고_결제를_확정한다() {
+        PaymentResponseDto response = paymentService.processPayment(request(false, 0));
+
+        assertNull(response.getErrorCode(), response.getErrorMessage());
+        assertEquals(0, activeConnectionsDuringWithdrawal);
+
+        Payment payment = paymentRepository.findById(response.getPaymentId()).orElseThrow();
+        assertEquals(Payment.PaymentStatus.COMPLETED, payment.getPaymentStatus());
+        assertEquals("STUB-WD-1", payment.getSsafyTransactionId());
+        assertTrue(paymentOutboxRepository.findByPaymentId(payment.getPaymentId()).isPresent());
+    }
+
+    @Test
+    void processPayment_출금_실패시_결제를_실패처리하고_포인트를_환원한다() {
+        withdrawalResponseCode = "A1014";
+
+        PaymentResponseDto response = paymentService.processPayment(request(true, 500));
+
+        assertEquals("SSAFY_API_ERROR", response.getErrorCode());
+        assertEquals(0, activeConnectionsDuringWithdrawal);
+
+        Payment payment = paymentRepository.findAll().get(0);
+        assertEquals(Payment.PaymentStatus.FAILED, payment.getPaymentStatus());
+        assertEquals(1000, memberRepository.findById(member.getUserNo()).orElseThrow().getPointBalance());
+        assertTrue(paymentOutboxRepository.findByPaymentId(payment.getPaymentId()).isEmpty());
+    }
+
+    @Test
+    void processPayment_출금_API가_5xx면_결제를_PENDING으로_두고_포인트를_환원하지_않는다() {
+        // 게이트웨이 타임아웃: 은행에서 출금이 처리되었을 수 있음
+        withdrawalHttpStatus = 504;
+
+        PaymentResponseDto response = paymentService.processPayment(request(true, 500));
+
+        assertEquals("PAYMENT_PENDING", response.getErrorCode());
+        assertEquals(1, withdrawalCalls.get());
+
+        Payment payment = paymentRepository.findAll().get(0);
+        assertEquals(Payment.PaymentStatus.PENDING, payment.getPaymentStatus());
+        // 예약 시 차감한 포인트가 그대로 (복구 작업이 거래내역을 확인하기 전까지 환원하지 않음)
+        assertEquals(500, memberRepository.findById(member.getUserNo()).orElseThrow().getPointBalance());
+        assertTrue(paymentOutboxRepository.findByPaymentId(payment.getPaymentId()).isEmpty());
+    }
+
+    @Test
+    void processPayment_같은_멱등_키로_다시_요청하면_출금_없이_저장된_응답을_반환한다() {
+        PaymentResponseDto first = paymentService.processPayment(request(false, 0), "key-1");
+        PaymentResponseDto second = paymentService.processPayment(request(false, 0), "key-1");
+
+        assertNull(first.getErrorCode(), first.getErrorMessage());
+        assertEquals(first.getPaymentId(), second.getPaymentId());
+        assertEquals(1, withdrawalCalls.get());
+        assertEquals(1, paymentRepository.count());
+    }
+
+    @Test
+    void processPayment_같은_멱등_키로_다른_결제를_요청하면_거절한다() {
+        paymentService.processPayment(request(false, 0), "key-2");
+        PaymentResponseDto second = paymentService.processPayment(request(true, 500), "key-2");
+
+        assertEquals("IDEMPOTENCY_KEY_MISMATCH", second.getErrorCode());
+        assertEquals(1, withdrawalCalls.get());
+    }
+
+    @Test
+    void processPayment_일시적_실패_후_같은_멱등_키로_재시도하면_결제를_진행한다() {
+        PaymentRequestDto request = request(false, 0);
+        // 잔액 조회 단계에서 은행 API 호출이 거절된 경우 (결제 예약 전)
+        PaymentResponseDto first = paymentIdempotencyService.execute(request, "key-3",
+                onReserved -> PaymentResponseDto.bankUnavailable());
+        PaymentResponseDto retry = paymentService.processPayment(request, "key-3");
+
+        assertEquals("BANK_API_UNAVAILABLE", first.getErrorCode());
+        assertNull(retry.getErrorCode(), retry.getErrorMessage());
+        assertEquals(1, withdrawalCalls.get());
+        assertEquals(PaymentIdempotency.Status.COMPLETED,
+                paymentIdempotencyRepository.findByUserNoAndIdempotencyKey(member.getUserNo(), "key-3").orElseThrow().getStatus());
+    }
+
+    @Test
+    void processPayment_출금_실패_후_같은_멱등_키로_재시도하면_결제를_진행한다() {
+        withdrawalResponseCode = "A1014";
+        PaymentResponseDto first = paymentService.processPayment(request(false, 0), "key-5");
+        withdrawalResponseCode = "H0000";
+        PaymentResponseDto retry = paymentService.processPayment(request(false, 0), "key-5");
+
+        assertEquals("SSAFY_API_ERROR", first.getErrorCode());
+        assertNull(retry.getErrorCode(), retry.getErrorMessage());
+        assertEquals(2, withdrawalCalls.get());
+        assertEquals(2, paymentRepository.count());
+    }
+
+    @Test
+    void processPayment_PIN을_잘못_입력한_뒤_같은_멱등_키로_재시도하면_결제를_진행한다() {
+        PaymentRequestDto wrongPin = request(false, 0);
+        wrongPin.setPin("9999");
+
+        PaymentResponseDto first = paymentService.processPayment(wrongPin, "key-6");
+        PaymentResponseDto retry = paymentService.processPayment(request(false, 0), "key-6");
+
+        assertEquals("PIN_VERIFICATION_FAILED", first.getErrorCode());
+        assertNull(retry.getErrorCode(), retry.getErrorMessage());
+        assertEquals(1, withdrawalCalls.get());
+    }
+
+    @Test
+    void recover_출금이_확인되면_처리_중인_멱등_키에_성공_응답을_저장한다() {
+        withdrawalHttpStatus = 504;
+        PaymentResponseDto first = paymentService.processPayment(request(false, 0), "key-7");
+        Payment pending = paymentRepository.findAll().get(0);
+        historySummary = "학식 결제 - A 메뉴 (" + pending.getTransactionId() + ")";
+
+        paymentRecoveryService.recover(pending);
+        PaymentResponseDto retry = paymentService.processPayment(request(false, 0), "key-7");
+
+        assertEquals("PAYMENT_PENDING", first.getErrorCode());
+        assertNull(retry.getErrorCode(), retry.getErrorMessage());
+        assertEquals(pending.getPaymentId(), retry.getPaymentId());
+        assertEquals("STUB-WD-2", retry.getSsafyTransactionId());
+        assertEquals(1, withdrawalCalls.get());
+    }
+
+    @Test
+    void recover_출금이_없으면_처리_중인_멱등_키를_해제한다() {
+        withdrawalHttpStatus = 504;
+        paymentService.processPayment(request(false, 0), "key-8");
+        Payment pending = paymentRepository.findAll().get(0);
+
+        paymentRecoveryService.recover(pending);
+        withdrawalHttpStatus = 200;
+        PaymentResponseDto retry = paymentService.processPayment(request(false, 0), "key-8");
+
+        assertEquals(Payment.PaymentStatus.FAILED, paymentRepository.findById(pending.getPaymentId()).orElseThrow().getPaymentStatus());
+        assertNull(retry.getErrorCode(), retry.getErrorMessage());
+        assertNotEquals(pending.getPaymentId(), retry.getPaymentId());
+        assertEquals(2, withdrawalCalls.get());
+    }
+
+    @Test
+    void processPayment_출금_결과를_모르면_같은_멱등_키로_다시_출금하지_않는다() {
+        withdrawalHttpStatus = 504;
+
+        PaymentResponseDto first = paymentService.processPayment(request(false, 0), "key-4");
+        withdrawalHttpStatus = 200;
+        PaymentResponseDto retry = paymentService.processPayment(request(false, 0), "key-4");
+
+        assertEquals("PAYMENT_PENDING", first.getErrorCode());
+        assertEquals("IDEMPOTENCY_KEY_IN_PROGRESS", retry.getErrorCode());
+        assertEquals(1, withdrawalCalls.get());
+        assertEquals(1, paymentRepository.count());
+    }
+
+    @Test
+    void recover_거래내역에_출금이_있으면_PENDING_결제를_확정한다() {
+        Payment payment = new Payment();
+        payment.setUserNo(member.getUserNo());
+        payment.setMenuId(menu.getMenuNo());
+        payment.setMenuType("A");
+        payment.setAccountNo(ACCOUNT_NO);
+        payment.setAmount(6000);
+        payment.setOriginalPrice(6000);
+        payment.setUsePoints(false);
+        payment.setPointAmount(0);
+        payment.setPaymentMethod(Payment.PaymentMethod.CARD);
+        payment.setPinVerified(true);
+        payment.setTransactionId("TXN_STUB_RECOVERY");
+        payment.setCreatedId("test");
+        payment.setUpdatedId("test");
+        payment = paymentRepository.save(payment);
+        historySummary = "학식 결제 - A 메뉴 (TXN_STUB_RECOVERY)";
+
+        paymentRecoveryService.recover(payment);
+
+        Payment recovered = paymentRepository.findById(payment.getPaymentId()).orElseThrow();
+        assertEquals(Payment.PaymentStatus.COMPLETED, recovered.getPaymentStatus());
+        assertEquals("STUB-WD-2", recovered.getSsafyTransactionId());
+    }
+
+    private PaymentRequestDto request(boolean usePoints, int pointAmount) {
+        PaymentRequestDto request = new PaymentRequestDto();
+        request.setUserNo(member.getUserNo());
+        request.setMenuId(menu.getMenuNo());
+        request.setMenuType("A");
+        request.setAmount(6000);
+        request.setPaymentMethod(Payment.PaymentMethod.CARD);
+        request.setPin("1234");
+        request.setAccountNo(ACCOUNT_NO);
+        request.setUsePoints(usePoints);
+        request.setPointAmount(pointAmount);
+        return request;
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        respond(exchange, 200, body);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.bapsim.service;
+
+import com.bapsim.dto.PaymentRequestDto;
+import com.bapsim.dto.PaymentValidationDto;
+import com.bapsim.entity.Member;
+import com.bapsim.entity.MenuPrice;
+import com.bapsim.entity.Menus;
+import com.bapsim.entity.Payment;
+import com.bapsim.entity.University;
+import com.bapsim.repository.MealTicketRepository;
+import com.bapsim.repository.MemberRepository;
+import com.bapsim.repository.MenuPriceRepository;
+import com.bapsim.repository.MenuRepository;
+import com.bapsim.repository.PaymentOutboxRepository;
+import com.bapsim.repository.PaymentRepository;
+import com.bapsim.repository.PointHistoryRepository;
+import com.bapsim.repository.SalesRollupDeltaRepository;
+import com.bapsim.repository.UniversityRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doNothing;
+
+/**
+ * 결제 쓰기 측정
+ * 운영 경로 그대로 결제 한 건씩 예약(Payment) → 확정(PaymentOutbox) → 후속 처리(Point_history, meal_tickets)를
+ * 각각의 트랜잭션으로 기록하며 단계별 실행 문장 수와 소요 시간을 Hibernate 통계로 측정한다
+ * 각 트랜잭션은 테이블마다 한 행만 쓰므로 JDBC 배치로 묶일 INSERT가 없고, 결제당 문장 수는 INSERT 수보다 줄지 않는다
+ * 변경 전(IDENTITY) 매핑의 같은 측정은 PaymentWriteIdentityBenchmarkTest
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    // 스케줄 작업이 측정 도중 문장을 실행하지 않도록 주기를 늘림
+    "bapsim.payment.recovery.interval-ms=3600000",
+    "bapsim.payment.outbox.poll-interval-ms=3600000",
+    "bapsim.payment.idempotency.purge-interval-ms=3600000",
+    "bapsim.meal-ticket.redemption.flush-interval-ms=3600000",
+    "bapsim.sales-rollup.apply-interval-ms=3600000",
+    "bapsim.archive.initial-delay-ms=3600000"
+})
+@ActiveProfiles("test")
+class PaymentWriteBatchBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentWriteBatchBenchmarkTest.class);
+
+    // 다른 테스트의 가격표와 겹치지 않는 메뉴 종류 (가격이 없으면 식권 발행이 실패함)
+    private static final String MENU_KIND = "W";
+    private static final int PRICE = 6000;
+    private static final int WARMUP_PAYMENTS = 50;
+    private static final int PAYMENTS = 200;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PaymentRecordService paymentRecordService;
+
+    // 커밋 직후 워커로 넘기지 않고 측정 스레드에서 직접 처리
+    @SpyBean
+    private PaymentOutboxProcessor paymentOutboxProcessor;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PaymentOutboxRepository paymentOutboxRepository;
+
+    @Autowired
+    private PointHistoryRepository pointHistoryRepository;
+
+    @Autowired
+    private MealTicketRepository mealTicketRepository;
+
+    @Autowired
+    private SalesRollupDeltaRepository salesRollupDeltaRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private MenuPriceRepository menuPriceRepository;
+
+    @Autowired
+    private MenuPriceService menuPriceService;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    private Long userNo;
+    private Long menuId;
+
+    @BeforeEach
+    void setUp() {
+        doNothing().when(paymentOutboxProcessor).dispatchAfterCommit(anyLong());
+        LocalDateTime now = LocalDateTime.now();
+
+        University university = new University();
+        university.setUniName("테스트대학교");
+        university = universityRepository.save(university);
+
+        Member member = new Member();
+        member.setUniId(university.getUniId());
+        member.setUserId("batch-user");
+        member.setUserPass("password");
+        member.setUserName("테스트");
+        member.setUserType("STUDENT");
+        member.setUserStatus("ACTIVE");
+        member.setUserPin("1234");
+        member.setPointBalance(0);
+        member.setCreatedId("test");
+        member.setCreatedAt(now);
+        member.setUpdatedId("test");
+        member.setUpdatedAt(now);
+        userNo = memberRepository.save(member).getUserNo();
+
+        Menus menu = new Menus();
+        menu.setKind(MENU_KIND);
+        menu.setMealType("한식");
+        menu.setIsSignature(false);
+        menu.setSoldOut(false);
+        menu.setMenuDate(LocalDate.now());
+        menu.setCreatedId("test");
+        menu.setCreatedAt(now);
+        menu.setUpdatedId("test");
+        menu.setUpdatedAt(now);
+        menuId = menuRepository.save(menu).getMenuNo();
+
+        MenuPrice menuPrice = new MenuPrice();
+        menuPrice.setKind(MENU_KIND);
+        menuPrice.setMealType("한식");
+        menuPrice.setPrice((long) PRICE);
+        menuPrice.setEffectiveDate(LocalDate.now());
+        menuPrice.setIsActive(true);
+        menuPrice.setCreatedId("test");
+        menuPrice.setCreatedAt(now);
+        menuPrice.setUpdatedId("test");
+        menuPrice.setUpdatedAt(now);
+        menuPriceRepository.save(menuPrice);
+        menuPriceService.rebuildSnapshot(LocalDate.now());
+    }
+
+    @AfterEach
+    void tearDown() {
+        salesRollupDeltaRepository.deleteAll();
+        paymentOutboxRepository.deleteAll();
+        mealTicketRepository.deleteAll();
+        pointHistoryRepository.deleteAll();
+        paymentRepository.deleteAll();
+        menuPriceRepository.deleteAll();
+        menuPriceService.rebuildSnapshot(LocalDate.now());
+        menuRepository.deleteAll();
+        memberRepository.deleteAll();
+        universityRepository.deleteAll();
+    }
+
+    /**
+     * 측정 대상 ID 매핑 (로그 구분용)
+     */
+    protected String mappingLabel() {
+        return "pooled TABLE";
+    }
+
+    @Test
+    void 결제_한_건씩_기록할_때_단계별_문장_수를_측정한다() {
+        for (int i = 0; i < WARMUP_PAYMENTS; i++) {
+            writePayment(i, new Stage[] {new Stage("reserve"), new Stage("confirm"), new Stage("outbox")});
+        }
+
+        Stage[] stages = {new Stage("reserve"), new Stage("confirm"), new Stage("outbox")};
+        for (int i = 0; i < PAYMENTS; i++) {
+            writePayment(WARMUP_PAYMENTS + i, stages);
+        }
+
+        long statements = 0;
+        long inserts = 0;
+        for (Stage stage : stages) {
+            log.info("[{}] {}: 결제당 문장 {} (INSERT {}), 결제당 {}us", mappingLabel(), stage.name,
+                    String.format("%.2f", (double) stage.statements / PAYMENTS),
+                    String.format("%.2f", (double) stage.inserts / PAYMENTS),
+                    stage.elapsedNanos / 1_000 / PAYMENTS);
+            // 한 트랜잭션에 테이블당 한 행이므로 배치로 줄어드는 문장이 없음
+            assertTrue(stage.statements >= stage.inserts, stage.name + " 문장 수: " + stage.statements);
+            statements += stage.statements;
+            inserts += stage.inserts;
+        }
+        log.info("[{}] 결제 {}건 합계: 결제당 문장 {} (INSERT {})", mappingLabel(), PAYMENTS,
+                String.format("%.2f", (double) statements / PAYMENTS), String.format("%.2f", (double) inserts / PAYMENTS));
+
+        int total = WARMUP_PAYMENTS + PAYMENTS;
+        assertEquals(total, paymentRepository.findAll().stream()
+                .filter(payment -> payment.getPaymentStatus() == Payment.PaymentStatus.COMPLETED)
+                .count());
+        assertEquals(total, pointHistoryRepository.count());
+        assertEquals(total, mealTicketRepository.count());
+    }
+
+    /**
+     * 결제 한 건을 예약 → 확정 → 후속 처리 순서로 기록 (단계마다 별도 트랜잭션)
+     */
+    private void writePayment(int index, Stage[] stages) {
+        Payment payment = stages[0].measure(() -> paymentRecordService.reserve(request(), validation()));
+        stages[1].measure(() -> paymentRecordService.confirm(payment.getPaymentId(), "WD-BATCH-" + index));
+        Long outboxId = paymentOutboxRepository.findByPaymentId(payment.getPaymentId()).orElseThrow().getOutboxId();
+        stages[2].measure(() -> {
+            paymentOutboxProcessor.process(outboxId);
+            return null;
+        });
+    }
+
+    private PaymentRequestDto request() {
+        PaymentRequestDto request = new PaymentRequestDto();
+        request.setUserNo(userNo);
+        request.setMenuId(menuId);
+        request.setMenuType(MENU_KIND);
+        request.setAmount(PRICE);
+        request.setPaymentMethod(Payment.PaymentMethod.CARD);
+        request.setUsePoints(false);
+        request.setPointAmount(0);
+        return request;
+    }
+
+    private static PaymentValidationDto validation() {
+        PaymentValidationDto validation = new PaymentValidationDto();
+        validation.setFinalAmount(PRICE);
+        return validation;
+    }
+
+    /**
+     * 단계별 누적 문장 수 / INSERT 수 / 소요 시간
+     */
+    private class Stage {
+        private final String name;
+        private long statements;
+        private long inserts;
+        private long elapsedNanos;
+
+        Stage(String name) {
+            this.name = name;
+        }
+
+        <T> T measure(Supplier<T> work) {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            long statementsBefore = statistics.getPrepareStatementCount();
+            long insertsBefore = statistics.getEntityInsertCount();
+            long startedAt = System.nanoTime();
+            T result = work.get();
+            elapsedNanos += System.nanoTime() - startedAt;
+            statements += statistics.getPrepareStatementCount() - statementsBefore;
+            inserts += statistics.getEntityInsertCount() - insertsBefore;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.bapsim.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * 결제 쓰기 측정 - 변경 전 매핑
+ * Payment / Point_history / meal_tickets ID를 IDENTITY로 되돌린 매핑(META-INF/identity-ids-orm.xml)으로
+ * PaymentWriteBatchBenchmarkTest와 같은 경로를 측정한다
+ * 스키마가 다르므로 다른 테스트와 겹치지 않는 별도 인메모리 DB를 쓴다
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:identityids;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=10000",
+    "spring.jpa.mapping-resources=META-INF/identity-ids-orm.xml",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "bapsim.payment.recovery.interval-ms=3600000",
+    "bapsim.payment.outbox.poll-interval-ms=3600000",
+    "bapsim.payment.idempotency.purge-interval-ms=3600000",
+    "bapsim.meal-ticket.redemption.flush-interval-ms=3600000",
+    "bapsim.sales-rollup.apply-interval-ms=3600000",
+    "bapsim.archive.initial-delay-ms=3600000"
+})
+class PaymentWriteIdentityBenchmarkTest extends PaymentWriteBatchBenchmarkTest {
+
+    @Override
+    protected String mappingLabel() {
+        return "IDENTITY";
+    }
+}
@@ -0,0 +1,131 @@
+package com.bapsim.service;
+
+import com.bapsim.entity.Member;
+import com.bapsim.entity.PointHistory;
+import com.bapsim.entity.University;
+import com.bapsim.repository.MemberRepository;
+import com.bapsim.repository.PointHistoryRepository;
+import com.bapsim.repository.UniversityRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 포인트 잔액 동시 변경 테스트
+ * 여러 스레드가 한 사용자의 포인트를 동시에 적립/사용해도 잔액과 내역(원장)이 일치하는지 확인
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PointServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 50;
+    private static final int INITIAL_BALANCE = 100;
+
+    @Autowired
+    private PointService pointService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private PointHistoryRepository pointHistoryRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    private Long userNo;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+
+        University university = new University();
+        university.setUniName("테스트대학교");
+        university = universityRepository.save(university);
+
+        Member member = new Member();
+        member.setUniId(university.getUniId());
+        member.setUserId("point-user");
+        member.setUserPass("password");
+        member.setUserName("테스트");
+        member.setUserType("STUDENT");
+        member.setUserStatus("ACTIVE");
+        member.setUserPin("1234");
+        member.setPointBalance(INITIAL_BALANCE);
+        member.setCreatedId("test");
+        member.setCreatedAt(now);
+        member.setUpdatedId("test");
+        member.setUpdatedAt(now);
+        userNo = memberRepository.save(member).getUserNo();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointHistoryRepository.deleteAll();
+        memberRepository.deleteAll();
+        universityRepository.deleteAll();
+    }
+
+    @Test
+    void 동시에_적립과_사용을_반복해도_잔액과_내역이_일치한다() throws Exception {
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        try {
+                            if (i % 2 == 0) {
+                                pointService.earnPoints(userNo, null, 10, "테스트 적립", "동시성 테스트");
+                            } else {
+                                pointService.usePoints(userNo, 15, "테스트 사용", "동시성 테스트");
+                            }
+                            succeeded.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            // 잔액 부족으로 거절된 사용 요청
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<PointHistory> ledger = pointHistoryRepository.findByUserNoOrderByCreatedAtDesc(userNo);
+        int ledgerTotal = ledger.stream().mapToInt(PointHistory::getPoints).sum();
+        int balance = pointService.getPointBalance(userNo);
+
+        assertEquals(THREADS * OPERATIONS_PER_THREAD, succeeded.get() + rejected.get());
+        assertEquals(succeeded.get(), ledger.size());
+        assertEquals(INITIAL_BALANCE + ledgerTotal, balance);
+        assertTrue(balance >= 0);
+        assertTrue(ledger.stream().allMatch(history -> history.getBalanceAfter() >= 0));
+    }
+}
@@ -0,0 +1,288 @@
+package com.bapsim.service;
+
+import com.bapsim.dto.PaymentRequestDto;
+import com.bapsim.dto.PaymentResponseDto;
+import com.bapsim.dto.PaymentValidationDto;
+import com.bapsim.entity.Cafeterias;
+import com.bapsim.entity.Member;
+import com.bapsim.entity.Menus;
+import com.bapsim.entity.Payment;
+import com.bapsim.entity.Payment.PaymentStatus;
+import com.bapsim.entity.SalesHourlyRollup;
+import com.bapsim.entity.University;
+import com.bapsim.repository.CafeteriasRepository;
+import com.bapsim.repository.MemberRepository;
+import com.bapsim.repository.MenuRepository;
+import com.bapsim.repository.PaymentOutboxRepository;
+import com.bapsim.repository.PaymentRepository;
+import com.bapsim.repository.SalesHourlyRollupRepository;
+import com.bapsim.repository.SalesRollupDeltaRepository;
+import com.bapsim.repository.SalesTotalRepository;
+import com.bapsim.repository.UniversityRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 매출 집계 테스트
+ * 결제 예약/확정/실패/취소 후 반영 대기 항목을 반영한 집계 값이 Payment 원본을 직접 합산한 값과 같은지 확인
+ */
+@SpringBootTest(properties = {
+    // 스케줄 작업이 테스트 도중 끼어들지 않도록 주기를 늘림
+    "bapsim.payment.recovery.interval-ms=3600000",
+    "bapsim.payment.outbox.poll-interval-ms=3600000",
+    "bapsim.sales-rollup.apply-interval-ms=3600000",
+    // 여러 배치로 나뉘어 반영되는 경우도 확인
+    "bapsim.sales-rollup.batch-size=7"
+})
+@ActiveProfiles("test")
+class SalesRollupServiceTest {
+
+    private static final int PRICE = 6000;
+    private static final int THREADS = 8;
+    private static final int PAYMENTS_PER_THREAD = 5;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private PaymentRecordService paymentRecordService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PaymentOutboxRepository paymentOutboxRepository;
+
+    @Autowired
+    private SalesHourlyRollupRepository salesHourlyRollupRepository;
+
+    @Autowired
+    private SalesTotalRepository salesTotalRepository;
+
+    @Autowired
+    private SalesRollupDeltaRepository salesRollupDeltaRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private CafeteriasRepository cafeteriasRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    // 후속 처리(포인트 적립, 식권 발행)는 이 테스트 범위 밖
+    @MockBean
+    private PaymentOutboxProcessor paymentOutboxProcessor;
+
+    private Member member;
+    private Menus menu;
+    private Long cafeNo;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+
+        University university = new University();
+        university.setUniName("테스트대학교");
+        university = universityRepository.save(university);
+
+        Cafeterias cafeteria = new Cafeterias();
+        cafeteria.setUniId(university.getUniId());
+        cafeteria.setBuildName("학생식당");
+        cafeteria.setPhoneNo(20000000L);
+        cafeteria.setOpenTime(now);
+        cafeteria.setCloseTime(now);
+        cafeteria.setRunYn("Y");
+        cafeteria.setDelYn("N");
+        cafeteria.setVisitor(0L);
+        cafeteria.setCreatedId("test");
+        cafeteria.setCreatedAt(now);
+        cafeteria.setUpdatedId("test");
+        cafeteria.setUpdatedAt(now);
+        cafeNo = cafeteriasRepository.save(cafeteria).getCafeNo();
+
+        member = new Member();
+        member.setUniId(university.getUniId());
+        member.setUserId("rollup-user");
+        member.setUserPass("password");
+        member.setUserName("테스트");
+        member.setUserType("STUDENT");
+        member.setUserStatus("ACTIVE");
+        member.setUserPin("1234");
+        member.setPointBalance(0);
+        member.setCreatedId("test");
+        member.setCreatedAt(now);
+        member.setUpdatedId("test");
+        member.setUpdatedAt(now);
+        member = memberRepository.save(member);
+
+        menu = new Menus();
+        menu.setKind("A");
+        menu.setMealType("한식");
+        menu.setIsSignature(false);
+        menu.setSoldOut(false);
+        menu.setCafeNo(cafeNo);
+        menu.setMenuDate(LocalDate.now());
+        menu.setCreatedId("test");
+        menu.setCreatedAt(now);
+        menu.setUpdatedId("test");
+        menu.setUpdatedAt(now);
+        menu = menuRepository.save(menu);
+    }
+
+    @AfterEach
+    void tearDown() {
+        salesRollupDeltaRepository.deleteAll();
+        salesHourlyRollupRepository.deleteAll();
+        salesTotalRepository.deleteAll();
+        paymentOutboxRepository.deleteAll();
+        paymentRepository.deleteAll();
+        menuRepository.deleteAll();
+        memberRepository.deleteAll();
+        cafeteriasRepository.deleteAll();
+        universityRepository.deleteAll();
+    }
+
+    @Test
+    void 결제_상태가_바뀌면_이전_상태에서_빼고_새_상태에_더한다() {
+        Payment completed = reserve();
+        Payment cancelled = reserve();
+        Payment failed = reserve();
+        reserve(); // PENDING으로 남는 결제
+
+        paymentRecordService.confirm(completed.getPaymentId(), "WD-1");
+        paymentRecordService.confirm(cancelled.getPaymentId(), "WD-2");
+        paymentRecordService.fail(failed.getPaymentId(), "TEST");
+        PaymentResponseDto cancelResponse = paymentService.cancelPayment(cancelled.getPaymentId(), member.getUserNo());
+        assertNull(cancelResponse.getErrorCode(), cancelResponse.getErrorMessage());
+
+        salesRollupService.applyPendingDeltas();
+        assertEquals(0, salesRollupDeltaRepository.count());
+        for (PaymentStatus status : PaymentStatus.values()) {
+            long expected = nullToZero(paymentRepository.sumTodayAmountByStatus(status));
+            assertEquals(expected, salesRollupService.getTodayAmount(status), status.name());
+            assertEquals(expected, salesRollupService.getMenuAmount(menu.getMenuNo(), status), status.name());
+            assertEquals(expected, salesRollupService.getUserAmount(member.getUserNo(), status), status.name());
+        }
+        assertEquals(PRICE, salesRollupService.getTodayAmount(PaymentStatus.COMPLETED));
+        assertEquals(PRICE, salesRollupService.getTodayAmount(PaymentStatus.CANCELLED));
+        assertEquals(1, salesRollupService.getUserPaymentCount(member.getUserNo(), PaymentStatus.PENDING));
+
+        // 시간대별 행은 학식당/메뉴 타입 기준으로 쌓임
+        List<SalesHourlyRollup> hourly = salesRollupService.getHourlySales(LocalDate.now());
+        assertFalse(hourly.isEmpty());
+        assertTrue(hourly.stream().allMatch(row -> cafeNo.equals(row.getCafeNo()) && "A".equals(row.getMenuType())));
+    }
+
+    @Test
+    void 이미_취소된_결제는_다시_취소해도_집계가_바뀌지_않는다() {
+        Payment payment = reserve();
+        paymentRecordService.confirm(payment.getPaymentId(), "WD-1");
+        paymentService.cancelPayment(payment.getPaymentId(), member.getUserNo());
+        salesRollupService.applyPendingDeltas();
+
+        PaymentResponseDto second = paymentService.cancelPayment(payment.getPaymentId(), member.getUserNo());
+        salesRollupService.applyPendingDeltas();
+
+        assertEquals("CANCEL_NOT_ALLOWED", second.getErrorCode());
+        assertEquals(PRICE, salesRollupService.getTodayAmount(PaymentStatus.CANCELLED));
+        assertEquals(0, salesRollupService.getTodayAmount(PaymentStatus.COMPLETED));
+    }
+
+    @Test
+    void 동시에_결제를_확정해도_집계가_원본과_일치한다() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < PAYMENTS_PER_THREAD; i++) {
+                        Payment payment = reserve();
+                        paymentRecordService.confirm(payment.getPaymentId(), "WD-" + payment.getPaymentId());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        salesRollupService.applyPendingDeltas();
+
+        long expected = (long) THREADS * PAYMENTS_PER_THREAD * PRICE;
+        assertEquals(expected, nullToZero(paymentRepository.sumTodayAmountByStatus(PaymentStatus.COMPLETED)));
+        assertEquals(expected, salesRollupService.getTodayAmount(PaymentStatus.COMPLETED));
+        assertEquals(0, salesRollupService.getTodayAmount(PaymentStatus.PENDING));
+        assertEquals(THREADS * PAYMENTS_PER_THREAD,
+                salesRollupService.getUserPaymentCount(member.getUserNo(), PaymentStatus.COMPLETED));
+    }
+
+    @Test
+    void 결제_트랜잭션은_집계_행을_바꾸지_않고_반영_대기_항목만_남긴다() {
+        Payment payment = reserve();
+        paymentRecordService.confirm(payment.getPaymentId(), "WD-1");
+
+        // 예약 +1, 확정 시 PENDING -1 / COMPLETED +1
+        assertEquals(3, salesRollupDeltaRepository.count());
+        assertEquals(0, salesHourlyRollupRepository.count());
+        assertEquals(0, salesTotalRepository.count());
+
+        salesRollupService.applyPendingDeltas();
+
+        assertEquals(0, salesRollupDeltaRepository.count());
+        assertEquals(PRICE, salesRollupService.getTodayAmount(PaymentStatus.COMPLETED));
+        // 같은 배치에서 상쇄된 PENDING 행은 만들지 않음
+        assertEquals(0, salesRollupService.getTodayAmount(PaymentStatus.PENDING));
+        assertTrue(salesHourlyRollupRepository.findAll().stream()
+                .noneMatch(row -> row.getPaymentStatus() == PaymentStatus.PENDING));
+    }
+
+    private Payment reserve() {
+        PaymentRequestDto request = new PaymentRequestDto();
+        request.setUserNo(member.getUserNo());
+        request.setMenuId(menu.getMenuNo());
+        request.setMenuType("A");
+        request.setAmount(PRICE);
+        request.setPaymentMethod(Payment.PaymentMethod.CARD);
+        request.setUsePoints(false);
+        request.setPointAmount(0);
+
+        PaymentValidationDto validation = new PaymentValidationDto();
+        validation.setFinalAmount(PRICE);
+        return paymentRecordService.reserve(request, validation);
+    }
+
+    private static long nullToZero(Integer value) {
+        return value != null ? value : 0L;
+    }
+}
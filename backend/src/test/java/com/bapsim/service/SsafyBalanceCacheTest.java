@@ -0,0 +1,168 @@
+package com.bapsim.service;
+
+import com.bapsim.config.SsafyApiConfig;
+import com.bapsim.dto.BalanceInquiryResponse;
+import com.bapsim.dto.SsafyApiHeader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SsafyBalanceCacheTest {
+
+    private static final String ACCOUNT_NO = "9992453470888242";
+
+    private SimpleMeterRegistry meterRegistry;
+    private SsafyBalanceCache balanceCache;
+    private AtomicInteger loadCount;
+
+    @BeforeEach
+    void setUp() {
+        SsafyApiConfig config = new SsafyApiConfig();
+        config.getBalanceCache().setTtl(60000);
+        meterRegistry = new SimpleMeterRegistry();
+        balanceCache = new SsafyBalanceCache(config, meterRegistry);
+        loadCount = new AtomicInteger();
+    }
+
+    @Test
+    void 캐시가_유효하면_API를_다시_호출하지_않는다() {
+        balanceCache.get(ACCOUNT_NO, account -> load("H0000", "10000"));
+        BalanceInquiryResponse response = balanceCache.get(ACCOUNT_NO, account -> load("H0000", "20000"));
+
+        assertEquals("10000", response.getAccountInfo().getAccountBalance());
+        assertEquals(1, loadCount.get());
+        assertEquals(1.0, count("hit"));
+        assertEquals(1.0, count("miss"));
+    }
+
+    @Test
+    void 실패_응답은_캐시하지_않는다() {
+        balanceCache.get(ACCOUNT_NO, account -> load("A1003", null));
+        balanceCache.get(ACCOUNT_NO, account -> load("H0000", "10000"));
+
+        assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    void 무효화하면_다음_조회에서_다시_호출한다() {
+        balanceCache.get(ACCOUNT_NO, account -> load("H0000", "10000"));
+        balanceCache.invalidate(ACCOUNT_NO);
+        BalanceInquiryResponse response = balanceCache.get(ACCOUNT_NO, account -> load("H0000", "4000"));
+
+        assertEquals("4000", response.getAccountInfo().getAccountBalance());
+        assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    void 동시_조회는_진행_중인_호출_하나를_공유한다() throws Exception {
+        int threads = 8;
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<BalanceInquiryResponse>> results = new ArrayList<>();
+            results.add(executor.submit(() -> balanceCache.get(ACCOUNT_NO, account -> {
+                loaderStarted.countDown();
+                await(releaseLoader);
+                return load("H0000", "10000");
+            })));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+            for (int i = 1; i < threads; i++) {
+                results.add(executor.submit(() -> balanceCache.get(ACCOUNT_NO, account -> load("H0000", "99999"))));
+            }
+            // 후속 요청들이 진행 중인 호출에 합류할 때까지 대기
+            while (count("coalesced") < threads - 1) {
+                Thread.sleep(10);
+            }
+            releaseLoader.countDown();
+
+            for (Future<BalanceInquiryResponse> result : results) {
+                assertEquals("10000", result.get(5, TimeUnit.SECONDS).getAccountInfo().getAccountBalance());
+            }
+            assertEquals(1, loadCount.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void 조회_도중_무효화되면_결과를_캐시하지_않는다() {
+        balanceCache.get(ACCOUNT_NO, account -> {
+            balanceCache.invalidate(ACCOUNT_NO); // 조회 중 출금 발생
+            return load("H0000", "10000");
+        });
+        balanceCache.get(ACCOUNT_NO, account -> load("H0000", "4000"));
+
+        assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    void 조회_중_Error가_나도_합류한_요청이_대기하지_않는다() throws Exception {
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<BalanceInquiryResponse> failing = executor.submit(() -> balanceCache.get(ACCOUNT_NO, account -> {
+                loaderStarted.countDown();
+                await(releaseLoader);
+                throw new StackOverflowError();
+            }));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+            Future<BalanceInquiryResponse> joined = executor.submit(
+                    () -> balanceCache.get(ACCOUNT_NO, account -> load("H0000", "99999")));
+            while (count("coalesced") < 1) {
+                Thread.sleep(10);
+            }
+            releaseLoader.countDown();
+
+            ExecutionException failed = assertThrows(ExecutionException.class, () -> failing.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(StackOverflowError.class, failed.getCause());
+            ExecutionException coalesced = assertThrows(ExecutionException.class, () -> joined.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(StackOverflowError.class, coalesced.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 진행 중 항목이 정리되어 다음 조회는 새로 호출
+        BalanceInquiryResponse response = balanceCache.get(ACCOUNT_NO, account -> load("H0000", "10000"));
+        assertEquals("10000", response.getAccountInfo().getAccountBalance());
+        assertEquals(1, loadCount.get());
+    }
+
+    private BalanceInquiryResponse load(String responseCode, String balance) {
+        loadCount.incrementAndGet();
+        SsafyApiHeader header = new SsafyApiHeader();
+        header.setResponseCode(responseCode);
+        BalanceInquiryResponse.AccountInfo accountInfo = new BalanceInquiryResponse.AccountInfo();
+        accountInfo.setAccountBalance(balance);
+        BalanceInquiryResponse response = new BalanceInquiryResponse();
+        response.setHeader(header);
+        response.setAccountInfo(accountInfo);
+        return response;
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("bapsim.ssafy.balance_cache.requests").tag("result", result).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.bapsim.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        // 최근 4회 중 50% 이상 실패 시 1초간 차단, 시험 호출 2회
+        circuitBreaker = new CircuitBreaker("test", 4, 4, 50, 1000, 2, clock::get);
+    }
+
+    @Test
+    void 최소_호출_수_전에는_차단하지_않는다() {
+        failTimes(3);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void 실패율이_임계치를_넘으면_차단한다() {
+        succeedTimes(2);
+        failTimes(2);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void 오래된_호출_결과는_실패율에서_빠진다() {
+        failTimes(1);
+        succeedTimes(3);
+        failTimes(1); // 첫 실패가 밀려나 최근 4회 중 1회 실패
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void 차단_시간이_지나면_시험_호출을_허용하고_모두_성공하면_복구한다() {
+        failTimes(4);
+        clock.addAndGet(1_000_000_000L);
+
+        assertTrue(circuitBreaker.tryAcquire());
+        assertTrue(circuitBreaker.tryAcquire());
+        assertFalse(circuitBreaker.tryAcquire()); // 시험 호출 수 초과
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void 시험_호출이_실패하면_다시_차단한다() {
+        failTimes(4);
+        clock.addAndGet(1_000_000_000L);
+
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    private void failTimes(int count) {
+        for (int i = 0; i < count; i++) {
+            assertTrue(circuitBreaker.tryAcquire());
+            circuitBreaker.onFailure();
+        }
+    }
+
+    private void succeedTimes(int count) {
+        for (int i = 0; i < count; i++) {
+            assertTrue(circuitBreaker.tryAcquire());
+            circuitBreaker.onSuccess();
+        }
+    }
+}
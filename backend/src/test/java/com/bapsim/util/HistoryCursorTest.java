@@ -0,0 +1,67 @@
+package com.bapsim.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryCursorTest {
+
+    @Test
+    void 인코딩한_커서를_그대로_복원한다() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 2, 12, 30, 15, 123_456_000);
+
+        HistoryCursor cursor = HistoryCursor.decode(new HistoryCursor(createdAt, 42L).encode());
+
+        assertEquals(createdAt, cursor.getCreatedAt());
+        assertEquals(42L, cursor.getId());
+    }
+
+    @Test
+    void 커서가_없으면_첫_페이지다() {
+        assertNull(HistoryCursor.decode(null));
+        assertNull(HistoryCursor.decode(" "));
+    }
+
+    @Test
+    void 잘못된_커서는_거절한다() {
+        assertThrows(IllegalArgumentException.class, () -> HistoryCursor.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> HistoryCursor.decode("%%%"));
+    }
+
+    @Test
+    void 페이지_크기는_상한을_넘지_않는다() {
+        assertEquals(HistoryCursor.DEFAULT_PAGE_SIZE, HistoryCursor.pageSize(null));
+        assertEquals(HistoryCursor.MAX_PAGE_SIZE, HistoryCursor.pageSize(10_000));
+        assertEquals(1, HistoryCursor.pageSize(0));
+    }
+
+    @Test
+    void 원본과_보관_행을_최신순으로_합친다() {
+        LocalDateTime t = LocalDateTime.of(2025, 3, 2, 12, 0);
+        List<HistoryCursor> hot = List.of(new HistoryCursor(t.plusDays(3), 9L), new HistoryCursor(t, 5L));
+        List<HistoryCursor> archived = List.of(new HistoryCursor(t.plusDays(1), 7L), new HistoryCursor(t, 4L),
+                new HistoryCursor(t.minusDays(1), 1L));
+
+        List<HistoryCursor> merged = HistoryCursor.mergeNewestFirst(hot, archived,
+                HistoryCursor::getCreatedAt, HistoryCursor::getId, 4);
+
+        assertEquals(List.of(9L, 7L, 5L, 4L), merged.stream().map(HistoryCursor::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void 원본_행이_보관_행보다_모두_새로우면_보관_테이블을_읽지_않는다() {
+        LocalDateTime t = LocalDateTime.of(2025, 3, 2, 12, 0);
+        List<HistoryCursor> fullPage = List.of(new HistoryCursor(t.plusDays(2), 3L), new HistoryCursor(t.plusDays(1), 2L));
+
+        assertFalse(HistoryCursor.reachesArchive(fullPage, 1, HistoryCursor::getCreatedAt, null));
+        assertFalse(HistoryCursor.reachesArchive(fullPage, 1, HistoryCursor::getCreatedAt, t));
+        // 다음 페이지 확인용 행이 보관 행과 같은 시각이면 id 순서를 알 수 없으므로 함께 읽음
+        assertTrue(HistoryCursor.reachesArchive(fullPage, 1, HistoryCursor::getCreatedAt, t.plusDays(1)));
+        // 원본 테이블에 남은 행이 페이지보다 적음
+        assertTrue(HistoryCursor.reachesArchive(fullPage, 2, HistoryCursor::getCreatedAt, t));
+    }
+}
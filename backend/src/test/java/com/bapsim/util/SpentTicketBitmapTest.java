@@ -0,0 +1,85 @@
+package com.bapsim.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpentTicketBitmapTest {
+
+    @Test
+    void 처음_표시할_때만_true를_돌려준다() {
+        SpentTicketBitmap bitmap = new SpentTicketBitmap();
+
+        assertFalse(bitmap.isSpent(70_000L));
+        assertTrue(bitmap.markSpent(70_000L));
+        assertFalse(bitmap.markSpent(70_000L));
+        assertTrue(bitmap.isSpent(70_000L));
+        // 같은 워드의 이웃 비트와 다른 페이지의 같은 오프셋은 영향 없음
+        assertFalse(bitmap.isSpent(70_001L));
+        assertFalse(bitmap.isSpent(70_000L - 65_536L));
+    }
+
+    @Test
+    void 표시를_해제하면_다시_사용할_수_있다() {
+        SpentTicketBitmap bitmap = new SpentTicketBitmap();
+        bitmap.markSpent(5L);
+
+        bitmap.clear(5L);
+        bitmap.clear(1_000_000L); // 없는 페이지는 무시
+
+        assertFalse(bitmap.isSpent(5L));
+        assertTrue(bitmap.markSpent(5L));
+    }
+
+    @Test
+    void 연속된_ID는_페이지_하나에_담긴다() {
+        SpentTicketBitmap bitmap = new SpentTicketBitmap();
+        for (long id = 0; id < 65_536L; id++) {
+            bitmap.markSpent(id);
+        }
+
+        assertEquals(1, bitmap.pageCount());
+    }
+
+    @Test
+    void 같은_ID를_동시에_표시하면_한_번만_성공한다() throws Exception {
+        SpentTicketBitmap bitmap = new SpentTicketBitmap();
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int marked = 0;
+                    // 같은 워드를 공유하는 ID들을 모든 스레드가 경합
+                    for (long id = 0; id < 1_000; id++) {
+                        if (bitmap.markSpent(id)) {
+                            marked++;
+                        }
+                    }
+                    return marked;
+                }));
+            }
+            start.countDown();
+            int total = 0;
+            for (Future<Integer> future : futures) {
+                total += future.get(60, TimeUnit.SECONDS);
+            }
+
+            assertEquals(1_000, total);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.bapsim.util;
+
+import com.bapsim.config.SsafyApiConfig;
+import com.bapsim.dto.SsafyApiHeader;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SsafyApiHeaderGeneratorTest {
+
+    private static final ZoneId KOREA_ZONE = ZoneId.of("Asia/Seoul");
+
+    // 2025-01-01 12:34:56 KST
+    private static final Instant FIXED_INSTANT = Instant.parse("2025-01-01T03:34:56Z");
+
+    @Test
+    void 한_번_읽은_시각으로_전송_날짜와_시간과_고유번호를_만든다() {
+        SsafyApiHeaderGenerator generator = new SsafyApiHeaderGenerator(config(7), Clock.fixed(FIXED_INSTANT, KOREA_ZONE));
+
+        SsafyApiHeader header = generator.generateHeader("inquireDemandDepositAccountBalance");
+
+        assertEquals("20250101", header.getTransmissionDate());
+        assertEquals("123456", header.getTransmissionTime());
+        assertEquals("20250101123456" + "07" + "0000", header.getInstitutionTransactionUniqueNo());
+        assertEquals("inquireDemandDepositAccountBalance", header.getApiName());
+        assertEquals("inquireDemandDepositAccountBalance", header.getApiServiceCode());
+        assertEquals("00100", header.getInstitutionCode());
+    }
+
+    @Test
+    void 같은_초에_순번을_모두_쓰면_다음_초_번호로_이어서_발급한다() {
+        SsafyApiHeaderGenerator generator = new SsafyApiHeaderGenerator(config(0), Clock.fixed(FIXED_INSTANT, KOREA_ZONE));
+
+        String last = null;
+        for (int i = 0; i < SsafyApiHeaderGenerator.SEQUENCES_PER_SECOND; i++) {
+            last = generator.generateHeader("api").getInstitutionTransactionUniqueNo();
+        }
+        String overflow = generator.generateHeader("api").getInstitutionTransactionUniqueNo();
+
+        assertEquals("20250101123456" + "00" + "9999", last);
+        assertEquals("20250101123457" + "00" + "0000", overflow);
+    }
+
+    @Test
+    void 시계가_뒤로_가도_이전보다_작은_번호를_발급하지_않는다() {
+        SsafyApiHeaderGenerator generator = new SsafyApiHeaderGenerator(config(0), Clock.fixed(FIXED_INSTANT, KOREA_ZONE));
+        long epochSecond = FIXED_INSTANT.getEpochSecond();
+
+        long first = generator.nextSequence(epochSecond);
+        long afterClockBack = generator.nextSequence(epochSecond - 5);
+
+        assertEquals(first + 1, afterClockBack);
+    }
+
+    @Test
+    void 인스턴스_번호가_범위를_벗어나면_생성하지_않는다() {
+        assertThrows(IllegalArgumentException.class, () -> new SsafyApiHeaderGenerator(config(100), environment()));
+        assertThrows(IllegalArgumentException.class, () -> new SsafyApiHeaderGenerator(config(-1), environment()));
+    }
+
+    @Test
+    void 운영_프로필에서_인스턴스_번호가_없으면_생성하지_않는다() {
+        SsafyApiConfig config = config(0);
+        config.setNodeId(null);
+
+        assertThrows(IllegalStateException.class, () -> new SsafyApiHeaderGenerator(config, environment()));
+        assertThrows(IllegalStateException.class, () -> new SsafyApiHeaderGenerator(config, environment("prod")));
+
+        // local/test 프로필은 0번 사용
+        String uniqueNo = new SsafyApiHeaderGenerator(config, environment("local"))
+                .generateHeader("inquireDemandDepositAccountBalance").getInstitutionTransactionUniqueNo();
+        assertEquals("00", uniqueNo.substring(14, 16));
+    }
+
+    @Test
+    void 여러_스레드가_동시에_생성해도_고유번호가_겹치지_않는다() throws Exception {
+        int threads = 8;
+        int headersPerThread = 20_000;
+        SsafyApiHeaderGenerator generator = new SsafyApiHeaderGenerator(config(3), environment());
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < headersPerThread; i++) {
+                        String uniqueNo = generator.generateHeader("api").getInstitutionTransactionUniqueNo();
+                        assertEquals(20, uniqueNo.length(), uniqueNo);
+                        assertEquals("03", uniqueNo.substring(14, 16), uniqueNo);
+                        assertTrue(issued.add(uniqueNo), "중복 고유번호: " + uniqueNo);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * headersPerThread, issued.size());
+    }
+
+    private static MockEnvironment environment(String... profiles) {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles(profiles);
+        return environment;
+    }
+
+    private static SsafyApiConfig config(Integer nodeId) {
+        SsafyApiConfig config = new SsafyApiConfig();
+        config.setNodeId(nodeId);
+        config.getHeaders().setInstitutionCode("00100");
+        config.getHeaders().setFintechAppNo("001");
+        config.getHeaders().setApiKey("test-api-key");
+        config.getHeaders().setUserKey("test-user-key");
+        return config;
+    }
+}